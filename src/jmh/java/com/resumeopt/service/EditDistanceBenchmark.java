@@ -0,0 +1,111 @@
+package com.resumeopt.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Description-similarity kernels of duplicate detection: the original
+ * full-matrix Levenshtein distance against the banded two-row and
+ * bit-parallel kernels of {@link EditDistance}, bounded at the description
+ * threshold. Add {@code -prof gc} to the JMH arguments for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EditDistanceBenchmark {
+
+    // Largest distance at which two descriptions can still be similar (threshold 0.70)
+    private static final double DESCRIPTION_SIMILARITY_THRESHOLD = 0.70;
+
+    @Param({ "200", "1000", "5000" })
+    private int length;
+
+    // near: a reposted description with small edits; unrelated: a different posting
+    @Param({ "near", "unrelated" })
+    private String pair;
+
+    private String first;
+    private String second;
+    private int maxDistance;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        first = description(length, random);
+        second = pair.equals("near") ? edit(first, length / 20, random) : description(length, random);
+        maxDistance = (int) ((1.0 - DESCRIPTION_SIMILARITY_THRESHOLD) * Math.max(first.length(), second.length())) + 1;
+    }
+
+    @Benchmark
+    public int fullMatrix() {
+        int[][] d = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= second.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[first.length()][second.length()];
+    }
+
+    @Benchmark
+    public int banded() {
+        return EditDistance.banded(first, second, maxDistance);
+    }
+
+    @Benchmark
+    public int myers() {
+        return EditDistance.myers(first, second, maxDistance);
+    }
+
+    @Benchmark
+    public int bounded() {
+        return EditDistance.bounded(first, second, maxDistance);
+    }
+
+    private static final String[] WORDS = { "build", "maintain", "rest", "services", "spring", "boot", "java",
+            "sql", "team", "design", "scalable", "apis", "cloud", "aws", "experience", "with", "and", "the",
+            "engineer", "develop", "test", "deploy", "microservices", "kafka", "docker" };
+
+    private static String description(int length, Random random) {
+        StringBuilder out = new StringBuilder(length + 16);
+        while (out.length() < length) {
+            out.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return out.substring(0, length).trim();
+    }
+
+    private static String edit(String text, int edits, Random random) {
+        StringBuilder out = new StringBuilder(text);
+        for (int e = 0; e < edits && out.length() > 0; e++) {
+            int pos = random.nextInt(out.length());
+            if (random.nextBoolean()) {
+                out.setCharAt(pos, (char) ('a' + random.nextInt(26)));
+            } else {
+                out.deleteCharAt(pos);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -5,6 +5,10 @@ import com.resumeopt.service.JobPortalScraperService;
 import com.resumeopt.service.ReliableJobDataService;
 import com.resumeopt.service.AdvancedJobScraperService;
 import com.resumeopt.service.JobDateFilterService;
+import com.resumeopt.service.JobFacetIndex;
+import com.resumeopt.service.JobFacetService;
+import com.resumeopt.service.JobSearchService;
+import com.resumeopt.service.JobSnapshotService;
 import com.resumeopt.service.JobSourceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.BitSet;
 
 @Controller
 @RequestMapping("/jobs")
@@ -38,6 +43,15 @@ public class JobsController {
     @Autowired
     private JobSourceService jobSourceService;
 
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private JobFacetService jobFacetService;
+
+    @Autowired
+    private JobSnapshotService jobSnapshotService;
+
     /**
      * Main jobs page showing real job listings from all 11 portals with pagination
      */
@@ -145,6 +159,11 @@ public class JobsController {
             // Use JobSourceService which has fallback mechanism with sample data
             List<JobListing> allJobs = jobSourceService.aggregateAllListings();
 
+            // Apply keyword search first: the search index covers the whole cached snapshot
+            if (keyword != null && !keyword.isBlank()) {
+                allJobs = jobSearchService.search(allJobs, keyword);
+            }
+
             // Apply portal filter if specified
             if (portal != null && !portal.isBlank() && !portal.equalsIgnoreCase("all")) {
                 allJobs = allJobs.stream()
@@ -153,18 +172,6 @@ public class JobsController {
                         .toList();
             }
 
-            // Apply keyword search if specified
-            if (keyword != null && !keyword.isBlank()) {
-                String searchTerm = keyword.toLowerCase();
-                allJobs = allJobs.stream()
-                        .filter(job -> (job.getTitle() != null && job.getTitle().toLowerCase().contains(searchTerm)) ||
-                                (job.getDescription() != null
-                                        && job.getDescription().toLowerCase().contains(searchTerm))
-                                ||
-                                (job.getCompany() != null && job.getCompany().toLowerCase().contains(searchTerm)))
-                        .toList();
-            }
-
             // Group jobs by portal for statistics (use all jobs before filtering)
             Map<String, List<JobListing>> jobsByPortal = new HashMap<>();
             List<JobListing> originalJobs = jobSourceService.aggregateAllListings();
@@ -349,46 +356,22 @@ public class JobsController {
     @GetMapping(value = { "/api/freshers", "/api/fresher" })
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getFresherJobsApi(@RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "30") int size) {
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            // Get jobs directly from portal scrapers without personalization
-            List<JobListing> allJobs = jobPortalScraperService.aggregateFromPortals();
-
-            // Filter for entry-level/fresher positions
-            List<JobListing> fresherJobs = allJobs.stream()
-                    .filter(job -> {
-                        // Check experience requirements
-                        Integer expReq = job.getExperienceRequired();
-                        if (expReq != null) {
-                            return expReq <= 2; // Entry-level means 0-2 years
-                        }
-
-                        // Check job title for entry-level keywords
-                        String title = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
-                        return title.contains("fresher") || title.contains("entry") || title.contains("junior") ||
-                                title.contains("trainee") || title.contains("intern") || title.contains("new grad");
-                    })
-                    .toList();
-
-            // Calculate pagination
-            int totalJobs = fresherJobs.size();
-            int totalPages = (int) Math.ceil((double) totalJobs / size);
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, totalJobs);
-
-            List<JobListing> pagedJobs = fresherJobs.subList(startIndex, endIndex);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("jobs", pagedJobs);
-            response.put("count", pagedJobs.size());
-            response.put("total", totalJobs);
-            response.put("page", page);
-            response.put("totalPages", totalPages);
-            response.put("pageSize", size);
+            // Get jobs directly from portal scrapers without personalization; the
+            // entry-level view is filtered once per snapshot and then only sliced
+            JobSnapshotService.Page result = jobSnapshotService.page("portals",
+                    jobPortalScraperService::aggregateFromPortals, "freshers",
+                    jobs -> jobs.stream().filter(JobFacetIndex::isEntryLevel).toList(),
+                    cursor, page, size);
+
+            Map<String, Object> response = pageResponse(result, size);
             response.put("message", "Fresher jobs from all portal scrapers without personalization");
 
             return ResponseEntity.ok(response);
+        } catch (JobSnapshotService.InvalidCursorException e) {
+            return invalidCursorResponse(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -458,51 +441,29 @@ public class JobsController {
     @GetMapping("/api/recommendations")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getEntryLevelRecommendationsApi(
-            @RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "30") int size) {
+            @RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<JobListing> allJobs = jobSourceService.aggregateAllListings();
-
-            // Filter for entry-level jobs (0-2 years experience)
-            List<JobListing> entryLevelJobs = allJobs.stream()
-                    .filter(job -> {
-                        // Check experience requirements
-                        Integer expReq = job.getExperienceRequired();
-                        if (expReq != null) {
-                            return expReq <= 2; // Entry-level means 0-2 years
-                        }
-
-                        // Check job title for entry-level keywords
-                        String title = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
-                        return title.contains("fresher") || title.contains("entry") || title.contains("junior") ||
-                                title.contains("trainee") || title.contains("intern") || title.contains("new grad");
-                    })
-                    .map(job -> {
-                        // Calculate fresher-friendly score based on various factors
-                        int fresherScore = calculateFresherFriendlyScore(job);
-                        job.setFresherFriendlyScore(fresherScore);
-                        return job;
-                    })
-                    .toList();
-
-            // Calculate pagination
-            int totalJobs = entryLevelJobs.size();
-            int totalPages = (int) Math.ceil((double) totalJobs / size);
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, totalJobs);
-
-            List<JobListing> pagedJobs = entryLevelJobs.subList(startIndex, endIndex);
+            // Filter for entry-level jobs (0-2 years experience) and score them once per snapshot
+            JobSnapshotService.Page result = jobSnapshotService.page("listings",
+                    jobSourceService::aggregateAllListings, "recommendations",
+                    jobs -> jobs.stream()
+                            .filter(JobFacetIndex::isEntryLevel)
+                            .map(job -> {
+                                // Calculate fresher-friendly score based on various factors
+                                int fresherScore = calculateFresherFriendlyScore(job);
+                                job.setFresherFriendlyScore(fresherScore);
+                                return job;
+                            })
+                            .toList(),
+                    cursor, page, size);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("jobs", pagedJobs);
-            response.put("count", pagedJobs.size());
-            response.put("total", totalJobs);
-            response.put("page", page);
-            response.put("totalPages", totalPages);
-            response.put("pageSize", size);
+            Map<String, Object> response = pageResponse(result, size);
             response.put("message", "Entry-level job recommendations (0-2 years experience)");
 
             return ResponseEntity.ok(response);
+        } catch (JobSnapshotService.InvalidCursorException e) {
+            return invalidCursorResponse(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -520,30 +481,19 @@ public class JobsController {
     @GetMapping("/api/all")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getAllJobsApi(@RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "30") int size) {
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<JobListing> jobs = jobSourceService.aggregateAllListings();
+            JobSnapshotService.Page result = jobSnapshotService.page("listings",
+                    jobSourceService::aggregateAllListings, "all", jobs -> jobs, cursor, page, size);
 
-            // Calculate pagination
-            int totalJobs = jobs.size();
-            int totalPages = (int) Math.ceil((double) totalJobs / size);
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, totalJobs);
-
-            List<JobListing> pagedJobs = jobs.subList(startIndex, endIndex);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("jobs", pagedJobs);
-            response.put("count", pagedJobs.size());
-            response.put("total", totalJobs);
-            response.put("page", page);
-            response.put("totalPages", totalPages);
-            response.put("pageSize", size);
-            response.put("message", "Successfully fetched " + pagedJobs.size() + " of " + totalJobs
+            Map<String, Object> response = pageResponse(result, size);
+            response.put("message", "Successfully fetched " + result.jobs().size() + " of " + result.total()
                     + " real job listings from job portals and reliable data sources");
 
             return ResponseEntity.ok(response);
+        } catch (JobSnapshotService.InvalidCursorException e) {
+            return invalidCursorResponse(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -567,118 +517,60 @@ public class JobsController {
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String jobTypeFilter, // Experience level filter
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "30") int size) {
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<JobListing> jobs = jobSourceService.aggregateAllListings();
-
-            // Apply filters if provided
-            if (source != null && !source.isBlank()) {
-                jobs = jobs.stream()
-                        .filter(job -> job.getSource() != null &&
-                                job.getSource().name().equalsIgnoreCase(source))
-                        .toList();
-            }
-
-            if (jobType != null && !jobType.isBlank()) {
-                jobs = jobs.stream()
-                        .filter(job -> job.getJobType() != null &&
-                                job.getJobType().name().equalsIgnoreCase(jobType))
-                        .toList();
-            }
-
-            if (keyword != null && !keyword.isBlank()) {
-                jobs = jobs.stream()
-                        .filter(job -> (job.getTitle() != null
-                                && job.getTitle().toLowerCase().contains(keyword.toLowerCase())) ||
-                                (job.getDescription() != null
-                                        && job.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                                ||
-                                (job.getCompany() != null
-                                        && job.getCompany().toLowerCase().contains(keyword.toLowerCase())))
-                        .toList();
-            }
-
-            // Apply date range filter if specified
-            List<JobListing> filteredJobs = jobs; // Initialize with original list
-            if (dateRange != null && !dateRange.isBlank()) {
-                java.time.LocalDateTime baseDate = java.time.LocalDateTime.now();
-                java.time.LocalDateTime cutoffDate;
-
-                switch (dateRange.toLowerCase()) {
-                    case "today":
-                        cutoffDate = baseDate.minusDays(1);
-                        break;
-                    case "week":
-                        cutoffDate = baseDate.minusWeeks(1);
-                        break;
-                    case "month":
-                        cutoffDate = baseDate.minusMonths(1);
-                        break;
-                    default:
-                        // No date filtering
-                        cutoffDate = baseDate.minusYears(10); // Very old date to include all
-                        break;
-                }
-
-                if (!dateRange.equalsIgnoreCase("all")) {
-                    filteredJobs = jobs.stream()
-                            .filter(job -> job.getPostedDate() == null || job.getPostedDate().isAfter(cutoffDate))
-                            .toList();
-                }
+            // Non-blocking: serves the partial snapshot while portals are still being scraped
+            JobSourceService.ListingSnapshot snapshot = jobSourceService.getListingsSnapshot();
+            JobFacetService.FacetQuery query = JobFacetService.FacetQuery.parse(source, jobType, dateRange,
+                    jobTypeFilter);
+            String searchKeyword = keyword != null && !keyword.isBlank() ? keyword.trim().toLowerCase() : null;
+
+            // The filtered view is computed once per snapshot and filter combination
+            // (facet bitsets plus keyword hits); further pages only slice it
+            String viewKey = "jobs|" + query + "|" + searchKeyword;
+            JobSnapshotService.Page result = jobSnapshotService.page("live", snapshot::jobs, viewKey,
+                    jobs -> {
+                        JobFacetIndex facets = jobFacetService.facetsFor(jobs);
+                        BitSet selection = jobFacetService.select(facets, query);
+                        if (searchKeyword == null) {
+                            return facets.page(selection, 0, Integer.MAX_VALUE);
+                        }
+                        int[] keywordHits = jobSearchService.searchDocs(jobs, searchKeyword);
+                        return facets.page(keywordHits, selection, 0, Integer.MAX_VALUE);
+                    },
+                    cursor, page, size);
+
+            Map<String, Object> response = pageResponse(result, size);
+            response.put("message", "Successfully fetched " + result.jobs().size() + " of " + result.total()
+                    + " job listings from all sources");
+            response.put("complete", snapshot.complete());
+            if (!snapshot.complete()) {
+                response.put("portalsCompleted", snapshot.portalsCompleted());
+                response.put("portalsTotal", snapshot.portalsTotal());
             }
-            jobs = filteredJobs;
-
-            // Apply experience level filter if specified
-            if (jobTypeFilter != null && !jobTypeFilter.isBlank()) {
-                if (jobTypeFilter.equalsIgnoreCase("entry-level") ||
-                        jobTypeFilter.equalsIgnoreCase("fresher") ||
-                        jobTypeFilter.equalsIgnoreCase("new-grad")) {
-                    jobs = jobs.stream()
-                            .filter(job -> {
-                                // Check experience requirements
-                                Integer expReq = job.getExperienceRequired();
-                                if (expReq != null) {
-                                    return expReq <= 2; // Entry-level means 0-2 years
-                                }
-
-                                // Check job title for entry-level keywords
-                                String title = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
-                                return title.contains("fresher") || title.contains("entry") || title.contains("junior")
-                                        ||
-                                        title.contains("trainee") || title.contains("intern")
-                                        || title.contains("new grad");
-                            })
-                            .toList();
+            // HashMap: unset filters are reported as null
+            Map<String, Object> filters = new HashMap<>();
+            filters.put("source", source);
+            filters.put("jobType", jobType);
+            filters.put("dateRange", dateRange);
+            filters.put("keyword", keyword);
+            filters.put("experienceLevel", jobTypeFilter); // Added experience level filter info
+            response.put("filters", filters);
+            if (cursor == null || cursor.isBlank()) {
+                // Facet counts come with the first page of a browse
+                JobFacetIndex facets = jobFacetService.facetsFor(snapshot.jobs());
+                BitSet selection = jobFacetService.select(facets, query);
+                if (searchKeyword != null) {
+                    selection = facets.restrict(jobSearchService.searchDocs(snapshot.jobs(), searchKeyword),
+                            selection);
                 }
+                response.put("facets", facets.counts(selection));
             }
 
-            // Calculate pagination
-            int totalJobs = jobs.size();
-            int totalPages = (int) Math.ceil((double) totalJobs / size);
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, totalJobs);
-
-            List<JobListing> pagedJobs = jobs.subList(startIndex, endIndex);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("jobs", pagedJobs);
-            response.put("count", pagedJobs.size());
-            response.put("total", totalJobs);
-            response.put("page", page);
-            response.put("totalPages", totalPages);
-            response.put("pageSize", size);
-            response.put("message",
-                    "Successfully fetched " + pagedJobs.size() + " of " + totalJobs + " job listings from all sources");
-            response.put("filters", Map.of(
-                    "source", source,
-                    "jobType", jobType,
-                    "dateRange", dateRange,
-                    "keyword", keyword,
-                    "experienceLevel", jobTypeFilter // Added experience level filter info
-            ));
-
             return ResponseEntity.ok(response);
+        } catch (JobSnapshotService.InvalidCursorException e) {
+            return invalidCursorResponse(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -696,33 +588,24 @@ public class JobsController {
     @GetMapping("/api/fresh")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getFreshJobsApi(@RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "30") int size) {
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<JobListing> allJobs = jobSourceService.aggregateAllListings();
-            List<JobListing> jobs = allJobs.stream()
-                    .filter(job -> job.getPostedDate() != null &&
-                            java.time.LocalDateTime.now().minusDays(1).isBefore(job.getPostedDate()))
-                    .toList();
-
-            // Calculate pagination
-            int totalJobs = jobs.size();
-            int totalPages = (int) Math.ceil((double) totalJobs / size);
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, totalJobs);
-
-            List<JobListing> pagedJobs = jobs.subList(startIndex, endIndex);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("jobs", pagedJobs);
-            response.put("count", pagedJobs.size());
-            response.put("total", totalJobs);
-            response.put("page", page);
-            response.put("totalPages", totalPages);
-            response.put("pageSize", size);
+            // "Last 24 hours" is evaluated when the snapshot's view is first built
+            JobSnapshotService.Page result = jobSnapshotService.page("listings",
+                    jobSourceService::aggregateAllListings, "fresh",
+                    jobs -> jobs.stream()
+                            .filter(job -> job.getPostedDate() != null &&
+                                    java.time.LocalDateTime.now().minusDays(1).isBefore(job.getPostedDate()))
+                            .toList(),
+                    cursor, page, size);
+
+            Map<String, Object> response = pageResponse(result, size);
             response.put("message", "Fresh jobs from last 24 hours");
 
             return ResponseEntity.ok(response);
+        } catch (JobSnapshotService.InvalidCursorException e) {
+            return invalidCursorResponse(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -848,16 +731,8 @@ public class JobsController {
         try {
             List<JobListing> allJobs = jobSourceService.aggregateAllListings();
 
-            // Filter jobs by keyword
-            List<JobListing> filteredJobs = allJobs.stream()
-                    .filter(job -> (job.getTitle() != null
-                            && job.getTitle().toLowerCase().contains(keyword.toLowerCase())) ||
-                            (job.getDescription() != null
-                                    && job.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                            ||
-                            (job.getCompany() != null
-                                    && job.getCompany().toLowerCase().contains(keyword.toLowerCase())))
-                    .toList();
+            // Filter jobs by keyword using the inverted index
+            List<JobListing> filteredJobs = jobSearchService.search(allJobs, keyword);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -926,6 +801,38 @@ public class JobsController {
         }
     }
 
+    /**
+     * Standard pagination fields for a snapshot page. {@code nextCursor} pins the
+     * snapshot, so following it is unaffected by cache refreshes.
+     */
+    private Map<String, Object> pageResponse(JobSnapshotService.Page result, int size) {
+        int pageSize = Math.max(1, size);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobs", result.jobs());
+        response.put("count", result.jobs().size());
+        response.put("total", result.total());
+        response.put("page", result.offset() / pageSize + 1);
+        response.put("totalPages", (int) Math.ceil((double) result.total() / pageSize));
+        response.put("pageSize", pageSize);
+        response.put("snapshotVersion", result.snapshotVersion());
+        response.put("nextCursor", result.nextCursor());
+        if (result.snapshotExpired()) {
+            response.put("snapshotExpired", true);
+        }
+        return response;
+    }
+
+    private ResponseEntity<Map<String, Object>> invalidCursorResponse(JobSnapshotService.InvalidCursorException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", e.getMessage());
+        errorResponse.put("jobs", List.of());
+        errorResponse.put("count", 0);
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
     /**
      * Calculate fresher-friendly score for a job listing
      * Score is from 1-10 based on various factors
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.resumeopt.model.Resume;
 import com.resumeopt.model.ResumeDesign;
@@ -18,11 +19,14 @@ import com.resumeopt.model.ResumeTemplateStyle;
 import com.resumeopt.model.StructuredResumeView;
 import com.resumeopt.realtime.RealtimeEventPublisher;
 import com.resumeopt.repo.ResumeRepository;
+import com.resumeopt.service.BlobStore;
 import com.resumeopt.service.ResumeDesignService;
 import com.resumeopt.service.ResumeDocService;
+import com.resumeopt.service.ResumeOptimizationJobService;
 import com.resumeopt.service.ResumeOptimizationService;
 import com.resumeopt.service.ResumeParserService;
 import com.resumeopt.service.ResumePdfService;
+import com.resumeopt.service.ResumeRenderService;
 import com.resumeopt.service.ResumeDiffService;
 import com.resumeopt.service.ResumeChangeService;
 import com.resumeopt.service.ResumeStructuringService;
@@ -46,6 +50,12 @@ public class ResumeController {
     private final ResumeChangeRepository changeRepository;
     private final ResumeStructuringService structuringService;
     private final SkillsGapAnalysisService skillsGapAnalysisService;
+    private final ResumeOptimizationJobService optimizationJobs;
+    private final BlobStore blobStore;
+    private final ResumeRenderService renderService;
+
+    // Pages that submit optimizations and can show a queued job's result
+    private static final java.util.Set<String> RESULT_VIEWS = java.util.Set.of("resume", "resume-simple", "resume-test");
 
     public ResumeController(ResumeParserService parserService,
                             ResumeOptimizationService optimizationService,
@@ -58,7 +68,10 @@ public class ResumeController {
                             ResumeChangeService changeService,
                             ResumeChangeRepository changeRepository,
                             ResumeStructuringService structuringService,
-                            SkillsGapAnalysisService skillsGapAnalysisService) {
+                            SkillsGapAnalysisService skillsGapAnalysisService,
+                            ResumeOptimizationJobService optimizationJobs,
+                            BlobStore blobStore,
+                            ResumeRenderService renderService) {
         this.parserService = parserService;
         this.optimizationService = optimizationService;
         this.resumeRepository = resumeRepository;
@@ -71,6 +84,9 @@ public class ResumeController {
         this.changeRepository = changeRepository;
         this.structuringService = structuringService;
         this.skillsGapAnalysisService = skillsGapAnalysisService;
+        this.optimizationJobs = optimizationJobs;
+        this.blobStore = blobStore;
+        this.renderService = renderService;
     }
 
     @PostMapping("/resume/skills-gap-analysis")
@@ -190,247 +206,23 @@ public class ResumeController {
                 return "resume";
             }
             
-            String originalText;
+            ResumeOptimizationJobService.Submission submission;
             try {
-                if (resumeFile != null && !resumeFile.isEmpty()) {
-                    originalText = parserService.extractText(resumeFile);
-                } else {
-                    originalText = resumeText == null ? "" : resumeText.trim();
-                }
-            } catch (Exception e) {
-                System.err.println("Error extracting text from file: " + e.getMessage());
-                e.printStackTrace();
+                submission = optimizationJobs.submission(resumeFile, resumeText, jobDescription, designName);
+            } catch (IOException e) {
+                System.err.println("Error reading uploaded file: " + e.getMessage());
                 model.addAttribute("error", "Error reading resume file: " + e.getMessage());
                 return "resume";
             }
             
-            // Ensure we have some text to work with
-            if (originalText == null || originalText.isEmpty()) {
-                model.addAttribute("error", "Please provide resume text or upload a resume file.");
-                return "resume";
-            }
-            
-            System.out.println("DEBUG: Original text length: " + originalText.length());
-            System.out.println("DEBUG: Job description length: " + jobDescription.length());
-
-            // Optimize resume
-            if (optimizationService == null) {
-                System.err.println("ERROR: OptimizationService is null!");
-                model.addAttribute("error", "Optimization service is not available. Please check server configuration.");
-                return "resume";
-            }
-            
-            com.resumeopt.service.ResumeOptimizationService.OptimizationResult result;
-            try {
-                System.out.println("DEBUG: Calling optimizationService.optimize()...");
-                result = optimizationService.optimize(originalText, jobDescription);
-                System.out.println("DEBUG: Optimization completed successfully");
-            } catch (NullPointerException e) {
-                System.err.println("ERROR: NullPointerException in optimization service: " + e.getMessage());
-                e.printStackTrace();
-                model.addAttribute("error", "Internal error: Optimization service encountered a null reference. Please try again or contact support.");
-                return "resume";
-            } catch (Exception e) {
-                System.err.println("ERROR: Exception in optimization service: " + e.getMessage());
-                e.printStackTrace();
-                String errorMsg = "Error optimizing resume: " + e.getMessage();
-                if (e.getCause() != null) {
-                    errorMsg += " (Cause: " + e.getCause().getMessage() + ")";
-                }
-                model.addAttribute("error", errorMsg);
-                return "resume";
-            }
-            
-            if (result == null) {
-                System.err.println("ERROR: Optimization service returned null result");
-                model.addAttribute("error", "Optimization service returned null result. Please try again.");
-                return "resume";
-            }
-            System.out.println("DEBUG: Optimization result - Original score: " + result.originalScore() + ", Optimized score: " + result.optimizedScore());
-            System.out.println("DEBUG: Injected keywords count: " + (result.injectedKeywords() != null ? result.injectedKeywords().size() : 0));
-            
-            // Determine design selection
-            ResumeDesign selectedDesign = null;
-            ResumeDesign recommendedDesign = null;
-            
-            try {
-                if (designName != null && !designName.isBlank()) {
-                    selectedDesign = ResumeDesign.fromString(designName);
-                }
-                
-                // Get recommendation if no design selected
-                if (selectedDesign == null && designService != null) {
-                    try {
-                        recommendedDesign = designService.recommendDesign(originalText, jobDescription);
-                        selectedDesign = recommendedDesign; // Use recommended as default
-                    } catch (Exception e) {
-                        System.err.println("Error getting design recommendation: " + e.getMessage());
-                        // Continue without design recommendation
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Error processing design selection: " + e.getMessage());
-                // Continue without design
-            }
-        
-            Resume r = new Resume();
-            r.setOriginalText(originalText);
-            r.setOptimizedText(result.optimizedText() != null ? result.optimizedText() : originalText);
-            r.setAtsOriginalScore(result.originalScore() * 100.0);
-            r.setAtsOptimizedScore(result.optimizedScore() * 100.0);
-            r.setSelectedDesign(selectedDesign);
-            r.setRecommendedDesign(recommendedDesign);
-            
-            byte[] originalFileBytes = null;
-            String contentType = null;
-            if (resumeFile != null && !resumeFile.isEmpty()) {
-                try {
-                    r.setOriginalFilename(resumeFile.getOriginalFilename() != null ? resumeFile.getOriginalFilename() : "resume");
-                    contentType = resumeFile.getContentType() != null ? resumeFile.getContentType() : "application/octet-stream";
-                    r.setContentType(contentType);
-                    // Store original file to preserve template
-                    originalFileBytes = resumeFile.getBytes();
-                    r.setOriginalFile(originalFileBytes);
-                } catch (Exception e) {
-                    System.err.println("Error reading file bytes: " + e.getMessage());
-                    // Continue without original file bytes
-                }
-            }
-        
-            // Generate PDF preserving original template if available, or using selected design
-            try {
-                byte[] pdf;
-                String optimizedText = result.optimizedText() != null ? result.optimizedText() : originalText;
-                if (selectedDesign != null && pdfService != null) {
-                    // Use selected design template
-                    pdf = pdfService.generatePdf(optimizedText, originalFileBytes, originalText, selectedDesign);
-                } else if (originalFileBytes != null && contentType != null && contentType.toLowerCase().contains("pdf") && pdfService != null) {
-                    // Use original PDF as template with advanced preservation
-                    pdf = pdfService.generatePdf(optimizedText, originalFileBytes, originalText);
-                } else if (pdfService != null) {
-                    // Generate new PDF
-                    pdf = pdfService.generatePdf(optimizedText);
-                } else {
-                    pdf = null;
-                    System.err.println("PDF service not available");
-                }
-                if (pdf != null) {
-                    r.setOptimizedPdf(pdf);
-                }
-            } catch (Exception e) {
-                // keep going without PDF
-                System.err.println("Error generating PDF: " + e.getMessage());
-                e.printStackTrace();
-            }
-
-            // If uploaded DOCX, preserve template and replace content
-            try {
-                if (originalFileBytes != null && contentType != null && 
-                    contentType.toLowerCase().contains("officedocument.wordprocessingml.document") && docService != null){
-                    var docRes = docService.replaceContentWithOptimized(originalFileBytes, originalText,
-                            result.optimizedText(), result.injectedKeywords() != null ? result.injectedKeywords() : java.util.Collections.emptyList());
-                    r.setOptimizedDocx(docRes.docxBytes);
-                    r.setChangeLogText(docRes.changeLogText);
-                } else {
-                    r.setChangeLogText("Resume optimized; see insights and injected keywords.");
-                }
-            } catch (Exception e) {
-                System.err.println("Error processing DOCX: " + e.getMessage());
-                e.printStackTrace();
-                r.setChangeLogText("Resume optimized; see insights and injected keywords.");
-            }
-            
-            // Save resume to database
-            Resume savedResume;
+            ResumeOptimizationJobService.Outcome outcome;
             try {
-                savedResume = resumeRepository.save(r);
-                System.out.println("DEBUG: Resume saved with ID: " + savedResume.getId());
-            } catch (Exception e) {
-                System.err.println("Error saving resume to database: " + e.getMessage());
-                e.printStackTrace();
-                model.addAttribute("error", "Error saving resume: " + e.getMessage());
+                outcome = optimizationJobs.run(submission, (stage, message) -> { });
+            } catch (ResumeOptimizationJobService.OptimizationFailedException e) {
+                model.addAttribute("error", e.getMessage());
                 return "resume";
             }
-        
-            // Generate and store changes
-            try {
-                if (diffService != null && changeRepository != null) {
-                    java.util.List<ResumeChange> changes = diffService.generateChanges(
-                        originalText, result.optimizedText() != null ? result.optimizedText() : originalText, savedResume);
-                    
-                    // Only save meaningful changes
-                    int savedCount = 0;
-                    for (ResumeChange change : changes) {
-                        try {
-                            // Validate change has required fields
-                            if (change != null && change.getChangeType() != null && 
-                                (change.getOriginalText() != null || change.getNewText() != null)) {
-                                changeRepository.save(change);
-                                savedCount++;
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Error saving individual change: " + e.getMessage());
-                            // Continue with next change
-                        }
-                    }
-                    System.out.println("DEBUG: Generated " + changes.size() + " changes, saved " + savedCount + " valid changes");
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating changes: " + e.getMessage());
-                e.printStackTrace();
-                // Continue - changes are optional
-            }
-
-            // Set model attributes
-            model.addAttribute("originalText", originalText);
-            model.addAttribute("optimizedText", result.optimizedText() != null ? result.optimizedText() : originalText);
-            model.addAttribute("atsOriginal", String.format("%.0f", result.originalScore() * 100));
-            model.addAttribute("atsOptimized", String.format("%.0f", result.optimizedScore() * 100));
-            model.addAttribute("improvement", String.format("%.0f", (result.optimizedScore() - result.originalScore()) * 100));
-            model.addAttribute("atsOriginalNum", result.originalScore() * 100);
-            model.addAttribute("atsOptimizedNum", result.optimizedScore() * 100);
-            // Use strict optimized ATS score for internal readiness as mapping helper was removed
-            model.addAttribute("atsOptimizedReadinessInternal", String.format("%.0f", result.optimizedScore() * 100));
-            model.addAttribute("injectedKeywords", result.injectedKeywords() != null ? result.injectedKeywords() : java.util.Collections.emptyList());
-            model.addAttribute("insights", result.insights() != null ? result.insights() : java.util.Collections.emptyList());
-            model.addAttribute("resumeId", savedResume.getId());
-            model.addAttribute("changeLogText", savedResume.getChangeLogText() != null ? savedResume.getChangeLogText() : "Resume optimized.");
-            model.addAttribute("selectedDesign", selectedDesign != null ? selectedDesign.getDisplayName() : "Default");
-            model.addAttribute("recommendedDesign", recommendedDesign != null ? recommendedDesign.getDisplayName() : null);
-            
-            // Add design preview if available
-            try {
-                if (selectedDesign != null && designService != null) {
-                    model.addAttribute("designPreview", designService.getDesignPreview(selectedDesign));
-                }
-            } catch (Exception e) {
-                System.err.println("Error getting design preview: " + e.getMessage());
-                // Continue without preview
-            }
-            
-            System.out.println("DEBUG: Model attributes set - resumeId: " + savedResume.getId() + ", originalText length: " + originalText.length());
-            System.out.println("DEBUG: Insights count: " + (result.insights() != null ? result.insights().size() : 0) + ", Keywords count: " + (result.injectedKeywords() != null ? result.injectedKeywords().size() : 0));
-            System.out.println("DEBUG: All model attributes: " + model.asMap().keySet());
-
-            // Publish event
-            try {
-                if (events != null) {
-                    events.publish("/topic/resume/optimized", new java.util.HashMap<String, Object>() {{
-                        put("atsOriginal", (int)Math.round(result.originalScore() * 100));
-                        put("atsOptimized", (int)Math.round(result.optimizedScore() * 100));
-                        put("optimizedText", result.optimizedText() != null ? result.optimizedText() : originalText);
-                        put("injectedKeywords", result.injectedKeywords() != null ? result.injectedKeywords() : java.util.Collections.emptyList());
-                        put("insights", result.insights() != null ? result.insights() : java.util.Collections.emptyList());
-                        put("pdfUrl", "/resume/pdf/" + savedResume.getId());
-                        put("docxUrl", "/resume/docx/" + savedResume.getId());
-                        put("ts", System.currentTimeMillis());
-                    }});
-                }
-            } catch (Exception e) {
-                System.err.println("Error publishing event: " + e.getMessage());
-                // Continue - event publishing is optional
-            }
-            
+            addResultAttributes(model, outcome);
             return "resume";
             
         } catch (Exception e) {
@@ -441,68 +233,224 @@ public class ResumeController {
         }
     }
 
+    /**
+     * The result page's model for a finished optimization, shared by the
+     * synchronous form post and the result page of a queued job.
+     */
+    private void addResultAttributes(Model model, ResumeOptimizationJobService.Outcome outcome) {
+        var result = outcome.result();
+        Resume savedResume = outcome.resume();
+        ResumeDesign selectedDesign = outcome.selectedDesign();
+        ResumeDesign recommendedDesign = outcome.recommendedDesign();
+
+        // Set model attributes
+        model.addAttribute("originalText", outcome.originalText());
+        model.addAttribute("optimizedText", outcome.optimizedText());
+        model.addAttribute("atsOriginal", String.format("%.0f", result.originalScore() * 100));
+        model.addAttribute("atsOptimized", String.format("%.0f", result.optimizedScore() * 100));
+        model.addAttribute("improvement", String.format("%.0f", (result.optimizedScore() - result.originalScore()) * 100));
+        model.addAttribute("atsOriginalNum", result.originalScore() * 100);
+        model.addAttribute("atsOptimizedNum", result.optimizedScore() * 100);
+        // Use strict optimized ATS score for internal readiness as mapping helper was removed
+        model.addAttribute("atsOptimizedReadinessInternal", String.format("%.0f", result.optimizedScore() * 100));
+        model.addAttribute("injectedKeywords", result.injectedKeywords() != null ? result.injectedKeywords() : java.util.Collections.emptyList());
+        model.addAttribute("insights", result.insights() != null ? result.insights() : java.util.Collections.emptyList());
+        model.addAttribute("resumeId", savedResume.getId());
+        model.addAttribute("changeLogText", savedResume.getChangeLogText() != null ? savedResume.getChangeLogText() : "Resume optimized.");
+        model.addAttribute("selectedDesign", selectedDesign != null ? selectedDesign.getDisplayName() : "Default");
+        model.addAttribute("recommendedDesign", recommendedDesign != null ? recommendedDesign.getDisplayName() : null);
+        
+        // Add design preview if available
+        try {
+            if (selectedDesign != null && designService != null) {
+                model.addAttribute("designPreview", designService.getDesignPreview(selectedDesign));
+            }
+        } catch (Exception e) {
+            System.err.println("Error getting design preview: " + e.getMessage());
+            // Continue without preview
+        }
+    }
+
+    /**
+     * Queues an optimization and answers at once with its job id. Progress and
+     * the result are published to {@code /topic/resume/{jobId}}; the status URL
+     * returns the latest state for clients that subscribe late. Answers 503
+     * while the optimization queue is full.
+     */
+    @PostMapping("/resume/optimize/async")
+    @ResponseBody
+    public org.springframework.http.ResponseEntity<java.util.Map<String, Object>> optimizeAsync(
+            @RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile,
+            @RequestParam(value = "resumeText", required = false) String resumeText,
+            @RequestParam(value = "jobDescription", required = false) String jobDescription,
+            @RequestParam(value = "design", required = false) String designName) {
+        java.util.Map<String, Object> response = new java.util.HashMap<>();
+        if (jobDescription == null || jobDescription.trim().isEmpty()) {
+            response.put("error", "Please provide a job description.");
+            return org.springframework.http.ResponseEntity.badRequest().body(response);
+        }
+        if ((resumeFile == null || resumeFile.isEmpty()) && (resumeText == null || resumeText.isBlank())) {
+            response.put("error", "Please provide resume text or upload a resume file.");
+            return org.springframework.http.ResponseEntity.badRequest().body(response);
+        }
+        try {
+            String jobId = optimizationJobs.submit(
+                optimizationJobs.submission(resumeFile, resumeText, jobDescription, designName));
+            response.put("jobId", jobId);
+            response.put("topic", ResumeOptimizationJobService.topic(jobId));
+            response.put("statusUrl", "/resume/optimize/jobs/" + jobId);
+            response.put("resultUrl", "/resume/optimize/jobs/" + jobId + "/result");
+            return org.springframework.http.ResponseEntity.accepted().body(response);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            response.put("error", "Too many optimizations in progress. Please try again shortly.");
+            return org.springframework.http.ResponseEntity.status(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(org.springframework.http.HttpHeaders.RETRY_AFTER, "5")
+                    .body(response);
+        } catch (IOException e) {
+            response.put("error", "Error reading resume file: " + e.getMessage());
+            return org.springframework.http.ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/resume/optimize/jobs/{jobId}")
+    @ResponseBody
+    public org.springframework.http.ResponseEntity<ResumeOptimizationJobService.JobStatus> optimizationStatus(
+            @org.springframework.web.bind.annotation.PathVariable("jobId") String jobId) {
+        ResumeOptimizationJobService.JobStatus status = optimizationJobs.status(jobId);
+        if (status == null) {
+            return org.springframework.http.ResponseEntity.notFound().build();
+        }
+        return org.springframework.http.ResponseEntity.ok(status);
+    }
+
+    /**
+     * Result page of a completed job, rendered with the page it was submitted
+     * from (the resume, resume-simple or resume-test view).
+     */
+    @GetMapping("/resume/optimize/jobs/{jobId}/result")
+    public String optimizationResult(@org.springframework.web.bind.annotation.PathVariable("jobId") String jobId,
+                                     @RequestParam(value = "view", required = false, defaultValue = "resume") String view,
+                                     Model model) {
+        String page = RESULT_VIEWS.contains(view) ? view : "resume";
+        ResumeOptimizationJobService.Outcome outcome = optimizationJobs.outcome(jobId);
+        if (outcome == null) {
+            model.addAttribute("error", "This optimization is unknown or has expired. Please optimize your resume again.");
+            return page;
+        }
+        addResultAttributes(model, outcome);
+        return page;
+    }
+
     @GetMapping("/resume/pdf/{id}")
-    public org.springframework.http.ResponseEntity<byte[]> download(@org.springframework.web.bind.annotation.PathVariable("id") Long id) {
+    public org.springframework.http.ResponseEntity<StreamingResponseBody> download(
+            @org.springframework.web.bind.annotation.PathVariable("id") Long id,
+            @org.springframework.web.bind.annotation.RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         if (id == null) {
             return org.springframework.http.ResponseEntity.badRequest().build();
         }
         java.util.Optional<Resume> opt = resumeRepository.findById(id);
-        if (opt.isEmpty() || opt.get().getOptimizedPdf() == null) {
+        if (opt.isEmpty()) {
             return org.springframework.http.ResponseEntity.notFound().build();
         }
-        Resume resume = opt.get();
-        byte[] pdfData = resume.getOptimizedPdf();
-        if (pdfData == null) {
+        String ref;
+        try {
+            // Rendered on first download and recorded on the resume, then served as stored
+            ref = renderService.optimizedPdf(opt.get());
+        } catch (Exception e) {
+            System.err.println("Error generating PDF: " + e.getMessage());
             return org.springframework.http.ResponseEntity.notFound().build();
         }
-        return org.springframework.http.ResponseEntity.ok()
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=optimized_resume.pdf")
-                .contentType(java.util.Objects.requireNonNull(org.springframework.http.MediaType.APPLICATION_PDF))
-                .body(pdfData);
+        return streamBlob(ref, org.springframework.http.MediaType.APPLICATION_PDF,
+                "inline; filename=optimized_resume.pdf", ifNoneMatch);
     }
 
     @GetMapping("/resume/docx/{id}")
-    public org.springframework.http.ResponseEntity<byte[]> downloadDocx(@org.springframework.web.bind.annotation.PathVariable("id") Long id) {
+    public org.springframework.http.ResponseEntity<StreamingResponseBody> downloadDocx(
+            @org.springframework.web.bind.annotation.PathVariable("id") Long id,
+            @org.springframework.web.bind.annotation.RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         if (id == null) {
             return org.springframework.http.ResponseEntity.badRequest().build();
         }
         java.util.Optional<Resume> opt = resumeRepository.findById(id);
-        if (opt.isEmpty() || opt.get().getOptimizedDocx() == null) {
-            return org.springframework.http.ResponseEntity.notFound().build();
-        }
-        Resume resume = opt.get();
-        byte[] docxData = resume.getOptimizedDocx();
-        if (docxData == null) {
+        if (opt.isEmpty()) {
             return org.springframework.http.ResponseEntity.notFound().build();
         }
         org.springframework.http.MediaType docxMediaType = java.util.Objects.requireNonNull(
                 org.springframework.http.MediaType.valueOf("application/vnd.openxmlformats-officedocument.wordprocessingml.document"));
-        return org.springframework.http.ResponseEntity.ok()
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=optimized_resume.docx")
-                .contentType(docxMediaType)
-                .body(docxData);
+        return streamBlob(opt.get().getOptimizedDocxRef(), docxMediaType,
+                "attachment; filename=optimized_resume.docx", ifNoneMatch);
     }
 
     @GetMapping("/resume/original/{id}")
-    public org.springframework.http.ResponseEntity<byte[]> downloadOriginal(@org.springframework.web.bind.annotation.PathVariable("id") Long id) {
+    public org.springframework.http.ResponseEntity<StreamingResponseBody> downloadOriginal(
+            @org.springframework.web.bind.annotation.PathVariable("id") Long id,
+            @org.springframework.web.bind.annotation.RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         if (id == null) {
             return org.springframework.http.ResponseEntity.badRequest().build();
         }
         java.util.Optional<Resume> opt = resumeRepository.findById(id);
-        if (opt.isEmpty() || opt.get().getOriginalFile() == null) {
+        if (opt.isEmpty()) {
             return org.springframework.http.ResponseEntity.notFound().build();
         }
         Resume resume = opt.get();
-        byte[] original = resume.getOriginalFile();
-        if (original == null) {
-            return org.springframework.http.ResponseEntity.notFound().build();
-        }
         String filename = resume.getOriginalFilename() != null ? resume.getOriginalFilename() : "original_resume";
         String contentType = resume.getContentType() != null ? resume.getContentType() : "application/octet-stream";
+        return streamBlob(resume.getOriginalFileRef(),
+                java.util.Objects.requireNonNull(org.springframework.http.MediaType.parseMediaType(contentType)),
+                "attachment; filename=\"" + filename + "\"", ifNoneMatch);
+    }
+
+    /**
+     * Streams a stored file straight from the blob store, without reading it
+     * into memory. Blob references are content hashes, so they serve as
+     * strong ETags: a client that already has the file gets a 304.
+     */
+    private org.springframework.http.ResponseEntity<StreamingResponseBody> streamBlob(String ref,
+            org.springframework.http.MediaType mediaType, String disposition, String ifNoneMatch) {
+        long size;
+        try {
+            if (ref == null || !blobStore.exists(ref)) {
+                return org.springframework.http.ResponseEntity.notFound().build();
+            }
+            size = blobStore.size(ref);
+        } catch (IOException e) {
+            System.err.println("Error reading stored file " + ref + ": " + e.getMessage());
+            return org.springframework.http.ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + ref + "\"";
+        org.springframework.http.CacheControl revalidate = org.springframework.http.CacheControl.noCache().cachePrivate();
+        if (matchesETag(ifNoneMatch, etag)) {
+            return org.springframework.http.ResponseEntity.status(org.springframework.http.HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(revalidate)
+                    .build();
+        }
         return org.springframework.http.ResponseEntity.ok()
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(java.util.Objects.requireNonNull(org.springframework.http.MediaType.parseMediaType(contentType)))
-                .body(original);
+                .eTag(etag)
+                .cacheControl(revalidate)
+                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, disposition)
+                .contentType(mediaType)
+                .contentLength(size)
+                .body(out -> blobStore.transferTo(ref, out));
+    }
+
+    /**
+     * Whether an If-None-Match header lists the ETag (weak comparison, as for GET).
+     */
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @GetMapping("/resume-debug")
@@ -575,9 +523,10 @@ public class ResumeController {
     }
 
     @GetMapping("/resume/pdf/{id}/template")
-    public org.springframework.http.ResponseEntity<byte[]> downloadTemplatePdf(
+    public org.springframework.http.ResponseEntity<StreamingResponseBody> downloadTemplatePdf(
             @org.springframework.web.bind.annotation.PathVariable("id") Long id,
-            @RequestParam(name = "style", required = false, defaultValue = "MINIMAL") String styleParam) {
+            @RequestParam(name = "style", required = false, defaultValue = "MINIMAL") String styleParam,
+            @org.springframework.web.bind.annotation.RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         if (id == null) {
             return org.springframework.http.ResponseEntity.badRequest().build();
         }
@@ -585,22 +534,13 @@ public class ResumeController {
         if (opt.isEmpty()) {
             return org.springframework.http.ResponseEntity.notFound().build();
         }
-        Resume resume = opt.get();
-        String text = resume.getOptimizedText() != null && !resume.getOptimizedText().isBlank()
-                ? resume.getOptimizedText()
-                : resume.getOriginalText();
-        if (text == null) text = "";
-
-        StructuredResumeView view = structuringService.buildView(text);
         ResumeTemplateStyle style = ResumeTemplateStyle.fromString(styleParam);
 
         try {
-            byte[] pdf = pdfService.generateTemplatePdf(view, style);
+            String ref = renderService.templatePdf(opt.get(), style);
             String fileName = "resume_template_" + style.name().toLowerCase() + ".pdf";
-            return org.springframework.http.ResponseEntity.ok()
-                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .contentType(org.springframework.http.MediaType.APPLICATION_PDF)
-                    .body(pdf);
+            return streamBlob(ref, org.springframework.http.MediaType.APPLICATION_PDF,
+                    "attachment; filename=\"" + fileName + "\"", ifNoneMatch);
         } catch (Exception e) {
             return org.springframework.http.ResponseEntity.status(
                     org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR).build();
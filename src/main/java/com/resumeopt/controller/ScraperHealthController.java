@@ -1,6 +1,8 @@
 package com.resumeopt.controller;
 
+import com.resumeopt.service.AdaptivePortalScheduler;
 import com.resumeopt.service.ScraperHealthService;
+import com.resumeopt.service.TieredFetchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +20,12 @@ public class ScraperHealthController {
     @Autowired
     private ScraperHealthService scraperHealthService;
 
+    @Autowired
+    private AdaptivePortalScheduler portalScheduler;
+
+    @Autowired
+    private TieredFetchService tieredFetchService;
+
     /**
      * Get overall health status for all scrapers
      */
@@ -29,6 +37,8 @@ public class ScraperHealthController {
         response.put("success", true);
         response.put("portals", allHealth);
         response.put("totalPortals", allHealth.size());
+        response.put("schedules", portalScheduler.getSchedules());
+        response.put("fetchTiers", tieredFetchService.getTierStats());
 
         // Calculate overall statistics
         long healthyCount = allHealth.values().stream()
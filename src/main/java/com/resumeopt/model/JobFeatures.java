@@ -0,0 +1,320 @@
+package com.resumeopt.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Structured features of a job listing, extracted once when the listing is
+ * ingested and stored with it (see {@link JobListing#getFeatures()}), so that
+ * matching and analytics read them instead of rescanning the description.
+ *
+ * Skills are interned: every skill any scorer looks for has a fixed id (see
+ * {@link #skillId(String)}), and a listing keeps the sorted ids of the skills
+ * its text contains, once for the description alone and once for title plus
+ * description. Like the scorers always did, skills, experience and education
+ * are found as plain substrings of the lower-cased text.
+ */
+public final class JobFeatures {
+
+    public static final int BACHELOR = 1;
+    public static final int MASTER = 2;
+
+    // Experience requirement such as "2 years" or "3-5 yrs"
+    private static final Pattern EXPERIENCE = Pattern.compile(
+        "(\\d+)\\s*(?:to|-|–)?\\s*(\\d+)?\\s*(?:years?|yrs?)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMBER = Pattern.compile("(\\d+(?:\\.\\d+)?)");
+
+    private static final String[] SKILLS = {
+        "java", "python", "javascript", "react", "angular", "node", "spring", "sql",
+        "html", "css", "mongodb", "mysql", "postgresql", "git", "docker", "kubernetes",
+        "aws", "azure", "gcp", "linux", "c++", "c#", "php", "ruby", "typescript",
+        "vue", "express", "django", "flask", "tensorflow", "pytorch", "machine learning",
+        "data science", "ai", "artificial intelligence", "deep learning", "android",
+        "ios", "mobile development", "api", "rest", "microservices", "agile", "scrum",
+        "project management", "ui/ux", "design", "testing", "ci/cd", "jenkins",
+        "sql server", "oracle", "firebase", "spring boot", "hibernate", "jpa",
+        "bootstrap", "sass", "less", "webpack", "babel", "npm", "yarn", "redux",
+        "graphql", "postman", "junit", "selenium", "cucumber", "maven", "gradle",
+        "gitlab", "github", "bitbucket", "bash", "powershell", "scala",
+        "go", "rust", "swift", "kotlin", "flutter", "react native", "xamarin",
+        "blockchain", "ethereum", "solidity", "web3",
+        "data structures", "algorithms", "problem solving", "communication",
+        "teamwork", "leadership", "adaptability", "critical thinking", "creativity",
+        "time management", "organization", "analytical", "research", "presentation",
+        "negotiation", "conflict resolution", "emotional intelligence",
+        "node.js", "devops", "rest api"
+    };
+    private static final Map<String, Integer> SKILL_IDS = new HashMap<>();
+    static {
+        for (int i = 0; i < SKILLS.length; i++) {
+            SKILL_IDS.put(SKILLS[i], i);
+        }
+    }
+
+    // Stored features carry the vocabulary they were interned with and are
+    // recomputed once it changes, since their skill ids would be stale
+    private static final String FORMAT = "f1." + Integer.toHexString(Arrays.hashCode(SKILLS));
+
+    private final int[] descriptionSkills;
+    private final int[] skills;
+    private final int minExperience;
+    private final int maxExperience;
+    private final int education;
+    private final double salaryMin;
+    private final double salaryMax;
+
+    private JobFeatures(int[] descriptionSkills, int[] skills, int minExperience, int maxExperience,
+                        int education, double salaryMin, double salaryMax) {
+        this.descriptionSkills = descriptionSkills;
+        this.skills = skills;
+        this.minExperience = minExperience;
+        this.maxExperience = maxExperience;
+        this.education = education;
+        this.salaryMin = salaryMin;
+        this.salaryMax = salaryMax;
+    }
+
+    public static JobFeatures of(JobListing job) {
+        String description = Objects.toString(job.getDescription(), "").toLowerCase();
+        String combined = Objects.toString(job.getTitle(), "").toLowerCase() + " " + description;
+
+        int minExperience = -1;
+        int maxExperience = -1;
+        Matcher experience = EXPERIENCE.matcher(combined);
+        if (experience.find()) {
+            minExperience = parseYears(experience.group(1), 0);
+            maxExperience = experience.group(2) != null ? parseYears(experience.group(2), minExperience) : minExperience;
+        }
+
+        int education = 0;
+        if (combined.contains("bachelor") || combined.contains("b.tech")
+                || combined.contains("b.e") || combined.contains("degree")) {
+            education |= BACHELOR;
+        }
+        if (combined.contains("master") || combined.contains("m.tech")) {
+            education |= MASTER;
+        }
+
+        double salaryMin = Double.NaN;
+        double salaryMax = Double.NaN;
+        if (job.getSalaryRange() != null) {
+            Matcher number = NUMBER.matcher(job.getSalaryRange());
+            while (number.find()) {
+                double value = Double.parseDouble(number.group(1));
+                salaryMin = Double.isNaN(salaryMin) ? value : Math.min(salaryMin, value);
+                salaryMax = Double.isNaN(salaryMax) ? value : Math.max(salaryMax, value);
+            }
+        }
+
+        return new JobFeatures(skillsIn(description), skillsIn(combined), minExperience, maxExperience,
+            education, salaryMin, salaryMax);
+    }
+
+    private static int[] skillsIn(String lower) {
+        int[] found = new int[SKILLS.length];
+        int count = 0;
+        for (int i = 0; i < SKILLS.length; i++) {
+            if (lower.contains(SKILLS[i])) {
+                found[count++] = i;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private static int parseYears(String digits, int overflow) {
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return overflow;
+        }
+    }
+
+    /**
+     * Interned id of a skill, for use with {@link #hasSkill(int)}.
+     *
+     * @throws IllegalArgumentException if the skill is not in the vocabulary
+     */
+    public static int skillId(String skill) {
+        Integer id = SKILL_IDS.get(skill);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown skill: " + skill);
+        }
+        return id;
+    }
+
+    public static int[] skillIds(String... skills) {
+        int[] ids = new int[skills.length];
+        for (int i = 0; i < skills.length; i++) {
+            ids[i] = skillId(skills[i]);
+        }
+        return ids;
+    }
+
+    public static String skillName(int id) {
+        return SKILLS[id];
+    }
+
+    /**
+     * Whether the title or the description mentions the skill.
+     */
+    public boolean hasSkill(int id) {
+        return Arrays.binarySearch(skills, id) >= 0;
+    }
+
+    /**
+     * Whether the description alone mentions the skill.
+     */
+    public boolean hasDescriptionSkill(int id) {
+        return Arrays.binarySearch(descriptionSkills, id) >= 0;
+    }
+
+    /**
+     * Names of the given skills that the title or description mention, in argument order.
+     */
+    public List<String> skills(int[] ids) {
+        List<String> names = new ArrayList<>();
+        for (int id : ids) {
+            if (hasSkill(id)) {
+                names.add(SKILLS[id]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Names of the given skills that the description mentions, in argument order.
+     */
+    public List<String> descriptionSkills(int[] ids) {
+        List<String> names = new ArrayList<>();
+        for (int id : ids) {
+            if (hasDescriptionSkill(id)) {
+                names.add(SKILLS[id]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Years of experience of the first requirement stated, or -1 if none is.
+     */
+    public int minExperience() {
+        return minExperience;
+    }
+
+    /**
+     * Upper end of the first requirement stated, its lower end if it is not a
+     * range, or -1 if none is stated.
+     */
+    public int maxExperience() {
+        return maxExperience;
+    }
+
+    /**
+     * Whether the listing asks for a degree of the given level ({@link #BACHELOR} or {@link #MASTER}).
+     */
+    public boolean requiresEducation(int level) {
+        return (education & level) != 0;
+    }
+
+    /**
+     * Whether the salary range has any amount, see {@link #salaryMin()} and {@link #salaryMax()}.
+     */
+    public boolean hasSalary() {
+        return !Double.isNaN(salaryMin);
+    }
+
+    /**
+     * Lowest amount in the salary range as listed (normally LPA), or NaN.
+     */
+    public double salaryMin() {
+        return salaryMin;
+    }
+
+    /**
+     * Highest amount in the salary range as listed (normally LPA), or NaN.
+     */
+    public double salaryMax() {
+        return salaryMax;
+    }
+
+    /**
+     * Compact text form persisted with the listing.
+     */
+    public String encode() {
+        return String.join(";", FORMAT, join(descriptionSkills), join(skills),
+            Integer.toString(minExperience), Integer.toString(maxExperience), Integer.toString(education),
+            Double.toString(salaryMin), Double.toString(salaryMax));
+    }
+
+    /**
+     * Reads features written by {@link #encode()}; null if there are none or
+     * they were written with a different skill vocabulary.
+     */
+    public static JobFeatures decode(String encoded) {
+        if (encoded == null || !encoded.startsWith(FORMAT + ";")) {
+            return null;
+        }
+        String[] parts = encoded.split(";", -1);
+        if (parts.length != 8) {
+            return null;
+        }
+        try {
+            return new JobFeatures(split(parts[1]), split(parts[2]), Integer.parseInt(parts[3]),
+                Integer.parseInt(parts[4]), Integer.parseInt(parts[5]),
+                Double.parseDouble(parts[6]), Double.parseDouble(parts[7]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String join(int[] ids) {
+        StringBuilder out = new StringBuilder();
+        for (int id : ids) {
+            if (out.length() > 0) {
+                out.append(',');
+            }
+            out.append(id);
+        }
+        return out.toString();
+    }
+
+    private static int[] split(String ids) {
+        if (ids.isEmpty()) {
+            return new int[0];
+        }
+        int[] parsed = Arrays.stream(ids.split(",")).mapToInt(Integer::parseInt).toArray();
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] < 0 || parsed[i] >= SKILLS.length || (i > 0 && parsed[i] <= parsed[i - 1])) {
+                throw new IllegalArgumentException("Malformed skill ids: " + ids);
+            }
+        }
+        return parsed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobFeatures)) {
+            return false;
+        }
+        return encode().equals(((JobFeatures) o).encode());
+    }
+
+    @Override
+    public int hashCode() {
+        return encode().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
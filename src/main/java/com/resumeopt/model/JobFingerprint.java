@@ -0,0 +1,225 @@
+package com.resumeopt.model;
+
+/**
+ * Canonical identity of a job listing, shared by every deduplication, change
+ * detection and persistence path.
+ *
+ * Title and company are canonicalized to their lower-cased letters and digits.
+ * The apply URL is lower-cased and drops the scheme, a leading "www.", trailing
+ * slashes, the fragment and tracking query parameters (utm_*, ref, trk, ...), so
+ * the same posting reached through different links keeps one identity. Its
+ * separators ('/', '-', '.', '=', '&', ...) are kept, so {@code /jobs/12-3456}
+ * and {@code /jobs/123-456} or {@code ?jk=123} and {@code ?jk=12} stay apart.
+ * Canonical characters are hashed as they are scanned, without building
+ * intermediate strings.
+ *
+ * The identity is a 128-bit hash of all three fields; the 64-bit title+company
+ * and URL hashes support the coarser keys some paths need. Instances are
+ * computed once per listing and cached by {@link JobListing#getCanonicalFingerprint()}.
+ */
+public final class JobFingerprint {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_1 = 0x100000001B3L;
+    private static final long PRIME_2 = 0xFF51AFD7ED558CCDL;
+
+    private static final String[] TRACKING_PARAMETERS = {
+            "ref", "refid", "src", "trk", "trackingid", "fbclid", "gclid" };
+
+    private final long high;
+    private final long low;
+    private final long titleCompany;
+    private final long url;
+    private final boolean hasUrl;
+
+    private JobFingerprint(long high, long low, long titleCompany, long url, boolean hasUrl) {
+        this.high = high;
+        this.low = low;
+        this.titleCompany = titleCompany;
+        this.url = url;
+        this.hasUrl = hasUrl;
+    }
+
+    public static JobFingerprint of(JobListing job) {
+        return of(job.getTitle(), job.getCompany(), job.getApplyUrl());
+    }
+
+    public static JobFingerprint of(String title, String company, String applyUrl) {
+        Hasher titleHash = new Hasher();
+        titleHash.addText(title);
+        Hasher companyHash = new Hasher();
+        companyHash.addText(company);
+        Hasher urlHash = new Hasher();
+        urlHash.addUrl(applyUrl);
+
+        long titleCompany = mix(mix(titleHash.h1) * PRIME_2 + companyHash.h1);
+        long high = mix(titleCompany * PRIME_2 + urlHash.h1);
+        long low = mix(mix(mix(titleHash.h2) * PRIME_1 + companyHash.h2) * PRIME_1 + urlHash.h2);
+        return new JobFingerprint(high, low, titleCompany, mix(urlHash.h1), urlHash.length > 0);
+    }
+
+    /**
+     * 64-bit hash of the canonical title and company only, for keys that must
+     * match the same job listed under different URLs (e.g. across portals).
+     */
+    public long titleCompany() {
+        return titleCompany;
+    }
+
+    /**
+     * 64-bit hash of the canonical apply URL; only meaningful if {@link #hasUrl()}.
+     */
+    public long url() {
+        return url;
+    }
+
+    /**
+     * Whether the listing has an apply URL with any canonical content.
+     */
+    public boolean hasUrl() {
+        return hasUrl;
+    }
+
+    /**
+     * The 128-bit identity as 32 hex characters, the form persisted by the job index.
+     */
+    public String toHex() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobFingerprint)) {
+            return false;
+        }
+        JobFingerprint other = (JobFingerprint) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (high ^ (high >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    // Final avalanche of MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Two independent FNV-style lanes over the canonical characters of one field.
+     */
+    private static final class Hasher {
+        long h1 = SEED_1;
+        long h2 = SEED_2;
+        int length;
+
+        void addText(String value) {
+            if (value != null) {
+                addCanonical(value, 0, value.length());
+            }
+        }
+
+        void addUrl(String value) {
+            if (value == null) {
+                return;
+            }
+            int end = value.indexOf('#');
+            if (end < 0) {
+                end = value.length();
+            }
+            int start = 0;
+            while (start < end && Character.isWhitespace(value.charAt(start))) {
+                start++;
+            }
+            if (value.regionMatches(true, start, "https://", 0, 8)) {
+                start += 8;
+            } else if (value.regionMatches(true, start, "http://", 0, 7)) {
+                start += 7;
+            }
+            if (value.regionMatches(true, start, "www.", 0, 4)) {
+                start += 4;
+            }
+
+            int query = value.indexOf('?', start);
+            if (query < 0 || query >= end) {
+                query = end;
+            }
+            int pathEnd = query;
+            while (pathEnd > start
+                    && (value.charAt(pathEnd - 1) == '/' || Character.isWhitespace(value.charAt(pathEnd - 1)))) {
+                pathEnd--;
+            }
+            addUrlPart(value, start, pathEnd);
+            for (int param = query + 1; param < end; ) {
+                int paramEnd = value.indexOf('&', param);
+                if (paramEnd < 0 || paramEnd > end) {
+                    paramEnd = end;
+                }
+                if (paramEnd > param && !isTrackingParameter(value, param, paramEnd)) {
+                    add('&');
+                    addUrlPart(value, param, paramEnd);
+                }
+                param = paramEnd + 1;
+            }
+        }
+
+        // URLs keep their separators; only case and whitespace are normalized
+        private void addUrlPart(String value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    add(Character.toLowerCase(c));
+                    length++;
+                }
+            }
+        }
+
+        private void addCanonical(String value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = Character.toLowerCase(value.charAt(i));
+                if (Character.isLetterOrDigit(c)) {
+                    add(c);
+                    length++;
+                }
+            }
+        }
+
+        private void add(char c) {
+            h1 = (h1 ^ c) * PRIME_1;
+            h2 = (h2 ^ c) * PRIME_2;
+            h2 ^= h2 >>> 29;
+        }
+    }
+
+    private static boolean isTrackingParameter(String url, int from, int to) {
+        int nameEnd = url.indexOf('=', from);
+        if (nameEnd < 0 || nameEnd > to) {
+            nameEnd = to;
+        }
+        int nameLength = nameEnd - from;
+        if (url.regionMatches(true, from, "utm_", 0, 4)) {
+            return true;
+        }
+        for (String name : TRACKING_PARAMETERS) {
+            if (name.length() == nameLength && url.regionMatches(true, from, name, 0, nameLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumeopt.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -7,11 +8,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_job_listing_fingerprint", columnList = "fingerprint"),
+    @Index(name = "idx_job_listing_expired", columnList = "expired")
+})
 public class JobListing {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +58,25 @@ public class JobListing {
     
     private Integer experienceRequired;
 
+    // Persistent job index bookkeeping (see JobIndexService)
+    @Column(length = 64)
+    private String fingerprint;
+    @Column(length = 64)
+    private String contentHash;
+    private Long lastSeenCycle;
+    private LocalDateTime lastSeenAt;
+    private Boolean expired;
+
+    // Ingest-time features (see JobFeatures) in their encoded form; cleared
+    // whenever title, description or salary range change
+    @Column(length = 1000)
+    private String features;
+
+    // Job side of resume matching (see JobMatchService) in its encoded form;
+    // cleared whenever the description changes
+    @Column(length = 8000)
+    private String matchFeatures;
+
     // Non-persistent computed attributes for entry-level analytics
     @Transient
     private Double successProbability;
@@ -67,18 +93,26 @@ public class JobListing {
     @Transient
     private Integer fresherFriendlyScore;  // Score from 1-10 indicating how fresher-friendly the job is
 
+    // Computed on first use; reset whenever title, company or apply URL change
+    @Transient
+    private JobFingerprint canonicalFingerprint;
+
+    // Decoded or freshly extracted form of features
+    @Transient
+    private JobFeatures decodedFeatures;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Long getVersion() { return version; }
     public void setVersion(Long version) { this.version = version; }
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) { this.title = title; canonicalFingerprint = null; clearFeatures(); }
     public String getCompany() { return company; }
-    public void setCompany(String company) { this.company = company; }
+    public void setCompany(String company) { this.company = company; canonicalFingerprint = null; }
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { this.description = description; matchFeatures = null; clearFeatures(); }
     public String getApplyUrl() { return applyUrl; }
-    public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
+    public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; canonicalFingerprint = null; }
     public Boolean getLinkVerified() { return linkVerified; }
     public void setLinkVerified(Boolean linkVerified) { this.linkVerified = linkVerified; }
     public MatchLevel getMatchLevel() { return matchLevel; }
@@ -114,11 +148,67 @@ public class JobListing {
     public void setLocation(String location) { this.location = location; }
     
     public String getSalaryRange() { return salaryRange; }
-    public void setSalaryRange(String salaryRange) { this.salaryRange = salaryRange; }
+    public void setSalaryRange(String salaryRange) { this.salaryRange = salaryRange; clearFeatures(); }
     
     public Integer getExperienceRequired() { return experienceRequired; }
     public void setExperienceRequired(Integer experienceRequired) { this.experienceRequired = experienceRequired; }
     
+    /**
+     * Canonical identity of this listing (see {@link JobFingerprint}), cached on the object.
+     */
+    @JsonIgnore
+    public JobFingerprint getCanonicalFingerprint() {
+        JobFingerprint fp = canonicalFingerprint;
+        if (fp == null) {
+            fp = JobFingerprint.of(this);
+            canonicalFingerprint = fp;
+        }
+        return fp;
+    }
+
+    /**
+     * Structured features of this listing (see {@link JobFeatures}). They are
+     * read from the stored form when it is current, otherwise extracted and
+     * stored, so a listing saved after this call persists them.
+     */
+    @JsonIgnore
+    public JobFeatures getFeatures() {
+        JobFeatures decoded = decodedFeatures;
+        if (decoded == null) {
+            decoded = JobFeatures.decode(features);
+            if (decoded == null) {
+                decoded = JobFeatures.of(this);
+                features = decoded.encode();
+            }
+            decodedFeatures = decoded;
+        }
+        return decoded;
+    }
+
+    private void clearFeatures() {
+        features = null;
+        decodedFeatures = null;
+    }
+
+    @JsonIgnore
+    public String getMatchFeatures() { return matchFeatures; }
+    public void setMatchFeatures(String matchFeatures) { this.matchFeatures = matchFeatures; }
+    @JsonIgnore
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    @JsonIgnore
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    @JsonIgnore
+    public Long getLastSeenCycle() { return lastSeenCycle; }
+    public void setLastSeenCycle(Long lastSeenCycle) { this.lastSeenCycle = lastSeenCycle; }
+    @JsonIgnore
+    public LocalDateTime getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(LocalDateTime lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+    @JsonIgnore
+    public Boolean getExpired() { return expired; }
+    public void setExpired(Boolean expired) { this.expired = expired; }
+    
     public Integer getFresherFriendlyScore() { return fresherFriendlyScore; }
     public void setFresherFriendlyScore(Integer fresherFriendlyScore) { this.fresherFriendlyScore = fresherFriendlyScore; }
 }
\ No newline at end of file
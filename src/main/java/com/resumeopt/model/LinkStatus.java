@@ -0,0 +1,58 @@
+package com.resumeopt.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Last verification result of an apply URL (see JobLinkVerificationService).
+ */
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_link_status_checked_at", columnList = "checkedAt")
+})
+public class LinkStatus {
+    @Id
+    @Column(length = 2048)
+    private String url;
+
+    // URL after redirects, or an alternative URL that worked; null if invalid
+    @Column(length = 2048)
+    private String finalUrl;
+
+    // HTTP status of the last probe, 0 if the request failed
+    private int statusCode;
+
+    private boolean valid;
+
+    private LocalDateTime checkedAt;
+
+    public LinkStatus() {
+    }
+
+    public LinkStatus(String url, String finalUrl, int statusCode, boolean valid, LocalDateTime checkedAt) {
+        this.url = url;
+        this.finalUrl = finalUrl;
+        this.statusCode = statusCode;
+        this.valid = valid;
+        this.checkedAt = checkedAt;
+    }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getFinalUrl() { return finalUrl; }
+    public void setFinalUrl(String finalUrl) { this.finalUrl = finalUrl; }
+
+    public int getStatusCode() { return statusCode; }
+    public void setStatusCode(int statusCode) { this.statusCode = statusCode; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public LocalDateTime getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(LocalDateTime checkedAt) { this.checkedAt = checkedAt; }
+}
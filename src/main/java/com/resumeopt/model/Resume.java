@@ -25,14 +25,15 @@ public class Resume {
     private Double atsOriginalScore;
     private Double atsOptimizedScore;
 
-    @Lob
-    private byte[] optimizedPdf;
+    // Binaries live in the blob store; these are their references (content hashes)
+    @Column(length = 64)
+    private String optimizedPdfRef;
 
-    @Lob
-    private byte[] optimizedDocx; // template-preserved optimized resume output
+    @Column(length = 64)
+    private String optimizedDocxRef; // template-preserved optimized resume output
 
-    @Lob
-    private byte[] originalFile; // original uploaded file (PDF or DOCX) to preserve template
+    @Column(length = 64)
+    private String originalFileRef; // original uploaded file (PDF or DOCX) to preserve template
 
     @Lob
     private String changeLogText; // textual change log of modifications
@@ -63,12 +64,12 @@ public class Resume {
     public void setAtsOriginalScore(Double atsOriginalScore) { this.atsOriginalScore = atsOriginalScore; }
     public Double getAtsOptimizedScore() { return atsOptimizedScore; }
     public void setAtsOptimizedScore(Double atsOptimizedScore) { this.atsOptimizedScore = atsOptimizedScore; }
-    public byte[] getOptimizedPdf() { return optimizedPdf; }
-    public void setOptimizedPdf(byte[] optimizedPdf) { this.optimizedPdf = optimizedPdf; }
-    public byte[] getOptimizedDocx() { return optimizedDocx; }
-    public void setOptimizedDocx(byte[] optimizedDocx) { this.optimizedDocx = optimizedDocx; }
-    public byte[] getOriginalFile() { return originalFile; }
-    public void setOriginalFile(byte[] originalFile) { this.originalFile = originalFile; }
+    public String getOptimizedPdfRef() { return optimizedPdfRef; }
+    public void setOptimizedPdfRef(String optimizedPdfRef) { this.optimizedPdfRef = optimizedPdfRef; }
+    public String getOptimizedDocxRef() { return optimizedDocxRef; }
+    public void setOptimizedDocxRef(String optimizedDocxRef) { this.optimizedDocxRef = optimizedDocxRef; }
+    public String getOriginalFileRef() { return originalFileRef; }
+    public void setOriginalFileRef(String originalFileRef) { this.originalFileRef = originalFileRef; }
     public String getChangeLogText() { return changeLogText; }
     public void setChangeLogText(String changeLogText) { this.changeLogText = changeLogText; }
     public String getOriginalFilename() { return originalFilename; }
@@ -0,0 +1,42 @@
+package com.resumeopt.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered resume PDF (see ResumeRenderService): the hash of everything the
+ * rendering is drawn from, and the blob it was stored as. Kept so a rendering
+ * survives restarts and render cache evictions, since PDF output is not byte
+ * for byte reproducible and rendering again would give a new blob and ETag.
+ */
+@Entity
+public class ResumeRendering {
+    @Id
+    @Column(length = 64)
+    private String renderKey;
+
+    @Column(length = 64, nullable = false)
+    private String blobRef;
+
+    private LocalDateTime renderedAt;
+
+    public ResumeRendering() {
+    }
+
+    public ResumeRendering(String renderKey, String blobRef, LocalDateTime renderedAt) {
+        this.renderKey = renderKey;
+        this.blobRef = blobRef;
+        this.renderedAt = renderedAt;
+    }
+
+    public String getRenderKey() { return renderKey; }
+    public void setRenderKey(String renderKey) { this.renderKey = renderKey; }
+
+    public String getBlobRef() { return blobRef; }
+    public void setBlobRef(String blobRef) { this.blobRef = blobRef; }
+
+    public LocalDateTime getRenderedAt() { return renderedAt; }
+    public void setRenderedAt(LocalDateTime renderedAt) { this.renderedAt = renderedAt; }
+}
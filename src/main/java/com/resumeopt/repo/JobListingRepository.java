@@ -2,9 +2,12 @@ package com.resumeopt.repo;
 
 import com.resumeopt.model.JobListing;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +28,29 @@ public interface JobListingRepository extends JpaRepository<JobListing, Long> {
     
     // Alternative: Find all jobs if recent query fails
     List<JobListing> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+
+    // --- Persistent job index (JobIndexService) ---
+
+    // Active rows of the index, newest first
+    @Query("SELECT j FROM JobListing j WHERE j.fingerprint IS NOT NULL AND j.expired = false ORDER BY j.postedDate DESC, j.id DESC")
+    List<JobListing> findActiveIndexed();
+
+    // Lightweight change check: fingerprint and content hash only, no entity loading
+    @Query("SELECT j.fingerprint, j.contentHash, j.expired FROM JobListing j WHERE j.fingerprint IN :fingerprints")
+    List<Object[]> findIndexStateByFingerprints(@Param("fingerprints") Collection<String> fingerprints);
+
+    List<JobListing> findByFingerprintIn(Collection<String> fingerprints);
+
+    @Query("SELECT MAX(j.lastSeenCycle) FROM JobListing j")
+    Long findMaxIngestCycle();
+
+    // Unchanged rows are only touched, never reloaded
+    @Modifying
+    @Query("UPDATE JobListing j SET j.lastSeenCycle = :cycle, j.lastSeenAt = :seenAt WHERE j.fingerprint IN :fingerprints")
+    int markSeen(@Param("fingerprints") Collection<String> fingerprints, @Param("cycle") long cycle,
+            @Param("seenAt") LocalDateTime seenAt);
+
+    @Modifying
+    @Query("UPDATE JobListing j SET j.expired = true WHERE j.expired = false AND j.lastSeenCycle <= :lastCycleToExpire")
+    int expireNotSeenSince(@Param("lastCycleToExpire") long lastCycleToExpire);
+}
@@ -0,0 +1,18 @@
+package com.resumeopt.repo;
+
+import com.resumeopt.model.LinkStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface LinkStatusRepository extends JpaRepository<LinkStatus, String> {
+    // Drop results too old to be reused under any TTL
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LinkStatus s WHERE s.checkedAt < :cutoff")
+    int deleteCheckedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
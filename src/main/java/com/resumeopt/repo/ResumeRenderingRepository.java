@@ -0,0 +1,7 @@
+package com.resumeopt.repo;
+
+import com.resumeopt.model.ResumeRendering;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ResumeRenderingRepository extends JpaRepository<ResumeRendering, String> {
+}
@@ -2,6 +2,15 @@ package com.resumeopt.repo;
 
 import com.resumeopt.model.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
-}
\ No newline at end of file
+    // Written on first download; a bulk update leaves the version alone so concurrent edits don't conflict
+    @Modifying
+    @Transactional
+    @Query("UPDATE Resume r SET r.optimizedPdfRef = :ref WHERE r.id = :id")
+    int updateOptimizedPdfRef(@Param("id") Long id, @Param("ref") String ref);
+}
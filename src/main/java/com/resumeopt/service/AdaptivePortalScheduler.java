@@ -0,0 +1,119 @@
+package com.resumeopt.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Freshness-driven refresh schedule for each portal.
+ * After every scrape the portal's next interval is derived from its health
+ * record: failing portals back off exponentially, portals that yielded no new
+ * jobs back off gradually, high-churn portals are polled more often, and the
+ * rest drift back to the base interval. Intervals never drop below what the
+ * portal's scrape latency and request delay allow under the duty-cycle budget.
+ */
+@Service
+public class AdaptivePortalScheduler {
+
+    @Autowired
+    private ScraperHealthService scraperHealthService;
+
+    @Value("${job.scheduler.baseIntervalMinutes:60}")
+    private long baseIntervalMinutes = 60;
+
+    @Value("${job.scheduler.minIntervalMinutes:15}")
+    private long minIntervalMinutes = 15;
+
+    @Value("${job.scheduler.maxIntervalMinutes:360}")
+    private long maxIntervalMinutes = 360;
+
+    @Value("${job.scheduler.highYieldJobs:20}")
+    private double highYieldJobs = 20;
+
+    // Largest share of wall time a portal may spend being scraped
+    @Value("${job.scheduler.maxDutyCycle:0.05}")
+    private double maxDutyCycle = 0.05;
+
+    private final Map<String, PortalSchedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Current refresh interval of a portal and when it is next due.
+     */
+    public record PortalSchedule(Duration interval, LocalDateTime nextDue, String reason) {}
+
+    /**
+     * A portal is due when it was never scraped or its interval has elapsed.
+     */
+    public boolean isDue(PortalScraper scraper, LocalDateTime now) {
+        PortalSchedule schedule = schedules.get(scraper.getPortalName());
+        return schedule == null || !now.isBefore(schedule.nextDue());
+    }
+
+    /**
+     * Reschedules a portal after a scrape attempt, from the health just recorded.
+     */
+    public PortalSchedule recordScrape(PortalScraper scraper, LocalDateTime now) {
+        String portalName = scraper.getPortalName();
+        ScraperHealthService.ScraperHealth health = scraperHealthService.getHealth(portalName);
+        PortalSchedule previous = schedules.get(portalName);
+        PortalSchedule next = nextSchedule(previous != null ? previous.interval() : null, health,
+                scraper.getRequestDelay(), now);
+        schedules.put(portalName, next);
+        System.out.println("⏱️  " + portalName + " next scrape in " + next.interval().toMinutes() + " min ("
+                + next.reason() + ")");
+        return next;
+    }
+
+    PortalSchedule nextSchedule(Duration previous, ScraperHealthService.ScraperHealth health, long requestDelayMs,
+            LocalDateTime now) {
+        Duration base = Duration.ofMinutes(baseIntervalMinutes);
+        Duration interval = previous != null ? previous : base;
+        String reason;
+        if (health == null) {
+            interval = base;
+            reason = "no health data";
+        } else if (health.getConsecutiveFailures() > 0) {
+            interval = interval.multipliedBy(2);
+            reason = health.getConsecutiveFailures() + " consecutive failures";
+        } else if (!health.hasNewJobData()) {
+            // Every listing of a first scrape looks new; keep the interval until there is a real yield
+            reason = "first scrape, yield unknown";
+        } else if (health.getLastNewJobCount() == 0) {
+            interval = interval.multipliedBy(3).dividedBy(2);
+            reason = "no new jobs";
+        } else if (health.getAverageNewJobs() >= highYieldJobs) {
+            interval = interval.dividedBy(2);
+            reason = String.format("high churn, %.1f new jobs per scrape", health.getAverageNewJobs());
+        } else {
+            interval = interval.plus(base).dividedBy(2);
+            reason = String.format("%.1f new jobs per scrape", health.getAverageNewJobs());
+        }
+
+        double costMs = (health != null ? health.getAverageLatencyMs() : 0) + requestDelayMs;
+        Duration floor = Duration.ofMinutes(minIntervalMinutes);
+        Duration budgetFloor = Duration.ofMillis((long) (costMs / maxDutyCycle));
+        if (budgetFloor.compareTo(floor) > 0) {
+            floor = budgetFloor;
+        }
+        Duration ceiling = Duration.ofMinutes(maxIntervalMinutes);
+        if (interval.compareTo(floor) < 0) {
+            interval = floor;
+        } else if (interval.compareTo(ceiling) > 0) {
+            interval = ceiling;
+        }
+        return new PortalSchedule(interval, now.plus(interval), reason);
+    }
+
+    /**
+     * Current schedule of every portal scraped so far, by portal name.
+     */
+    public Map<String, PortalSchedule> getSchedules() {
+        return new TreeMap<>(schedules);
+    }
+}
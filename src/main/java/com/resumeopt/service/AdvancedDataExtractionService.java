@@ -60,8 +60,12 @@ public class AdvancedDataExtractionService {
         Pattern.CASE_INSENSITIVE
     );
     
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+(?:\\.\\d+)?");
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("(\\d+)");
+    
     /**
-     * Extract and enrich job listing with advanced data extraction
+     * Extract and enrich job listing with advanced data extraction, then
+     * compute its structured features from the enriched fields
      */
     public void enrichJobListing(JobListing job) {
         if (job == null) {
@@ -103,6 +107,9 @@ public class AdvancedDataExtractionService {
                 job.setExperienceRequired(experience);
             }
         }
+        
+        // Ingest-time feature stage; scorers read these instead of the description
+        job.getFeatures();
     }
     
     /**
@@ -157,8 +164,7 @@ public class AdvancedDataExtractionService {
         if (generalMatcher.find()) {
             String match = generalMatcher.group(0);
             // Extract numbers from match
-            Pattern numPattern = Pattern.compile("\\d+(?:\\.\\d+)?");
-            Matcher numMatcher = numPattern.matcher(match);
+            Matcher numMatcher = NUMBER_PATTERN.matcher(match);
             List<String> numbers = new ArrayList<>();
             while (numMatcher.find()) {
                 numbers.add(numMatcher.group());
@@ -266,8 +272,7 @@ public class AdvancedDataExtractionService {
             String expStr = expMatcher.group(1);
             
             // Extract numbers
-            Pattern numPattern = Pattern.compile("(\\d+)");
-            Matcher numMatcher = numPattern.matcher(expStr);
+            Matcher numMatcher = INTEGER_PATTERN.matcher(expStr);
             
             if (numMatcher.find()) {
                 int years = Integer.parseInt(numMatcher.group(1));
@@ -3,6 +3,7 @@ package com.resumeopt.service;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -10,8 +11,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,6 +37,13 @@ public class AdvancedJobScraperService {
     @Autowired
     private JobDateFilterService dateFilterService;
     
+    @Autowired
+    private DomainRateLimiter rateLimiter;
+    
+    // Detail-page fetches and URL checks run on the shared I/O executor
+    @Autowired
+    private ScrapingExecutors scrapingExecutors;
+    
     @Value("${job.scraping.deep.enabled:true}")
     private boolean deepScrapingEnabled;
     
@@ -51,8 +59,6 @@ public class AdvancedJobScraperService {
     @Value("${job.scraping.deep.maxRetries:3}")
     private int maxRetries;
     
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5);
-    
     // Date patterns for parsing job posting dates
     private static final Pattern[] DATE_PATTERNS = {
         Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -83,27 +89,30 @@ public class AdvancedJobScraperService {
         for (int i = 0; i < jobsToProcess; i++) {
             JobListing job = jobs.get(i);
             
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                try {
-                    JobListing enhancedJob = deepScrapeJob(job);
+            CompletableFuture<Void> future = deepScrapeJob(job).handle((enhancedJob, error) -> {
+                if (error == null) {
                     if (enhancedJob != null && isJobWithinDateRange(enhancedJob)) {
                         enhancedJobs.add(enhancedJob);
                     }
-                } catch (Exception e) {
-                    System.err.println("Deep scraping failed for job: " + job.getTitle() + " - " + e.getMessage());
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    System.err.println("Deep scraping failed for job: " + job.getTitle() + " - " + cause.getMessage());
                     // Add original job if deep scraping fails
                     if (isJobWithinDateRange(job)) {
                         enhancedJobs.add(job);
                     }
                 }
-            }, executorService);
+                return null;
+            });
             
             futures.add(future);
         }
         
         // Wait for all futures to complete with timeout
         try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
                     .get(60, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.err.println("Deep scraping timeout or error: " + e.getMessage());
@@ -114,25 +123,31 @@ public class AdvancedJobScraperService {
     }
     
     /**
-     * Performs deep scraping on individual job listing
+     * Performs deep scraping on individual job listing.
+     * Requests wait for their domain's rate-limit slot as scheduled
+     * continuations, so the pool threads only run while a request is in flight.
      */
-    private JobListing deepScrapeJob(JobListing job) throws IOException, InterruptedException {
+    private CompletableFuture<JobListing> deepScrapeJob(JobListing job) {
         if (job.getApplyUrl() == null || job.getApplyUrl().isBlank()) {
-            return job;
+            return CompletableFuture.completedFuture(job);
         }
         
         // Verify and enhance the job URL
-        String verifiedUrl = verifyAndEnhanceJobUrl(job.getApplyUrl());
-        if (verifiedUrl == null) {
-            return null; // Skip invalid URLs
-        }
-        
-        job.setApplyUrl(verifiedUrl);
-        job.setLinkVerified(true);
-        
-        // Add delay to respect rate limits
-        Thread.sleep(deepRequestDelay);
-        
+        return verifyAndEnhanceJobUrl(job.getApplyUrl()).thenCompose(verifiedUrl -> {
+            if (verifiedUrl == null) {
+                return CompletableFuture.completedFuture(null); // Skip invalid URLs
+            }
+            
+            job.setApplyUrl(verifiedUrl);
+            job.setLinkVerified(true);
+            
+            // Respect rate limits without holding a worker thread
+            return rateLimiter.acquire(DomainRateLimiter.domainOf(verifiedUrl), deepRequestDelay)
+                    .thenApplyAsync(ready -> fetchJobDetails(job, verifiedUrl), scrapingExecutors.io());
+        });
+    }
+    
+    private JobListing fetchJobDetails(JobListing job, String verifiedUrl) {
         try {
             Document doc = Jsoup.connect(verifiedUrl)
                     .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
@@ -160,58 +175,86 @@ public class AdvancedJobScraperService {
         }
     }
     
+    /**
+     * Outcome of one URL check: the usable URL, or a delay before retrying
+     */
+    private record UrlCheck(String url, long retryDelayMs) {
+        static UrlCheck done(String url) {
+            return new UrlCheck(url, -1);
+        }
+        
+        static UrlCheck retryAfter(long delayMs) {
+            return new UrlCheck(null, delayMs);
+        }
+        
+        boolean shouldRetry() {
+            return retryDelayMs >= 0;
+        }
+    }
+    
     /**
      * Verifies job URL and enhances it for better reliability
      */
-    private String verifyAndEnhanceJobUrl(String url) {
-        try {
-            // Clean and normalize URL
-            url = url.trim();
-            if (!url.startsWith("http")) {
-                return null;
+    private CompletableFuture<String> verifyAndEnhanceJobUrl(String url) {
+        // Clean and normalize URL
+        String trimmed = url.trim();
+        if (!trimmed.startsWith("http")) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return verifyAttempt(trimmed, DomainRateLimiter.domainOf(trimmed), 0, scrapingExecutors.io());
+    }
+    
+    private CompletableFuture<String> verifyAttempt(String url, String domain, int attempt, Executor executor) {
+        // Test URL connectivity with retries
+        return CompletableFuture.supplyAsync(() -> checkUrl(url, domain, attempt), executor).thenCompose(check -> {
+            if (!check.shouldRetry()) {
+                return CompletableFuture.completedFuture(check.url());
+            }
+            if (attempt + 1 >= maxRetries) {
+                System.err.println("URL verification failed after retries: " + url);
+                return CompletableFuture.completedFuture(null); // URL verification failed
             }
+            // Rate-limited checks wait on the domain's back-off; others on their own delay
+            Executor io = scrapingExecutors.io();
+            Executor next = check.retryDelayMs() == 0
+                    ? runnable -> rateLimiter.acquire(domain, 0).thenRunAsync(runnable, io)
+                    : CompletableFuture.delayedExecutor(check.retryDelayMs(), TimeUnit.MILLISECONDS, io);
+            return verifyAttempt(url, domain, attempt + 1, next);
+        });
+    }
+    
+    private UrlCheck checkUrl(String url, String domain, int attempt) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod("HEAD");
+            connection.setConnectTimeout(10000);
+            connection.setReadTimeout(10000);
+            connection.setRequestProperty("User-Agent", 
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
             
-            // Test URL connectivity with retries
-            for (int attempt = 0; attempt < maxRetries; attempt++) {
-                try {
-                    HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-                    connection.setRequestMethod("HEAD");
-                    connection.setConnectTimeout(10000);
-                    connection.setReadTimeout(10000);
-                    connection.setRequestProperty("User-Agent", 
-                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-                    
-                    int responseCode = connection.getResponseCode();
-                    
-                    if (responseCode == 200) {
-                        return url; // URL is valid
-                    } else if (responseCode == 301 || responseCode == 302) {
-                        // Follow redirect
-                        String redirectUrl = connection.getHeaderField("Location");
-                        if (redirectUrl != null) {
-                            return redirectUrl;
-                        }
-                    } else if (responseCode == 403 || responseCode == 429) {
-                        // Rate limited, wait and retry
-                        Thread.sleep(2000 * (attempt + 1));
-                        continue;
-                    }
-                    
-                    connection.disconnect();
-                } catch (Exception e) {
-                    if (attempt == maxRetries - 1) {
-                        System.err.println("URL verification failed after retries: " + url);
-                        return null;
-                    }
-                    Thread.sleep(1000 * (attempt + 1));
+            int responseCode = connection.getResponseCode();
+            
+            if (responseCode == 200) {
+                return UrlCheck.done(url); // URL is valid
+            } else if (responseCode == 301 || responseCode == 302) {
+                // Follow redirect
+                String redirectUrl = connection.getHeaderField("Location");
+                if (redirectUrl != null) {
+                    return UrlCheck.done(redirectUrl);
                 }
+            } else if (responseCode == 403 || responseCode == 429) {
+                // Rate limited: hold back the whole domain, honouring Retry-After
+                Duration retryAfter = DomainRateLimiter.parseRetryAfter(connection.getHeaderField("Retry-After"));
+                Duration backoff = Duration.ofMillis(2000L * (attempt + 1));
+                rateLimiter.backOff(domain, retryAfter != null && retryAfter.compareTo(backoff) > 0 ? retryAfter : backoff);
+                connection.disconnect();
+                return UrlCheck.retryAfter(0);
             }
             
-            return null; // URL verification failed
-            
+            connection.disconnect();
+            return UrlCheck.retryAfter(0);
         } catch (Exception e) {
-            System.err.println("Error verifying URL: " + url + " - " + e.getMessage());
-            return null;
+            return UrlCheck.retryAfter(1000L * (attempt + 1));
         }
     }
     
@@ -410,19 +453,4 @@ public class AdvancedJobScraperService {
         // Job should be posted between 1 day ago and 1 week ago
         return postedDate.isBefore(oneDayAgo) && postedDate.isAfter(oneWeekAgo);
     }
-    
-    /**
-     * Shutdown executor service
-     */
-    public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-    }
 }
\ No newline at end of file
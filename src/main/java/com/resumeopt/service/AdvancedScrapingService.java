@@ -1,14 +1,25 @@
 package com.resumeopt.service;
 
 import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -18,13 +29,25 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class AdvancedScrapingService {
 
-    // Rate limiting per domain
-    private final Map<String, Long> lastRequestTime = new ConcurrentHashMap<>();
-    private final Map<String, Integer> requestCounts = new ConcurrentHashMap<>();
+    // Rate limiting per domain, shared with the other scrapers
+    @Autowired
+    private DomainRateLimiter rateLimiter;
 
-    // Cache for documents
-    private final Map<String, CachedDocument> documentCache = new ConcurrentHashMap<>();
-    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(15); // 15 minutes cache
+    // Runs requests once their rate-limit slot arrives; waits happen off these threads
+    @Autowired
+    private ScrapingExecutors scrapingExecutors;
+
+    // Cache for documents: compressed HTML under a byte budget, see CompressedPageCache
+    @Value("${scraper.documentCache.maxMb:32}")
+    private long documentCacheMaxMb = 32;
+
+    @Value("${scraper.documentCache.ttlMinutes:15}")
+    private long documentCacheTtlMinutes = 15;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private volatile CompressedPageCache documentCache;
 
     // Default delays with randomization to avoid detection
     private static final long DEFAULT_DELAY_MS = 5000; // Default 5 seconds
@@ -58,79 +81,160 @@ public class AdvancedScrapingService {
      * Fetch document with custom delay and retries
      */
     public Document fetchDocument(String url, long delayMs, int maxRetries) throws IOException {
+        CompletableFuture<Document> fetch = fetchDocumentAsync(url, delayMs, maxRetries);
+        try {
+            // get() rather than join() so a cancelled portal scrape can interrupt the wait
+            return fetch.get();
+        } catch (InterruptedException e) {
+            // The caller gave up: stop the retries still scheduled for this URL
+            fetch.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url, e);
+        } catch (CancellationException e) {
+            throw new IOException("Fetch of " + url + " was cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Failed to fetch " + url, e.getCause());
+        }
+    }
+
+    /**
+     * Fetch document without blocking: the request is sent once the domain's
+     * rate-limit slot arrives, and retries are scheduled rather than slept.
+     * Cancelling the returned future stops any retry that has not been sent yet.
+     */
+    public CompletableFuture<Document> fetchDocumentAsync(String url) {
+        return fetchDocumentAsync(url, DEFAULT_DELAY_MS, MAX_RETRIES);
+    }
+
+    /**
+     * Fetch document without blocking, with custom delay and retries
+     */
+    public CompletableFuture<Document> fetchDocumentAsync(String url, long delayMs, int maxRetries) {
         if (url == null || url.isBlank()) {
             throw new IllegalArgumentException("URL cannot be null or blank");
         }
 
         // Check cache first
-        CachedDocument cached = documentCache.get(url);
-        if (cached != null && !cached.isExpired()) {
-            return cached.document;
+        Document cached = documentCache().get(url);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        // Apply rate limiting
-        String domain = extractDomain(url);
-        applyRateLimit(domain, delayMs);
-
-        // Retry logic with exponential backoff
-        IOException lastException = null;
-        long retryDelay = INITIAL_RETRY_DELAY_MS;
+        String domain = DomainRateLimiter.domainOf(url);
+        long interval = Math.max(MIN_DELAY_MS, Math.min(MAX_DELAY_MS, delayMs));
+        CompletableFuture<Document> result = new CompletableFuture<>();
+        attempt(url, domain, interval, 0, Math.max(1, maxRetries), INITIAL_RETRY_DELAY_MS, null, result)
+                .whenComplete((doc, error) -> {
+                    if (error == null) {
+                        result.complete(doc);
+                    } else {
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error);
+                    }
+                });
+        return result;
+    }
 
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
+    // Each step checks the caller's future, so nothing is sent once it was cancelled or completed
+    private CompletableFuture<Document> attempt(String url, String domain, long interval, int attempt,
+            int maxRetries, long retryDelay, IOException lastException, CompletableFuture<Document> result) {
+        if (result.isDone()) {
+            return CompletableFuture.failedFuture(new CancellationException("Fetch of " + url + " was cancelled"));
+        }
+        if (attempt >= maxRetries) {
+            // All retries failed
+            return CompletableFuture.failedFuture(
+                    new IOException("Failed to fetch " + url + " after " + maxRetries + " attempts", lastException));
+        }
+        return rateLimiter.acquire(domain, interval).thenApplyAsync(ready -> {
+            if (result.isDone()) {
+                throw new CancellationException("Fetch of " + url + " was cancelled");
+            }
             try {
-                Document doc = performRequest(url);
+                Document doc = performRequest(url, domain);
 
                 // Cache successful response
-                documentCache.put(url, new CachedDocument(doc, System.currentTimeMillis()));
-
+                documentCache().put(url, doc);
                 return doc;
-
             } catch (IOException e) {
-                lastException = e;
-
-                // Check if it's a rate limit error
-                if (isRateLimitError(e)) {
-                    if (attempt < maxRetries - 1) {
-                        System.out.println("Rate limited for " + url + ", waiting " + retryDelay + "ms before retry "
-                                + (attempt + 2));
-                        try {
-                            Thread.sleep(retryDelay);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new IOException("Request interrupted", ie);
-                        }
-                        retryDelay *= 2; // Exponential backoff
-                        continue;
-                    }
+                throw new CompletionException(e);
+            }
+        }, scrapingExecutors.io()).handle((doc, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(doc);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof CancellationException || result.isDone()) {
+                return CompletableFuture.<Document>failedFuture(cause);
+            }
+            IOException failure = cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+            if (attempt + 1 < maxRetries) {
+                if (isRateLimitError(failure)) {
+                    // The whole domain waits, not just this request
+                    System.out.println("Rate limited for " + url + ", backing off " + retryDelay + "ms before retry "
+                            + (attempt + 2));
+                    rateLimiter.backOff(domain, Duration.ofMillis(retryDelay));
+                } else {
+                    // For other errors, retry this request with backoff
+                    return CompletableFuture.runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(retryDelay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(url, domain, interval, attempt + 1, maxRetries,
+                                    retryDelay * 2, failure, result));
                 }
+            }
+            return attempt(url, domain, interval, attempt + 1, maxRetries, retryDelay * 2, failure, result);
+        }).thenCompose(next -> next);
+    }
 
-                // For other errors, retry with backoff
-                if (attempt < maxRetries - 1) {
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("Request interrupted", ie);
-                    }
-                    retryDelay *= 2;
+    private CompressedPageCache documentCache() {
+        CompressedPageCache current = documentCache;
+        if (current == null) {
+            synchronized (this) {
+                current = documentCache;
+                if (current == null) {
+                    current = new CompressedPageCache(documentCacheMaxMb * 1024 * 1024,
+                            Duration.ofMinutes(documentCacheTtlMinutes));
+                    registerMetrics(current);
+                    documentCache = current;
                 }
             }
         }
+        return current;
+    }
 
-        // All retries failed
-        throw new IOException("Failed to fetch " + url + " after " + maxRetries + " attempts", lastException);
+    private void registerMetrics(CompressedPageCache cache) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("scraper.document.cache.bytes", cache, c -> c.stats().bytes())
+                .description("Compressed bytes held by the document cache").register(meterRegistry);
+        Gauge.builder("scraper.document.cache.entries", cache, c -> c.stats().entries())
+                .description("Pages held by the document cache").register(meterRegistry);
+        Gauge.builder("scraper.document.cache.hit.rate", cache, c -> c.stats().hitRate())
+                .description("Share of document cache lookups that hit").register(meterRegistry);
+        FunctionCounter.builder("scraper.document.cache.evictions", cache, c -> c.stats().evictions())
+                .description("Pages evicted to stay within the byte budget").register(meterRegistry);
     }
 
     /**
      * Perform the actual HTTP request
      */
-    private Document performRequest(String url) throws IOException {
+    private Document performRequest(String url, String domain) throws IOException {
         Connection connection = Jsoup.connect(url)
                 .userAgent(getNextUserAgent())
                 .timeout(20000) // 20 seconds timeout
                 .followRedirects(true)
                 .maxBodySize(10 * 1024 * 1024) // 10MB max
-                .ignoreHttpErrors(false)
+                .ignoreHttpErrors(true)
                 .ignoreContentType(true);
 
         // Add realistic headers to avoid detection
@@ -151,44 +255,26 @@ public class AdvancedScrapingService {
         connection.header("Pragma", "no-cache");
         connection.header("TE", "Trailers");
 
-        return connection.get();
-    }
-
-    /**
-     * Apply rate limiting per domain with random delay variation
-     */
-    private void applyRateLimit(String domain, long delayMs) {
-        Long lastTime = lastRequestTime.get(domain);
-        long currentTime = System.currentTimeMillis();
-
-        if (lastTime != null) {
-            long timeSinceLastRequest = currentTime - lastTime;
-
-            // Add random variation to delay (±30%) to avoid detection patterns
-            long randomVariation = (long) (delayMs * (Math.random() * 0.6 - 0.3)); // -30% to +30%
-            long actualDelay = delayMs + randomVariation;
-            actualDelay = Math.max(MIN_DELAY_MS, Math.min(MAX_DELAY_MS, actualDelay)); // Clamp to min/max
-
-            if (timeSinceLastRequest < actualDelay) {
-                long waitTime = actualDelay - timeSinceLastRequest;
-                try {
-                    Thread.sleep(waitTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+        Connection.Response response = connection.execute();
+        int status = response.statusCode();
+        if (status >= 400) {
+            if (status == 429 || status == 503) {
+                // Server-driven backoff for every later request to this domain
+                rateLimiter.backOff(domain, DomainRateLimiter.parseRetryAfter(response.header("Retry-After")));
             }
+            throw new HttpStatusException("HTTP error fetching URL. Status=" + status, status, url);
         }
-
-        lastRequestTime.put(domain, System.currentTimeMillis());
-
-        // Track request count (reset after 1 minute)
-        requestCounts.put(domain, requestCounts.getOrDefault(domain, 0) + 1);
+        return response.parse();
     }
 
     /**
      * Check if error is a rate limit or anti-bot error
      */
     private boolean isRateLimitError(IOException e) {
+        if (e instanceof HttpStatusException status) {
+            int code = status.getStatusCode();
+            return code == 429 || code == 403 || code == 503;
+        }
         String message = e.getMessage();
         if (message == null) {
             return false;
@@ -206,18 +292,6 @@ public class AdvancedScrapingService {
                 lowerMessage.contains("blocked");
     }
 
-    /**
-     * Extract domain from URL
-     */
-    private String extractDomain(String url) {
-        try {
-            java.net.URL urlObj = new java.net.URL(url);
-            return urlObj.getHost();
-        } catch (Exception e) {
-            return "unknown";
-        }
-    }
-
     /**
      * Get next user agent (rotation)
      */
@@ -231,40 +305,37 @@ public class AdvancedScrapingService {
      * Clear cache for a specific URL
      */
     public void clearCache(String url) {
-        documentCache.remove(url);
+        documentCache().invalidate(url);
     }
 
     /**
      * Clear all cache
      */
     public void clearAllCache() {
-        documentCache.clear();
+        documentCache().clear();
     }
 
     /**
-     * Get cache statistics
+     * Drop expired pages in the background instead of waiting for them to be read
      */
-    public Map<String, Object> getCacheStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("cachedDocuments", documentCache.size());
-        stats.put("activeDomains", lastRequestTime.size());
-        return stats;
+    @Scheduled(fixedDelayString = "${scraper.documentCache.expiryMs:60000}")
+    public void evictExpiredDocuments() {
+        documentCache().evictExpired();
     }
 
     /**
-     * Cached document wrapper
+     * Get cache statistics
      */
-    private static class CachedDocument {
-        final Document document;
-        final long timestamp;
-
-        CachedDocument(Document document, long timestamp) {
-            this.document = document;
-            this.timestamp = timestamp;
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL;
-        }
+    public Map<String, Object> getCacheStats() {
+        CompressedPageCache.Stats cacheStats = documentCache().stats();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cachedDocuments", cacheStats.entries());
+        stats.put("cachedBytes", cacheStats.bytes());
+        stats.put("maxBytes", cacheStats.maxBytes());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictions());
+        stats.put("expirations", cacheStats.expirations());
+        stats.put("activeDomains", rateLimiter.getDomainCount());
+        return stats;
     }
 }
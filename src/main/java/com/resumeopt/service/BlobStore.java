@@ -0,0 +1,159 @@
+package com.resumeopt.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed file store for resume binaries (uploads, generated PDFs
+ * and DOCX files).
+ *
+ * A blob is stored once under the SHA-256 of its content, in a two-level
+ * directory fan-out, and referred to by that hash, so identical files share
+ * one copy. Content is hashed while it is copied to a temporary file in fixed
+ * size chunks and then moved into place, so readers never see a partial blob.
+ * Blobs are served with {@link FileChannel#transferTo}, without loading them
+ * into the heap.
+ */
+@Component
+public class BlobStore {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final Pattern REF = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${resume.blobs.dir:./data/blobs}")
+    private String dir = "./data/blobs";
+
+    /**
+     * Stores the content and returns its reference.
+     */
+    public String put(byte[] content) throws IOException {
+        return put(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Stores everything the stream yields and returns its reference. The caller closes the stream.
+     */
+    public String put(InputStream in) throws IOException {
+        Path root = root();
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.TRUNCATE_EXISTING)) {
+                byte[] chunk = new byte[CHUNK_BYTES];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    digest.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                }
+            }
+            String ref = HexFormat.of().formatHex(digest.digest());
+            Path target = path(ref);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return ref;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently with the same content
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Stored concurrently with the same content
+            }
+        }
+    }
+
+    /**
+     * Whether the reference names a stored blob.
+     */
+    public boolean exists(String ref) {
+        return isRef(ref) && Files.isRegularFile(path(ref));
+    }
+
+    /**
+     * Size of the blob in bytes.
+     */
+    public long size(String ref) throws IOException {
+        return Files.size(checkedPath(ref));
+    }
+
+    /**
+     * The whole blob, for callers that need it in memory (e.g. to re-render a template).
+     */
+    public byte[] read(String ref) throws IOException {
+        return Files.readAllBytes(checkedPath(ref));
+    }
+
+    /**
+     * Writes the blob to the stream through {@link FileChannel#transferTo}
+     * and returns the number of bytes written.
+     */
+    public long transferTo(String ref, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(checkedPath(ref), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            out.flush();
+            return position;
+        }
+    }
+
+    Path path(String ref) {
+        return root().resolve(ref.substring(0, 2)).resolve(ref.substring(2, 4)).resolve(ref);
+    }
+
+    private Path checkedPath(String ref) {
+        if (!isRef(ref)) {
+            throw new IllegalArgumentException("Not a blob reference: " + ref);
+        }
+        return path(ref);
+    }
+
+    private static boolean isRef(String ref) {
+        return ref != null && REF.matcher(ref).matches();
+    }
+
+    private Path root() {
+        return Paths.get(dir);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.resumeopt.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Bounded pool of headless browser sessions with lease/return semantics.
+ * A WebDriver is not thread-safe, so each lease gets a whole browser to itself;
+ * on return the session is reset to a single blank tab and kept for the next
+ * lease. Sessions are health-checked before reuse and recycled (quit and later
+ * relaunched) after a number of pages, when their JS heap grows too large, or
+ * when the borrower reports them broken.
+ */
+public class BrowserSessionPool {
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxSessions;
+    private final int maxPagesPerSession;
+    private final long maxHeapBytes;
+
+    private final Semaphore permits;
+    private final Deque<BrowserSession> idle = new ArrayDeque<>();
+    private final Set<BrowserSession> open = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong leaseTimeouts = new AtomicLong();
+    private final AtomicLong launched = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+
+    /**
+     * Point-in-time pool metrics. Saturation is the share of sessions leased.
+     */
+    public record Stats(int maxSessions, int openSessions, int leased, int idle, int waiting, long leases,
+            double averageLeaseWaitMs, double maxLeaseWaitMs, long leaseTimeouts, long launched, long recycled) {
+
+        public double saturation() {
+            return maxSessions == 0 ? 0.0 : (double) leased / maxSessions;
+        }
+    }
+
+    BrowserSessionPool(Supplier<WebDriver> driverFactory, int maxSessions, int maxPagesPerSession, long maxHeapBytes) {
+        this.driverFactory = driverFactory;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxPagesPerSession = Math.max(1, maxPagesPerSession);
+        this.maxHeapBytes = maxHeapBytes;
+        this.permits = new Semaphore(this.maxSessions, true);
+    }
+
+    /**
+     * Leases a healthy session, reusing an idle one or launching a new browser.
+     * The session must be returned with {@link BrowserSession#close()}.
+     *
+     * @throws TimeoutException if every session stays leased for {@code timeout}
+     */
+    BrowserSession lease(Duration timeout) throws InterruptedException, TimeoutException {
+        if (closed) {
+            throw new IllegalStateException("Browser session pool is closed");
+        }
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long waitNanos = System.nanoTime() - start;
+        if (!acquired) {
+            leaseTimeouts.incrementAndGet();
+            throw new TimeoutException("No browser session became free within " + timeout.toSeconds() + "s");
+        }
+        leases.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        try {
+            BrowserSession session = reuseIdle();
+            if (session == null) {
+                session = new BrowserSession(driverFactory.get());
+                open.add(session);
+                launched.incrementAndGet();
+            }
+            session.leaseWaitNanos = waitNanos;
+            session.returned = false;
+            leased.incrementAndGet();
+            return session;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private BrowserSession reuseIdle() {
+        while (true) {
+            BrowserSession session;
+            synchronized (idle) {
+                session = idle.pollFirst();
+            }
+            if (session == null || session.isHealthy()) {
+                return session;
+            }
+            System.out.println("[" + LocalDateTime.now() + "] Discarding unresponsive browser session");
+            discard(session);
+        }
+    }
+
+    private void release(BrowserSession session) {
+        try {
+            if (closed || session.broken || session.pages >= maxPagesPerSession || session.heapBytes() > maxHeapBytes
+                    || !session.reset()) {
+                discard(session);
+            } else {
+                synchronized (idle) {
+                    idle.addFirst(session);
+                }
+            }
+        } finally {
+            leased.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private void discard(BrowserSession session) {
+        open.remove(session);
+        recycled.incrementAndGet();
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            System.err.println("Error closing WebDriver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Quits the idle browsers; leased ones stay with their borrowers.
+     */
+    void evictIdle() {
+        List<BrowserSession> evicted;
+        synchronized (idle) {
+            evicted = new ArrayList<>(idle);
+            idle.clear();
+        }
+        evicted.forEach(this::discard);
+    }
+
+    /**
+     * Quits every browser; sessions still leased are quit when returned.
+     */
+    void close() {
+        closed = true;
+        evictIdle();
+    }
+
+    Stats stats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long leaseCount = leases.get();
+        return new Stats(maxSessions, open.size(), leased.get(), idleCount, waiting.get(), leaseCount,
+                leaseCount == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / leaseCount,
+                maxWaitNanos.get() / 1_000_000.0, leaseTimeouts.get(), launched.get(), recycled.get());
+    }
+
+    /**
+     * One leased browser. Closing it returns it to the pool.
+     */
+    final class BrowserSession implements AutoCloseable {
+        private final WebDriver driver;
+        private int pages;
+        private boolean broken;
+        private boolean returned;
+        private long leaseWaitNanos;
+
+        private BrowserSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        WebDriver driver() {
+            return driver;
+        }
+
+        /**
+         * Counts a page load towards the recycling limit.
+         */
+        void pageLoaded() {
+            pages++;
+        }
+
+        /**
+         * Marks the browser as unusable, so it is quit instead of reused.
+         */
+        void invalidate() {
+            broken = true;
+        }
+
+        long getLeaseWaitNanos() {
+            return leaseWaitNanos;
+        }
+
+        @Override
+        public void close() {
+            if (!returned) {
+                returned = true;
+                release(this);
+            }
+        }
+
+        private boolean isHealthy() {
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private long heapBytes() {
+            if (!(driver instanceof JavascriptExecutor)) {
+                return 0;
+            }
+            try {
+                Object used = ((JavascriptExecutor) driver).executeScript(
+                        "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : 0;");
+                return used instanceof Number ? ((Number) used).longValue() : 0;
+            } catch (Exception e) {
+                return 0;
+            }
+        }
+
+        /**
+         * Leaves a single blank tab so the next borrower starts clean.
+         */
+        private boolean reset() {
+            try {
+                List<String> handles = new ArrayList<>(driver.getWindowHandles());
+                if (handles.size() > 1) {
+                    for (String handle : handles.subList(1, handles.size())) {
+                        driver.switchTo().window(handle);
+                        driver.close();
+                    }
+                    driver.switchTo().window(handles.get(0));
+                }
+                driver.get(BLANK_PAGE);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.resumeopt.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Byte-budgeted page cache keyed by URL.
+ * Pages are kept as gzip-compressed HTML rather than live DOM trees and
+ * re-parsed on a hit, so each caller gets its own Document and the heap cost
+ * of an entry is a few KB instead of the whole node graph. Entries expire
+ * after a TTL and the least recently used ones are evicted once the
+ * compressed size exceeds the budget.
+ */
+public class CompressedPageCache {
+
+    // Map entry, key and array headers, roughly
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Point-in-time cache metrics.
+     */
+    public record Stats(int entries, long bytes, long maxBytes, long hits, long misses, long evictions,
+            long expirations) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(byte[] gzippedHtml, long storedAt, long weight) {}
+
+    CompressedPageCache(long maxBytes, Duration ttl) {
+        this(maxBytes, ttl, Clock.systemUTC());
+    }
+
+    CompressedPageCache(long maxBytes, Duration ttl, Clock clock) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Freshly parsed copy of the cached page, or null on a miss.
+     */
+    Document get(String url) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(url);
+            if (entry != null && isExpired(entry, clock.millis())) {
+                remove(url, entry);
+                expirations++;
+                entry = null;
+            }
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        return Jsoup.parse(gunzip(entry.gzippedHtml()), url);
+    }
+
+    /**
+     * Caches the page's HTML; pages larger than the whole budget are not cached.
+     */
+    void put(String url, Document doc) {
+        byte[] compressed = gzip(doc.outerHtml());
+        long weight = compressed.length + 2L * url.length() + ENTRY_OVERHEAD_BYTES;
+        if (weight > maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(compressed, clock.millis(), weight);
+        synchronized (this) {
+            Entry previous = entries.put(url, entry);
+            if (previous != null) {
+                bytes -= previous.weight();
+            }
+            bytes += weight;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.weight();
+                evictions++;
+            }
+        }
+    }
+
+    synchronized void invalidate(String url) {
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            remove(url, entry);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Drops every expired entry and returns how many were removed.
+     */
+    synchronized int evictExpired() {
+        long now = clock.millis();
+        int removed = 0;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (isExpired(entry, now)) {
+                it.remove();
+                bytes -= entry.weight();
+                removed++;
+            }
+        }
+        expirations += removed;
+        return removed;
+    }
+
+    synchronized Stats stats() {
+        return new Stats(entries.size(), bytes, maxBytes, hits, misses, evictions, expirations);
+    }
+
+    private void remove(String url, Entry entry) {
+        entries.remove(url);
+        bytes -= entry.weight();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.storedAt() > ttlMillis;
+    }
+
+    private static byte[] gzip(String html) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, html.length() / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(html.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.resumeopt.service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-domain politeness limiter shared by every scraper.
+ * Each domain has a token bucket (a virtual-scheduling cell-rate limiter, so
+ * one timestamp per domain): a request reserves the next free slot atomically
+ * and gets back a future that completes when the slot arrives. The wait runs
+ * on the JDK's delay scheduler rather than on the caller's worker thread, so
+ * callers chain their request with {@code thenApplyAsync} on their own pool
+ * instead of sleeping. Slot spacing is jittered, and a server's
+ * {@code Retry-After} pushes back every later slot for that domain.
+ */
+@Service
+public class DomainRateLimiter {
+
+    // Requests a domain may send back to back after being idle
+    @Value("${scraper.rateLimit.burst:1}")
+    private int burst = 1;
+
+    // Random +/- share applied to each slot's spacing
+    @Value("${scraper.rateLimit.jitter:0.3}")
+    private double jitter = 0.3;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves the domain's next request slot at most one per
+     * {@code minIntervalMs} (on average).
+     *
+     * @return a future completing when the request may be sent
+     */
+    public CompletableFuture<Void> acquire(String domain, long minIntervalMs) {
+        long waitNanos = reserve(domain, minIntervalMs, System.nanoTime());
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Holds back every request to the domain for at least {@code delay}, e.g.
+     * after a 429 or 503 with {@code Retry-After}.
+     */
+    public void backOff(String domain, Duration delay) {
+        if (delay == null || delay.isNegative() || delay.isZero()) {
+            return;
+        }
+        System.out.println("Backing off " + domain + " for " + delay.toMillis() + "ms");
+        bucket(domain).backOff(System.nanoTime(), delay.toNanos());
+    }
+
+    /**
+     * Number of domains requested so far.
+     */
+    public int getDomainCount() {
+        return buckets.size();
+    }
+
+    long reserve(String domain, long minIntervalMs, long nowNanos) {
+        long interval = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minIntervalMs));
+        if (jitter > 0 && interval > 0) {
+            interval += (long) (interval * jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        }
+        return bucket(domain).reserve(nowNanos, interval, burst);
+    }
+
+    private Bucket bucket(String domain) {
+        return buckets.computeIfAbsent(domain == null ? "unknown" : domain, d -> new Bucket());
+    }
+
+    /**
+     * Parses a {@code Retry-After} header: delay seconds or an HTTP date.
+     *
+     * @return the delay, or null if the header is absent or malformed
+     */
+    public static Duration parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds; try an HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Host of a URL, used as the rate-limiting key.
+     */
+    public static String domainOf(String url) {
+        try {
+            String host = java.net.URI.create(url.trim()).getHost();
+            return host != null ? host : "unknown";
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Theoretical arrival time of the next request. A request is allowed once
+     * the bucket is no more than {@code burst - 1} intervals ahead of now, and
+     * never before a server-requested back-off has elapsed.
+     */
+    private static final class Bucket {
+        private long theoreticalArrival = Long.MIN_VALUE;
+        private long notBefore = Long.MIN_VALUE;
+
+        synchronized long reserve(long now, long interval, int burst) {
+            long start = Math.max(now, notBefore);
+            long tat = Math.max(theoreticalArrival, start);
+            long allowedAt = Math.max(start, tat - (long) (Math.max(1, burst) - 1) * interval);
+            theoreticalArrival = Math.max(tat, allowedAt) + interval;
+            return allowedAt - now;
+        }
+
+        synchronized void backOff(long now, long delay) {
+            notBefore = Math.max(notBefore, now + delay);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.resumeopt.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded Levenshtein distance kernels used by duplicate detection.
+ *
+ * Two kernels compute the same distance with O(n) memory: a banded two-row
+ * dynamic program, which evaluates {@code 2k + 1} cells per character of the
+ * longer string, and Myers' bit-parallel algorithm (in Hyyrö's multi-word
+ * form), which evaluates a whole 64-row block of the matrix with a handful of
+ * word operations. {@link #bounded} picks whichever does less work for the
+ * given lengths and bound, so long descriptions cost about {@code n * m / 64}
+ * word operations instead of {@code n * m} cells.
+ */
+final class EditDistance {
+
+    // Word operations of one Myers block step, measured in banded-DP cells
+    private static final int BLOCK_COST = 4;
+
+    private EditDistance() {
+    }
+
+    /**
+     * Levenshtein distance between two strings, or {@code maxDistance + 1} as
+     * soon as it is known to exceed {@code maxDistance}.
+     */
+    static int bounded(String str1, String str2, int maxDistance) {
+        int shorterLength = Math.min(str1.length(), str2.length());
+        if (Math.abs(str1.length() - str2.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int blocks = (shorterLength + 63) >>> 6;
+        if (blocks > 0 && (long) blocks * BLOCK_COST < 2L * maxDistance + 1) {
+            return myers(str1, str2, maxDistance);
+        }
+        return banded(str1, str2, maxDistance);
+    }
+
+    /**
+     * Banded two-row kernel: only the diagonal band of width
+     * {@code 2 * maxDistance + 1} of two matrix rows is evaluated.
+     */
+    static int banded(String str1, String str2, int maxDistance) {
+        String shorter = str1.length() <= str2.length() ? str1 : str2;
+        String longer = shorter == str1 ? str2 : str1;
+        int len1 = shorter.length();
+        int len2 = longer.length();
+        if (len2 - len1 > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (len1 == 0) {
+            return len2;
+        }
+
+        int outside = maxDistance + 1;
+        int[] previous = new int[len1 + 1];
+        int[] current = new int[len1 + 1];
+        for (int i = 0; i <= len1; i++) {
+            previous[i] = i <= maxDistance ? i : outside;
+        }
+
+        for (int j = 1; j <= len2; j++) {
+            int from = Math.max(1, j - maxDistance);
+            int to = Math.min(len1, j + maxDistance);
+            current[from - 1] = from == 1 && j <= maxDistance ? j : outside;
+            int rowMin = current[from - 1];
+            char c = longer.charAt(j - 1);
+            for (int i = from; i <= to; i++) {
+                int cost = shorter.charAt(i - 1) == c ? 0 : 1;
+                int value = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                current[i] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            if (to < len1) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > maxDistance) {
+                return outside;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[len1], outside);
+    }
+
+    /**
+     * Bit-parallel kernel. The shorter string is the pattern, split into 64-row
+     * blocks whose vertical deltas are kept as positive/negative bit vectors;
+     * each character of the longer string advances every block by one column,
+     * carrying the horizontal delta from block to block. The score tracks the
+     * last row, and since each remaining column can lower it by at most one,
+     * the scan stops once the bound can no longer be met.
+     */
+    static int myers(String str1, String str2, int maxDistance) {
+        String pattern = str1.length() <= str2.length() ? str1 : str2;
+        String text = pattern == str1 ? str2 : str1;
+        int m = pattern.length();
+        int n = text.length();
+        if (n - m > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (m == 0) {
+            return n;
+        }
+
+        int blocks = (m + 63) >>> 6;
+        PatternMasks masks = new PatternMasks(pattern, blocks);
+        long[] positive = new long[blocks];
+        long[] negative = new long[blocks];
+        Arrays.fill(positive, -1L); // First column: D[i][0] = i
+        long lastRow = 1L << ((m - 1) & 63);
+        int score = m;
+
+        for (int j = 0; j < n; j++) {
+            long[] eqs = masks.get(text.charAt(j));
+            int carry = 1; // First row: D[0][j] = j
+            for (int b = 0; b < blocks; b++) {
+                long pv = positive[b];
+                long mv = negative[b];
+                long eq = eqs == null ? 0L : eqs[b];
+                long carryNegative = carry < 0 ? 1L : 0L;
+                long xv = eq | mv;
+                eq |= carryNegative;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                long high = b == blocks - 1 ? lastRow : Long.MIN_VALUE;
+                int out = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+                ph = (ph << 1) | (carry > 0 ? 1L : 0L);
+                mh = (mh << 1) | carryNegative;
+                positive[b] = mh | ~(xv | ph);
+                negative[b] = ph & xv;
+                carry = out;
+            }
+            score += carry;
+            if (score - (n - j - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+
+        return Math.min(score, maxDistance + 1);
+    }
+
+    /**
+     * Per-character match masks of the pattern, one bit per pattern position.
+     */
+    private static final class PatternMasks {
+        private final long[][] ascii = new long[128][];
+        private Map<Character, long[]> other;
+
+        PatternMasks(String pattern, int blocks) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                long[] mask;
+                if (c < 128) {
+                    mask = ascii[c];
+                    if (mask == null) {
+                        mask = ascii[c] = new long[blocks];
+                    }
+                } else {
+                    if (other == null) {
+                        other = new HashMap<>();
+                    }
+                    mask = other.computeIfAbsent(c, key -> new long[blocks]);
+                }
+                mask[i >>> 6] |= 1L << (i & 63);
+            }
+        }
+
+        long[] get(char c) {
+            if (c < 128) {
+                return ascii[c];
+            }
+            return other == null ? null : other.get(c);
+        }
+    }
+}
@@ -44,7 +44,7 @@ public class EnhancedCutshortScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private JobDeduplicationService deduplicationService;
@@ -52,9 +52,6 @@ public class EnhancedCutshortScraper implements PortalScraper {
     @Autowired
     private ScrapingMonitorService monitorService;
 
-    @Autowired
-    private SeleniumService seleniumService;
-
     @Value("${job.portals.cutshort.enabled:true}")
     private boolean enabled;
 
@@ -81,6 +78,8 @@ public class EnhancedCutshortScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://cutshort.io";
 
+    private static final String JOB_CARD_SELECTOR = ".job-card, .opportunity-card, div[class*='JobCard'], div[class*='jobCard']";
+
     // Date patterns for parsing Cutshort posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -110,6 +109,10 @@ public class EnhancedCutshortScraper implements PortalScraper {
                         "', MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 if (pageJobs.isEmpty()) {
@@ -120,15 +123,6 @@ public class EnhancedCutshortScraper implements PortalScraper {
                 System.out.println("[" + LocalDateTime.now() + "] Page " + page + " completed: " + pageJobs.size()
                         + " jobs found");
 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println(
                         "[" + LocalDateTime.now() + "] Error scraping Cutshort page " + page + ": " + e.getMessage());
@@ -173,16 +167,15 @@ public class EnhancedCutshortScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -199,37 +192,10 @@ public class EnhancedCutshortScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("Scraping Cutshort page " + page + ": " + url);
 
-        Document doc = null;
-        // Cutshort is a React app, so we should default to Selenium or try Jsoup if SSR
-        // is enabled (unlikely for search results)
-        // But let's try Jsoup first just in case, as it's faster
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-            System.out.println("Jsoup failed for Cutshort, trying Selenium: " + e.getMessage());
-        }
-
-        Elements jobCards = (doc != null) ? doc.select(".job-card, .opportunity-card, div[class*='JobCard']")
-                : new Elements();
-
-        if (doc == null || jobCards.isEmpty()) {
-            System.out.println("Jsoup found no jobs, switching to Selenium for Cutshort page " + page);
-            try {
-                doc = seleniumService.fetchDocument(url);
-                // Wait for job cards to load - SeleniumService usually waits for body, but we
-                // might need specific wait
-                // However, we can't easily inject custom waits into SeleniumService without
-                // modifying it.
-                // Assuming SeleniumService has some basic wait or we rely on it returning the
-                // DOM after load.
-
-                jobCards = doc.select(
-                        ".job-card, .opportunity-card, div[class*='JobCard'], div[class*='jobCard'], a[href*='/job/']");
-            } catch (Exception e) {
-                System.err.println("Selenium also failed for Cutshort: " + e.getMessage());
-                throw new IOException("Cutshort scraping failed with both Jsoup and Selenium", e);
-            }
-        }
+        // Cutshort is a React app; search results are rarely server-rendered, so the
+        // domain usually settles on the browser tier after the first page
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
+        Elements jobCards = doc.select(JOB_CARD_SELECTOR + ", a[href*='/job/']");
 
         if (jobCards.isEmpty()) {
             System.out.println("No job cards found on Cutshort page " + page +
@@ -37,7 +37,7 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private JobDeduplicationService deduplicationService;
@@ -45,9 +45,6 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
     @Autowired
     private ScrapingMonitorService monitorService;
 
-    @Autowired
-    private SeleniumService seleniumService;
-
     @Value("${job.portals.freshersworld.enabled:true}")
     private boolean enabled;
 
@@ -74,6 +71,9 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://www.freshersworld.com";
 
+    private static final String JOB_CARD_SELECTOR = ".job-container, .job-tittle, article.job, .list-container, .job-list, "
+            + ".job-posting, .job-card, div[class*='job-block'], div[class*='job_listing']";
+
     // Date patterns for parsing Freshersworld posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -101,21 +101,16 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
                 "', MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 allJobs.addAll(pageJobs);
 
                 System.out.println("Page " + page + " completed: " + pageJobs.size() + " jobs found");
 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("Error scraping Freshersworld page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -157,16 +152,15 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -183,7 +177,7 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("[" + LocalDateTime.now() + "] Scraping Freshersworld page " + page + ": " + url);
 
-        Document doc = advancedScrapingService.fetchDocument(url);
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
 
         // Anti-bot detection
         if (doc.title().contains("Cloudflare") || doc.text().contains("Verify you are human")) {
@@ -197,24 +191,11 @@ public class EnhancedFreshersworldScraper implements PortalScraper {
             return new ArrayList<>();
         }
 
-        Elements jobCards = doc.select(
-                ".job-container, .job-tittle, article.job, .list-container, .job-list, .job-posting, .job-card, div[class*='job-block'], div[class*='job_listing']");
-
-        if (jobCards.isEmpty()) {
-            System.out.println("[" + LocalDateTime.now() + "] No job cards found on Freshersworld page " + page +
-                    " with Jsoup. Switching to Selenium...");
-            try {
-                doc = seleniumService.fetchDocument(url);
-                jobCards = doc.select(
-                        ".job-container, .job-tittle, article.job, .list-container, .job-list, .job-posting, .job-card, div[class*='job-block'], div[class*='job_listing']");
-            } catch (Exception e) {
-                System.err.println("Selenium fallback failed: " + e.getMessage());
-            }
-        }
+        Elements jobCards = doc.select(JOB_CARD_SELECTOR);
 
         if (jobCards.isEmpty()) {
             System.out.println("[" + LocalDateTime.now() + "] No job cards found on Freshersworld page " + page
-                    + " even with Selenium.");
+                    + " even in a browser render.");
             return new ArrayList<>();
         }
 
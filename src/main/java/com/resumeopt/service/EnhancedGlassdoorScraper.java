@@ -36,10 +36,7 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
     
     @Autowired
     private JobDeduplicationService deduplicationService;
@@ -75,6 +72,9 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
     private int maxRetries;
     
     private static final String BASE_URL = "https://www.glassdoor.co.in";
+
+    private static final String JOB_CARD_SELECTOR = "li[data-test='job-listing'], .jobContainer, [data-test='job-listing'], .jobListing, "
+            + ".job-search__job, li[class*='JobsList_jobListItem'], .JobCard_jobCardWrapper__vX29z";
     
     // Date patterns for parsing Glassdoor posting dates
     private static final Pattern[] DATE_PATTERNS = {
@@ -103,6 +103,10 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
                           "', MaxPages=" + maxPages + ", DateFilter=" + datePosted + " days");
         
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 if (pageJobs.isEmpty()) {
@@ -113,15 +117,6 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
                 
                 System.out.println("[" + LocalDateTime.now() + "] Page " + page + " completed: " + pageJobs.size() + " jobs found");
                 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("[" + LocalDateTime.now() + "] Error scraping Glassdoor page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -163,16 +158,15 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit") || e.getMessage().contains("Anti-Bot")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("[" + LocalDateTime.now() + "] Rate limited/Blocked, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("[" + LocalDateTime.now() + "] Rate limited/Blocked, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -189,34 +183,10 @@ public class EnhancedGlassdoorScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("[" + LocalDateTime.now() + "] Scraping Glassdoor page " + page + ": " + url);
         
-        Document doc = null;
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-             System.out.println("[" + LocalDateTime.now() + "] Jsoup failed for Glassdoor, trying Selenium: " + e.getMessage());
-        }
-
-        // Check for Cloudflare/Anti-bot or empty results with Jsoup
-        boolean blocked = doc == null || 
-                          doc.title().contains("Cloudflare") || 
-                          doc.text().contains("Verify you are human") || 
-                          doc.text().contains("Access Denied") || 
-                          doc.title().contains("Just a moment...");
-        
-        Elements jobCards = (doc != null && !blocked) ? doc.select("li[data-test='job-listing'], .jobContainer, [data-test='job-listing'], .jobListing, .job-search__job, li[class*='JobsList_jobListItem']") : new Elements();
-        
-        if (blocked || jobCards.isEmpty()) {
-             System.out.println("[" + LocalDateTime.now() + "] Jsoup failed or blocked, switching to Selenium for Glassdoor page " + page);
-             try {
-                 doc = seleniumService.fetchDocument(url);
-                 jobCards = doc.select("li[data-test='job-listing'], li[class*='JobsList_jobListItem'], .JobCard_jobCardWrapper__vX29z");
-                 
-                 if (jobCards.isEmpty()) {
-                     System.out.println("[" + LocalDateTime.now() + "] Selenium also failed to find jobs on Glassdoor page " + page);
-                 }
-             } catch (Exception e) {
-                 System.err.println("[" + LocalDateTime.now() + "] Selenium failed for Glassdoor: " + e.getMessage());
-             }
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
+        Elements jobCards = TieredFetchService.isBlocked(doc) ? new Elements() : doc.select(JOB_CARD_SELECTOR);
+        if (jobCards.isEmpty()) {
+            System.out.println("[" + LocalDateTime.now() + "] No jobs found on Glassdoor page " + page + " (blocked or empty)");
         }
         
         List<JobListing> jobs = new ArrayList<>();
@@ -36,10 +36,7 @@ public class EnhancedHiristScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private JobDeduplicationService deduplicationService;
@@ -76,6 +73,9 @@ public class EnhancedHiristScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://www.hirist.com";
 
+    private static final String JOB_CARD_SELECTOR = ".job-title, .job-row, .job-card, div[class*='job-card'], .job-listing, "
+            + ".card-body, div[class*='JobCard']";
+
     // Date patterns for parsing Hirist posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -104,6 +104,10 @@ public class EnhancedHiristScraper implements PortalScraper {
                         "', MaxPages=" + maxPages + ", ExperienceMax=" + experienceMax + " years");
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
+                break;
+            }
             try {
                 // Hirist is an SPA, so we rely on Selenium or advanced scraping service
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
@@ -116,15 +120,6 @@ public class EnhancedHiristScraper implements PortalScraper {
                 System.out.println("[" + LocalDateTime.now() + "] Page " + page + " completed: " + pageJobs.size()
                         + " jobs found");
 
-                // Delay between pages to respect rate limits (Hirist needs longer delays)
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println(
                         "[" + LocalDateTime.now() + "] Error scraping Hirist page " + page + ": " + e.getMessage());
@@ -168,16 +163,15 @@ public class EnhancedHiristScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -194,21 +188,9 @@ public class EnhancedHiristScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("Scraping Hirist page " + page + ": " + url);
 
-        Document doc;
-        // Hirist is heavily dynamic, prefer Selenium
-        try {
-            System.out.println("Using Selenium for Hirist...");
-            doc = seleniumService.fetchDocument(url);
-        } catch (Exception se) {
-            System.err.println("Selenium scraping failed: " + se.getMessage());
-            // Fallback to Jsoup/AdvancedScraper just in case
-            doc = advancedScrapingService.fetchDocument(url);
-        }
-
-        // Updated selectors for Hirist (based on typical structure, may need
-        // adjustment)
-        Elements jobCards = doc.select(
-                ".job-title, .job-row, .job-card, div[class*='job-card'], .job-listing, .card-body, div[class*='JobCard']");
+        // Hirist is heavily dynamic; once HTTP comes back without cards the domain sticks to the browser
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
+        Elements jobCards = doc.select(JOB_CARD_SELECTOR);
 
         if (jobCards.isEmpty()) {
             System.out.println("No job cards found on Hirist page " + page +
@@ -61,13 +61,13 @@ public class EnhancedIndeedScraper implements PortalScraper {
     private int maxRetries;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
 
     private static final String BASE_URL = "https://www.indeed.co.in";
 
+    private static final String JOB_CARD_SELECTOR = ".jobsearch-ResultsList .job_seen_beacon, .job_seen_beacon, "
+            + ".job_listing, .jobTitle, .resultContent, [class*='job_seen_beacon'], [class*='jobCard']";
+
     // Date patterns for parsing Indeed posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -98,6 +98,10 @@ public class EnhancedIndeedScraper implements PortalScraper {
                         "', MaxPages=" + maxPages + ", DateFilter=" + datePosted + " days");
 
         for (int page = 0; page < maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
+                break;
+            }
             try {
                 String url = buildSearchUrl(page);
                 System.out.println(
@@ -105,25 +109,12 @@ public class EnhancedIndeedScraper implements PortalScraper {
 
                 Document doc;
                 try {
-                    // Indeed often blocks Jsoup immediately, so we can try Selenium first or as
-                    // fallback
-                    // Trying Jsoup first for speed if not blocked
-                    doc = advancedScrapingService.fetchDocument(url);
-
-                    // Anti-bot detection
-                    if (doc.title().contains("Cloudflare") || doc.text().contains("Verify you are human") ||
-                            doc.title().contains("Just a moment...") || doc.text().contains("Access Denied")) {
-                        throw new IOException("Indeed Anti-Bot detection");
-                    }
-                } catch (Exception e) {
-                    System.out.println("[" + LocalDateTime.now() + "] Standard scraping failed for Indeed ("
-                            + e.getMessage() + "). Switching to Selenium...");
-                    try {
-                        doc = seleniumService.fetchDocument(url);
-                    } catch (Exception se) {
-                        System.err.println("Selenium scraping also failed: " + se.getMessage());
-                        continue;
-                    }
+                    // Plain HTTP first; Indeed often blocks it, and the tier that works is remembered
+                    doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
+                } catch (IOException e) {
+                    System.err.println("[" + LocalDateTime.now() + "] Indeed page " + (page + 1)
+                            + " could not be fetched: " + e.getMessage());
+                    continue;
                 }
 
                 // Check for "No results"
@@ -133,24 +124,12 @@ public class EnhancedIndeedScraper implements PortalScraper {
                     break;
                 }
 
-                Elements jobCards = doc.select(
-                        ".jobsearch-ResultsList .job_seen_beacon, .job_seen_beacon, .job_listing, .jobTitle, .resultContent, [class*='job_seen_beacon'], [class*='jobCard']");
+                Elements jobCards = doc.select(JOB_CARD_SELECTOR);
 
                 if (jobCards.isEmpty()) {
                     System.out.println("[" + LocalDateTime.now() + "] No job cards found on Indeed page " + (page + 1)
                             + " (Possible layout change or anti-bot)");
-                    // If we found no cards but also no "no results" message, it might be a block or
-                    // layout change.
-                    // Let's try to wait a bit longer or retry if it's the first page
-                    if (page == 0) {
-                        System.out.println("Retrying page 1 with Selenium due to empty results...");
-                        doc = seleniumService.fetchDocument(url);
-                        jobCards = doc.select(
-                                ".jobsearch-ResultsList .job_seen_beacon, .job_seen_beacon, .job_listing, .jobTitle, .resultContent, [class*='job_seen_beacon']");
-                    }
-
-                    if (jobCards.isEmpty())
-                        break;
+                    break;
                 }
 
                 List<JobListing> pageJobs = new ArrayList<>();
@@ -169,12 +148,6 @@ public class EnhancedIndeedScraper implements PortalScraper {
                 System.out.println("[" + LocalDateTime.now() + "] Page " + (page + 1) + " completed: " + pageJobs.size()
                         + " jobs found");
 
-                // Delay between pages with Jitter
-                if (page < maxPages - 1 && requestDelay > 0) {
-                    long jitter = (long) (Math.random() * 2000); // 0-2000ms jitter
-                    Thread.sleep(requestDelay + jitter);
-                }
-
             } catch (Exception e) {
                 System.err.println("[" + LocalDateTime.now() + "] Error fetching Indeed page " + (page + 1) + ": "
                         + e.getMessage());
@@ -36,10 +36,7 @@ public class EnhancedIntershalaScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
 
     @Value("${job.portals.internshala.enabled:true}")
     private boolean enabled;
@@ -67,6 +64,9 @@ public class EnhancedIntershalaScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://internshala.com";
 
+    private static final String JOB_CARD_SELECTOR = ".individual_internship, .internship_meta, .job_card, "
+            + "div[id*='individual_internship']";
+
     // Date patterns for parsing Internshala posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -94,21 +94,16 @@ public class EnhancedIntershalaScraper implements PortalScraper {
                 "', MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 allJobs.addAll(pageJobs);
 
                 System.out.println("Page " + page + " completed: " + pageJobs.size() + " jobs found");
 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("Error scraping Internshala page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -146,16 +141,15 @@ public class EnhancedIntershalaScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -172,28 +166,12 @@ public class EnhancedIntershalaScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("[" + LocalDateTime.now() + "] Scraping Internshala page " + page + ": " + url);
 
-        Document doc;
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-            System.out.println("Standard scraping failed for Internshala. Switching to Selenium...");
-            try {
-                doc = seleniumService.fetchDocument(url);
-            } catch (Exception se) {
-                System.err.println("Selenium scraping also failed: " + se.getMessage());
-                return new ArrayList<>();
-            }
-        }
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
 
         // Anti-bot detection
         if (doc.title().contains("Cloudflare") || doc.text().contains("Verify you are human")) {
             System.err.println("[" + LocalDateTime.now() + "] CRITICAL: Blocked by Internshala anti-bot");
-            // Try Selenium if not already used, or fail
-            try {
-                doc = seleniumService.fetchDocument(url);
-            } catch (Exception se) {
-                throw new IOException("Internshala Anti-Bot detection");
-            }
+            throw new IOException("Internshala Anti-Bot detection");
         }
 
         // Explicit no results check
@@ -202,20 +180,7 @@ public class EnhancedIntershalaScraper implements PortalScraper {
             return new ArrayList<>();
         }
 
-        Elements jobCards = doc
-                .select(".individual_internship, .internship_meta, .job_card, div[id*='individual_internship']");
-
-        if (jobCards.isEmpty()) {
-            System.out.println("[" + LocalDateTime.now() + "] No job cards found on Internshala page " + page +
-                    " with Jsoup. Switching to Selenium...");
-            try {
-                doc = seleniumService.fetchDocument(url);
-                jobCards = doc.select(
-                        ".individual_internship, .internship_meta, .job_card, div[id*='individual_internship']");
-            } catch (Exception e) {
-                System.err.println("Selenium fallback failed: " + e.getMessage());
-            }
-        }
+        Elements jobCards = doc.select(JOB_CARD_SELECTOR);
 
         if (jobCards.isEmpty()) {
             System.out.println("[" + LocalDateTime.now() + "] No job cards found on Internshala page " + page +
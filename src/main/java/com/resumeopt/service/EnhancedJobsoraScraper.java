@@ -36,10 +36,7 @@ public class EnhancedJobsoraScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
 
     @Value("${job.portals.jobsora.enabled:true}")
     private boolean enabled;
@@ -67,6 +64,8 @@ public class EnhancedJobsoraScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://in.jobsora.com";
 
+    private static final String JOB_CARD_SELECTOR = ".vacancy, .job-item, .job-card, .c-job-list__item";
+
     // Date patterns for parsing Jobsora posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -94,21 +93,16 @@ public class EnhancedJobsoraScraper implements PortalScraper {
                 "', MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 allJobs.addAll(pageJobs);
 
                 System.out.println("Page " + page + " completed: " + pageJobs.size() + " jobs found");
 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("Error scraping Jobsora page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -146,16 +140,15 @@ public class EnhancedJobsoraScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -172,27 +165,12 @@ public class EnhancedJobsoraScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("[" + LocalDateTime.now() + "] Scraping Jobsora page " + page + ": " + url);
 
-        Document doc;
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-            System.out.println("Jsoup failed for Jobsora, trying Selenium: " + e.getMessage());
-            try {
-                doc = seleniumService.fetchDocument(url);
-            } catch (Exception se) {
-                System.err.println("Selenium scraping also failed: " + se.getMessage());
-                return new ArrayList<>();
-            }
-        }
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR);
 
         // Anti-bot detection
         if (doc.title().contains("Cloudflare") || doc.text().contains("Verify you are human")) {
             System.err.println("[" + LocalDateTime.now() + "] CRITICAL: Blocked by Jobsora anti-bot");
-            try {
-                doc = seleniumService.fetchDocument(url);
-            } catch (Exception se) {
-                throw new IOException("Jobsora Anti-Bot detection");
-            }
+            throw new IOException("Jobsora Anti-Bot detection");
         }
 
         // Explicit no results check
@@ -201,25 +179,13 @@ public class EnhancedJobsoraScraper implements PortalScraper {
             return new ArrayList<>();
         }
 
-        // Try multiple selectors for job cards
-        Elements jobCards = doc.select(".vacancy, .job-item, .job-card, .c-job-list__item");
+        Elements jobCards = doc.select(JOB_CARD_SELECTOR);
 
         if (jobCards.isEmpty()) {
             // Try alternative selectors
             jobCards = doc.select("[class*='job'], [class*='vacancy'], .search-result");
         }
 
-        if (jobCards.isEmpty()) {
-            System.out.println("[" + LocalDateTime.now() + "] No job cards found on Jobsora page " + page +
-                    " with Jsoup. Switching to Selenium...");
-            try {
-                doc = seleniumService.fetchDocument(url);
-                jobCards = doc.select(".vacancy, .job-item, .job-card, .c-job-list__item, [class*='job']");
-            } catch (Exception e) {
-                System.err.println("Selenium fallback failed: " + e.getMessage());
-            }
-        }
-
         if (jobCards.isEmpty()) {
             System.out.println("[" + LocalDateTime.now() + "] No job cards found on Jobsora page " + page +
                     ". Page structure may have changed or no results available.");
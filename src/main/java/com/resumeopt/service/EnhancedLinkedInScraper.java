@@ -10,7 +10,6 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
@@ -69,7 +68,7 @@ public class EnhancedLinkedInScraper implements PortalScraper {
     private String clientSecret;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private SeleniumService seleniumService;
@@ -88,6 +87,9 @@ public class EnhancedLinkedInScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://www.linkedin.com";
 
+    private static final String JOB_CARD_SELECTOR = ".jobs-search__results-list li, .job-search-card, .base-card, "
+            + ".jobs-search-results__list-item, li[class*='job'], div[class*='job-card'], article[class*='job']";
+
     // Date patterns for parsing LinkedIn posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -117,67 +119,29 @@ public class EnhancedLinkedInScraper implements PortalScraper {
                         "', DateFilter=" + datePosted + ", MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("[" + LocalDateTime.now() + "] Scraping interrupted");
+                break;
+            }
             try {
                 int offset = (page - 1) * 25;
                 String url = buildSearchUrl(offset);
                 System.out.println("[" + LocalDateTime.now() + "] Scraping LinkedIn page " + page + ": " + url);
 
-                Document doc = null;
-                try {
-                    doc = advancedScrapingService.fetchDocument(url);
-                } catch (Exception e) {
-                    System.out.println("Jsoup failed for LinkedIn, trying Selenium: " + e.getMessage());
-                }
-
-                // Anti-bot detection
-                boolean blocked = doc == null ||
-                        doc.title().contains("Security Challenge") ||
-                        doc.title().contains("Cloudflare") ||
-                        doc.text().contains("authwall") ||
-                        doc.text().contains("Sign In to LinkedIn") ||
-                        doc.text().contains("Join LinkedIn");
-
-                if (blocked) {
-                    System.out.println("[" + LocalDateTime.now()
-                            + "] Blocked by LinkedIn anti-bot or authwall with Jsoup. Switching to Selenium...");
-                    try {
-                        WebDriver driver = seleniumService.getDriver();
-                        driver.get(url);
-
-                        // Wait for job cards
-                        try {
-                            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-                            wait.until(ExpectedConditions.or(
-                                    ExpectedConditions
-                                            .presenceOfElementLocated(By.cssSelector(".jobs-search__results-list li")),
-                                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job-search-card")),
-                                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".base-card")),
-                                    ExpectedConditions.presenceOfElementLocated(By.cssSelector("li[class*='job']"))));
-                        } catch (Exception te) {
-                            System.out.println("Timeout waiting for LinkedIn jobs via Selenium.");
-                        }
-
-                        String pageSource = driver.getPageSource();
-                        doc = Jsoup.parse(pageSource, url);
-                    } catch (Exception e) {
-                        System.err.println("Selenium also failed for LinkedIn: " + e.getMessage());
-                        if (doc == null)
-                            throw new IOException("LinkedIn scraping failed with both Jsoup and Selenium", e);
-                    }
-                }
+                // Guest search pages are server-rendered; the browser is only needed past an authwall
+                Document doc = tieredFetchService.fetch(url,
+                        d -> !isSignInWall(d) && (!d.select(JOB_CARD_SELECTOR).isEmpty() || isNoResultsPage(d)),
+                        () -> renderPage(url));
 
                 // Check for "No results"
-                if (doc != null && (doc.text().contains("No matching jobs found") ||
-                        doc.text().contains("No result found") ||
-                        doc.text().contains("We couldn't find any jobs"))) {
+                if (isNoResultsPage(doc)) {
                     System.out.println("[" + LocalDateTime.now() + "] No jobs found on LinkedIn page " + page);
                     break;
                 }
 
                 // LinkedIn uses various selectors depending on page structure
-                Elements jobCards = doc != null ? doc.select(
-                        ".jobs-search__results-list li, .job-search-card, .base-card, .jobs-search-results__list-item, li[class*='job'], div[class*='job-card'], article[class*='job']")
-                        : new Elements();
+                Elements jobCards = TieredFetchService.isBlocked(doc) || isSignInWall(doc) ? new Elements()
+                        : doc.select(JOB_CARD_SELECTOR);
 
                 if (jobCards.isEmpty()) {
                     System.out.println("[" + LocalDateTime.now() + "] No job cards found on LinkedIn page " + page);
@@ -205,11 +169,6 @@ public class EnhancedLinkedInScraper implements PortalScraper {
                 }
                 allJobs.addAll(pageJobs);
 
-                // Delay between pages
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
             } catch (Exception e) {
                 System.err.println(
                         "[" + LocalDateTime.now() + "] Error scraping LinkedIn page " + page + ": " + e.getMessage());
@@ -247,6 +206,39 @@ public class EnhancedLinkedInScraper implements PortalScraper {
             maxPages = 1;
     }
 
+    /**
+     * Renders a LinkedIn search page in a pooled browser, waiting for the job cards to load
+     */
+    private Document renderPage(String url) {
+        String pageSource = seleniumService.withDriver(driver -> {
+            driver.get(url);
+
+            // Wait for job cards
+            try {
+                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+                wait.until(ExpectedConditions.or(
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".jobs-search__results-list li")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job-search-card")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".base-card")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector("li[class*='job']"))));
+            } catch (Exception te) {
+                System.out.println("Timeout waiting for LinkedIn jobs via Selenium.");
+            }
+
+            return driver.getPageSource();
+        });
+        return Jsoup.parse(pageSource, url);
+    }
+
+    private boolean isSignInWall(Document doc) {
+        return doc.text().contains("Sign In to LinkedIn") || doc.text().contains("Join LinkedIn");
+    }
+
+    private boolean isNoResultsPage(Document doc) {
+        return doc.text().contains("No matching jobs found") || doc.text().contains("No result found")
+                || doc.text().contains("We couldn't find any jobs");
+    }
+
     /**
      * Builds LinkedIn search URL with advanced parameters
      */
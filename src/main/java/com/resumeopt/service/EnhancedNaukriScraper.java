@@ -47,10 +47,7 @@ public class EnhancedNaukriScraper implements PortalScraper {
     private int experienceMax;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
-    
-    @Autowired
-    private SeleniumService seleniumService;
+    private TieredFetchService tieredFetchService;
     
     private static final String BASE_URL = "https://www.naukri.com";
     
@@ -75,31 +72,20 @@ public class EnhancedNaukriScraper implements PortalScraper {
         validateConfiguration();
         
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
             try {
                 String url = buildEnhancedSearchUrl(page);
                 System.out.println("[" + LocalDateTime.now() + "] Enhanced Naukri scraping page " + page + ": " + url);
                 
                 Document doc;
                 try {
-                     // Try standard scraping first (faster)
-                     doc = advancedScrapingService.fetchDocument(url);
-                     
-                     // Check for "No results" or bot block
-                     if (doc.text().contains("No matching jobs found") || 
-                         doc.text().contains("No result found") || 
-                         doc.title().isEmpty() ||
-                         doc.select(".jobTuple, .srp-jobtuple-wrapper, [class*='jobTuple']").isEmpty()) {
-                         throw new IOException("Possible bot block or empty result");
-                     }
-                } catch (Exception e) {
-                    System.out.println("[" + LocalDateTime.now() + "] Standard scraping failed for Naukri (" + e.getMessage() + "). Switching to Selenium...");
-                    // Fallback to Selenium
-                    try {
-                        doc = seleniumService.fetchDocument(url);
-                    } catch (Exception se) {
-                        System.err.println("Selenium scraping also failed: " + se.getMessage());
-                        continue;
-                    }
+                    // Plain HTTP first; the browser renders only pages missing job tuples
+                    doc = tieredFetchService.fetch(url, ".jobTuple, .srp-jobtuple-wrapper, [class*='jobTuple']");
+                } catch (IOException e) {
+                    System.err.println("[" + LocalDateTime.now() + "] Naukri page " + page + " could not be fetched: " + e.getMessage());
+                    continue;
                 }
 
                 // Check for "No results" message first
@@ -150,14 +136,6 @@ public class EnhancedNaukriScraper implements PortalScraper {
                     }
                 }
                 
-                // Delay between pages
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
             } catch (IOException e) {
                 System.err.println("Error fetching Naukri page " + page + ": " + e.getMessage());
                 if (page == 1) {
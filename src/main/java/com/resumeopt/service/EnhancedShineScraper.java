@@ -9,7 +9,6 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
@@ -61,7 +60,7 @@ public class EnhancedShineScraper implements PortalScraper {
     private int experienceMax;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private SeleniumService seleniumService;
@@ -77,6 +76,9 @@ public class EnhancedShineScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://www.shine.com";
 
+    private static final String JOB_CARD_SELECTOR = ".jobCard, .job_listing, .job-card, .search_listing, .parentClass, "
+            + "[class*='JobCard'], li[class*='job'], div[class*='jobCard']";
+
     // Date patterns for parsing Shine posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -104,21 +106,16 @@ public class EnhancedShineScraper implements PortalScraper {
                 "', MaxPages=" + maxPages + ", ExperienceMax=" + experienceMax + " years");
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 allJobs.addAll(pageJobs);
 
                 System.out.println("Page " + page + " completed: " + pageJobs.size() + " jobs found");
 
-                // Delay between pages to respect rate limits
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("Error scraping Shine page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -156,16 +153,15 @@ public class EnhancedShineScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -182,51 +178,10 @@ public class EnhancedShineScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("Scraping Shine page " + page + ": " + url);
 
-        Document doc = null;
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-            System.out.println("Jsoup failed for Shine, trying Selenium: " + e.getMessage());
-        }
-
-        // Check for empty results or blocking with Jsoup
-        boolean blocked = doc == null || doc.text().contains("Access Denied") || doc.title().contains("Cloudflare");
-        Elements jobCards = blocked ? new Elements()
-                : doc.select(".jobCard, .job_listing, .job-card, .search_listing, .parentClass, div[class*='jobCard']");
-
-        if (blocked || jobCards.isEmpty()) {
-            System.out.println("Jsoup failed or blocked, switching to Selenium for Shine page " + page);
-            try {
-                WebDriver driver = seleniumService.getDriver();
-                driver.get(url);
-
-                // Wait for job cards
-                try {
-                    WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-                    wait.until(ExpectedConditions.or(
-                            ExpectedConditions.presenceOfElementLocated(By.cssSelector(".jobCard")),
-                            ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job_listing")),
-                            ExpectedConditions.presenceOfElementLocated(By.className("job-card")),
-                            ExpectedConditions.presenceOfElementLocated(By.cssSelector("[class*='job']"))));
-                } catch (Exception te) {
-                    System.out.println(
-                            "Timeout waiting for Shine jobs via Selenium. Proceeding with whatever is loaded.");
-                }
-
-                String pageSource = driver.getPageSource();
-                doc = Jsoup.parse(pageSource, url);
-
-                // Try updated selectors
-                jobCards = doc.select(
-                        ".jobCard, .job_listing, .job-card, .search_listing, [class*='JobCard'], li[class*='job'], div[class*='jobCard']");
-            } catch (Exception e) {
-                System.err.println("Selenium also failed for Shine: " + e.getMessage());
-                if (doc == null)
-                    throw new IOException("Shine scraping failed with both Jsoup and Selenium", e);
-            }
-        }
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR, () -> renderPage(url));
+        Elements jobCards = TieredFetchService.isBlocked(doc) ? new Elements() : doc.select(JOB_CARD_SELECTOR);
 
-        if (jobCards.isEmpty() && doc != null) {
+        if (jobCards.isEmpty()) {
             // Try alternative selectors as a last resort
             jobCards = doc
                     .select("[class*='job'], .search-result, .listing, div[itemtype='http://schema.org/JobPosting']");
@@ -255,6 +210,31 @@ public class EnhancedShineScraper implements PortalScraper {
         return jobs;
     }
 
+    /**
+     * Renders a Shine page in a pooled browser, waiting for the job cards to load
+     */
+    private Document renderPage(String url) {
+        String pageSource = seleniumService.withDriver(driver -> {
+            driver.get(url);
+
+            // Wait for job cards
+            try {
+                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+                wait.until(ExpectedConditions.or(
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".jobCard")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job_listing")),
+                        ExpectedConditions.presenceOfElementLocated(By.className("job-card")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector("[class*='job']"))));
+            } catch (Exception te) {
+                System.out.println(
+                        "Timeout waiting for Shine jobs via Selenium. Proceeding with whatever is loaded.");
+            }
+
+            return driver.getPageSource();
+        });
+        return Jsoup.parse(pageSource, url);
+    }
+
     /**
      * Builds Shine search URL with advanced parameters
      */
@@ -9,7 +9,6 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
@@ -44,7 +43,7 @@ public class EnhancedWellfoundScraper implements PortalScraper {
     private JobDateFilterService dateFilterService;
 
     @Autowired
-    private AdvancedScrapingService advancedScrapingService;
+    private TieredFetchService tieredFetchService;
 
     @Autowired
     private SeleniumService seleniumService;
@@ -75,6 +74,8 @@ public class EnhancedWellfoundScraper implements PortalScraper {
 
     private static final String BASE_URL = "https://wellfound.com";
 
+    private static final String JOB_CARD_SELECTOR = ".job-listing, [data-test='JobSearchResult'], .startup-job, [class*='JobCard']";
+
     // Date patterns for parsing Wellfound posting dates
     private static final Pattern[] DATE_PATTERNS = {
             Pattern.compile("(\\d{1,2})\\s+(hours?|hrs?)\\s+ago", Pattern.CASE_INSENSITIVE),
@@ -102,21 +103,16 @@ public class EnhancedWellfoundScraper implements PortalScraper {
                 "', MaxPages=" + maxPages);
 
         for (int page = 1; page <= maxPages; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.err.println("Scraping interrupted");
+                break;
+            }
             try {
                 List<JobListing> pageJobs = scrapePageWithRetry(page);
                 allJobs.addAll(pageJobs);
 
                 System.out.println("Page " + page + " completed: " + pageJobs.size() + " jobs found");
 
-                // Delay between pages to respect rate limits (Wellfound needs longer delays)
-                if (page < maxPages && requestDelay > 0) {
-                    Thread.sleep(requestDelay);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted");
-                break;
             } catch (Exception e) {
                 System.err.println("Error scraping Wellfound page " + page + ": " + e.getMessage());
                 // Continue with next page instead of failing completely
@@ -154,16 +150,15 @@ public class EnhancedWellfoundScraper implements PortalScraper {
     /**
      * Scrapes a single page with retry logic for rate limiting
      */
-    private List<JobListing> scrapePageWithRetry(int page) throws IOException, InterruptedException {
+    private List<JobListing> scrapePageWithRetry(int page) throws IOException {
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
                 return scrapePage(page);
             } catch (IOException e) {
                 if (e.getMessage().contains("429") || e.getMessage().contains("rate limit")) {
                     if (attempt < maxRetries - 1) {
-                        long delay = (long) Math.pow(2, attempt) * 1000; // Exponential backoff
-                        System.out.println("Rate limited, waiting " + delay + "ms before retry " + (attempt + 2));
-                        Thread.sleep(delay);
+                        // The fetch backed the domain off (Retry-After), so the retry waits for its next slot
+                        System.out.println("Rate limited, retrying page " + page + " (attempt " + (attempt + 2) + ")");
                         continue;
                     }
                 }
@@ -180,61 +175,13 @@ public class EnhancedWellfoundScraper implements PortalScraper {
         String url = buildSearchUrl(page);
         System.out.println("Scraping Wellfound page " + page + ": " + url);
 
-        Document doc = null;
-        try {
-            doc = advancedScrapingService.fetchDocument(url);
-        } catch (Exception e) {
-            System.out.println("Jsoup failed for Wellfound, trying Selenium: " + e.getMessage());
-        }
-
-        // Check for Cloudflare/Anti-bot or empty results with Jsoup
-        boolean blocked = doc == null ||
-                doc.title().contains("Cloudflare") ||
-                doc.text().contains("Verify you are human") ||
-                doc.text().contains("Access Denied") ||
-                doc.title().contains("Just a moment...");
+        Document doc = tieredFetchService.fetch(url, JOB_CARD_SELECTOR, () -> renderPage(url));
+        Elements jobCards = TieredFetchService.isBlocked(doc) ? new Elements()
+                : doc.select(JOB_CARD_SELECTOR + ", div[class*='styles_component'] a[href*='/jobs/'], div[class*='styles_jobListing']");
 
-        Elements jobCards = blocked ? new Elements()
-                : doc.select(
-                        ".job-listing, [data-test='JobSearchResult'], .startup-job, [class*='JobCard'], div[class*='styles_component']");
-
-        if (blocked || jobCards.isEmpty()) {
-            System.out.println("Jsoup failed or blocked, switching to Selenium for Wellfound page " + page);
-            try {
-                WebDriver driver = seleniumService.getDriver();
-                driver.get(url);
-
-                // Wait for Turnstile or Content (up to 20 seconds)
-                try {
-                    WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-                    wait.until(ExpectedConditions.or(
-                            ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job-listing")),
-                            ExpectedConditions
-                                    .presenceOfElementLocated(By.cssSelector("[data-test='JobSearchResult']")),
-                            ExpectedConditions.presenceOfElementLocated(By.className("startup-job")),
-                            ExpectedConditions.presenceOfElementLocated(By.cssSelector("[class*='JobCard']")),
-                            ExpectedConditions.presenceOfElementLocated(
-                                    By.cssSelector("div[class*='styles_component'] a[href*='/jobs/']"))));
-                } catch (TimeoutException te) {
-                    System.out.println(
-                            "Timeout waiting for Wellfound jobs (Turnstile might be stuck). Proceeding with current source.");
-                }
-
-                String pageSource = driver.getPageSource();
-                doc = Jsoup.parse(pageSource, url);
-
-                jobCards = doc.select(
-                        ".job-listing, [data-test='JobSearchResult'], .startup-job, [class*='JobCard'], div[class*='styles_component'] a[href*='/jobs/'], div[class*='styles_jobListing']");
-
-                // Try alternative selectors if Selenium also returns empty (dynamic content)
-                if (jobCards.isEmpty()) {
-                    jobCards = doc.select("[class*='job'], [class*='listing'], .search-result, [class*='JobResult']");
-                }
-            } catch (Exception e) {
-                System.err.println("Selenium also failed for Wellfound: " + e.getMessage());
-                if (doc == null)
-                    throw new IOException("Wellfound scraping failed with both Jsoup and Selenium", e);
-            }
+        // Try alternative selectors if the page still has no recognisable cards (dynamic content)
+        if (jobCards.isEmpty() && !TieredFetchService.isBlocked(doc)) {
+            jobCards = doc.select("[class*='job'], [class*='listing'], .search-result, [class*='JobResult']");
         }
 
         if (jobCards.isEmpty()) {
@@ -260,6 +207,34 @@ public class EnhancedWellfoundScraper implements PortalScraper {
         return jobs;
     }
 
+    /**
+     * Renders a Wellfound page in a pooled browser, waiting out Turnstile for the job cards
+     */
+    private Document renderPage(String url) {
+        String pageSource = seleniumService.withDriver(driver -> {
+            driver.get(url);
+
+            // Wait for Turnstile or Content (up to 20 seconds)
+            try {
+                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+                wait.until(ExpectedConditions.or(
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector(".job-listing")),
+                        ExpectedConditions
+                                .presenceOfElementLocated(By.cssSelector("[data-test='JobSearchResult']")),
+                        ExpectedConditions.presenceOfElementLocated(By.className("startup-job")),
+                        ExpectedConditions.presenceOfElementLocated(By.cssSelector("[class*='JobCard']")),
+                        ExpectedConditions.presenceOfElementLocated(
+                                By.cssSelector("div[class*='styles_component'] a[href*='/jobs/']"))));
+            } catch (TimeoutException te) {
+                System.out.println(
+                        "Timeout waiting for Wellfound jobs (Turnstile might be stuck). Proceeding with current source.");
+            }
+
+            return driver.getPageSource();
+        });
+        return Jsoup.parse(pageSource, url);
+    }
+
     /**
      * Builds Wellfound search URL with advanced parameters
      */
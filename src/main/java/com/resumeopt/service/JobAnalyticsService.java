@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFeatures;
 import com.resumeopt.model.JobListing;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,17 @@ import java.util.stream.Collectors;
 @Service
 public class JobAnalyticsService {
     
+    private static final int[] TREND_SKILL_IDS = JobFeatures.skillIds(
+        "java", "python", "javascript", "react", "angular", "node.js", "spring",
+        "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile",
+        "machine learning", "data science", "devops", "microservices"
+    );
+    
+    private static final int[] REQUIRED_SKILL_IDS = JobFeatures.skillIds(
+        "java", "python", "javascript", "react", "angular", "node.js", "spring",
+        "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile"
+    );
+    
     /**
      * Get market trends analysis
      */
@@ -101,19 +113,13 @@ public class JobAnalyticsService {
     private Map<String, Long> analyzeSkillFrequency(List<JobListing> jobs) {
         Map<String, Long> skillCount = new HashMap<>();
         
-        String[] commonSkills = {
-            "java", "python", "javascript", "react", "angular", "node.js", "spring",
-            "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile",
-            "machine learning", "data science", "devops", "microservices"
-        };
-        
         for (JobListing job : jobs) {
             if (job.getDescription() == null) continue;
             
-            String desc = job.getDescription().toLowerCase();
-            for (String skill : commonSkills) {
-                if (desc.contains(skill)) {
-                    skillCount.put(skill, skillCount.getOrDefault(skill, 0L) + 1);
+            JobFeatures features = job.getFeatures();
+            for (int skill : TREND_SKILL_IDS) {
+                if (features.hasDescriptionSkill(skill)) {
+                    skillCount.merge(JobFeatures.skillName(skill), 1L, Long::sum);
                 }
             }
         }
@@ -138,19 +144,10 @@ public class JobAnalyticsService {
         for (JobListing job : jobs) {
             if (job.getSalaryRange() == null) continue;
             
-            String salary = job.getSalaryRange();
-            // Extract numbers from salary range (e.g., "3-5 LPA" -> [3, 5])
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher matcher = pattern.matcher(salary);
-            
-            List<Double> range = new ArrayList<>();
-            while (matcher.find()) {
-                range.add(Double.parseDouble(matcher.group(1)));
-            }
-            
-            if (!range.isEmpty()) {
-                double avg = range.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                salaries.add(avg);
+            // Salary range parsed at ingest (e.g., "3-5 LPA" -> 3 to 5)
+            JobFeatures features = job.getFeatures();
+            if (features.hasSalary()) {
+                salaries.add((features.salaryMin() + features.salaryMax()) / 2);
             }
         }
         
@@ -210,21 +207,8 @@ public class JobAnalyticsService {
             return;
         }
         
-        // Extract required skills from description
-        String[] commonSkills = {
-            "java", "python", "javascript", "react", "angular", "node.js", "spring",
-            "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile"
-        };
-        
-        List<String> requiredSkills = new ArrayList<>();
-        String desc = job.getDescription().toLowerCase();
-        for (String skill : commonSkills) {
-            if (desc.contains(skill)) {
-                requiredSkills.add(skill);
-            }
-        }
-        
-        job.setRequiredSkills(requiredSkills);
+        // Required skills the description mentions, as found at ingest
+        job.setRequiredSkills(job.getFeatures().descriptionSkills(REQUIRED_SKILL_IDS));
     }
     
     /**
@@ -1,5 +1,7 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobListing;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
@@ -15,13 +17,34 @@ public class JobCacheScheduler {
     @Autowired
     private JobSourceService jobSourceService;
 
+    @Autowired
+    private JobIndexService jobIndexService;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private JobFacetService jobFacetService;
+
     @EventListener(ApplicationReadyEvent.class)
     public void initCache() {
         System.out.println("Initializing job cache on startup...");
         refreshCache();
     }
 
-    @Scheduled(fixedRate = 3600000) // 1 hour
+    /**
+     * Portals are refreshed on their own adaptive intervals (see AdaptivePortalScheduler).
+     * Each tick runs a refresh only if some portal is due; portals that are not due
+     * contribute their latest scrape without being scraped again.
+     */
+    @Scheduled(fixedDelayString = "${job.scheduler.tickMs:300000}",
+            initialDelayString = "${job.scheduler.tickMs:300000}")
+    public void refreshDuePortals() {
+        if (jobPortalScraperService.hasDuePortals()) {
+            refreshCache();
+        }
+    }
+
     public void refreshCache() {
         System.out.println("Refreshing job cache...");
         try {
@@ -29,14 +52,21 @@ public class JobCacheScheduler {
             jobPortalScraperService.clearCache();
             // This triggers the scraping and caches the result in "portalScrape"
             jobPortalScraperService.aggregateFromPortals();
+
+            // 2. Post-process the fresh scrape and upsert it into the persistent index.
+            // Only new and changed jobs are written; jobs gone for several cycles expire.
+            jobIndexService.ingest(jobSourceService.aggregateAllListings(null));
             
-            // 2. Clear aggregated caches
+            // 3. Clear aggregated caches
             jobSourceService.clearCache(); 
             
-            // 3. Pre-warm the specific view caches
+            // 4. Pre-warm the specific view caches from the index
             // This ensures users don't wait for post-processing (filtering, regex, deduplication)
             System.out.println("Pre-warming 'all' jobs cache...");
-            jobSourceService.aggregateAllListings();
+            // Build the keyword index and facets once for the freshly cached snapshot
+            List<JobListing> listings = jobSourceService.aggregateAllListings();
+            jobSearchService.indexListings(listings);
+            jobFacetService.facetsFor(listings);
             
             System.out.println("Job cache refreshed and warmed successfully");
         } catch (Exception e) {
@@ -1,12 +1,14 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFingerprint;
 import com.resumeopt.model.JobListing;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * Service to remove duplicate job listings from a list based on title, company and location.
+ * Service to remove duplicate job listings from a list based on their canonical fingerprint
+ * (title, company and apply URL, see {@link JobFingerprint}).
  */
 @Service
 public class JobDeduplicationService {
@@ -16,19 +18,12 @@ public class JobDeduplicationService {
             return new ArrayList<>();
         }
         
-        Set<String> seen = new HashSet<>();
+        Set<JobFingerprint> seen = new HashSet<>();
         List<JobListing> uniqueJobs = new ArrayList<>();
         
         for (JobListing job : jobs) {
-            String title = job.getTitle() != null ? job.getTitle().toLowerCase().trim() : "";
-            String company = job.getCompany() != null ? job.getCompany().toLowerCase().trim() : "";
-            String location = job.getLocation() != null ? job.getLocation().toLowerCase().trim() : "";
-            
-            // Use title+company as primary key, location as secondary
-            // Some jobs might have same title/company but different location (valid distinct jobs)
-            String key = title + "|" + company + "|" + location;
-            
-            if (seen.add(key)) {
+            // Same title/company in different locations (valid distinct jobs) have distinct apply URLs
+            if (seen.add(job.getCanonicalFingerprint())) {
                 uniqueJobs.add(job);
             }
         }
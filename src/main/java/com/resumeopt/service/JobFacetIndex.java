@@ -0,0 +1,239 @@
+package com.resumeopt.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.model.JobSource;
+import com.resumeopt.model.JobType;
+
+/**
+ * Immutable facet bitsets over one listing snapshot.
+ * Every facet value (source, job type, date bucket, experience bucket) holds a
+ * bitset of the document ids (positions in the snapshot) that carry it, so
+ * filters combine with AND/OR on bitsets and pages are read straight from the
+ * result bitset without building intermediate lists.
+ */
+public class JobFacetIndex {
+
+    /**
+     * Posting-date buckets. They are cumulative (TODAY is inside WEEK, WEEK inside
+     * MONTH) and, like the jobs API always did, include listings without a date.
+     */
+    public enum DateBucket {
+        TODAY, WEEK, MONTH
+    }
+
+    public enum ExperienceBucket {
+        ENTRY_LEVEL, EXPERIENCED
+    }
+
+    private final List<JobListing> jobs;
+    private final int size;
+    private final LocalDateTime builtAt;
+    private final Map<JobSource, BitSet> bySource = new EnumMap<>(JobSource.class);
+    private final Map<JobType, BitSet> byJobType = new EnumMap<>(JobType.class);
+    private final Map<DateBucket, BitSet> byDate = new EnumMap<>(DateBucket.class);
+    private final Map<ExperienceBucket, BitSet> byExperience = new EnumMap<>(ExperienceBucket.class);
+
+    private JobFacetIndex(List<JobListing> jobs, LocalDateTime builtAt) {
+        this.jobs = jobs;
+        this.size = jobs.size();
+        this.builtAt = builtAt;
+        for (JobSource source : JobSource.values()) {
+            bySource.put(source, new BitSet(size));
+        }
+        for (JobType type : JobType.values()) {
+            byJobType.put(type, new BitSet(size));
+        }
+        for (DateBucket bucket : DateBucket.values()) {
+            byDate.put(bucket, new BitSet(size));
+        }
+        for (ExperienceBucket bucket : ExperienceBucket.values()) {
+            byExperience.put(bucket, new BitSet(size));
+        }
+    }
+
+    /**
+     * Builds the facets. Date buckets are evaluated against {@code now}.
+     */
+    public static JobFacetIndex build(List<JobListing> jobs, LocalDateTime now) {
+        JobFacetIndex index = new JobFacetIndex(Collections.unmodifiableList(new ArrayList<>(jobs)), now);
+        LocalDateTime dayCutoff = now.minusDays(1);
+        LocalDateTime weekCutoff = now.minusWeeks(1);
+        LocalDateTime monthCutoff = now.minusMonths(1);
+
+        for (int doc = 0; doc < index.size; doc++) {
+            JobListing job = index.jobs.get(doc);
+            if (job == null) {
+                continue;
+            }
+            if (job.getSource() != null) {
+                index.bySource.get(job.getSource()).set(doc);
+            }
+            if (job.getJobType() != null) {
+                index.byJobType.get(job.getJobType()).set(doc);
+            }
+
+            LocalDateTime posted = job.getPostedDate();
+            if (posted == null || posted.isAfter(dayCutoff)) {
+                index.byDate.get(DateBucket.TODAY).set(doc);
+            }
+            if (posted == null || posted.isAfter(weekCutoff)) {
+                index.byDate.get(DateBucket.WEEK).set(doc);
+            }
+            if (posted == null || posted.isAfter(monthCutoff)) {
+                index.byDate.get(DateBucket.MONTH).set(doc);
+            }
+
+            index.byExperience.get(isEntryLevel(job) ? ExperienceBucket.ENTRY_LEVEL : ExperienceBucket.EXPERIENCED)
+                    .set(doc);
+        }
+        return index;
+    }
+
+    /**
+     * Entry-level heuristic shared by the jobs pages: 0-2 years required, or an
+     * entry-level keyword in the title when no requirement is known.
+     */
+    public static boolean isEntryLevel(JobListing job) {
+        Integer expReq = job.getExperienceRequired();
+        if (expReq != null) {
+            return expReq <= 2; // Entry-level means 0-2 years
+        }
+        String title = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
+        return title.contains("fresher") || title.contains("entry") || title.contains("junior") ||
+                title.contains("trainee") || title.contains("intern") || title.contains("new grad");
+    }
+
+    /**
+     * Selects the documents matching every given facet (AND across facets, OR
+     * across the values of one facet). A null argument means "no filter"; an empty
+     * set matches nothing.
+     */
+    public BitSet select(Set<JobSource> sources, Set<JobType> jobTypes, DateBucket dateBucket,
+            ExperienceBucket experience) {
+        BitSet selection = new BitSet(size);
+        selection.set(0, size);
+        if (sources != null) {
+            selection.and(union(bySource, sources));
+        }
+        if (jobTypes != null) {
+            selection.and(union(byJobType, jobTypes));
+        }
+        if (dateBucket != null) {
+            selection.and(byDate.get(dateBucket));
+        }
+        if (experience != null) {
+            selection.and(byExperience.get(experience));
+        }
+        return selection;
+    }
+
+    private static <K> BitSet union(Map<K, BitSet> facet, Set<K> values) {
+        BitSet union = new BitSet();
+        for (K value : values) {
+            BitSet bits = facet.get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Returns one page of the selection in snapshot order.
+     */
+    public List<JobListing> page(BitSet selection, int offset, int limit) {
+        List<JobListing> page = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        int seen = 0;
+        for (int doc = selection.nextSetBit(0); doc >= 0 && page.size() < limit; doc = selection.nextSetBit(doc + 1)) {
+            if (seen++ >= offset) {
+                page.add(jobs.get(doc));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns one page of {@code rankedDocs} (e.g. keyword hits) restricted to the
+     * selection, keeping the ranking order.
+     */
+    public List<JobListing> page(int[] rankedDocs, BitSet selection, int offset, int limit) {
+        List<JobListing> page = new ArrayList<>(Math.max(0, Math.min(limit, rankedDocs.length)));
+        int seen = 0;
+        for (int doc : rankedDocs) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (selection.get(doc) && seen++ >= offset) {
+                page.add(jobs.get(doc));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Number of {@code rankedDocs} inside the selection.
+     */
+    public int count(int[] rankedDocs, BitSet selection) {
+        int count = 0;
+        for (int doc : rankedDocs) {
+            if (selection.get(doc)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The selection narrowed to {@code rankedDocs}.
+     */
+    public BitSet restrict(int[] rankedDocs, BitSet selection) {
+        BitSet restricted = new BitSet(size);
+        for (int doc : rankedDocs) {
+            restricted.set(doc);
+        }
+        restricted.and(selection);
+        return restricted;
+    }
+
+    /**
+     * Facet counts within the selection, for rendering filter options in the UI.
+     */
+    public Map<String, Map<String, Integer>> counts(BitSet selection) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        counts.put("source", countValues(bySource, selection));
+        counts.put("jobType", countValues(byJobType, selection));
+        counts.put("dateRange", countValues(byDate, selection));
+        counts.put("experienceLevel", countValues(byExperience, selection));
+        return counts;
+    }
+
+    private static <K extends Enum<K>> Map<String, Integer> countValues(Map<K, BitSet> facet, BitSet selection) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        BitSet scratch = new BitSet();
+        for (Map.Entry<K, BitSet> entry : facet.entrySet()) {
+            scratch.clear();
+            scratch.or(entry.getValue());
+            scratch.and(selection);
+            counts.put(entry.getKey().name(), scratch.cardinality());
+        }
+        return counts;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+}
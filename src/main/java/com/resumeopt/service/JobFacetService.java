@@ -0,0 +1,129 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.model.JobSource;
+import com.resumeopt.model.JobType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps a {@link JobFacetIndex} for the current listing snapshot and translates
+ * request parameters into facet selections.
+ */
+@Service
+public class JobFacetService {
+
+    // Date buckets are relative to build time, so facets are rebuilt after this age
+    @Value("${job.facets.maxAgeSeconds:300}")
+    private long maxAgeSeconds = 300;
+
+    private volatile IndexedSnapshot current;
+
+    private record IndexedSnapshot(List<JobListing> source, JobFacetIndex index) {}
+
+    /**
+     * Parsed facet filters; a null component means "no filter on this facet".
+     */
+    public record FacetQuery(
+            Set<JobSource> sources,
+            Set<JobType> jobTypes,
+            JobFacetIndex.DateBucket dateBucket,
+            JobFacetIndex.ExperienceBucket experience) {
+
+        /**
+         * Parses the jobs API parameters. Source and job type accept several
+         * comma-separated values (OR); unknown values match nothing, as before.
+         */
+        public static FacetQuery parse(String source, String jobType, String dateRange, String experienceLevel) {
+            return new FacetQuery(
+                    parseEnums(JobSource.class, source),
+                    parseEnums(JobType.class, jobType),
+                    parseDateBucket(dateRange),
+                    parseExperience(experienceLevel));
+        }
+
+        private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            Set<E> values = EnumSet.noneOf(type);
+            for (String part : value.split(",")) {
+                for (E candidate : type.getEnumConstants()) {
+                    if (candidate.name().equalsIgnoreCase(part.trim())) {
+                        values.add(candidate);
+                    }
+                }
+            }
+            return values;
+        }
+
+        private static JobFacetIndex.DateBucket parseDateBucket(String dateRange) {
+            if (dateRange == null) {
+                return null;
+            }
+            switch (dateRange.toLowerCase()) {
+                case "today":
+                    return JobFacetIndex.DateBucket.TODAY;
+                case "week":
+                    return JobFacetIndex.DateBucket.WEEK;
+                case "month":
+                    return JobFacetIndex.DateBucket.MONTH;
+                default:
+                    return null; // "all" or unknown: no date filtering
+            }
+        }
+
+        private static JobFacetIndex.ExperienceBucket parseExperience(String experienceLevel) {
+            if (experienceLevel == null) {
+                return null;
+            }
+            if (experienceLevel.equalsIgnoreCase("entry-level") ||
+                    experienceLevel.equalsIgnoreCase("fresher") ||
+                    experienceLevel.equalsIgnoreCase("new-grad")) {
+                return JobFacetIndex.ExperienceBucket.ENTRY_LEVEL;
+            }
+            if (experienceLevel.equalsIgnoreCase("experienced")) {
+                return JobFacetIndex.ExperienceBucket.EXPERIENCED;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the facets for a listing snapshot, building them only when the
+     * snapshot instance changed or the date buckets went stale.
+     */
+    public JobFacetIndex facetsFor(List<JobListing> jobs) {
+        IndexedSnapshot snapshot = current;
+        if (isCurrent(snapshot, jobs)) {
+            return snapshot.index();
+        }
+        synchronized (this) {
+            snapshot = current;
+            if (isCurrent(snapshot, jobs)) {
+                return snapshot.index();
+            }
+            JobFacetIndex index = JobFacetIndex.build(jobs, LocalDateTime.now());
+            current = new IndexedSnapshot(jobs, index);
+            return index;
+        }
+    }
+
+    private boolean isCurrent(IndexedSnapshot snapshot, List<JobListing> jobs) {
+        return snapshot != null && snapshot.source() == jobs
+                && snapshot.index().getBuiltAt().isAfter(LocalDateTime.now().minusSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Selects the documents of {@code facets} matching the query.
+     */
+    public BitSet select(JobFacetIndex facets, FacetQuery query) {
+        return facets.select(query.sources(), query.jobTypes(), query.dateBucket(), query.experience());
+    }
+}
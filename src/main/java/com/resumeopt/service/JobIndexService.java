@@ -0,0 +1,267 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.repo.JobListingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Persistent, incrementally maintained index of aggregated job listings.
+ * Each refresh upserts the scraped listings keyed by a canonical fingerprint:
+ * new jobs are inserted, changed jobs are updated, unchanged jobs are only
+ * marked as seen, and jobs missing for several cycles are expired. Reads are
+ * served from the index, so a restart serves the last good snapshot immediately.
+ */
+@Service
+public class JobIndexService {
+
+    // Keeps IN (...) lists well below database parameter limits
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    @Autowired
+    private JobListingRepository jobListingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Extracts the job side of resume matching, stored with each row
+    @Autowired(required = false)
+    private JobMatchService jobMatchService;
+
+    @Value("${job.index.expireAfterMissedCycles:3}")
+    private int expireAfterMissedCycles;
+
+    private Long currentCycle;
+
+    /**
+     * Result of one ingest cycle
+     */
+    public record IngestResult(long cycle, int inserted, int updated, int unchanged, int expired) {}
+
+    /**
+     * Upserts one refresh worth of scraped listings into the index.
+     * An empty scrape (e.g. every portal failed) leaves the index untouched so the
+     * last good snapshot keeps being served.
+     */
+    public synchronized IngestResult ingest(List<JobListing> scraped) {
+        // The transaction commits before the lock is released, so overlapping
+        // refreshes always see each other's rows
+        return new TransactionTemplate(transactionManager).execute(status -> ingestCycle(scraped));
+    }
+
+    private IngestResult ingestCycle(List<JobListing> scraped) {
+        if (scraped == null || scraped.isEmpty()) {
+            System.out.println("Job index: empty scrape, keeping last snapshot");
+            return new IngestResult(currentCycle(), 0, 0, 0, 0);
+        }
+
+        long cycle = currentCycle() + 1;
+        currentCycle = cycle;
+        LocalDateTime now = LocalDateTime.now();
+        long startTime = System.currentTimeMillis();
+
+        Map<String, JobListing> byFingerprint = new LinkedHashMap<>();
+        for (JobListing job : scraped) {
+            if (job == null || job.getTitle() == null || job.getTitle().isBlank()) {
+                continue;
+            }
+            byFingerprint.putIfAbsent(fingerprintOf(job), job);
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        List<String> fingerprints = new ArrayList<>(byFingerprint.keySet());
+
+        for (int start = 0; start < fingerprints.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = fingerprints.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, fingerprints.size()));
+
+            Map<String, String> storedHashes = new HashMap<>();
+            Set<String> storedExpired = new HashSet<>();
+            for (Object[] row : jobListingRepository.findIndexStateByFingerprints(chunk)) {
+                storedHashes.put((String) row[0], (String) row[1]);
+                if (Boolean.TRUE.equals(row[2])) {
+                    storedExpired.add((String) row[0]);
+                }
+            }
+
+            List<JobListing> toInsert = new ArrayList<>();
+            List<String> changed = new ArrayList<>();
+            List<String> seen = new ArrayList<>();
+            for (String fingerprint : chunk) {
+                JobListing job = byFingerprint.get(fingerprint);
+                String contentHash = contentHashOf(job);
+                if (!storedHashes.containsKey(fingerprint)) {
+                    JobListing row = new JobListing();
+                    copyContent(job, row);
+                    row.setFingerprint(fingerprint);
+                    row.setContentHash(contentHash);
+                    markSeen(row, cycle, now);
+                    toInsert.add(row);
+                } else if (!contentHash.equals(storedHashes.get(fingerprint)) || storedExpired.contains(fingerprint)) {
+                    changed.add(fingerprint);
+                } else {
+                    seen.add(fingerprint);
+                }
+            }
+
+            // Only new and changed jobs are written as full rows
+            if (!changed.isEmpty()) {
+                List<JobListing> rows = jobListingRepository.findByFingerprintIn(changed);
+                for (JobListing row : rows) {
+                    JobListing job = byFingerprint.get(row.getFingerprint());
+                    copyContent(job, row);
+                    row.setContentHash(contentHashOf(job));
+                    markSeen(row, cycle, now);
+                }
+                jobListingRepository.saveAll(rows);
+                updated += rows.size();
+            }
+            if (!toInsert.isEmpty()) {
+                jobListingRepository.saveAll(toInsert);
+                inserted += toInsert.size();
+            }
+            if (!seen.isEmpty()) {
+                jobListingRepository.markSeen(seen, cycle, now);
+                unchanged += seen.size();
+            }
+        }
+
+        int expired = jobListingRepository.expireNotSeenSince(cycle - expireAfterMissedCycles);
+
+        System.out.println("Job index cycle " + cycle + ": " + inserted + " new, " + updated + " changed, "
+                + unchanged + " unchanged, " + expired + " expired (took "
+                + (System.currentTimeMillis() - startTime) + "ms)");
+
+        return new IngestResult(cycle, inserted, updated, unchanged, expired);
+    }
+
+    /**
+     * Returns the active (non-expired) indexed listings, newest first. Rows
+     * stored without current match features get them now, once.
+     */
+    @Transactional
+    public List<JobListing> getActiveListings() {
+        List<JobListing> rows = jobListingRepository.findActiveIndexed();
+        if (jobMatchService != null) {
+            int prepared = 0;
+            for (JobListing row : rows) {
+                if (row.getDescription() != null
+                        && !ResumeOptimizationService.JobRequirements.isCurrent(row.getMatchFeatures())) {
+                    jobMatchService.prepareJob(row);
+                    prepared++;
+                }
+            }
+            if (prepared > 0) {
+                System.out.println("Job index: stored match features for " + prepared + " rows");
+            }
+        }
+        return rows;
+    }
+
+    private long currentCycle() {
+        if (currentCycle == null) {
+            Long stored = jobListingRepository.findMaxIngestCycle();
+            currentCycle = stored != null ? stored : 0L;
+        }
+        return currentCycle;
+    }
+
+    private void markSeen(JobListing row, long cycle, LocalDateTime now) {
+        row.setLastSeenCycle(cycle);
+        row.setLastSeenAt(now);
+        row.setExpired(false);
+    }
+
+    /**
+     * Copies scraped content onto an index row, truncated to the column limits.
+     * The posted date is kept from the first sighting because estimated dates
+     * drift on every scrape.
+     */
+    private void copyContent(JobListing from, JobListing to) {
+        to.setTitle(truncate(from.getTitle(), 255));
+        to.setCompany(truncate(from.getCompany(), 255));
+        to.setDescription(truncate(from.getDescription(), 5000));
+        to.setApplyUrl(truncate(from.getApplyUrl(), 1000));
+        to.setSourceCompanyUrl(truncate(from.getSourceCompanyUrl(), 1000));
+        to.setLinkVerified(from.getLinkVerified());
+        to.setMatchLevel(from.getMatchLevel());
+        to.setJobType(from.getJobType());
+        to.setSource(from.getSource());
+        to.setApplicationDeadline(from.getApplicationDeadline());
+        to.setLocation(truncate(from.getLocation(), 255));
+        to.setSalaryRange(truncate(from.getSalaryRange(), 255));
+        to.setExperienceRequired(from.getExperienceRequired());
+        if (to.getPostedDate() == null) {
+            to.setPostedDate(from.getPostedDate());
+        }
+        // Extract features from the stored (truncated) content so they are saved with the row
+        to.getFeatures();
+        if (jobMatchService != null) {
+            jobMatchService.prepareJob(to);
+        }
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength - 3) + "...";
+    }
+
+    /**
+     * Canonical identity of a listing: normalized title, company and apply URL.
+     */
+    String fingerprintOf(JobListing job) {
+        return job.getCanonicalFingerprint().toHex();
+    }
+
+    /**
+     * Hash of the fields whose change should rewrite the stored row.
+     */
+    String contentHashOf(JobListing job) {
+        return sha256(String.join("\u0001",
+                Objects.toString(job.getTitle(), ""),
+                Objects.toString(job.getCompany(), ""),
+                Objects.toString(job.getDescription(), ""),
+                Objects.toString(job.getApplyUrl(), ""),
+                Objects.toString(job.getLocation(), ""),
+                Objects.toString(job.getSalaryRange(), ""),
+                Objects.toString(job.getExperienceRequired(), ""),
+                Objects.toString(job.getApplicationDeadline(), ""),
+                Objects.toString(job.getJobType(), ""),
+                Objects.toString(job.getSource(), ""),
+                Objects.toString(job.getMatchLevel(), ""),
+                Objects.toString(job.getLinkVerified(), "")));
+    }
+
+    private String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -74,10 +74,7 @@ public class JobIntelligenceService {
         
         // 6. Recommendation Score
         if (recommendationEngine != null && userSkills != null) {
-            List<JobListing> singleJob = Collections.singletonList(job);
-            recommendationEngine.recommendJobs(singleJob, userSkills, userExperience);
-            intelligence.recommendationScore = job.getSuccessProbability() != null ? 
-                job.getSuccessProbability() : 0.5;
+            intelligence.recommendationScore = recommendationEngine.scoreJob(job, userSkills, userExperience);
         }
         
         // 7. Overall Score Calculation
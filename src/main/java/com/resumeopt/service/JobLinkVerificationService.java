@@ -1,52 +1,104 @@
 package com.resumeopt.service;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.resumeopt.model.JobListing;
+import com.resumeopt.model.LinkStatus;
+import com.resumeopt.repo.LinkStatusRepository;
 
 /**
- * Service for verifying job application links to ensure they are valid and accessible
+ * Service for verifying job application links to ensure they are valid and accessible.
+ * Links are probed with the non-blocking {@link HttpClient}: a HEAD request
+ * first, and a one-byte ranged GET when the server rejects HEAD. Each host
+ * has a cap on concurrent probes, and results are kept in a URL status cache
+ * (in memory and in the database) so a link that was recently found valid is
+ * not probed again on every refresh.
  */
 @Service
 public class JobLinkVerificationService {
     
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private static final String USER_AGENT =
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    
+    // Probe continuations run on the shared I/O executor
+    @Autowired
+    private ScrapingExecutors scrapingExecutors;
+    
+    // Honors Retry-After back-offs shared with the scrapers
+    @Autowired
+    private DomainRateLimiter rateLimiter;
+    
+    @Autowired(required = false)
+    private LinkStatusRepository linkStatusRepository;
+    
+    // Concurrent probes per host
+    @Value("${job.linkVerification.maxPerHost:4}")
+    private int maxPerHost = 4;
+    
+    // How long a result is reused before the link is probed again
+    @Value("${job.linkVerification.validTtlHours:24}")
+    private long validTtlHours = 24;
+    
+    @Value("${job.linkVerification.invalidTtlMinutes:60}")
+    private long invalidTtlMinutes = 60;
+    
+    // Overall wait of the blocking verifyJobLinks
+    @Value("${job.linkVerification.timeoutSeconds:30}")
+    private long timeoutSeconds = 30;
+    
+    private final Map<String, LinkStatus> statusCache = new ConcurrentHashMap<>();
+    
+    private volatile HttpClient httpClient;
+    private volatile HostLimiter hostLimiter;
     
     /**
      * Verifies all job links in the provided list
      */
     public List<JobListing> verifyJobLinks(List<JobListing> jobs) {
-        List<JobListing> verifiedJobs = new ArrayList<>();
-        List<CompletableFuture<JobListing>> futures = new ArrayList<>();
-        
-        for (JobListing job : jobs) {
-            CompletableFuture<JobListing> future = CompletableFuture.supplyAsync(() -> {
-                return verifyJobLink(job);
-            }, executorService);
-            
-            futures.add(future);
+        List<CompletableFuture<JobListing>> futures = startVerification(jobs, null);
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Link verification timeout after " + timeoutSeconds + "s; keeping links verified so far");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Link verification error: " + e.getMessage());
         }
         
-        // Wait for all verifications to complete
+        List<JobListing> verifiedJobs = new ArrayList<>();
         for (CompletableFuture<JobListing> future : futures) {
-            try {
-                JobListing verifiedJob = future.get(30, TimeUnit.SECONDS);
-                if (verifiedJob != null) {
-                    verifiedJobs.add(verifiedJob);
-                }
-            } catch (Exception e) {
-                System.err.println("Link verification timeout: " + e.getMessage());
+            JobListing verifiedJob = future.getNow(null);
+            if (verifiedJob != null) {
+                verifiedJobs.add(verifiedJob);
             }
         }
         
@@ -54,13 +106,79 @@ public class JobLinkVerificationService {
         return verifiedJobs;
     }
     
+    /**
+     * Verifies all job links without blocking. Each job with a valid link is
+     * handed to {@code onVerified} as soon as its check completes.
+     *
+     * @param onVerified Receives verified jobs in completion order; may be null
+     * @return The jobs with valid links, in input order
+     */
+    public CompletableFuture<List<JobListing>> verifyJobLinksAsync(List<JobListing> jobs, Consumer<JobListing> onVerified) {
+        List<CompletableFuture<JobListing>> futures = startVerification(jobs, onVerified);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<JobListing> verifiedJobs = new ArrayList<>();
+            for (CompletableFuture<JobListing> future : futures) {
+                JobListing verifiedJob = future.join();
+                if (verifiedJob != null) {
+                    verifiedJobs.add(verifiedJob);
+                }
+            }
+            return verifiedJobs;
+        });
+    }
+    
+    private List<CompletableFuture<JobListing>> startVerification(List<JobListing> jobs, Consumer<JobListing> onVerified) {
+        Set<String> unknown = preloadStatuses(jobs);
+        List<CompletableFuture<JobListing>> futures = new ArrayList<>(jobs.size());
+        for (JobListing job : jobs) {
+            CompletableFuture<JobListing> future = verifyJobLinkAsync(job, unknown).exceptionally(error -> {
+                System.err.println("Link verification failed for " + job.getApplyUrl() + ": " + error.getMessage());
+                return null;
+            });
+            if (onVerified != null) {
+                future = future.thenApply(verified -> {
+                    if (verified != null) {
+                        onVerified.accept(verified);
+                    }
+                    return verified;
+                });
+            }
+            futures.add(future);
+        }
+        return futures;
+    }
+    
     /**
      * Verifies a single job link
      */
     public JobListing verifyJobLink(JobListing job) {
+        try {
+            return verifyJobLinkAsync(job).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            System.err.println("Link verification failed for " + job.getApplyUrl() + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Verifies a single job link without blocking
+     *
+     * @return The job with its verified URL, or null if the link is invalid
+     */
+    public CompletableFuture<JobListing> verifyJobLinkAsync(JobListing job) {
+        return verifyJobLinkAsync(job, Set.of());
+    }
+    
+    /**
+     * @param unknown URLs the batch preload found no stored result for
+     */
+    private CompletableFuture<JobListing> verifyJobLinkAsync(JobListing job, Set<String> unknown) {
         if (job.getApplyUrl() == null || job.getApplyUrl().isBlank()) {
             System.out.println("Skipping job with empty URL: " + job.getTitle());
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
         
         String originalUrl = job.getApplyUrl();
@@ -68,20 +186,19 @@ public class JobLinkVerificationService {
         // Skip strict verification for known anti-bot sites if the URL looks valid
         if (isKnownAntiBotSite(originalUrl)) {
             job.setLinkVerified(true);
-            return job;
+            return CompletableFuture.completedFuture(job);
         }
         
-        String verifiedUrl = verifyAndFixUrl(originalUrl);
-        
-        if (verifiedUrl != null) {
-            job.setApplyUrl(verifiedUrl);
-            job.setLinkVerified(true);
-            return job;
-        } else {
+        return verifyAndFixUrl(originalUrl, unknown).thenApply(verifiedUrl -> {
+            if (verifiedUrl != null) {
+                job.setApplyUrl(verifiedUrl);
+                job.setLinkVerified(true);
+                return job;
+            }
             System.out.println("Invalid URL for job: " + job.getTitle() + " - " + originalUrl);
             job.setLinkVerified(false);
             return null; // Remove jobs with invalid links
-        }
+        });
     }
     
     private boolean isKnownAntiBotSite(String url) {
@@ -96,50 +213,241 @@ public class JobLinkVerificationService {
     
     /**
      * Verifies URL and attempts to fix common issues
+     *
+     * @return The working URL, or null if neither it nor an alternative works
      */
-    private String verifyAndFixUrl(String url) {
+    private CompletableFuture<String> verifyAndFixUrl(String url, Set<String> unknown) {
         // Clean and normalize URL
-        url = cleanUrl(url);
+        String cleaned = cleanUrl(url);
         
-        if (!isValidUrl(url)) {
-            return null;
+        if (!isValidUrl(cleaned)) {
+            return CompletableFuture.completedFuture(null);
         }
         
-        // Test URL with multiple attempts
-        for (int attempt = 0; attempt < 3; attempt++) {
-            try {
-                UrlTestResult result = testUrl(url);
-                
-                if (result.isValid) {
-                    return result.finalUrl;
-                } else if (result.responseCode == 403 || result.responseCode == 429) {
-                    // Rate limited, wait and retry
-                    Thread.sleep(2000 * (attempt + 1));
-                    continue;
-                } else if (result.responseCode >= 400) {
-                    // Try alternative URL patterns
-                    String alternativeUrl = tryAlternativeUrlPatterns(url);
-                    if (alternativeUrl != null) {
-                        UrlTestResult altResult = testUrl(alternativeUrl);
-                        if (altResult.isValid) {
-                            return altResult.finalUrl;
+        LinkStatus cached = cachedStatus(cleaned, unknown);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.isValid() ? cached.getFinalUrl() : null);
+        }
+        
+        return probe(cleaned, 0).thenCompose(result -> {
+            if (result.valid() || result.statusCode() < 400 || result.statusCode() == 403 || result.statusCode() == 429) {
+                return CompletableFuture.completedFuture(result);
+            }
+            // Try alternative URL patterns
+            String alternativeUrl = tryAlternativeUrlPatterns(cleaned);
+            if (alternativeUrl == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            return probe(alternativeUrl, MAX_ATTEMPTS - 1)
+                    .thenApply(alternative -> alternative.valid() ? alternative : result);
+        }).thenApply(result -> {
+            remember(new LinkStatus(cleaned, result.valid() ? result.finalUrl() : null, result.statusCode(),
+                    result.valid(), LocalDateTime.now()));
+            return result.valid() ? result.finalUrl() : null;
+        });
+    }
+    
+    /**
+     * Outcome of probing one URL
+     */
+    private record ProbeResult(boolean valid, int statusCode, String finalUrl) {
+        static ProbeResult failed() {
+            return new ProbeResult(false, 0, null);
+        }
+    }
+    
+    /**
+     * Probes the URL within its host's concurrency cap, retrying rate-limited
+     * and failed requests with back-off instead of sleeping.
+     */
+    private CompletableFuture<ProbeResult> probe(String url, int attempt) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ProbeResult.failed());
+        }
+        String host = uri.getHost() != null ? uri.getHost() : "unknown";
+        Executor io = scrapingExecutors.io();
+        
+        return hostLimiter().submit(host, () -> rateLimiter.acquire(host, 0)
+                .thenCompose(ready -> send(uri, "HEAD"))
+                .thenCompose(response -> {
+                    int status = response.statusCode();
+                    // Servers that reject or block HEAD often answer a ranged GET
+                    if (status == 405 || status == 501 || status == 403) {
+                        return send(uri, "GET");
+                    }
+                    return CompletableFuture.completedFuture(response);
+                })).handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        System.err.println("Error testing URL: " + url + " - " + cause);
+                        if (attempt + 1 >= MAX_ATTEMPTS) {
+                            return CompletableFuture.completedFuture(ProbeResult.failed());
                         }
+                        return CompletableFuture.runAsync(() -> {
+                        }, CompletableFuture.delayedExecutor(1000L * (attempt + 1), TimeUnit.MILLISECONDS, io))
+                                .thenCompose(ignored -> probe(url, attempt + 1));
+                    }
+                    
+                    int status = response.statusCode();
+                    if (status >= 200 && status < 400) {
+                        return CompletableFuture.completedFuture(
+                                new ProbeResult(true, status, response.uri().toString()));
                     }
-                    break;
+                    if ((status == 403 || status == 429 || status == 503) && attempt + 1 < MAX_ATTEMPTS) {
+                        // Rate limited: the host waits, and this link is retried after it
+                        Duration retryAfter = response.headers().firstValue("Retry-After")
+                                .map(DomainRateLimiter::parseRetryAfter)
+                                .orElse(null);
+                        rateLimiter.backOff(host, retryAfter != null ? retryAfter : Duration.ofSeconds(2L * (attempt + 1)));
+                        return probe(url, attempt + 1);
+                    }
+                    return CompletableFuture.completedFuture(new ProbeResult(false, status, null));
+                }).thenCompose(next -> next);
+    }
+    
+    private CompletableFuture<HttpResponse<Void>> send(URI uri, String method) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(15))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.9");
+        if (method.equals("HEAD")) {
+            request.method("HEAD", HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.GET().header("Range", "bytes=0-0");
+        }
+        return httpClient().sendAsync(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+    
+    /**
+     * Cached result for the URL if it is still within its TTL. URLs in
+     * {@code unknown} were already looked up by the batch preload.
+     */
+    private LinkStatus cachedStatus(String url, Set<String> unknown) {
+        LinkStatus status = statusCache.get(url);
+        if (status == null && linkStatusRepository != null && !unknown.contains(url)) {
+            try {
+                status = linkStatusRepository.findById(url).orElse(null);
+            } catch (Exception e) {
+                System.err.println("Link status lookup failed: " + e.getMessage());
+            }
+            if (status != null) {
+                statusCache.put(url, status);
+            }
+        }
+        return status != null && isFresh(status, LocalDateTime.now()) ? status : null;
+    }
+    
+    /**
+     * Loads the stored results of a batch's URLs with one query
+     *
+     * @return The URLs that have no stored result, so they are not looked up again
+     */
+    private Set<String> preloadStatuses(List<JobListing> jobs) {
+        if (linkStatusRepository == null) {
+            return Set.of();
+        }
+        Set<String> missing = new HashSet<>();
+        for (JobListing job : jobs) {
+            if (job.getApplyUrl() != null && !job.getApplyUrl().isBlank()) {
+                String url = cleanUrl(job.getApplyUrl());
+                if (!statusCache.containsKey(url)) {
+                    missing.add(url);
                 }
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            }
+        }
+        if (missing.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            for (LinkStatus status : linkStatusRepository.findAllById(missing)) {
+                statusCache.put(status.getUrl(), status);
+                missing.remove(status.getUrl());
+            }
+        } catch (Exception e) {
+            System.err.println("Link status preload failed: " + e.getMessage());
+            return Set.of();
+        }
+        return missing;
+    }
+    
+    private void remember(LinkStatus status) {
+        statusCache.put(status.getUrl(), status);
+        if (linkStatusRepository != null && status.getUrl().length() <= 2048) {
+            try {
+                linkStatusRepository.save(status);
             } catch (Exception e) {
-                System.err.println("Error testing URL: " + url + " - " + e.getMessage());
-                if (attempt == 2) {
-                    break;
+                System.err.println("Failed to store link status: " + e.getMessage());
+            }
+        }
+    }
+    
+    private boolean isFresh(LinkStatus status, LocalDateTime now) {
+        Duration ttl = status.isValid() ? Duration.ofHours(validTtlHours) : Duration.ofMinutes(invalidTtlMinutes);
+        return status.getCheckedAt() != null && status.getCheckedAt().plus(ttl).isAfter(now);
+    }
+    
+    /**
+     * Drops expired results from memory and the database
+     */
+    @Scheduled(fixedDelayString = "${job.linkVerification.purgeMs:3600000}")
+    public void purgeExpiredStatuses() {
+        LocalDateTime now = LocalDateTime.now();
+        statusCache.values().removeIf(status -> !isFresh(status, now));
+        if (linkStatusRepository != null) {
+            try {
+                Duration longest = Duration.ofHours(validTtlHours).compareTo(Duration.ofMinutes(invalidTtlMinutes)) > 0
+                        ? Duration.ofHours(validTtlHours)
+                        : Duration.ofMinutes(invalidTtlMinutes);
+                linkStatusRepository.deleteCheckedBefore(now.minus(longest));
+            } catch (Exception e) {
+                System.err.println("Failed to purge link statuses: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Number of URL results currently held in memory
+     */
+    public int getCachedStatusCount() {
+        return statusCache.size();
+    }
+    
+    private HttpClient httpClient() {
+        HttpClient current = httpClient;
+        if (current == null) {
+            synchronized (this) {
+                current = httpClient;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .connectTimeout(Duration.ofSeconds(10))
+                            .executor(scrapingExecutors.io())
+                            .build();
+                    httpClient = current;
                 }
             }
         }
-        
-        return null;
+        return current;
+    }
+    
+    private HostLimiter hostLimiter() {
+        HostLimiter current = hostLimiter;
+        if (current == null) {
+            synchronized (this) {
+                current = hostLimiter;
+                if (current == null) {
+                    current = new HostLimiter(Math.max(1, maxPerHost), scrapingExecutors.io());
+                    hostLimiter = current;
+                }
+            }
+        }
+        return current;
     }
     
     /**
@@ -195,44 +503,6 @@ public class JobLinkVerificationService {
         }
     }
     
-    /**
-     * Tests URL connectivity and follows redirects
-     */
-    private UrlTestResult testUrl(String url) throws IOException {
-        HttpURLConnection connection = null;
-        try {
-            URL urlObj = new URL(url);
-            connection = (HttpURLConnection) urlObj.openConnection();
-            
-            // Set realistic headers
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(15000);
-            connection.setReadTimeout(15000);
-            connection.setRequestProperty("User-Agent", 
-                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            connection.setRequestProperty("Accept", 
-                "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8");
-            connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-            connection.setRequestProperty("Connection", "keep-alive");
-            connection.setInstanceFollowRedirects(true);
-            
-            int responseCode = connection.getResponseCode();
-            String finalUrl = connection.getURL().toString();
-            
-            UrlTestResult result = new UrlTestResult();
-            result.responseCode = responseCode;
-            result.finalUrl = finalUrl;
-            result.isValid = (responseCode >= 200 && responseCode < 400);
-            
-            return result;
-            
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
-        }
-    }
-    
     /**
      * Tries alternative URL patterns for common job portals
      */
@@ -292,26 +562,67 @@ public class JobLinkVerificationService {
     }
     
     /**
-     * Result class for URL testing
-     */
-    private static class UrlTestResult {
-        boolean isValid;
-        int responseCode;
-        String finalUrl;
-    }
-    
-    /**
-     * Shutdown executor service
+     * Caps concurrent asynchronous tasks per host; tasks over the cap wait in
+     * a per-host queue and start as earlier ones complete.
      */
-    public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
+    private static final class HostLimiter {
+        private final int maxPerHost;
+        private final Executor executor;
+        private final Map<String, HostQueue> hosts = new ConcurrentHashMap<>();
+        
+        HostLimiter(int maxPerHost, Executor executor) {
+            this.maxPerHost = maxPerHost;
+            this.executor = executor;
+        }
+        
+        <T> CompletableFuture<T> submit(String host, Supplier<CompletableFuture<T>> task) {
+            HostQueue queue = hosts.computeIfAbsent(host, h -> new HostQueue());
+            CompletableFuture<T> result = new CompletableFuture<>();
+            queue.enqueue(() -> {
+                CompletableFuture<T> running;
+                try {
+                    running = task.get();
+                } catch (RuntimeException e) {
+                    running = CompletableFuture.failedFuture(e);
+                }
+                running.whenComplete((value, error) -> {
+                    queue.release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            });
+            return result;
+        }
+        
+        private final class HostQueue {
+            private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+            private int active;
+            
+            void enqueue(Runnable task) {
+                synchronized (this) {
+                    if (active >= maxPerHost) {
+                        waiting.add(task);
+                        return;
+                    }
+                    active++;
+                }
+                task.run();
+            }
+            
+            void release() {
+                Runnable next;
+                synchronized (this) {
+                    next = waiting.poll();
+                    if (next == null) {
+                        active--;
+                        return;
+                    }
+                }
+                executor.execute(next);
             }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
         }
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 /**
  * Service for calculating and displaying job matches with user-friendly labels.
@@ -16,6 +19,28 @@ public class JobMatchService {
     @Autowired(required = false)
     private ResumeOptimizationService optimizationService;
     
+    /**
+     * Match of one resume against one listing
+     *
+     * @param atsScore ATS score of the resume as it stands (0-1), or -1 when it could not be computed
+     * @param matchScore token-overlap match percentage, as {@link #calculateMatchScore} computes it
+     */
+    public record JobMatch(JobListing job, MatchLevel matchLevel, double atsScore, double matchScore) {}
+    
+    // Job side of matching, keyed by listing content (see featureKey) so that the
+    // copies of an indexed listing loaded by each refresh share one entry
+    private final Map<String, JobFeatures> jobFeatures = new ConcurrentHashMap<>();
+    
+    // Ids of the tokens of every job matched so far; job tokens are kept as sorted ids
+    private final Map<String, Integer> tokenIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTokenId = new AtomicInteger();
+    
+    /**
+     * @param requirements ATS-side requirements, or null without the optimization service
+     * @param tokens ids of the description and title tokens, as the overlap ratio counts them
+     */
+    private record JobFeatures(ResumeOptimizationService.JobRequirements requirements, int[] tokens) {}
+    
     /**
      * Calculate match level for a job listing based on resume text
      */
@@ -23,20 +48,167 @@ public class JobMatchService {
         if (resumeText == null || job == null || job.getDescription() == null) {
             return MatchLevel.NOT_RECOMMENDED;
         }
+        return matchAll(resumeText, List.of(job)).get(0).matchLevel();
+    }
+    
+    /**
+     * Matches one resume against every listing. The resume is analysed once
+     * and scored against the precomputed features of each job in parallel, so
+     * the cost per job is a handful of set lookups. Results are in listing order.
+     */
+    public List<JobMatch> matchAll(String resumeText, List<JobListing> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+        JobListing[] listings = jobs.toArray(new JobListing[0]);
+        JobFeatures[] features = new JobFeatures[listings.length];
+        IntStream.range(0, listings.length).parallel().forEach(i -> {
+            JobListing job = listings[i];
+            if (job != null && job.getDescription() != null) {
+                features[i] = features(job);
+            }
+        });
         
+        ResumeOptimizationService.ResumeProfile resume = null;
         // Use advanced ATS scoring if available
-        if (optimizationService != null) {
+        if (resumeText != null && optimizationService != null) {
             try {
-                var result = optimizationService.optimize(resumeText, job.getDescription());
-                double score = result.optimizedScore();
-                return scoreToMatchLevel(score);
+                resume = optimizationService.profileResume(resumeText);
             } catch (Exception e) {
                 System.err.println("Error calculating match level: " + e.getMessage());
             }
         }
+        // After the job tokens, so every token a job has is in the vocabulary
+        BitSet resumeTokens = resumeTokens(resumeText);
         
-        // Fallback to basic matching
-        return calculateBasicMatchLevel(resumeText, job);
+        ResumeOptimizationService.ResumeProfile profile = resume;
+        JobMatch[] matches = new JobMatch[listings.length];
+        IntStream.range(0, listings.length).parallel().forEach(i -> {
+            JobListing job = listings[i];
+            if (resumeText == null || features[i] == null) {
+                matches[i] = new JobMatch(job, MatchLevel.NOT_RECOMMENDED, -1, 0.0);
+                return;
+            }
+            double atsScore = -1;
+            if (profile != null && features[i].requirements() != null) {
+                try {
+                    atsScore = optimizationService.score(profile, features[i].requirements());
+                } catch (Exception e) {
+                    System.err.println("Error calculating match level: " + e.getMessage());
+                }
+            }
+            double ratio = overlapRatio(resumeTokens, features[i].tokens());
+            // Fallback to basic matching
+            MatchLevel level = scoreToMatchLevel(atsScore >= 0 ? atsScore : ratio);
+            matches[i] = new JobMatch(job, level, atsScore, ratio * 100.0);
+        });
+        return Arrays.asList(matches);
+    }
+    
+    /**
+     * The {@code k} best matches for a resume, best first: highest match
+     * level, then highest ATS score, then listing order. Only {@code k}
+     * candidates are kept while scanning, so large job lists are not sorted.
+     */
+    public List<JobMatch> topMatches(String resumeText, List<JobListing> jobs, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        List<JobMatch> matches = matchAll(resumeText, jobs);
+        // Orders listing indices worst to best; of two equal matches the earlier listing is better
+        Comparator<Integer> better = Comparator
+            .comparing((Integer i) -> matches.get(i).matchLevel(), Comparator.reverseOrder())
+            .thenComparingDouble(i -> matches.get(i).atsScore())
+            .thenComparingDouble(i -> matches.get(i).matchScore())
+            .thenComparing(Comparator.reverseOrder());
+        // Worst kept match at the head
+        PriorityQueue<Integer> kept = new PriorityQueue<>(Math.min(k, matches.size()) + 1, better);
+        for (int i = 0; i < matches.size(); i++) {
+            if (kept.size() < k) {
+                kept.add(i);
+            } else if (better.compare(i, kept.peek()) > 0) {
+                kept.poll();
+                kept.add(i);
+            }
+        }
+        List<JobMatch> top = new ArrayList<>(kept.size());
+        while (!kept.isEmpty()) {
+            top.add(matches.get(kept.poll()));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+    
+    /**
+     * Computes the job side of matching for a snapshot of listings ahead of
+     * matching, and drops what was kept for listings no longer in it.
+     */
+    public void precomputeJobFeatures(List<JobListing> jobs) {
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        jobs.parallelStream().forEach(job -> {
+            if (job != null && job.getDescription() != null) {
+                features(job);
+                keys.add(featureKey(job));
+            }
+        });
+        jobFeatures.keySet().retainAll(keys);
+    }
+    
+    /**
+     * Stores the ATS-side requirements on the listing (see {@link JobListing#getMatchFeatures()}),
+     * so they are persisted with it and later matches only read them back.
+     */
+    public void prepareJob(JobListing job) {
+        if (optimizationService != null && job.getDescription() != null
+                && !ResumeOptimizationService.JobRequirements.isCurrent(job.getMatchFeatures())) {
+            job.setMatchFeatures(optimizationService.profileJob(job.getDescription()).encode());
+        }
+    }
+    
+    private JobFeatures features(JobListing job) {
+        String key = featureKey(job);
+        JobFeatures cached = jobFeatures.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ResumeOptimizationService.JobRequirements requirements =
+            ResumeOptimizationService.JobRequirements.decode(job.getMatchFeatures());
+        if (requirements == null && optimizationService != null) {
+            requirements = optimizationService.profileJob(job.getDescription());
+            job.setMatchFeatures(requirements.encode());
+        }
+        Set<String> tokens = normalize(job.getDescription() + " " + job.getTitle());
+        int[] ids = new int[tokens.size()];
+        int n = 0;
+        for (String token : tokens) {
+            ids[n++] = tokenIds.computeIfAbsent(token, t -> nextTokenId.getAndIncrement());
+        }
+        Arrays.sort(ids);
+        JobFeatures features = new JobFeatures(requirements, ids);
+        jobFeatures.put(key, features);
+        return features;
+    }
+    
+    /**
+     * Indexed listings are identified by fingerprint and content hash, which
+     * change with their content; other listings by the text matching reads.
+     */
+    private static String featureKey(JobListing job) {
+        if (job.getFingerprint() != null && job.getContentHash() != null) {
+            return job.getFingerprint() + ":" + job.getContentHash();
+        }
+        return job.getTitle() + "\u0001" + job.getDescription();
+    }
+    
+    private BitSet resumeTokens(String resumeText) {
+        BitSet ids = new BitSet();
+        for (String token : normalize(resumeText)) {
+            Integer id = tokenIds.get(token);
+            if (id != null) {
+                ids.set(id);
+            }
+        }
+        return ids;
     }
     
     /**
@@ -50,16 +222,16 @@ public class JobMatchService {
     }
     
     /**
-     * Basic match level calculation (fallback)
+     * Share of the job's tokens that the resume contains
      */
-    private MatchLevel calculateBasicMatchLevel(String resumeText, JobListing job) {
-        Set<String> resumeTokens = normalize(resumeText);
-        Set<String> jobTokens = normalize(job.getDescription() + " " + job.getTitle());
-        
-        long overlap = jobTokens.stream().filter(resumeTokens::contains).count();
-        double ratio = jobTokens.isEmpty() ? 0.0 : (double) overlap / jobTokens.size();
-        
-        return scoreToMatchLevel(ratio);
+    private double overlapRatio(BitSet resumeTokens, int[] jobTokens) {
+        int overlap = 0;
+        for (int id : jobTokens) {
+            if (resumeTokens.get(id)) {
+                overlap++;
+            }
+        }
+        return jobTokens.length == 0 ? 0.0 : (double) overlap / jobTokens.length;
     }
     
     /**
@@ -189,15 +361,8 @@ public class JobMatchService {
             return 0.0;
         }
         
-        Set<String> resumeTokens = normalize(resumeText);
-        Set<String> jobTokens = normalize(job.getDescription() + " " + job.getTitle());
-        
-        if (jobTokens.isEmpty()) {
-            return 0.0;
-        }
-        
-        long overlap = jobTokens.stream().filter(resumeTokens::contains).count();
-        return ((double) overlap / jobTokens.size()) * 100.0;
+        int[] jobTokens = features(job).tokens();
+        return overlapRatio(resumeTokens(resumeText), jobTokens) * 100.0;
     }
 }
 
@@ -1,20 +1,26 @@
 package com.resumeopt.service;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.resumeopt.model.JobFingerprint;
 import com.resumeopt.model.JobListing;
 import com.resumeopt.model.Company;
 import com.resumeopt.repo.CompanyRepository;
@@ -45,6 +51,16 @@ public class JobPortalScraperService {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private ScraperHealthService scraperHealthService;
+
+    @Autowired
+    private AdaptivePortalScheduler portalScheduler;
+
+    // Portal scrapes run on its bounded platform pool (they may drive a browser)
+    @Autowired
+    private ScrapingExecutors scrapingExecutors;
+
     @Value("${job.scraping.deep.enabled:true}")
     private boolean deepScrapingEnabled;
 
@@ -56,9 +72,15 @@ public class JobPortalScraperService {
 
     private static final int MAX_RETRIES = 4;
 
-    // Executor service for parallel scraping
-    // Reduced thread pool size to prevent Selenium resource exhaustion
-    private final ExecutorService scraperExecutor = Executors.newFixedThreadPool(3);
+    private static final long AGGREGATION_TIMEOUT_SECONDS = 45;
+
+    private final Object aggregationLock = new Object();
+
+    // In-flight or last completed streaming run; reset when the portal cache is cleared
+    private volatile StreamingPortalAggregation currentAggregation;
+
+    // Latest scrape of each portal, reused by runs in which the portal is not due
+    private final Map<String, List<JobListing>> lastPortalListings = new ConcurrentHashMap<>();
 
     /**
      * Enhanced aggregation with link verification and date filtering
@@ -67,9 +89,47 @@ public class JobPortalScraperService {
      */
     @org.springframework.cache.annotation.Cacheable("portalScrape")
     public List<JobListing> aggregateFromPortals() {
-        List<JobListing> collectedJobs = Collections.synchronizedList(new ArrayList<>());
-        Set<String> seenHashes = ConcurrentHashMap.newKeySet();
+        return startStreamingAggregation().result().join();
+    }
+
+    /**
+     * Streaming aggregation: each portal's jobs are date filtered, deduplicated
+     * against everything already emitted and handed to the sink as soon as that
+     * portal finishes, instead of after the slowest portal.
+     *
+     * @param sink Receives batches of newly seen jobs; called from scraper threads
+     * @return The running (or most recent) aggregation
+     */
+    public StreamingPortalAggregation aggregateFromPortalsStreaming(Consumer<List<JobListing>> sink) {
+        StreamingPortalAggregation aggregation = startStreamingAggregation();
+        aggregation.subscribe(sink);
+        return aggregation;
+    }
+
+    /**
+     * Returns the in-flight aggregation, or the last completed one if the cache has
+     * not been cleared since. Starts a new run only when neither exists, so concurrent
+     * callers share a single scrape.
+     */
+    public StreamingPortalAggregation startStreamingAggregation() {
+        synchronized (aggregationLock) {
+            if (currentAggregation == null) {
+                currentAggregation = launchAggregation();
+            }
+            return currentAggregation;
+        }
+    }
+
+    /**
+     * @return The in-flight or last completed aggregation, or null if none has run
+     */
+    public StreamingPortalAggregation getCurrentAggregation() {
+        return currentAggregation;
+    }
+
+    private StreamingPortalAggregation launchAggregation() {
         List<CompletableFuture<Void>> futures = new ArrayList<>();
+        StreamingPortalAggregation aggregation = new StreamingPortalAggregation(portalScrapers.size());
 
         System.out.println("========================================");
         System.out.println("STARTING JOB SCRAPING FROM ALL PORTALS");
@@ -81,84 +141,168 @@ public class JobPortalScraperService {
         System.out.println("========================================\n");
 
         Map<String, String> scrapStats = new ConcurrentHashMap<>();
+        ScrapeScope scope = new ScrapeScope();
 
         for (PortalScraper scraper : portalScrapers) {
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                String portalName = scraper.getPortalName();
-                if (!scraper.isEnabled()) {
-                    System.out.println("⏭️  Skipping disabled portal: " + portalName);
-                    scrapStats.put(portalName, "❌ Disabled");
-                    return;
-                }
+            CompletableFuture<Void> future = portalListings(scraper, scrapStats, scope)
+                    .thenAccept(aggregation::emit)
+                    .whenComplete((ignored, error) -> aggregation.portalFinished());
+            futures.add(future);
+        }
 
-                try {
-                    System.out.println("🔍 Scraping from " + portalName + "...");
-                    long startTime = System.currentTimeMillis();
-                    List<JobListing> listings = scrapeWithRetry(scraper, MAX_RETRIES);
-                    long duration = System.currentTimeMillis() - startTime;
-
-                    if (listings.isEmpty()) {
-                        System.out.println("⚠️  No jobs found from " + portalName + " (took " + duration + "ms)");
-                        scrapStats.put(portalName, "⚠️  0 jobs found");
-                        // Don't return here - continue to allow other scrapers to run
-                    } else {
-                        System.out.println(
-                                "✅ " + portalName + " returned " + listings.size() + " jobs (took " + duration + "ms)");
+        // Close the run once all scrapers finish or the deadline passes
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .completeOnTimeout(null, AGGREGATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        System.err.println("Scraping aggregation interrupted: " + error.getMessage());
+                    } else if (aggregation.getPortalsCompleted() < aggregation.getPortalsTotal()) {
+                        System.err.println("Scraping aggregation timed out after " + AGGREGATION_TIMEOUT_SECONDS
+                                + "s with " + aggregation.getPortalsCompleted() + "/"
+                                + aggregation.getPortalsTotal() + " portals finished");
+                    }
+                    // Stragglers can no longer contribute; stop them and their pending retries
+                    int interrupted = scope.cancel();
+                    if (interrupted > 0) {
+                        System.err.println("Cancelled " + interrupted + " portal scrapes still running at the deadline");
                     }
+                    aggregation.complete(finishAggregation(aggregation, scrapStats));
+                });
 
-                    int rawCount = listings.size();
+        return aggregation;
+    }
 
-                    // Enrich with posted dates if missing
-                    dateFilterService.enrichWithPostedDates(listings);
+    /**
+     * Whether any enabled portal is due for a scrape under its adaptive schedule.
+     */
+    public boolean hasDuePortals() {
+        LocalDateTime now = LocalDateTime.now();
+        for (PortalScraper scraper : portalScrapers) {
+            if (scraper.isEnabled() && portalScheduler.isDue(scraper, now)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                    // Apply date filtering first to reduce processing load
-                    if (dateFilterEnabled) {
-                        listings = dateFilterService.filterByDateRange(listings);
-                    }
+    /**
+     * Scrapes the portal if it is due; otherwise reuses its latest scrape, re-filtered by date.
+     */
+    private CompletableFuture<List<JobListing>> portalListings(PortalScraper scraper, Map<String, String> scrapStats,
+            ScrapeScope scope) {
+        List<JobListing> previous = lastPortalListings.get(scraper.getPortalName());
+        if (!scraper.isEnabled() || previous == null || portalScheduler.isDue(scraper, LocalDateTime.now())) {
+            return scrapePortal(scraper, scrapStats, scope);
+        }
+        List<JobListing> listings = dateFilterEnabled
+                ? dateFilterService.filterByDateRange(new ArrayList<>(previous))
+                : new ArrayList<>(previous);
+        AdaptivePortalScheduler.PortalSchedule schedule = portalScheduler.getSchedules().get(scraper.getPortalName());
+        scrapStats.put(scraper.getPortalName(), "⏸️  " + listings.size() + " jobs reused"
+                + (schedule != null ? " (next scrape " + schedule.nextDue().toLocalTime().withNano(0) + ")" : ""));
+        return CompletableFuture.completedFuture(listings);
+    }
 
-                    // Verify links if enabled (can be slow, so maybe skip for initial aggregation)
-                    // listings = linkVerificationService.verifyLinks(listings);
+    /**
+     * Scrapes one portal and applies date enrichment and filtering.
+     * Never completes exceptionally: failures are recorded and yield no jobs.
+     */
+    private CompletableFuture<List<JobListing>> scrapePortal(PortalScraper scraper, Map<String, String> scrapStats,
+            ScrapeScope scope) {
+        String portalName = scraper.getPortalName();
+        if (!scraper.isEnabled()) {
+            System.out.println("⏭️  Skipping disabled portal: " + portalName);
+            scrapStats.put(portalName, "❌ Disabled");
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
 
-                    synchronized (collectedJobs) {
-                        collectedJobs.addAll(listings);
-                    }
+        long startTime = System.currentTimeMillis();
+        System.out.println("🔍 Scraping from " + portalName + "...");
+        return scrapeWithRetry(scraper, MAX_RETRIES, scope).handle((scraped, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                System.err.println("❌ Error scraping " + portalName + ": " + cause.getMessage());
+                scrapStats.put(portalName, "❌ Error: " + cause.getMessage());
+                scraperHealthService.recordFailure(portalName, cause.getMessage(),
+                        System.currentTimeMillis() - startTime);
+                portalScheduler.recordScrape(scraper, LocalDateTime.now());
+                return Collections.<JobListing>emptyList();
+            }
+            List<JobListing> listings = scraped;
+            long duration = System.currentTimeMillis() - startTime;
+
+            if (listings.isEmpty()) {
+                System.out.println("⚠️  No jobs found from " + portalName + " (took " + duration + "ms)");
+                scrapStats.put(portalName, "⚠️  0 jobs found");
+                recordScrape(scraper, listings, duration);
+                return listings;
+            }
+            System.out.println(
+                    "✅ " + portalName + " returned " + listings.size() + " jobs (took " + duration + "ms)");
 
-                    scrapStats.put(portalName, "✅ " + listings.size() + " jobs");
+            // Enrich with posted dates if missing
+            dateFilterService.enrichWithPostedDates(listings);
 
-                } catch (Exception e) {
-                    System.err.println("❌ Error scraping " + portalName + ": " + e.getMessage());
-                    scrapStats.put(portalName, "❌ Error: " + e.getMessage());
-                    // e.printStackTrace();
+            // Apply date filtering first to reduce processing load
+            if (dateFilterEnabled) {
+                listings = dateFilterService.filterByDateRange(listings);
+            }
+
+            // Links are verified by each scraper (job.portals.enhanced.linkVerification);
+            // recently checked URLs are answered from the link status cache
+
+            int newJobs = recordScrape(scraper, listings, duration);
+            scrapStats.put(portalName, "✅ " + listings.size() + " jobs ("
+                    + (newJobs < 0 ? "first scrape" : newJobs + " new") + ")");
+            return listings;
+        });
+    }
+
+    /**
+     * Records a successful scrape and reschedules the portal.
+     *
+     * @return Number of jobs not present in the portal's previous scrape, or -1
+     *         if there is no previous scrape (so the yield is not known)
+     */
+    private int recordScrape(PortalScraper scraper, List<JobListing> listings, long durationMs) {
+        String portalName = scraper.getPortalName();
+        List<JobListing> previous = lastPortalListings.get(portalName);
+        lastPortalListings.put(portalName, Collections.unmodifiableList(new ArrayList<>(listings)));
+        int newJobs = -1;
+        if (previous == null) {
+            // Everything would count as new, which is not the portal's churn
+            scraperHealthService.recordSuccess(portalName, listings.size(), durationMs);
+        } else {
+            Set<JobFingerprint> known = new HashSet<>();
+            for (JobListing job : previous) {
+                known.add(job.getCanonicalFingerprint());
+            }
+            newJobs = 0;
+            for (JobListing job : listings) {
+                if (!known.contains(job.getCanonicalFingerprint())) {
+                    newJobs++;
                 }
-            });
-            futures.add(future);
+            }
+            scraperHealthService.recordSuccess(portalName, listings.size(), newJobs, durationMs);
         }
+        portalScheduler.recordScrape(scraper, LocalDateTime.now());
+        return newJobs;
+    }
 
-        // Wait for all scrapers to finish with a timeout
-        try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .get(45, java.util.concurrent.TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.err.println("Scraping aggregation timed out or interrupted: " + e.getMessage());
-        }
+    private List<JobListing> finishAggregation(StreamingPortalAggregation aggregation,
+            Map<String, String> scrapStats) {
+        List<JobListing> aggregated = new ArrayList<>(aggregation.snapshot());
 
         System.out.println("\n========================================");
         System.out.println("   AGGREGATION SUMMARY");
         System.out.println("========================================");
         scrapStats.forEach((portal, status) -> System.out.println(String.format("%-15s: %s", portal, status)));
         System.out.println("----------------------------------------");
-        System.out.println("Total raw jobs collected: " + collectedJobs.size());
-
-        // Deduplicate
-        List<JobListing> aggregated = new ArrayList<>();
-        for (JobListing job : collectedJobs) {
-            String hash = job.getTitle() + "|" + job.getCompany(); // Simple hash
-            if (seenHashes.add(hash)) {
-                aggregated.add(job);
-            }
-        }
-
+        System.out.println("Total raw jobs collected: " + aggregation.getRawJobCount());
         System.out.println("After deduplication: " + aggregated.size());
+        System.out.println("Aggregation took " + (System.currentTimeMillis() - aggregation.getStartedAt()) + "ms");
 
         // Final date filter check
         int beforeFinalFilter = aggregated.size();
@@ -173,6 +317,12 @@ public class JobPortalScraperService {
     @org.springframework.cache.annotation.CacheEvict(value = "portalScrape", allEntries = true)
     public void clearCache() {
         System.out.println("Clearing portal scrape cache");
+        synchronized (aggregationLock) {
+            // An in-flight run is still fresh, so later callers keep joining it
+            if (currentAggregation != null && currentAggregation.isComplete()) {
+                currentAggregation = null;
+            }
+        }
     }
 
     /**
@@ -210,9 +360,10 @@ public class JobPortalScraperService {
         for (PortalScraper scraper : portalScrapers) {
             if (scraper.getPortalName().equalsIgnoreCase(portalName) && scraper.isEnabled()) {
                 try {
-                    return scrapeWithRetry(scraper, MAX_RETRIES);
-                } catch (Exception e) {
-                    System.err.println("Failed to scrape from " + portalName + ": " + e.getMessage());
+                    return scrapeWithRetry(scraper, MAX_RETRIES, new ScrapeScope()).join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Failed to scrape from " + portalName + ": " + cause.getMessage());
                     return Collections.emptyList();
                 }
             }
@@ -222,66 +373,87 @@ public class JobPortalScraperService {
     }
 
     /**
-     * Implements retry logic with exponential backoff for rate limiting
+     * Implements retry logic with exponential backoff for rate limiting.
+     * The request delay and backoff waits are scheduled continuations on the
+     * portal pool, so no worker thread sleeps between attempts. Attempts run
+     * inside the scope and stop once it is cancelled.
+     *
+     * @return Completes exceptionally with an IOException once retries are
+     *         exhausted or the page does not exist, so the failure counts
+     *         against the portal's health
      */
-    private List<JobListing> scrapeWithRetry(PortalScraper scraper, int maxRetries) {
-        int attempt = 0;
-        long delay = 1000; // Start with 1 second
+    private CompletableFuture<List<JobListing>> scrapeWithRetry(PortalScraper scraper, int maxRetries,
+            ScrapeScope scope) {
+        return scrapeAttempt(scraper, 1, maxRetries, scraper.getRequestDelay(), 1000, scope);
+    }
 
-        while (attempt < maxRetries) {
+    private CompletableFuture<List<JobListing>> scrapeAttempt(PortalScraper scraper, int attempt, int maxRetries,
+            long delayMs, long backoffMs, ScrapeScope scope) {
+        Executor portals = scrapingExecutors.portals();
+        Executor executor = delayMs > 0
+                ? CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, portals)
+                : portals;
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                // Add configured delay before request
-                if (attempt > 0 || scraper.getRequestDelay() > 0) {
-                    Thread.sleep(attempt == 0 ? scraper.getRequestDelay() : delay);
-                }
-
-                return scraper.scrapeJobs();
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("Scraping interrupted for " + scraper.getPortalName());
-                return Collections.emptyList();
+                return scope.run(scraper::scrapeJobs);
+            } catch (RuntimeException e) {
+                throw e;
             } catch (Exception e) {
-                attempt++;
-                String errorMessage = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
-
-                // Check if it's a rate limit error (HTTP 429)
-                if (errorMessage.contains("429") || errorMessage.contains("rate limit")
-                        || errorMessage.contains("too many requests")) {
-                    System.out.println(
-                            "Rate limited by " + scraper.getPortalName() + ", retry " + attempt + "/" + maxRetries);
-                    if (attempt >= maxRetries) {
-                        System.err.println("Max retries reached for " + scraper.getPortalName());
-                        return Collections.emptyList();
-                    }
-                    delay *= 2; // Exponential backoff
-                } else if (errorMessage.contains("404") || errorMessage.contains("not found")) {
-                    // Don't retry for 404 errors
-                    System.err.println("Page not found for " + scraper.getPortalName() + ": " + e.getMessage());
-                    return Collections.emptyList();
-                } else if (errorMessage.contains("timeout") || errorMessage.contains("connect")
-                        || errorMessage.contains("connection")) {
-                    // Retry for connection/timeout issues
-                    System.out.println("Connection issue with " + scraper.getPortalName() + ", retry " + attempt + "/"
-                            + maxRetries + ": " + e.getMessage());
-                    if (attempt >= maxRetries) {
-                        System.err.println("Max retries reached for " + scraper.getPortalName());
-                        return Collections.emptyList();
-                    }
-                    delay *= 2; // Exponential backoff
-                } else {
-                    // For other errors, retry up to maxRetries
-                    System.out.println("Scraping error for " + scraper.getPortalName() + ", retry " + attempt + "/"
-                            + maxRetries + ": " + e.getMessage());
-                    if (attempt >= maxRetries) {
-                        System.err.println("Max retries reached for " + scraper.getPortalName());
-                        return Collections.emptyList();
-                    }
-                    delay *= 2; // Exponential backoff
-                }
+                throw new CompletionException(e);
+            }
+        }, executor).handle((listings, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(listings);
             }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (scope.isCancelled()) {
+                return CompletableFuture.<List<JobListing>>failedFuture(
+                        new IOException("Cancelled at aggregation deadline", cause));
+            }
+            IOException giveUp = retryVerdict(scraper, cause, attempt, maxRetries);
+            if (giveUp != null) {
+                return CompletableFuture.<List<JobListing>>failedFuture(giveUp);
+            }
+            long nextBackoff = backoffMs * 2; // Exponential backoff
+            return scrapeAttempt(scraper, attempt + 1, maxRetries, nextBackoff, nextBackoff, scope);
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Logs a failed attempt.
+     *
+     * @return The failure to surface, or null if the scrape should be retried
+     */
+    private IOException retryVerdict(PortalScraper scraper, Throwable e, int attempt, int maxRetries) {
+        String errorMessage = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
+
+        if (errorMessage.contains("404") || errorMessage.contains("not found")) {
+            // Don't retry for 404 errors
+            System.err.println("Page not found for " + scraper.getPortalName() + ": " + e.getMessage());
+            return new IOException("Page not found: " + e.getMessage(), e);
         }
-        return Collections.emptyList();
+        if (errorMessage.contains("429") || errorMessage.contains("rate limit")
+                || errorMessage.contains("too many requests")) {
+            // Check if it's a rate limit error (HTTP 429)
+            System.out.println(
+                    "Rate limited by " + scraper.getPortalName() + ", retry " + attempt + "/" + maxRetries);
+        } else if (errorMessage.contains("timeout") || errorMessage.contains("connect")
+                || errorMessage.contains("connection")) {
+            // Retry for connection/timeout issues
+            System.out.println("Connection issue with " + scraper.getPortalName() + ", retry " + attempt + "/"
+                    + maxRetries + ": " + e.getMessage());
+        } else {
+            // For other errors, retry up to maxRetries
+            System.out.println("Scraping error for " + scraper.getPortalName() + ", retry " + attempt + "/"
+                    + maxRetries + ": " + e.getMessage());
+        }
+        if (attempt >= maxRetries) {
+            System.err.println("Max retries reached for " + scraper.getPortalName());
+            return new IOException("Max retries reached: " + e.getMessage(), e);
+        }
+        return null;
     }
 
     /**
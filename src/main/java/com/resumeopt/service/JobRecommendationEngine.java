@@ -6,7 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Advanced job recommendation engine using collaborative filtering and content-based matching
@@ -20,49 +19,47 @@ public class JobRecommendationEngine {
     @Autowired(required = false)
     private SalaryPredictionService salaryPredictionService;
     
+    // Skill relevance weight, and the largest score the other factors can add up to:
+    // experience 0.2 * 1.0, type, company and location 0.1 * 0.9 each, freshness 0.1 * 1.0
+    private static final double SKILL_WEIGHT = 0.4;
+    private static final double MAX_NON_SKILL_SCORE = 0.57;
+    
+    // Description index for top-K retrieval, kept in step with the last listing snapshot
+    private final JobRecommendationIndex index = new JobRecommendationIndex();
+    private List<JobListing> indexedSnapshot;
+    
     /**
-     * Recommend jobs based on user profile and skills
+     * Recommend jobs based on user profile and skills, best first.
+     *
+     * Ranks every live listing of the snapshot through the description index;
+     * expired listings are left out.
      */
     public List<JobListing> recommendJobs(List<JobListing> jobs, String userSkills, String userExperience) {
         if (jobs == null || jobs.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        // Calculate relevance scores for each job
-        Map<JobListing, Double> scores = new HashMap<>();
-        
-        for (JobListing job : jobs) {
-            double score = calculateRelevanceScore(job, userSkills, userExperience);
-            scores.put(job, score);
-            job.setSuccessProbability(score);
-            job.setMatchLevel(determineMatchLevel(score));
-            
-            // Add salary prediction if available
-            if (salaryPredictionService != null && job.getSalaryRange() == null) {
-                String predictedSalary = salaryPredictionService.predictSalary(job, userSkills);
-                job.setSalaryRange(predictedSalary);
-            }
-        }
-        
-        // Sort by relevance score (descending)
-        return jobs.stream()
-                .sorted((j1, j2) -> Double.compare(
-                    scores.getOrDefault(j2, 0.0),
-                    scores.getOrDefault(j1, 0.0)
-                ))
-                .collect(Collectors.toList());
+        return getTopRecommendations(jobs, userSkills, userExperience, jobs.size());
     }
     
     /**
-     * Calculate relevance score (0.0 to 1.0)
+     * Score a single listing against the user's profile (0.0 to 1.0).
+     *
+     * The listing is ranked in an index of its own, so scoring it does not
+     * displace the listing snapshot the shared index follows.
      */
-    private double calculateRelevanceScore(JobListing job, String userSkills, String userExperience) {
+    public double scoreJob(JobListing job, String userSkills, String userExperience) {
+        JobRecommendationIndex single = new JobRecommendationIndex();
+        single.add(job);
+        List<JobListing> ranked = rank(single, userSkills, userExperience, 1);
+        return ranked.isEmpty() ? 0.5 : ranked.get(0).getSuccessProbability();
+    }
+    
+    /**
+     * Weighted score of every factor except skill matching (at most 0.57)
+     */
+    private double calculateNonSkillScore(JobListing job, String userExperience) {
         double score = 0.0;
         
-        // Skill matching (40% weight)
-        double skillScore = calculateSkillMatch(job, userSkills);
-        score += skillScore * 0.4;
-        
         // Experience matching (20% weight)
         double experienceScore = calculateExperienceMatch(job, userExperience);
         score += experienceScore * 0.2;
@@ -83,32 +80,7 @@ public class JobRecommendationEngine {
         double freshnessScore = calculateFreshnessScore(job);
         score += freshnessScore * 0.1;
         
-        return Math.min(score, 1.0);
-    }
-    
-    /**
-     * Calculate skill match score
-     */
-    private double calculateSkillMatch(JobListing job, String userSkills) {
-        if (userSkills == null || userSkills.isBlank() || job.getDescription() == null) {
-            return 0.5; // Neutral if no skills provided
-        }
-        
-        String[] userSkillArray = userSkills.toLowerCase().split("[,\\s]+");
-        String description = job.getDescription().toLowerCase();
-        
-        int matches = 0;
-        for (String skill : userSkillArray) {
-            if (description.contains(skill.trim())) {
-                matches++;
-            }
-        }
-        
-        if (userSkillArray.length == 0) {
-            return 0.5;
-        }
-        
-        return (double) matches / userSkillArray.length;
+        return score;
     }
     
     /**
@@ -241,14 +213,68 @@ public class JobRecommendationEngine {
     }
     
     /**
-     * Get top N recommendations
+     * Get top N recommendations.
+     *
+     * Skill relevance is the BM25 score of the user's skills against each
+     * description, normalized to 0-1, from an index that follows the listing
+     * snapshot incrementally. Only listings that can still reach the top N are
+     * fully scored, and only the returned listings are annotated with their
+     * score, match level and predicted salary.
      */
     public List<JobListing> getTopRecommendations(List<JobListing> jobs, String userSkills, 
                                                    String userExperience, int topN) {
-        List<JobListing> recommended = recommendJobs(jobs, userSkills, userExperience);
-        return recommended.stream()
-                .limit(topN)
-                .collect(Collectors.toList());
+        if (jobs == null || jobs.isEmpty() || topN <= 0) {
+            return new ArrayList<>();
+        }
+        syncIndex(jobs);
+        return rank(index, userSkills, userExperience, topN);
+    }
+    
+    /**
+     * Top N listings of an index, annotated with their score, match level and predicted salary.
+     */
+    private List<JobListing> rank(JobRecommendationIndex index, String userSkills, String userExperience, int topN) {
+        // Without skills every listing gets the neutral skill score, as in recommendJobs
+        boolean noSkills = userSkills == null || !JobSearchIndex.isSearchable(userSkills);
+        List<JobRecommendationIndex.Hit> hits = index.topK(noSkills ? "" : userSkills, topN, SKILL_WEIGHT,
+            job -> {
+                double score = calculateNonSkillScore(job, userExperience);
+                // Listings without a description keep the neutral skill score
+                if (noSkills || job.getDescription() == null) {
+                    score += SKILL_WEIGHT * 0.5;
+                }
+                return score;
+            },
+            MAX_NON_SKILL_SCORE);
+        
+        List<JobListing> top = new ArrayList<>(hits.size());
+        for (JobRecommendationIndex.Hit hit : hits) {
+            JobListing job = hit.job();
+            double score = Math.min(hit.score(), 1.0);
+            job.setSuccessProbability(score);
+            job.setMatchLevel(determineMatchLevel(score));
+            
+            // Add salary prediction if available
+            if (salaryPredictionService != null && job.getSalaryRange() == null) {
+                String predictedSalary = salaryPredictionService.predictSalary(job, userSkills);
+                job.setSalaryRange(predictedSalary);
+            }
+            top.add(job);
+        }
+        return top;
+    }
+    
+    /**
+     * Indexes a new listing snapshot; listings kept from the previous one,
+     * including reloaded copies with the same description, are not re-tokenized.
+     */
+    private void syncIndex(List<JobListing> jobs) {
+        synchronized (index) {
+            if (jobs != indexedSnapshot) {
+                index.sync(jobs);
+                indexedSnapshot = jobs;
+            }
+        }
     }
 }
 
@@ -0,0 +1,522 @@
+package com.resumeopt.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import com.resumeopt.model.JobListing;
+
+/**
+ * Incrementally maintained BM25 index over job descriptions, answering top-K
+ * queries with MaxScore pruning.
+ *
+ * Terms are interned to ids and each posting list is a pair of primitive
+ * arrays (ascending document ids and term frequencies). A query scores a
+ * document as {@code prior(job) + textWeight * bm25 / maxBm25}, where the
+ * prior is a caller-supplied query-specific score with a known upper bound
+ * and {@code maxBm25} is the score a document would reach by saturating
+ * every query term. Documents are visited in id order through the postings
+ * of the query terms only; a term whose upper bound cannot lift a document
+ * over the current k-th best score is no longer used to find candidates, and
+ * candidates whose bound falls below it are dropped before the prior is
+ * computed. Documents matching no query term are scanned only while the k-th
+ * best score is still below the prior's upper bound.
+ *
+ * Listings are added and removed one at a time; removed documents leave dead
+ * postings behind until they outnumber the live ones and the index compacts.
+ * A listing is identified by its fingerprint, else its database id, so a
+ * reloaded copy of an indexed listing takes over its document instead of
+ * being indexed again; listings with neither are identified by reference.
+ */
+public class JobRecommendationIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    // Keeps upper bounds above scores that sum the same terms in another order
+    private static final double BOUND_SLACK = 1.0 + 1e-9;
+
+    // Vocabulary; postings of term t are docs[t][0..sizes[t]) with tfs[t]
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[][] docs = new int[16][];
+    private int[][] tfs = new int[16][];
+    private int[] sizes = new int[16];
+    private int[] df = new int[16];
+    // Bounds that only loosen on removal: largest frequency and shortest document per term
+    private int[] maxTf = new int[16];
+    private int[] minLength = new int[16];
+
+    // Per document: key, listing, description it was indexed with, length and distinct terms
+    private Object[] keys = new Object[16];
+    private JobListing[] jobs = new JobListing[16];
+    private String[] descriptions = new String[16];
+    private int[] lengths = new int[16];
+    private int[][] docTerms = new int[16][];
+    private boolean[] live = new boolean[16];
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+    private final Map<Object, Integer> docIds = new HashMap<>();
+
+    /**
+     * A ranked listing with its score and the normalized text part of it
+     */
+    public record Hit(JobListing job, double score, double textScore) {}
+
+    /**
+     * Identity of a listing across reloads: fingerprint, then id, then the object itself.
+     */
+    private static Object key(JobListing job) {
+        if (job.getFingerprint() != null) {
+            return job.getFingerprint();
+        }
+        return job.getId() != null ? job.getId() : job;
+    }
+
+    /**
+     * Indexes a listing, replacing its earlier version if it was indexed.
+     */
+    public synchronized void add(JobListing job) {
+        remove(job);
+        List<String> tokens = JobSearchIndex.tokenize(job.getDescription());
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (String token : tokens) {
+            counts.merge(intern(token), 1, Integer::sum);
+        }
+
+        int doc = docCount++;
+        ensureDocCapacity(docCount);
+        Object key = key(job);
+        keys[doc] = key;
+        jobs[doc] = job;
+        descriptions[doc] = job.getDescription();
+        lengths[doc] = tokens.size();
+        live[doc] = true;
+        int[] terms = new int[counts.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Integer> e : counts.entrySet()) {
+            int term = e.getKey();
+            int tf = e.getValue();
+            terms[n++] = term;
+            appendPosting(term, doc, tf);
+            df[term]++;
+            maxTf[term] = Math.max(maxTf[term], tf);
+            minLength[term] = Math.min(minLength[term], tokens.size());
+        }
+        docTerms[doc] = terms;
+        docIds.put(key, doc);
+        liveCount++;
+        totalLength += tokens.size();
+    }
+
+    /**
+     * Drops a listing from the index, e.g. when it expires.
+     *
+     * @return true if it was indexed
+     */
+    public synchronized boolean remove(JobListing job) {
+        return removeKey(key(job));
+    }
+
+    private boolean removeKey(Object key) {
+        Integer doc = docIds.remove(key);
+        if (doc == null) {
+            return false;
+        }
+        live[doc] = false;
+        for (int term : docTerms[doc]) {
+            df[term]--;
+        }
+        docTerms[doc] = null;
+        keys[doc] = null;
+        jobs[doc] = null;
+        descriptions[doc] = null;
+        liveCount--;
+        totalLength -= lengths[doc];
+        if (docCount - liveCount > Math.max(64, liveCount)) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Brings the index in line with a listing snapshot: new listings and
+     * listings whose description changed are (re)indexed, and indexed
+     * listings that are missing from the snapshot or expired are removed.
+     * Unchanged listings, including reloaded copies of indexed ones, are not
+     * tokenized again; their document just points at the snapshot's copy.
+     */
+    public synchronized void sync(Collection<JobListing> snapshot) {
+        Set<Object> current = new HashSet<>();
+        for (JobListing job : snapshot) {
+            if (job == null || Boolean.TRUE.equals(job.getExpired())) {
+                continue;
+            }
+            Object key = key(job);
+            current.add(key);
+            Integer doc = docIds.get(key);
+            if (doc != null && Objects.equals(descriptions[doc], job.getDescription())) {
+                jobs[doc] = job;
+            } else {
+                add(job);
+            }
+        }
+        for (Object key : new ArrayList<>(docIds.keySet())) {
+            if (!current.contains(key)) {
+                removeKey(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    public synchronized int termCount() {
+        return termIds.size();
+    }
+
+    /**
+     * The {@code k} best listings for a query, best first; equal scores keep
+     * indexing order.
+     *
+     * @param query      free text, tokenized like the descriptions
+     * @param textWeight weight of the normalized BM25 score (0 to 1)
+     * @param prior      query-specific score of a listing
+     * @param priorMax   upper bound of {@code prior} over listings with a non-empty description
+     */
+    public synchronized List<Hit> topK(String query, int k, double textWeight,
+                                       ToDoubleFunction<JobListing> prior, double priorMax) {
+        if (k <= 0 || liveCount == 0) {
+            return new ArrayList<>();
+        }
+        double avgLength = Math.max(1.0, (double) totalLength / liveCount);
+
+        // Query terms; terms no listing mentions only count towards the maximum score
+        Set<String> queryTerms = new LinkedHashSet<>(JobSearchIndex.tokenize(query));
+        int[] terms = new int[queryTerms.size()];
+        double[] idfs = new double[queryTerms.size()];
+        int n = 0;
+        double maxScore = 0.0;
+        for (String token : queryTerms) {
+            Integer term = termIds.get(token);
+            int documentFrequency = term == null ? 0 : df[term];
+            double idf = idf(documentFrequency);
+            maxScore += idf * (K1 + 1);
+            if (documentFrequency > 0) {
+                terms[n] = term;
+                idfs[n] = idf;
+                n++;
+            }
+        }
+        double scale = maxScore > 0 ? textWeight / maxScore : 0.0;
+
+        // Cursors ordered by upper bound, lowest first; prefixBound[i] sums bounds 0..i
+        Integer[] order = new Integer[n];
+        double[] bounds = new double[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            bounds[i] = scale * idfs[i] * saturation(maxTf[terms[i]], minLength[terms[i]], avgLength) * BOUND_SLACK;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(bounds[a], bounds[b]));
+        int[] cursorTerm = new int[n];
+        double[] cursorIdf = new double[n];
+        double[] prefixBound = new double[n];
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            cursorTerm[i] = terms[order[i]];
+            cursorIdf[i] = idfs[order[i]];
+            prefixBound[i] = bounds[order[i]] + (i > 0 ? prefixBound[i - 1] : 0.0);
+        }
+
+        TopK top = new TopK(k);
+        boolean[] visited = new boolean[docCount];
+        int firstEssential = 0;
+        while (firstEssential < n) {
+            // Next candidate: smallest document among the essential cursors
+            int doc = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < n; i++) {
+                if (position[i] < sizes[cursorTerm[i]]) {
+                    doc = Math.min(doc, docs[cursorTerm[i]][position[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            double text = 0.0;
+            for (int i = firstEssential; i < n; i++) {
+                int term = cursorTerm[i];
+                if (position[i] < sizes[term] && docs[term][position[i]] == doc) {
+                    text += cursorIdf[i] * saturation(tfs[term][position[i]], lengths[doc], avgLength);
+                    position[i]++;
+                }
+            }
+            if (!live[doc]) {
+                continue;
+            }
+            visited[doc] = true;
+            text *= scale;
+            boolean pruned = false;
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (top.full() && text + prefixBound[i] + priorMax < top.threshold()) {
+                    pruned = true;
+                    break;
+                }
+                int term = cursorTerm[i];
+                position[i] = seek(docs[term], position[i], sizes[term], doc);
+                if (position[i] < sizes[term] && docs[term][position[i]] == doc) {
+                    text += scale * cursorIdf[i] * saturation(tfs[term][position[i]], lengths[doc], avgLength);
+                }
+            }
+            if (pruned || (top.full() && text + priorMax < top.threshold())) {
+                continue;
+            }
+            top.offer(doc, text + prior.applyAsDouble(jobs[doc]), text);
+            while (top.full() && firstEssential < n && prefixBound[firstEssential] + priorMax < top.threshold()) {
+                firstEssential++;
+            }
+        }
+
+        // Listings matching no query term score their prior alone. When every
+        // term stayed essential, all matching listings were visited above
+        boolean priorOnly = !top.full() || top.threshold() <= priorMax;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live[doc] && !visited[doc] && (priorOnly || lengths[doc] == 0)) {
+                top.offer(doc, prior.applyAsDouble(jobs[doc]), 0.0);
+            }
+        }
+
+        return top.drain(jobs);
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double saturation(int tf, int length, double avgLength) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    /**
+     * First position at or after {@code from} whose document is at least {@code target}, galloping then bisecting.
+     */
+    private static int seek(int[] postings, int from, int size, int target) {
+        int step = 1;
+        int hi = from;
+        while (hi < size && postings[hi] < target) {
+            from = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        hi = Math.min(hi, size);
+        while (from < hi) {
+            int mid = (from + hi) >>> 1;
+            if (postings[mid] < target) {
+                from = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return from;
+    }
+
+    private int intern(String token) {
+        Integer id = termIds.get(token);
+        if (id != null) {
+            return id;
+        }
+        int term = termIds.size();
+        termIds.put(token, term);
+        if (term == docs.length) {
+            int capacity = term * 2;
+            docs = Arrays.copyOf(docs, capacity);
+            tfs = Arrays.copyOf(tfs, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            df = Arrays.copyOf(df, capacity);
+            maxTf = Arrays.copyOf(maxTf, capacity);
+            minLength = Arrays.copyOf(minLength, capacity);
+        }
+        docs[term] = new int[4];
+        tfs[term] = new int[4];
+        minLength[term] = Integer.MAX_VALUE;
+        return term;
+    }
+
+    private void appendPosting(int term, int doc, int tf) {
+        int size = sizes[term];
+        if (size == docs[term].length) {
+            docs[term] = Arrays.copyOf(docs[term], size * 2);
+            tfs[term] = Arrays.copyOf(tfs[term], size * 2);
+        }
+        docs[term][size] = doc;
+        tfs[term][size] = tf;
+        sizes[term] = size + 1;
+    }
+
+    private void ensureDocCapacity(int count) {
+        if (count <= jobs.length) {
+            return;
+        }
+        int capacity = Math.max(count, jobs.length * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        jobs = Arrays.copyOf(jobs, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        docTerms = Arrays.copyOf(docTerms, capacity);
+        live = Arrays.copyOf(live, capacity);
+    }
+
+    /**
+     * Renumbers the live documents in their current order and rebuilds the
+     * postings without dead entries, recomputing the per-term bounds.
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            renumbered[doc] = live[doc] ? next++ : -1;
+        }
+        for (int term = 0; term < termIds.size(); term++) {
+            int kept = 0;
+            maxTf[term] = 0;
+            minLength[term] = Integer.MAX_VALUE;
+            for (int i = 0; i < sizes[term]; i++) {
+                int doc = docs[term][i];
+                if (renumbered[doc] >= 0) {
+                    docs[term][kept] = renumbered[doc];
+                    tfs[term][kept] = tfs[term][i];
+                    maxTf[term] = Math.max(maxTf[term], tfs[term][i]);
+                    minLength[term] = Math.min(minLength[term], lengths[doc]);
+                    kept++;
+                }
+            }
+            sizes[term] = kept;
+        }
+        for (int doc = 0; doc < docCount; doc++) {
+            int target = renumbered[doc];
+            if (target >= 0) {
+                keys[target] = keys[doc];
+                jobs[target] = jobs[doc];
+                descriptions[target] = descriptions[doc];
+                lengths[target] = lengths[doc];
+                docTerms[target] = docTerms[doc];
+                live[target] = true;
+                docIds.put(keys[target], target);
+            }
+        }
+        Arrays.fill(keys, next, docCount, null);
+        Arrays.fill(jobs, next, docCount, null);
+        Arrays.fill(descriptions, next, docCount, null);
+        Arrays.fill(docTerms, next, docCount, null);
+        Arrays.fill(live, next, docCount, false);
+        docCount = next;
+    }
+
+    /**
+     * Bounded min-heap of the best documents so far; the root is the worst
+     * kept document (lowest score, then highest id).
+     */
+    private static final class TopK {
+        private final int[] docs;
+        private final double[] scores;
+        private final double[] texts;
+        private int size;
+
+        TopK(int k) {
+            docs = new int[k];
+            scores = new double[k];
+            texts = new double[k];
+        }
+
+        boolean full() {
+            return size == docs.length;
+        }
+
+        double threshold() {
+            return scores[0];
+        }
+
+        void offer(int doc, double score, double text) {
+            if (!full()) {
+                set(size, doc, score, text);
+                siftUp(size++);
+            } else if (worse(scores[0], docs[0], score, doc)) {
+                set(0, doc, score, text);
+                siftDown(0);
+            }
+        }
+
+        private static boolean worse(double score, int doc, double otherScore, int otherDoc) {
+            return score < otherScore || (score == otherScore && doc > otherDoc);
+        }
+
+        private boolean worse(int i, int j) {
+            return worse(scores[i], docs[i], scores[j], docs[j]);
+        }
+
+        private void set(int i, int doc, double score, double text) {
+            docs[i] = doc;
+            scores[i] = score;
+            texts[i] = text;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(i, parent)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && worse(left, worst)) {
+                    worst = left;
+                }
+                if (right < size && worse(right, worst)) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            double score = scores[a];
+            double text = texts[a];
+            set(a, docs[b], scores[b], texts[b]);
+            set(b, doc, score, text);
+        }
+
+        /**
+         * Empties the heap into hits, best first.
+         */
+        List<Hit> drain(JobListing[] jobs) {
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                hits[size - 1] = new Hit(jobs[docs[0]], scores[0], texts[0]);
+                size--;
+                set(0, docs[size], scores[size], texts[size]);
+                siftDown(0);
+            }
+            return new ArrayList<>(Arrays.asList(hits));
+        }
+    }
+}
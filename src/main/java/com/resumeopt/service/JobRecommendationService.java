@@ -24,15 +24,19 @@ public class JobRecommendationService {
 
     @io.micrometer.core.annotation.Timed(value = "jobs.recommend", description = "Recommendation computation time")
     public List<JobListing> recommend(String resumeText, List<JobListing> listings) {
-        for (JobListing jl : listings) {
+        // Score the resume against all listings in one batch, analysing it only once
+        List<JobMatchService.JobMatch> matches = jobMatchService != null
+            ? jobMatchService.matchAll(resumeText, listings)
+            : null;
+        for (int i = 0; i < listings.size(); i++) {
+            JobListing jl = listings.get(i);
             // Use enhanced matching if available
-            if (jobMatchService != null) {
-                MatchLevel matchLevel = jobMatchService.calculateMatchLevel(resumeText, jl);
-                jl.setMatchLevel(matchLevel);
+            if (matches != null) {
+                JobMatchService.JobMatch match = matches.get(i);
+                jl.setMatchLevel(match.matchLevel());
                 
-                // Calculate match score percentage
-                double matchScore = jobMatchService.calculateMatchScore(resumeText, jl);
-                jl.setSuccessProbability(matchScore / 100.0);
+                // Match score percentage
+                jl.setSuccessProbability(match.matchScore() / 100.0);
             } else {
                 // Fallback to basic matching
                 Set<String> resumeTokens = normalize(resumeText);
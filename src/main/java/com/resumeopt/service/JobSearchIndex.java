@@ -0,0 +1,327 @@
+package com.resumeopt.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.resumeopt.model.JobListing;
+
+/**
+ * Immutable inverted index over one listing snapshot.
+ * Title, company and description are tokenized once at build time into
+ * weighted posting lists; keyword queries are answered by intersecting the
+ * postings of each query term instead of scanning and lower-casing every
+ * description on every request. A query term matches every indexed word that
+ * contains it, as the substring search this replaced did ("script" finds
+ * "javascript"). Those words are found through an n-gram index over the
+ * vocabulary, so a lookup touches the words sharing the term's rarest trigram
+ * rather than the whole vocabulary.
+ */
+public class JobSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int COMPANY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    // Grams of up to this length are indexed; longer parts are looked up by their trigrams
+    static final int GRAM_LENGTH = 3;
+
+    private final List<JobListing> jobs;
+    // Sorted vocabulary; postings of terms[i] are docs[i] (ascending) with weights[i]
+    private final String[] terms;
+    private final int[][] docs;
+    private final int[][] weights;
+    // Every 1..GRAM_LENGTH character gram of the vocabulary -> ascending ids of the terms containing it
+    private final Map<String, int[]> grams;
+
+    private JobSearchIndex(List<JobListing> jobs, String[] terms, int[][] docs, int[][] weights,
+            Map<String, int[]> grams) {
+        this.jobs = jobs;
+        this.terms = terms;
+        this.docs = docs;
+        this.weights = weights;
+        this.grams = grams;
+    }
+
+    /**
+     * Builds the index. Document ids are positions in {@code jobs}.
+     */
+    public static JobSearchIndex build(List<JobListing> jobs) {
+        Map<String, PostingBuilder> postings = new HashMap<>();
+        for (int doc = 0; doc < jobs.size(); doc++) {
+            JobListing job = jobs.get(doc);
+            if (job == null) {
+                continue;
+            }
+            addField(postings, job.getTitle(), doc, TITLE_WEIGHT);
+            addField(postings, job.getCompany(), doc, COMPANY_WEIGHT);
+            addField(postings, job.getDescription(), doc, DESCRIPTION_WEIGHT);
+        }
+
+        String[] terms = postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] docs = new int[terms.length][];
+        int[][] weights = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            PostingBuilder builder = postings.get(terms[i]);
+            docs[i] = Arrays.copyOf(builder.docs, builder.size);
+            weights[i] = Arrays.copyOf(builder.weights, builder.size);
+        }
+        return new JobSearchIndex(Collections.unmodifiableList(new ArrayList<>(jobs)), terms, docs, weights,
+                buildGrams(terms));
+    }
+
+    private static Map<String, int[]> buildGrams(String[] terms) {
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        for (int i = 0; i < terms.length; i++) {
+            String term = terms[i];
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int start = 0; start + length <= term.length(); start++) {
+                    // Terms arrive in ascending order, so a gram repeated within one term is kept once
+                    builders.computeIfAbsent(term.substring(start, start + length), g -> new PostingBuilder())
+                            .add(i, 0);
+                }
+            }
+        }
+        Map<String, int[]> grams = new HashMap<>(builders.size() * 2);
+        for (Map.Entry<String, PostingBuilder> entry : builders.entrySet()) {
+            grams.put(entry.getKey(), Arrays.copyOf(entry.getValue().docs, entry.getValue().size));
+        }
+        return grams;
+    }
+
+    private static void addField(Map<String, PostingBuilder> postings, String text, int doc, int weight) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, t -> new PostingBuilder()).add(doc, weight);
+        }
+    }
+
+    /**
+     * Splits text into lower-case tokens. '+' and '#' are kept so that terms
+     * like "c++" and "c#" stay searchable.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * @return true if the query contains at least one indexable term
+     */
+    public static boolean isSearchable(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Returns the listings matching every query term (as a word or part of a word
+     * in the title, company or description), best weighted matches first.
+     */
+    public List<JobListing> search(String query) {
+        int[] ranked = searchDocs(query);
+        List<JobListing> results = new ArrayList<>(ranked.length);
+        for (int doc : ranked) {
+            results.add(jobs.get(doc));
+        }
+        return results;
+    }
+
+    /**
+     * Same as {@link #search(String)} but returns document ids (positions in the
+     * indexed snapshot), so callers can combine hits with other per-document filters.
+     */
+    public int[] searchDocs(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] resultDocs = null;
+        int[] resultScores = null;
+        for (String term : queryTerms) {
+            int[][] postings = postingsContaining(term);
+            if (postings[0].length == 0) {
+                return new int[0];
+            }
+            if (resultDocs == null) {
+                resultDocs = postings[0];
+                resultScores = postings[1];
+            } else {
+                int[][] intersection = intersect(resultDocs, resultScores, postings[0], postings[1]);
+                resultDocs = intersection[0];
+                resultScores = intersection[1];
+            }
+            if (resultDocs.length == 0) {
+                return new int[0];
+            }
+        }
+
+        // Rank by score, then by snapshot order; packed so a primitive sort suffices
+        long[] ranked = new long[resultDocs.length];
+        for (int i = 0; i < resultDocs.length; i++) {
+            ranked[i] = ((long) (Integer.MAX_VALUE - resultScores[i]) << 32) | resultDocs[i];
+        }
+        Arrays.sort(ranked);
+
+        int[] rankedDocs = new int[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            rankedDocs[i] = (int) ranked[i];
+        }
+        return rankedDocs;
+    }
+
+    /**
+     * Union of the postings of every term containing {@code part}.
+     */
+    private int[][] postingsContaining(String part) {
+        int[] matching = termsContaining(part);
+        int count = matching.length;
+        if (count == 0) {
+            return new int[][] { new int[0], new int[0] };
+        }
+        if (count == 1) {
+            return new int[][] { docs[matching[0]], weights[matching[0]] };
+        }
+
+        int total = 0;
+        for (int k = 0; k < count; k++) {
+            total += docs[matching[k]].length;
+        }
+        long[] packed = new long[total];
+        int n = 0;
+        for (int k = 0; k < count; k++) {
+            int i = matching[k];
+            for (int j = 0; j < docs[i].length; j++) {
+                packed[n++] = ((long) docs[i][j] << 32) | weights[i][j];
+            }
+        }
+        Arrays.sort(packed);
+
+        int[] unionDocs = new int[total];
+        int[] unionWeights = new int[total];
+        int size = 0;
+        for (long p : packed) {
+            int doc = (int) (p >>> 32);
+            int weight = (int) p;
+            if (size > 0 && unionDocs[size - 1] == doc) {
+                unionWeights[size - 1] += weight;
+            } else {
+                unionDocs[size] = doc;
+                unionWeights[size] = weight;
+                size++;
+            }
+        }
+        return new int[][] { Arrays.copyOf(unionDocs, size), Arrays.copyOf(unionWeights, size) };
+    }
+
+    /**
+     * Ascending ids of the terms containing {@code part}. Short parts are a single
+     * gram lookup; longer ones start from their rarest trigram, keep the terms that
+     * have all of its trigrams and confirm the match.
+     */
+    private int[] termsContaining(String part) {
+        if (part.length() <= GRAM_LENGTH) {
+            int[] matching = grams.get(part);
+            return matching != null ? matching : new int[0];
+        }
+
+        int gramCount = part.length() - GRAM_LENGTH + 1;
+        int[][] candidates = new int[gramCount][];
+        for (int start = 0; start < gramCount; start++) {
+            int[] matching = grams.get(part.substring(start, start + GRAM_LENGTH));
+            if (matching == null) {
+                return new int[0];
+            }
+            candidates[start] = matching;
+        }
+        Arrays.sort(candidates, (a, b) -> Integer.compare(a.length, b.length));
+
+        int[] result = new int[candidates[0].length];
+        int size = 0;
+        for (int term : candidates[0]) {
+            boolean inAll = true;
+            for (int k = 1; k < candidates.length && inAll; k++) {
+                inAll = Arrays.binarySearch(candidates[k], term) >= 0;
+            }
+            if (inAll && terms[term].contains(part)) {
+                result[size++] = term;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[][] intersect(int[] docsA, int[] scoresA, int[] docsB, int[] scoresB) {
+        int[] outDocs = new int[Math.min(docsA.length, docsB.length)];
+        int[] outScores = new int[outDocs.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < docsA.length && j < docsB.length) {
+            if (docsA[i] < docsB[j]) {
+                i++;
+            } else if (docsA[i] > docsB[j]) {
+                j++;
+            } else {
+                outDocs[size] = docsA[i];
+                outScores[size] = scoresA[i] + scoresB[j];
+                size++;
+                i++;
+                j++;
+            }
+        }
+        return new int[][] { Arrays.copyOf(outDocs, size), Arrays.copyOf(outScores, size) };
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Growable posting list; documents arrive in ascending order, so repeated
+     * occurrences in the same document just add to its weight.
+     */
+    private static final class PostingBuilder {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int doc, int weight) {
+            if (size > 0 && docs[size - 1] == doc) {
+                weights[size - 1] += weight;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
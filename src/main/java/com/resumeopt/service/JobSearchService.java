@@ -0,0 +1,84 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keyword search over aggregated job listings backed by a {@link JobSearchIndex}.
+ * The index is built once per listing snapshot (the cached list instance) and
+ * reused by every search until the snapshot is replaced.
+ */
+@Service
+public class JobSearchService {
+
+    private volatile IndexedSnapshot current;
+
+    private record IndexedSnapshot(List<JobListing> source, JobSearchIndex index) {}
+
+    /**
+     * Builds (or reuses) the index for a listing snapshot.
+     */
+    public JobSearchIndex indexListings(List<JobListing> jobs) {
+        IndexedSnapshot snapshot = current;
+        if (snapshot != null && snapshot.source() == jobs) {
+            return snapshot.index();
+        }
+        synchronized (this) {
+            snapshot = current;
+            if (snapshot != null && snapshot.source() == jobs) {
+                return snapshot.index();
+            }
+            long startTime = System.currentTimeMillis();
+            JobSearchIndex index = JobSearchIndex.build(jobs);
+            System.out.println("Built job search index: " + index.size() + " jobs, " + index.termCount()
+                    + " terms in " + (System.currentTimeMillis() - startTime) + "ms");
+            current = new IndexedSnapshot(jobs, index);
+            return index;
+        }
+    }
+
+    /**
+     * Returns the jobs in {@code jobs} whose title, company or description match
+     * every word of the keyword (as a word or part of a word), best matches first.
+     */
+    public List<JobListing> search(List<JobListing> jobs, String keyword) {
+        if (jobs == null || jobs.isEmpty() || keyword == null || keyword.isBlank()) {
+            return jobs;
+        }
+        if (!JobSearchIndex.isSearchable(keyword)) {
+            // Punctuation-only queries have no index terms; fall back to a plain scan
+            return scan(jobs, keyword);
+        }
+        return indexListings(jobs).search(keyword);
+    }
+
+    /**
+     * Keyword hits as document ids (positions in {@code jobs}), best matches first,
+     * for combining with facet bitsets built over the same snapshot.
+     */
+    public int[] searchDocs(List<JobListing> jobs, String keyword) {
+        if (!JobSearchIndex.isSearchable(keyword)) {
+            String searchTerm = keyword.toLowerCase(Locale.ROOT);
+            return java.util.stream.IntStream.range(0, jobs.size())
+                    .filter(doc -> matches(jobs.get(doc), searchTerm))
+                    .toArray();
+        }
+        return indexListings(jobs).searchDocs(keyword);
+    }
+
+    private List<JobListing> scan(List<JobListing> jobs, String keyword) {
+        String searchTerm = keyword.toLowerCase(Locale.ROOT);
+        return jobs.stream()
+                .filter(job -> matches(job, searchTerm))
+                .toList();
+    }
+
+    private boolean matches(JobListing job, String searchTerm) {
+        return (job.getTitle() != null && job.getTitle().toLowerCase().contains(searchTerm)) ||
+                (job.getDescription() != null && job.getDescription().toLowerCase().contains(searchTerm)) ||
+                (job.getCompany() != null && job.getCompany().toLowerCase().contains(searchTerm));
+    }
+}
@@ -0,0 +1,210 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Versioned, immutable listing snapshots for cursor pagination.
+ * Every distinct listing set of a feed gets a new version. Filtered views are
+ * computed once per snapshot and retained, so a page is a slice of the retained
+ * view, and cursors pin the snapshot version so browsing stays consistent while
+ * the cache scheduler refreshes the listings.
+ */
+@Service
+public class JobSnapshotService {
+
+    @Value("${job.snapshots.retained:8}")
+    private int retainedSnapshots = 8;
+
+    @Value("${job.snapshots.maxViewsPerSnapshot:32}")
+    private int maxViewsPerSnapshot = 32;
+
+    private long lastVersion;
+    private final Map<String, Snapshot> currentByFeed = new HashMap<>();
+    private final LinkedHashMap<Long, Snapshot> retained = new LinkedHashMap<>();
+
+    /**
+     * One version of a feed's listing set with its retained filtered views.
+     */
+    public final class Snapshot {
+        private final long version;
+        private final String feed;
+        private final List<JobListing> jobs;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final Map<String, List<JobListing>> views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<JobListing>> eldest) {
+                return size() > maxViewsPerSnapshot;
+            }
+        };
+
+        private Snapshot(long version, String feed, List<JobListing> jobs) {
+            this.version = version;
+            this.feed = feed;
+            this.jobs = jobs;
+        }
+
+        /**
+         * Returns the filtered view {@code viewKey}, computing it on first use.
+         */
+        public synchronized List<JobListing> view(String viewKey, Function<List<JobListing>, List<JobListing>> filter) {
+            List<JobListing> view = views.get(viewKey);
+            if (view == null) {
+                view = Collections.unmodifiableList(new ArrayList<>(filter.apply(jobs)));
+                views.put(viewKey, view);
+            }
+            return view;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getFeed() {
+            return feed;
+        }
+
+        public List<JobListing> getJobs() {
+            return jobs;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+
+    /**
+     * A cursor token that was not produced by {@link Cursor#encode()}; the
+     * client's fault, unlike other failures while reading a page.
+     */
+    public static class InvalidCursorException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        public InvalidCursorException(String token, Throwable cause) {
+            super("Invalid cursor: " + token, cause);
+        }
+    }
+
+    /**
+     * Position in a snapshot view, encoded as an opaque token for clients.
+     */
+    public record Cursor(long version, int offset) {
+
+        public String encode() {
+            String raw = version + ":" + offset;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws InvalidCursorException if the token was not produced by {@link #encode()}
+         */
+        public static Cursor decode(String token) {
+            long version;
+            int offset;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                version = Long.parseLong(raw.substring(0, separator));
+                offset = Integer.parseInt(raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException(token, e);
+            }
+            if (version < 1 || offset < 0) {
+                throw new InvalidCursorException(token, null);
+            }
+            return new Cursor(version, offset);
+        }
+    }
+
+    /**
+     * One page of a snapshot view.
+     *
+     * @param snapshotExpired true if the requested cursor's snapshot was no longer
+     *                        retained and the page was read from the current one
+     */
+    public record Page(
+            List<JobListing> jobs,
+            int total,
+            int offset,
+            long snapshotVersion,
+            String nextCursor,
+            boolean snapshotExpired) {}
+
+    /**
+     * Returns the snapshot of {@code feed} for this listing set, registering a
+     * new version when the instance differs from the feed's current one.
+     */
+    public synchronized Snapshot snapshotFor(String feed, List<JobListing> jobs) {
+        Snapshot current = currentByFeed.get(feed);
+        if (current != null && current.jobs == jobs) {
+            return current;
+        }
+        Snapshot snapshot = new Snapshot(++lastVersion, feed, jobs);
+        currentByFeed.put(feed, snapshot);
+        retained.put(snapshot.version, snapshot);
+        // Evict the oldest versions, but never a feed's current snapshot
+        Iterator<Snapshot> oldestFirst = retained.values().iterator();
+        while (retained.size() > retainedSnapshots && oldestFirst.hasNext()) {
+            Snapshot candidate = oldestFirst.next();
+            if (currentByFeed.get(candidate.feed) != candidate) {
+                oldestFirst.remove();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns a retained snapshot of {@code feed}, or null if it was evicted.
+     */
+    public synchronized Snapshot findSnapshot(String feed, long version) {
+        Snapshot snapshot = retained.get(version);
+        return snapshot != null && snapshot.feed.equals(feed) ? snapshot : null;
+    }
+
+    /**
+     * Reads one page of a filtered view. With a cursor the page comes from the
+     * snapshot the cursor was issued for (the current listings are then not even
+     * fetched); without one, {@code page} (1-based) is read from the current
+     * listing set.
+     *
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public Page page(String feed, Supplier<List<JobListing>> currentJobs, String viewKey,
+            Function<List<JobListing>, List<JobListing>> filter, String cursor, int page, int size) {
+        int pageSize = Math.max(1, size);
+        Snapshot snapshot = null;
+        int offset;
+        boolean expired = false;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor);
+            snapshot = findSnapshot(feed, position.version());
+            offset = position.offset();
+            expired = snapshot == null;
+        } else {
+            offset = Math.max(0, (page - 1) * pageSize);
+        }
+        if (snapshot == null) {
+            snapshot = snapshotFor(feed, currentJobs.get());
+        }
+
+        List<JobListing> view = snapshot.view(viewKey, filter);
+        int from = Math.min(offset, view.size());
+        int to = Math.min(from + pageSize, view.size());
+        String nextCursor = to < view.size() ? new Cursor(snapshot.version, to).encode() : null;
+        return new Page(view.subList(from, to), view.size(), from, snapshot.version, nextCursor, expired);
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFingerprint;
 import com.resumeopt.model.JobListing;
 import com.resumeopt.model.JobSource;
 import com.resumeopt.model.JobType;
@@ -7,6 +8,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -41,9 +43,34 @@ public class JobSourceService {
     @Autowired(required = false)
     private com.resumeopt.service.AdvancedDataExtractionService advancedDataExtractionService;
 
+    @Autowired(required = false)
+    private JobIndexService jobIndexService;
+
+    @Autowired(required = false)
+    private JobMatchService jobMatchService;
+
     @Value("${job.sources.lever:}")
     private String leverSources;
 
+    /**
+     * Listings served by {@link #getListingsSnapshot()}: either the last complete
+     * aggregation or a partial one that grows while portals are still being scraped.
+     */
+    public record ListingSnapshot(
+        List<JobListing> jobs,
+        boolean complete,
+        int portalsCompleted,
+        int portalsTotal
+    ) {}
+
+    // Last fully post-processed aggregation, kept across cache refreshes
+    private volatile List<JobListing> lastCompleteListings;
+
+    // Post-processed jobs from the in-flight portal aggregation
+    private final List<JobListing> partialListings = new CopyOnWriteArrayList<>();
+    private volatile StreamingPortalAggregation partialSource;
+    private volatile List<JobListing> partialView;
+
     /**
      * Aggregate entries from multiple sources, apply strict role-based filter, and verify application links.
      * Caches the result to improve performance.
@@ -67,7 +94,7 @@ public class JobSourceService {
         }
 
         List<JobListing> unique = new ArrayList<>();
-        Set<String> seenHashes = new HashSet<>();
+        Set<JobFingerprint> seenFingerprints = new HashSet<>();
         int duplicatesRemoved = 0;
         int truncatedCount = 0;
 
@@ -100,9 +127,7 @@ public class JobSourceService {
                 job.setApplyUrl(job.getApplyUrl().substring(0, 997) + "...");
             }
 
-            String hash = generateJobHash(job);
-            if (!seenHashes.contains(hash)) {
-                seenHashes.add(hash);
+            if (seenFingerprints.add(job.getCanonicalFingerprint())) {
                 unique.add(job);
             } else {
                 duplicatesRemoved++;
@@ -127,20 +152,6 @@ public class JobSourceService {
         return unique;
     }
 
-    /**
-     * Generates a hash for duplicate detection
-     */
-    private String generateJobHash(JobListing job) {
-        String title = job.getTitle() != null ? job.getTitle() : "";
-        String company = job.getCompany() != null ? job.getCompany() : "";
-        String url = job.getApplyUrl() != null ? job.getApplyUrl() : "";
-
-        String combined = (title + company + url).toLowerCase()
-            .replaceAll("\\s+", "")
-            .replaceAll("[^a-z0-9]", "");
-        return combined;
-    }
-
     /**
      * Aggregates jobs from job portals only
      */
@@ -311,9 +322,43 @@ public class JobSourceService {
         key = "'all'"
     )
     public List<JobListing> aggregateAllListings() {
+        // Serve the persisted index when it has data; scraping only fills an empty one
+        List<JobListing> indexed = getIndexedListings();
+        if (!indexed.isEmpty()) {
+            precomputeMatchFeatures(indexed);
+            lastCompleteListings = indexed;
+            return indexed;
+        }
         return aggregateAllListings(null);
     }
 
+    /**
+     * Extracts the job side of resume matching while listings are ingested,
+     * so that matching a resume against them only analyses the resume.
+     */
+    private void precomputeMatchFeatures(List<JobListing> jobs) {
+        if (jobMatchService == null) {
+            return;
+        }
+        try {
+            jobMatchService.precomputeJobFeatures(jobs);
+        } catch (Exception e) {
+            System.err.println("Match feature precomputation failed: " + e.getMessage());
+        }
+    }
+
+    private List<JobListing> getIndexedListings() {
+        if (jobIndexService == null) {
+            return List.of();
+        }
+        try {
+            return jobIndexService.getActiveListings();
+        } catch (Exception e) {
+            System.err.println("Job index read failed: " + e.getMessage());
+            return List.of();
+        }
+    }
+
     /**
      * Aggregate entries from configured sources and optional user-provided source URL without strict fresher filter.
      */
@@ -385,6 +430,8 @@ public class JobSourceService {
             aggregated = deduplicateJobs(aggregated);
         }
 
+        precomputeMatchFeatures(aggregated);
+
         System.out.println(
             "Returning " +
                 aggregated.size() +
@@ -392,6 +439,120 @@ public class JobSourceService {
                 (aggregated.size() > 0 ? "11 job portals" : "no jobs found")
         );
 
+        if (sourceUrl == null) {
+            lastCompleteListings = aggregated;
+        }
+
         return aggregated;
     }
+
+    /**
+     * Returns listings without waiting for the slowest portal. Once a full
+     * aggregation exists it is returned (and kept across refreshes); before that,
+     * the jobs of every portal that has already finished are returned and the
+     * snapshot grows on each call until the aggregation completes.
+     */
+    public ListingSnapshot getListingsSnapshot() {
+        List<JobListing> complete = lastCompleteListings;
+        if (complete == null) {
+            // After a restart the persisted index is the last good snapshot
+            List<JobListing> indexed = getIndexedListings();
+            if (!indexed.isEmpty()) {
+                lastCompleteListings = indexed;
+                complete = indexed;
+            }
+        }
+        if (complete != null) {
+            return new ListingSnapshot(complete, true, 0, 0);
+        }
+
+        StreamingPortalAggregation aggregation =
+            jobPortalScraperService.startStreamingAggregation();
+        if (aggregation.isComplete()) {
+            // Portal data is ready, so this only runs the post-processing
+            List<JobListing> all = aggregateAllListings(null);
+            return new ListingSnapshot(
+                all,
+                true,
+                aggregation.getPortalsCompleted(),
+                aggregation.getPortalsTotal()
+            );
+        }
+
+        subscribePartialListings(aggregation);
+        // The partial list only grows while an aggregation runs, so the copy is
+        // reused until a new batch arrives and callers see a stable instance
+        List<JobListing> partial = partialView;
+        if (partial == null || partial.size() != partialListings.size()) {
+            partial = List.copyOf(partialListings);
+            partialView = partial;
+        }
+        return new ListingSnapshot(
+            partial,
+            false,
+            aggregation.getPortalsCompleted(),
+            aggregation.getPortalsTotal()
+        );
+    }
+
+    /**
+     * Attaches to a portal aggregation once, seeding the partial snapshot with the
+     * reliable curated jobs and post-processing each portal batch as it arrives.
+     * Only the switch to a new aggregation holds the lock; batches are prepared
+     * outside it, on the portal threads, and then added if still current.
+     */
+    private void subscribePartialListings(
+        StreamingPortalAggregation aggregation
+    ) {
+        synchronized (this) {
+            if (partialSource == aggregation) {
+                return;
+            }
+            partialSource = aggregation;
+            partialListings.clear();
+            partialView = null;
+        }
+
+        try {
+            List<JobListing> reliableJobs =
+                reliableJobDataService.getReliableJobListings();
+            if (reliableJobs != null) {
+                addPartialBatch(aggregation, preparePartialBatch(reliableJobs));
+            }
+        } catch (Exception e) {
+            System.err.println("Reliable job data failed: " + e.getMessage());
+        }
+
+        aggregation.subscribe(batch -> {
+            if (partialSource == aggregation) {
+                addPartialBatch(aggregation, preparePartialBatch(batch));
+            }
+        });
+    }
+
+    // Checked under the lock so that a batch never lands in a newer aggregation's snapshot
+    private synchronized void addPartialBatch(
+        StreamingPortalAggregation aggregation,
+        List<JobListing> prepared
+    ) {
+        if (partialSource == aggregation) {
+            partialListings.addAll(prepared);
+        }
+    }
+
+    /**
+     * Applies the per-job steps of {@link #aggregateAllListings(String)} to one batch.
+     * Cross-source fuzzy deduplication is left to the full aggregation.
+     */
+    private List<JobListing> preparePartialBatch(List<JobListing> batch) {
+        List<JobListing> prepared = new ArrayList<>(batch);
+        jobDateFilterService.enrichWithPostedDates(prepared);
+        prepared = jobFilterService.filterRelevant(prepared);
+        if (advancedDataExtractionService != null) {
+            for (JobListing job : prepared) {
+                advancedDataExtractionService.enrichJobListing(job);
+            }
+        }
+        return prepared;
+    }
 }
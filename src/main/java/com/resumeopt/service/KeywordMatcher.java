@@ -0,0 +1,275 @@
+package com.resumeopt.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Multi-dictionary keyword matcher built on an Aho-Corasick automaton.
+ *
+ * Each dictionary is an ordered list of literal terms and behaves like the
+ * case-insensitive regex {@code \b(term1|term2|...)\b}: matches are found
+ * left to right without overlapping, and at a given position the first term
+ * in list order that is bounded by word boundaries wins. All dictionaries
+ * share one automaton, so a text is scanned once for every dictionary.
+ */
+final class KeywordMatcher {
+
+    private final String[][] dictionaries;
+    // Character class of each ASCII character; 0 for characters in no term
+    private final int[] charClass = new int[128];
+    // Full transition table: delta[state * classes + class]
+    private final int[] delta;
+    private final int classes;
+    // Terms ending at each state, including those reached through failure links,
+    // packed as (dictionary << 16 | term)
+    private final int[][] outputs;
+
+    private KeywordMatcher(String[][] dictionaries) {
+        this.dictionaries = dictionaries;
+
+        int nextClass = 1;
+        for (String[] terms : dictionaries) {
+            for (String term : terms) {
+                for (int i = 0; i < term.length(); i++) {
+                    char c = term.charAt(i);
+                    if (c >= 128 || (c >= 'A' && c <= 'Z')) {
+                        throw new IllegalArgumentException("Terms must be lower-case ASCII: " + term);
+                    }
+                    if (charClass[c] == 0) {
+                        charClass[c] = nextClass++;
+                    }
+                }
+            }
+        }
+        classes = nextClass;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new int[classes]);
+        ends.add(new ArrayList<>());
+        for (int d = 0; d < dictionaries.length; d++) {
+            for (int t = 0; t < dictionaries[d].length; t++) {
+                String term = dictionaries[d][t];
+                int state = 0;
+                for (int i = 0; i < term.length(); i++) {
+                    int cls = charClass[term.charAt(i)];
+                    if (trie.get(state)[cls] == 0) {
+                        trie.get(state)[cls] = trie.size();
+                        trie.add(new int[classes]);
+                        ends.add(new ArrayList<>());
+                    }
+                    state = trie.get(state)[cls];
+                }
+                ends.get(state).add(d << 16 | t);
+            }
+        }
+
+        // Failure links by breadth-first search, turning the trie into a DFA
+        int states = trie.size();
+        delta = new int[states * classes];
+        outputs = new int[states][];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = new int[0];
+        for (int cls = 1; cls < classes; cls++) {
+            int child = trie.get(0)[cls];
+            delta[cls] = child;
+            if (child != 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] own = ends.get(state).stream().mapToInt(Integer::intValue).toArray();
+            int[] inherited = outputs[fail[state]];
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            outputs[state] = merged;
+            for (int cls = 1; cls < classes; cls++) {
+                int child = trie.get(state)[cls];
+                if (child != 0) {
+                    fail[child] = delta[fail[state] * classes + cls];
+                    delta[state * classes + cls] = child;
+                    queue.add(child);
+                } else {
+                    delta[state * classes + cls] = delta[fail[state] * classes + cls];
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a matcher over the given dictionaries; a dictionary's id is its
+     * position in the argument list. Terms must be lower-case ASCII.
+     */
+    static KeywordMatcher of(List<String[]> dictionaries) {
+        return new KeywordMatcher(dictionaries.toArray(new String[0][]));
+    }
+
+    String term(int dictionary, int term) {
+        return dictionaries[dictionary][term];
+    }
+
+    /**
+     * Finds the matches of every dictionary in one pass over the text.
+     */
+    Hits scan(CharSequence text) {
+        int n = text.length();
+        long[][] candidates = new long[dictionaries.length][];
+        int[] counts = new int[dictionaries.length];
+        int state = 0;
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            state = delta[state * classes + (c < 128 ? charClass[c] : 0)];
+            int end = i + 1;
+            for (int packed : outputs[state]) {
+                int d = packed >>> 16;
+                int t = packed & 0xFFFF;
+                int start = end - dictionaries[d][t].length();
+                if (isBoundary(text, start) && isBoundary(text, end)) {
+                    long[] list = candidates[d];
+                    if (list == null) {
+                        list = candidates[d] = new long[8];
+                    } else if (counts[d] == list.length) {
+                        list = candidates[d] = Arrays.copyOf(list, list.length * 2);
+                    }
+                    list[counts[d]++] = (long) start << 16 | t;
+                }
+            }
+        }
+        return new Hits(this, candidates, counts);
+    }
+
+    /**
+     * Whether {@code index} lies on a word boundary, with the semantics of
+     * {@code \b} in {@link java.util.regex.Pattern}: letters, digits and
+     * underscores are word characters, and so are non-spacing marks that
+     * follow one.
+     */
+    static boolean isBoundary(CharSequence text, int index) {
+        boolean left = false;
+        if (index > 0) {
+            int ch = Character.codePointBefore(text, index);
+            left = isWordChar(ch) || (Character.getType(ch) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index - 1));
+        }
+        boolean right = false;
+        if (index < text.length()) {
+            int ch = Character.codePointAt(text, index);
+            right = isWordChar(ch) || (Character.getType(ch) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index));
+        }
+        return left != right;
+    }
+
+    private static boolean isWordChar(int ch) {
+        return ch == '_' || Character.isLetterOrDigit(ch);
+    }
+
+    private static boolean hasBaseCharacter(CharSequence text, int index) {
+        for (int i = index; i >= 0; i--) {
+            int ch = Character.codePointAt(text, i);
+            if (Character.isLetterOrDigit(ch)) {
+                return true;
+            }
+            if (Character.getType(ch) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matches of one scanned text, per dictionary, in text order.
+     */
+    static final class Hits {
+        private final KeywordMatcher matcher;
+        // Every word-bounded occurrence per dictionary, packed as (start << 16 | term)
+        private final long[][] occurrences;
+        private final int[] occurrenceCounts;
+        // Occurrences a regex scan would report: leftmost first, without overlaps
+        private final long[][] matches;
+        private final int[] counts;
+
+        private Hits(KeywordMatcher matcher, long[][] candidates, int[] candidateCounts) {
+            this.matcher = matcher;
+            this.occurrences = candidates;
+            this.occurrenceCounts = candidateCounts;
+            this.matches = new long[candidates.length][];
+            this.counts = new int[candidates.length];
+            for (int d = 0; d < candidates.length; d++) {
+                long[] list = candidates[d];
+                if (list == null) {
+                    occurrences[d] = matches[d] = new long[0];
+                    continue;
+                }
+                // At equal starts the earlier term wins, as in a regex alternation
+                Arrays.sort(list, 0, candidateCounts[d]);
+                long[] selected = new long[candidateCounts[d]];
+                int kept = 0;
+                int nextFree = 0;
+                for (int i = 0; i < candidateCounts[d]; i++) {
+                    int start = (int) (list[i] >>> 16);
+                    if (start >= nextFree) {
+                        selected[kept++] = list[i];
+                        nextFree = start + matcher.term(d, (int) (list[i] & 0xFFFF)).length();
+                    }
+                }
+                matches[d] = selected;
+                counts[d] = kept;
+            }
+        }
+
+        int count(int dictionary) {
+            return counts[dictionary];
+        }
+
+        int start(int dictionary, int index) {
+            return (int) (matches[dictionary][index] >>> 16);
+        }
+
+        int end(int dictionary, int index) {
+            return start(dictionary, index) + get(dictionary, index).length();
+        }
+
+        String get(int dictionary, int index) {
+            return matcher.term(dictionary, (int) (matches[dictionary][index] & 0xFFFF));
+        }
+
+        /**
+         * Matched terms in text order, with repeats.
+         */
+        List<String> all(int dictionary) {
+            List<String> terms = new ArrayList<>(counts[dictionary]);
+            for (int i = 0; i < counts[dictionary]; i++) {
+                terms.add(get(dictionary, i));
+            }
+            return terms;
+        }
+
+        /**
+         * Distinct matched terms in order of first occurrence.
+         */
+        Set<String> distinct(int dictionary) {
+            return new LinkedHashSet<>(all(dictionary));
+        }
+
+        /**
+         * Terms that occur anywhere in the text between word boundaries, even
+         * where they overlap a match of another term.
+         */
+        Set<String> occurring(int dictionary) {
+            Set<String> terms = new LinkedHashSet<>();
+            for (int i = 0; i < occurrenceCounts[dictionary]; i++) {
+                terms.add(matcher.term(dictionary, (int) (occurrences[dictionary][i] & 0xFFFF)));
+            }
+            return terms;
+        }
+    }
+}
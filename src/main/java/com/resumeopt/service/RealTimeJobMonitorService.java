@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFingerprint;
 import com.resumeopt.model.JobListing;
 import com.resumeopt.realtime.RealtimeEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,8 +23,8 @@ public class RealTimeJobMonitorService {
     @Autowired
     private com.resumeopt.repo.JobListingRepository jobListingRepository;
     
-    // Track previously seen jobs
-    private final Map<String, JobSnapshot> jobSnapshots = new ConcurrentHashMap<>();
+    // Track previously seen jobs by canonical fingerprint
+    private final Map<JobFingerprint, JobSnapshot> jobSnapshots = new ConcurrentHashMap<>();
     
     /**
      * Monitor for new jobs and changes
@@ -35,10 +36,10 @@ public class RealTimeJobMonitorService {
                 LocalDateTime.now().minusDays(1)
             );
             
-            Set<String> currentJobIds = new HashSet<>();
+            Set<JobFingerprint> currentJobIds = new HashSet<>();
             
             for (JobListing job : currentJobs) {
-                String jobKey = generateJobKey(job);
+                JobFingerprint jobKey = job.getCanonicalFingerprint();
                 currentJobIds.add(jobKey);
                 
                 JobSnapshot previous = jobSnapshots.get(jobKey);
@@ -142,11 +143,11 @@ public class RealTimeJobMonitorService {
     /**
      * Detect removed jobs
      */
-    private void detectRemovedJobs(Set<String> currentJobIds) {
-        Set<String> removed = new HashSet<>(jobSnapshots.keySet());
+    private void detectRemovedJobs(Set<JobFingerprint> currentJobIds) {
+        Set<JobFingerprint> removed = new HashSet<>(jobSnapshots.keySet());
         removed.removeAll(currentJobIds);
         
-        for (String jobKey : removed) {
+        for (JobFingerprint jobKey : removed) {
             JobSnapshot snapshot = jobSnapshots.remove(jobKey);
             if (snapshot != null) {
                 System.out.println("Job removed: " + snapshot.job.getTitle());
@@ -162,15 +163,6 @@ public class RealTimeJobMonitorService {
         }
     }
     
-    /**
-     * Generate unique key for job
-     */
-    private String generateJobKey(JobListing job) {
-        return (job.getApplyUrl() != null ? job.getApplyUrl() : "") +
-               "|" + (job.getTitle() != null ? job.getTitle() : "") +
-               "|" + (job.getCompany() != null ? job.getCompany() : "");
-    }
-    
     /**
      * Get monitoring statistics
      */
@@ -0,0 +1,78 @@
+package com.resumeopt.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves resume binaries that older versions kept in the {@code resume} row
+ * ({@code optimized_pdf}, {@code optimized_docx}, {@code original_file}) into
+ * the {@link BlobStore}, one row at a time, and clears the old columns.
+ * Schema updates leave those columns in place, so this runs on every start
+ * and does nothing once they are empty or gone.
+ */
+@Component
+public class ResumeBlobMigration {
+
+    private static final String[][] COLUMNS = {
+        {"OPTIMIZED_PDF", "OPTIMIZED_PDF_REF"},
+        {"OPTIMIZED_DOCX", "OPTIMIZED_DOCX_REF"},
+        {"ORIGINAL_FILE", "ORIGINAL_FILE_REF"}
+    };
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private BlobStore blobStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (jdbcTemplate == null || blobStore == null) {
+            return;
+        }
+        for (String[] column : COLUMNS) {
+            try {
+                int moved = migrate(column[0], column[1]);
+                if (moved > 0) {
+                    System.out.println("Moved " + moved + " resume " + column[0].toLowerCase() + " values to the blob store");
+                }
+            } catch (Exception e) {
+                System.err.println("Error moving resume " + column[0].toLowerCase() + " to the blob store: " + e.getMessage());
+            }
+        }
+    }
+
+    private int migrate(String column, String refColumn) {
+        Integer present = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE UPPER(TABLE_NAME) = 'RESUME' AND UPPER(COLUMN_NAME) = ?",
+            Integer.class, column);
+        if (present == null || present == 0) {
+            return 0;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM resume WHERE " + column + " IS NOT NULL AND " + refColumn + " IS NULL", Long.class);
+        for (Long id : ids) {
+            // Streamed from the row into the store rather than read into an array
+            String ref = jdbcTemplate.query("SELECT " + column + " FROM resume WHERE id = ?", rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                try (InputStream in = rs.getBinaryStream(1)) {
+                    return in == null ? null : blobStore.put(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, id);
+            jdbcTemplate.update("UPDATE resume SET " + refColumn + " = ?, " + column + " = NULL WHERE id = ?", ref, id);
+        }
+        return ids.size();
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFeatures;
 import com.resumeopt.model.JobListing;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +13,17 @@ import java.util.stream.Collectors;
 @Service
 public class ResumeMatchingService {
     
+    private static final String[] COMMON_SKILLS = {
+        "java", "python", "javascript", "react", "angular", "node.js", "spring",
+        "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile",
+        "machine learning", "data science", "devops", "microservices", "rest api"
+    };
+    private static final int[] COMMON_SKILL_IDS = JobFeatures.skillIds(COMMON_SKILLS);
+    
+    private static final java.util.regex.Pattern RESUME_EXPERIENCE = java.util.regex.Pattern.compile(
+        "(\\d+)\\s*(?:years?|yrs?|months?)", java.util.regex.Pattern.CASE_INSENSITIVE
+    );
+    
     /**
      * Calculate comprehensive match score between resume and job
      */
@@ -20,15 +32,11 @@ public class ResumeMatchingService {
             return 0.0;
         }
         
-        String jobDescription = job.getDescription() != null ? job.getDescription() : "";
-        String jobTitle = job.getTitle() != null ? job.getTitle() : "";
-        String combinedJobText = jobTitle + " " + jobDescription;
-        
         // Extract features from resume
         ResumeFeatures resumeFeatures = extractResumeFeatures(resumeText);
         
-        // Extract features from job
-        JobFeatures jobFeatures = extractJobFeatures(combinedJobText);
+        // Job features come from the listing's ingest-time features
+        JobRequirements jobFeatures = extractJobFeatures(job.getFeatures());
         
         // Calculate match scores for different aspects
         double skillMatch = calculateSkillMatch(resumeFeatures.skills, jobFeatures.requiredSkills);
@@ -53,23 +61,14 @@ public class ResumeMatchingService {
         String lowerText = resumeText.toLowerCase();
         
         // Extract skills
-        String[] commonSkills = {
-            "java", "python", "javascript", "react", "angular", "node.js", "spring",
-            "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile",
-            "machine learning", "data science", "devops", "microservices", "rest api"
-        };
-        
-        for (String skill : commonSkills) {
+        for (String skill : COMMON_SKILLS) {
             if (lowerText.contains(skill)) {
                 features.skills.add(skill);
             }
         }
         
         // Extract experience (look for years)
-        java.util.regex.Pattern expPattern = java.util.regex.Pattern.compile(
-            "(\\d+)\\s*(?:years?|yrs?|months?)", java.util.regex.Pattern.CASE_INSENSITIVE
-        );
-        java.util.regex.Matcher matcher = expPattern.matcher(resumeText);
+        java.util.regex.Matcher matcher = RESUME_EXPERIENCE.matcher(resumeText);
         if (matcher.find()) {
             try {
                 features.experience = Integer.parseInt(matcher.group(1));
@@ -98,44 +97,22 @@ public class ResumeMatchingService {
     }
     
     /**
-     * Extract features from job description
+     * Job features from the listing's ingest-time features
      */
-    private JobFeatures extractJobFeatures(String jobText) {
-        JobFeatures features = new JobFeatures();
-        String lowerText = jobText.toLowerCase();
-        
-        // Extract required skills
-        String[] commonSkills = {
-            "java", "python", "javascript", "react", "angular", "node.js", "spring",
-            "sql", "mongodb", "aws", "docker", "kubernetes", "git", "agile",
-            "machine learning", "data science", "devops", "microservices", "rest api"
-        };
-        
-        for (String skill : commonSkills) {
-            if (lowerText.contains(skill)) {
-                features.requiredSkills.add(skill);
-            }
-        }
+    private JobRequirements extractJobFeatures(JobFeatures jobFeatures) {
+        JobRequirements features = new JobRequirements();
         
-        // Extract experience requirement
-        java.util.regex.Pattern expPattern = java.util.regex.Pattern.compile(
-            "(\\d+)\\s*(?:to|-|–)?\\s*(\\d+)?\\s*(?:years?|yrs?)", java.util.regex.Pattern.CASE_INSENSITIVE
-        );
-        java.util.regex.Matcher matcher = expPattern.matcher(jobText);
-        if (matcher.find()) {
-            try {
-                features.experienceRequired = Integer.parseInt(matcher.group(1));
-            } catch (NumberFormatException e) {
-                features.experienceRequired = 0;
-            }
-        }
+        // Required skills
+        features.requiredSkills.addAll(jobFeatures.skills(COMMON_SKILL_IDS));
         
-        // Extract education requirements
-        if (lowerText.contains("bachelor") || lowerText.contains("b.tech") || 
-            lowerText.contains("b.e") || lowerText.contains("degree")) {
+        // Experience requirement
+        features.experienceRequired = Math.max(0, jobFeatures.minExperience());
+        
+        // Education requirements
+        if (jobFeatures.requiresEducation(JobFeatures.BACHELOR)) {
             features.educationRequired.add("bachelor");
         }
-        if (lowerText.contains("master") || lowerText.contains("m.tech")) {
+        if (jobFeatures.requiresEducation(JobFeatures.MASTER)) {
             features.educationRequired.add("master");
         }
         
@@ -212,9 +189,8 @@ public class ResumeMatchingService {
         }
         
         ResumeFeatures resumeFeatures = extractResumeFeatures(resumeText);
-        JobFeatures jobFeatures = extractJobFeatures(job.getDescription());
         
-        return jobFeatures.requiredSkills.stream()
+        return job.getFeatures().descriptionSkills(COMMON_SKILL_IDS).stream()
                 .filter(skill -> !resumeFeatures.skills.contains(skill))
                 .collect(Collectors.toList());
     }
@@ -230,9 +206,9 @@ public class ResumeMatchingService {
     }
     
     /**
-     * Job features
+     * Job requirements
      */
-    private static class JobFeatures {
+    private static class JobRequirements {
         List<String> requiredSkills = new ArrayList<>();
         int experienceRequired = 0;
         List<String> educationRequired = new ArrayList<>();
@@ -0,0 +1,501 @@
+package com.resumeopt.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.resumeopt.model.Resume;
+import com.resumeopt.model.ResumeChange;
+import com.resumeopt.model.ResumeDesign;
+import com.resumeopt.realtime.RealtimeEventPublisher;
+import com.resumeopt.repo.ResumeChangeRepository;
+import com.resumeopt.repo.ResumeRepository;
+
+/**
+ * The resume optimization pipeline: text extraction, optimization, design
+ * selection, DOCX generation, persistence and change tracking. PDFs are
+ * rendered when first downloaded.
+ *
+ * {@link #run} executes it on the calling thread. {@link #submit} queues it on
+ * a bounded pool and returns a job id at once; every stage is then published
+ * to {@code /topic/resume/{jobId}} and kept for polling through
+ * {@link #status(String)}, since a client subscribes only after it has the id.
+ * When the queue is full, submissions are rejected rather than piling up.
+ */
+@Service
+public class ResumeOptimizationJobService {
+
+    /**
+     * Pipeline stages in order, with the progress reported on entering each.
+     */
+    public enum Stage {
+        QUEUED(0), EXTRACTING(5), OPTIMIZING(20), DESIGNING(50), RENDERING(60),
+        SAVING(80), DIFFING(90), COMPLETED(100), FAILED(100);
+
+        private final int progress;
+
+        Stage(int progress) {
+            this.progress = progress;
+        }
+
+        public int progress() {
+            return progress;
+        }
+    }
+
+    /**
+     * Everything the pipeline needs from the request. An upload is kept as a
+     * {@link BlobStore} reference, since the upload itself is deleted when the
+     * request completes; see {@link ResumeOptimizationJobService#submission}.
+     */
+    public record Submission(String resumeText, String fileRef, String filename, String contentType,
+                             String jobDescription, String designName) {
+
+        boolean hasFile() {
+            return fileRef != null;
+        }
+    }
+
+    /**
+     * A finished optimization: the saved resume and what it was built from.
+     */
+    public record Outcome(String originalText, ResumeOptimizationService.OptimizationResult result, Resume resume,
+                          ResumeDesign selectedDesign, ResumeDesign recommendedDesign) {
+
+        public String optimizedText() {
+            return result.optimizedText() != null ? result.optimizedText() : originalText;
+        }
+    }
+
+    /**
+     * Latest state of a submitted job; resumeId and scores are set once it completes.
+     */
+    public record JobStatus(String jobId, Stage stage, int progress, String message, Long resumeId,
+                            Double atsOriginal, Double atsOptimized, long updatedAt) {
+
+        public boolean finished() {
+            return stage == Stage.COMPLETED || stage == Stage.FAILED;
+        }
+    }
+
+    /**
+     * Receives each stage as the pipeline enters it.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void stage(Stage stage, String message);
+    }
+
+    /**
+     * A failure that ends the pipeline, with a message fit for the user.
+     */
+    public static class OptimizationFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public OptimizationFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    @Autowired(required = false)
+    private ResumeParserService parserService;
+
+    @Autowired(required = false)
+    private ResumeOptimizationService optimizationService;
+
+    @Autowired(required = false)
+    private ResumeDesignService designService;
+
+    @Autowired(required = false)
+    private ResumeDocService docService;
+
+    @Autowired(required = false)
+    private ResumeDiffService diffService;
+
+    @Autowired(required = false)
+    private ResumeRepository resumeRepository;
+
+    @Autowired(required = false)
+    private ResumeChangeRepository changeRepository;
+
+    @Autowired(required = false)
+    private RealtimeEventPublisher events;
+
+    @Autowired(required = false)
+    private BlobStore blobStore;
+
+    // Optimizations running at once; each holds a document in memory while rendering
+    @Value("${resume.optimize.threads:2}")
+    private int threads = 2;
+
+    // Submissions waiting for a thread before new ones are rejected
+    @Value("${resume.optimize.queueCapacity:16}")
+    private int queueCapacity = 16;
+
+    // How long finished jobs stay available for polling
+    @Value("${resume.optimize.retainMinutes:30}")
+    private long retainMinutes = 30;
+
+    private final Map<String, JobStatus> jobs = new ConcurrentHashMap<>();
+    // Results of completed jobs, kept as long as their status
+    private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * Builds a submission from a request, streaming any upload into the blob
+     * store rather than reading it into the heap.
+     */
+    public Submission submission(MultipartFile resumeFile, String resumeText, String jobDescription,
+                                 String designName) throws IOException {
+        if (resumeFile == null || resumeFile.isEmpty()) {
+            return new Submission(resumeText, null, null, null, jobDescription, designName);
+        }
+        if (blobStore == null) {
+            throw new IOException("File storage is not available");
+        }
+        String ref;
+        try (InputStream in = resumeFile.getInputStream()) {
+            ref = blobStore.put(in);
+        }
+        return new Submission(null, ref,
+            resumeFile.getOriginalFilename() != null ? resumeFile.getOriginalFilename() : "resume",
+            resumeFile.getContentType() != null ? resumeFile.getContentType() : "application/octet-stream",
+            jobDescription, designName);
+    }
+
+    /**
+     * Queues an optimization and returns its job id.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public String submit(Submission submission) {
+        pruneFinished();
+        String jobId = UUID.randomUUID().toString();
+        update(jobId, Stage.QUEUED, "Waiting for a free worker", null);
+        try {
+            executor().execute(() -> runJob(jobId, submission));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw e;
+        }
+        return jobId;
+    }
+
+    /**
+     * @return the job's latest state, or null if it is unknown or expired
+     */
+    public JobStatus status(String jobId) {
+        return jobId == null ? null : jobs.get(jobId);
+    }
+
+    /**
+     * @return the completed job's result, or null if it is unfinished, failed, unknown or expired
+     */
+    public Outcome outcome(String jobId) {
+        return jobId == null ? null : outcomes.get(jobId);
+    }
+
+    public static String topic(String jobId) {
+        return "/topic/resume/" + jobId;
+    }
+
+    private void runJob(String jobId, Submission submission) {
+        try {
+            Outcome outcome = run(submission, (stage, message) -> update(jobId, stage, message, null));
+            outcomes.put(jobId, outcome);
+            update(jobId, Stage.COMPLETED, "Resume optimized", outcome);
+        } catch (OptimizationFailedException e) {
+            update(jobId, Stage.FAILED, e.getMessage(), null);
+        } catch (Exception e) {
+            System.err.println("Unexpected error in optimization job " + jobId + ": " + e.getMessage());
+            e.printStackTrace();
+            update(jobId, Stage.FAILED, "An unexpected error occurred: " + e.getMessage(), null);
+        }
+    }
+
+    private void update(String jobId, Stage stage, String message, Outcome outcome) {
+        Resume resume = outcome != null ? outcome.resume() : null;
+        JobStatus status = new JobStatus(jobId, stage, stage.progress(), message,
+            resume != null ? resume.getId() : null,
+            resume != null ? resume.getAtsOriginalScore() : null,
+            resume != null ? resume.getAtsOptimizedScore() : null,
+            System.currentTimeMillis());
+        jobs.put(jobId, status);
+
+        if (events == null) {
+            return;
+        }
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("jobId", jobId);
+            payload.put("stage", stage.name());
+            payload.put("progress", stage.progress());
+            payload.put("message", message != null ? message : "");
+            payload.put("ts", status.updatedAt());
+            if (outcome != null) {
+                payload.putAll(resultPayload(outcome));
+            }
+            events.publish(topic(jobId), payload);
+        } catch (Exception e) {
+            System.err.println("Error publishing optimization progress: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the whole pipeline on the calling thread. Design, DOCX and change
+     * tracking failures are logged and skipped, as they are optional.
+     *
+     * @throws OptimizationFailedException if the resume cannot be read, optimized
+     *         or saved, or a generated file cannot be stored
+     */
+    public Outcome run(Submission submission, ProgressListener progress) {
+        progress.stage(Stage.EXTRACTING, "Reading resume");
+        String originalText;
+        try {
+            if (submission.hasFile()) {
+                // Parsed from the stored upload, which the resume below refers to
+                originalText = parserService.extractStoredText(submission.filename(), submission.fileRef());
+            } else {
+                originalText = submission.resumeText() == null ? "" : submission.resumeText().trim();
+            }
+        } catch (Exception e) {
+            System.err.println("Error extracting text from file: " + e.getMessage());
+            e.printStackTrace();
+            throw new OptimizationFailedException("Error reading resume file: " + e.getMessage(), e);
+        }
+        if (originalText == null || originalText.isEmpty()) {
+            throw new OptimizationFailedException("Please provide resume text or upload a resume file.", null);
+        }
+        String jobDescription = submission.jobDescription();
+
+        progress.stage(Stage.OPTIMIZING, "Optimizing for the job description");
+        if (optimizationService == null) {
+            throw new OptimizationFailedException(
+                "Optimization service is not available. Please check server configuration.", null);
+        }
+        ResumeOptimizationService.OptimizationResult result;
+        try {
+            result = optimizationService.optimize(originalText, jobDescription);
+        } catch (NullPointerException e) {
+            System.err.println("ERROR: NullPointerException in optimization service: " + e.getMessage());
+            e.printStackTrace();
+            throw new OptimizationFailedException("Internal error: Optimization service encountered a null reference. Please try again or contact support.", e);
+        } catch (Exception e) {
+            System.err.println("ERROR: Exception in optimization service: " + e.getMessage());
+            e.printStackTrace();
+            String errorMsg = "Error optimizing resume: " + e.getMessage();
+            if (e.getCause() != null) {
+                errorMsg += " (Cause: " + e.getCause().getMessage() + ")";
+            }
+            throw new OptimizationFailedException(errorMsg, e);
+        }
+        if (result == null) {
+            throw new OptimizationFailedException("Optimization service returned null result. Please try again.", null);
+        }
+        String optimizedText = result.optimizedText() != null ? result.optimizedText() : originalText;
+
+        progress.stage(Stage.DESIGNING, "Choosing a design");
+        ResumeDesign selectedDesign = null;
+        ResumeDesign recommendedDesign = null;
+        try {
+            if (submission.designName() != null && !submission.designName().isBlank()) {
+                selectedDesign = ResumeDesign.fromString(submission.designName());
+            }
+            // Get recommendation if no design selected
+            if (selectedDesign == null && designService != null) {
+                recommendedDesign = designService.recommendDesign(originalText, jobDescription);
+                selectedDesign = recommendedDesign; // Use recommended as default
+            }
+        } catch (Exception e) {
+            System.err.println("Error processing design selection: " + e.getMessage());
+            // Continue without design
+        }
+
+        Resume r = new Resume();
+        r.setOriginalText(originalText);
+        r.setOptimizedText(optimizedText);
+        r.setAtsOriginalScore(result.originalScore() * 100.0);
+        r.setAtsOptimizedScore(result.optimizedScore() * 100.0);
+        r.setSelectedDesign(selectedDesign);
+        r.setRecommendedDesign(recommendedDesign);
+
+        String contentType = null;
+        if (submission.hasFile()) {
+            r.setOriginalFilename(submission.filename());
+            contentType = submission.contentType();
+            r.setContentType(contentType);
+            // Original file kept to preserve its template
+            r.setOriginalFileRef(submission.fileRef());
+        }
+
+        progress.stage(Stage.RENDERING, "Generating documents");
+        // The PDF is rendered on first download (see ResumeRenderService). The DOCX
+        // is made now: it needs the injected keywords and yields the change log
+        // If uploaded DOCX, preserve template and replace content
+        try {
+            if (submission.hasFile() && contentType.toLowerCase().contains("officedocument.wordprocessingml.document")
+                    && docService != null && blobStore != null) {
+                var docRes = docService.replaceContentWithOptimized(blobStore.read(submission.fileRef()), originalText,
+                        result.optimizedText(), result.injectedKeywords() != null ? result.injectedKeywords() : Collections.emptyList());
+                r.setOptimizedDocxRef(storeBlob(docRes.docxBytes, "DOCX"));
+                r.setChangeLogText(docRes.changeLogText);
+            } else {
+                r.setChangeLogText("Resume optimized; see insights and injected keywords.");
+            }
+        } catch (OptimizationFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Error processing DOCX: " + e.getMessage());
+            e.printStackTrace();
+            r.setChangeLogText("Resume optimized; see insights and injected keywords.");
+        }
+
+        progress.stage(Stage.SAVING, "Saving");
+        Resume savedResume;
+        try {
+            savedResume = resumeRepository.save(r);
+        } catch (Exception e) {
+            System.err.println("Error saving resume to database: " + e.getMessage());
+            e.printStackTrace();
+            throw new OptimizationFailedException("Error saving resume: " + e.getMessage(), e);
+        }
+
+        progress.stage(Stage.DIFFING, "Recording changes");
+        try {
+            if (diffService != null && changeRepository != null) {
+                List<ResumeChange> changes = diffService.generateChanges(originalText, optimizedText, savedResume);
+                // Only save meaningful changes
+                int savedCount = 0;
+                for (ResumeChange change : changes) {
+                    try {
+                        if (change != null && change.getChangeType() != null &&
+                            (change.getOriginalText() != null || change.getNewText() != null)) {
+                            changeRepository.save(change);
+                            savedCount++;
+                        }
+                    } catch (Exception e) {
+                        System.err.println("Error saving individual change: " + e.getMessage());
+                    }
+                }
+                System.out.println("Resume " + savedResume.getId() + ": generated " + changes.size()
+                    + " changes, saved " + savedCount);
+            }
+        } catch (Exception e) {
+            System.err.println("Error generating changes: " + e.getMessage());
+            e.printStackTrace();
+            // Continue - changes are optional
+        }
+
+        Outcome outcome = new Outcome(originalText, result, savedResume, selectedDesign, recommendedDesign);
+        try {
+            if (events != null) {
+                events.publish("/topic/resume/optimized", resultPayload(outcome));
+            }
+        } catch (Exception e) {
+            System.err.println("Error publishing event: " + e.getMessage());
+            // Continue - event publishing is optional
+        }
+        return outcome;
+    }
+
+    /**
+     * Stores a generated file and returns its reference.
+     *
+     * @throws OptimizationFailedException if it cannot be stored, rather than
+     *         completing a resume whose download would be missing
+     */
+    private String storeBlob(byte[] content, String what) {
+        if (content == null) {
+            return null;
+        }
+        if (blobStore == null) {
+            throw new OptimizationFailedException("Error storing " + what + ": file storage is not available", null);
+        }
+        try {
+            return blobStore.put(content);
+        } catch (IOException e) {
+            System.err.println("Error storing " + what + ": " + e.getMessage());
+            throw new OptimizationFailedException("Error storing " + what + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> resultPayload(Outcome outcome) {
+        ResumeOptimizationService.OptimizationResult result = outcome.result();
+        Long id = outcome.resume().getId();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("resumeId", id);
+        payload.put("atsOriginal", (int) Math.round(result.originalScore() * 100));
+        payload.put("atsOptimized", (int) Math.round(result.optimizedScore() * 100));
+        payload.put("optimizedText", outcome.optimizedText());
+        payload.put("injectedKeywords", result.injectedKeywords() != null ? result.injectedKeywords() : Collections.emptyList());
+        payload.put("insights", result.insights() != null ? result.insights() : Collections.emptyList());
+        payload.put("pdfUrl", "/resume/pdf/" + id);
+        payload.put("docxUrl", "/resume/docx/" + id);
+        payload.put("ts", System.currentTimeMillis());
+        return payload;
+    }
+
+    private void pruneFinished() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retainMinutes);
+        jobs.values().removeIf(status -> status.finished() && status.updatedAt() < cutoff);
+        outcomes.keySet().retainAll(jobs.keySet());
+    }
+
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    int poolSize = Math.max(1, threads);
+                    current = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "resume-optimizer-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        new ThreadPoolExecutor.AbortPolicy());
+                    current.allowCoreThreadTimeOut(true);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(10, TimeUnit.SECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -15,24 +16,241 @@ public class ResumeOptimizationService {
                                      List<String> injectedKeywords,
                                      List<String> insights) {}
 
+    // Identifies cached results; bump whenever scoring or rewriting changes
+    static final String ENGINE_VERSION = "1";
+
+    // Earlier results for the same resume and job description, when available
+    @Autowired(required = false)
+    private ResumeResultCache resultCache;
+
     private static final double TARGET_SCORE = 0.85; // Target 85% ATS score (realistic)
     private static final int MAX_OPTIMIZATION_ROUNDS = 4;
 
+    // Keyword dictionaries, matched like \b(term1|term2|...)\b with CASE_INSENSITIVE:
+    // earlier terms win at the same position, so their order matters
+    private static final String[] TECH_KEYWORD_TERMS = {
+        "java", "python", "javascript", "react", "angular", "node.js", "spring", "docker", "kubernetes", "aws",
+        "azure", "sql", "mongodb", "postgresql", "git", "ci/cd", "rest", "api", "microservices", "agile", "scrum"
+    };
+    private static final String[] ACTION_KEYWORD_TERMS = {
+        "developed", "designed", "implemented", "created", "built", "managed", "led", "improved", "optimized",
+        "automated", "collaborated", "delivered", "achieved", "resolved", "enhanced"
+    };
+    private static final String[] QUALIFICATION_TERMS = {
+        "bachelor", "master", "degree", "certification", "certified", "experience", "years", "fresher",
+        "entry-level", "intern", "internship"
+    };
+    private static final String[] ACTION_VERB_TERMS = {
+        "developed", "designed", "implemented", "created", "built", "managed", "led", "improved",
+        "optimized", "automated", "collaborated", "delivered", "achieved", "resolved", "enhanced",
+        "established", "initiated", "streamlined", "coordinated", "executed", "analyzed",
+        "architected", "engineered", "deployed", "integrated", "maintained", "supported"
+    };
+    private static final String[] TECH_SKILL_TERMS = {
+        "java", "python", "javascript", "typescript", "react", "angular", "vue", "node.js", "spring", "django", "flask", "express",
+        "docker", "kubernetes", "aws", "azure", "gcp", "sql", "mysql", "postgresql", "mongodb", "redis", "oracle",
+        "git", "github", "gitlab", "ci/cd", "jenkins", "rest", "api", "graphql", "microservices", "agile", "scrum", "devops",
+        "html", "css", "bootstrap", "tailwind", "c++", "c#", "php", "ruby", "go", "rust", "swift", "kotlin",
+        "machine learning", "ai", "tensorflow", "pytorch", "data science", "big data", "hadoop", "spark",
+        "linux", "unix", "shell", "bash", "powershell", "networking", "security", "cloud", "automation",
+        "n8n", "zapier", "make.com", "langchain", "workflow", "integration", "testing", "qa", "selenium", "junit"
+    };
+    // b.tech before btech and so on, as the optional dot of b\.?tech is tried first
+    private static final String[] EDUCATION_TERMS = {
+        "bachelor", "master", "phd", "degree", "diploma", "b.tech", "btech", "m.tech", "mtech", "b.e", "be",
+        "m.e", "me", "b.sc", "bsc", "m.sc", "msc", "computer science", "engineering"
+    };
+    private static final String[] HARD_SKILL_TERMS = {
+        "java", "python", "javascript", "typescript", "react", "angular", "vue", "node.js", "spring", "django", "flask", "express",
+        "sql", "mysql", "postgresql", "mongodb", "redis", "oracle", "sqlite",
+        "docker", "kubernetes", "aws", "azure", "gcp", "git", "github", "gitlab", "ci/cd", "jenkins",
+        "rest", "api", "graphql", "microservices", "agile", "scrum", "devops",
+        "html", "css", "bootstrap", "tailwind", "sass", "less",
+        "c++", "c#", "php", "ruby", "go", "rust", "swift", "kotlin",
+        "machine learning", "ai", "deep learning", "tensorflow", "pytorch",
+        "data structures", "algorithms", "oop", "design patterns"
+    };
+    private static final String[] SOFT_SKILL_TERMS = {
+        "communication", "collaboration", "teamwork", "leadership", "problem-solving",
+        "critical thinking", "creativity", "adaptability", "time management", "organization",
+        "attention to detail", "analytical", "interpersonal", "presentation", "negotiation",
+        "mentoring", "coaching", "conflict resolution", "multitasking", "flexibility"
+    };
+
+    // Common spelling and contraction fixes, applied to whole words
+    private static final Map<String, String> CORRECTIONS = new LinkedHashMap<>();
+    static {
+        CORRECTIONS.put("recieve", "receive");
+        CORRECTIONS.put("seperate", "separate");
+        CORRECTIONS.put("occured", "occurred");
+        CORRECTIONS.put("accomodate", "accommodate");
+        CORRECTIONS.put("acheive", "achieve");
+        CORRECTIONS.put("definately", "definitely");
+        CORRECTIONS.put("existance", "existence");
+        CORRECTIONS.put("exellent", "excellent");
+        CORRECTIONS.put("experiance", "experience");
+        CORRECTIONS.put("sucess", "success");
+        CORRECTIONS.put("sucessful", "successful");
+        CORRECTIONS.put("teh", "the");
+        CORRECTIONS.put("adn", "and");
+        CORRECTIONS.put("taht", "that");
+        CORRECTIONS.put("hte", "the");
+        CORRECTIONS.put("tecnology", "technology");
+        CORRECTIONS.put("tecnical", "technical");
+        CORRECTIONS.put("resposibility", "responsibility");
+        CORRECTIONS.put("resposibilities", "responsibilities");
+        CORRECTIONS.put("managment", "management");
+        CORRECTIONS.put("developement", "development");
+        CORRECTIONS.put("enviroment", "environment");
+        CORRECTIONS.put("occassion", "occasion");
+        CORRECTIONS.put("proffessional", "professional");
+        CORRECTIONS.put("recomend", "recommend");
+        CORRECTIONS.put("untill", "until");
+        CORRECTIONS.put("beleive", "believe");
+        CORRECTIONS.put("knowlege", "knowledge");
+        CORRECTIONS.put("occuring", "occurring");
+        CORRECTIONS.put("begining", "beginning");
+        CORRECTIONS.put("refered", "referred");
+        CORRECTIONS.put("writting", "writing");
+        CORRECTIONS.put("programing", "programming");
+        CORRECTIONS.put("analysing", "analyzing");
+        CORRECTIONS.put("utilising", "utilizing");
+
+        // Grammar fixes - contractions
+        CORRECTIONS.put("dont", "don't");
+        CORRECTIONS.put("cant", "can't");
+        CORRECTIONS.put("wont", "won't");
+        CORRECTIONS.put("isnt", "isn't");
+        CORRECTIONS.put("wasnt", "wasn't");
+        CORRECTIONS.put("havent", "haven't");
+        CORRECTIONS.put("hasnt", "hasn't");
+        CORRECTIONS.put("didnt", "didn't");
+        CORRECTIONS.put("doesnt", "doesn't");
+        CORRECTIONS.put("wouldnt", "wouldn't");
+        CORRECTIONS.put("couldnt", "couldn't");
+        CORRECTIONS.put("shouldnt", "shouldn't");
+    }
+
+    // Dictionary ids: positions in the list handed to KeywordMatcher.of
+    private static final int TECH_KEYWORDS = 0;
+    private static final int ACTION_KEYWORDS = 1;
+    private static final int QUALIFICATIONS = 2;
+    private static final int ACTION_VERBS = 3;
+    private static final int TECH_SKILLS = 4;
+    private static final int EDUCATION = 5;
+    private static final int HARD_SKILLS = 6;
+    private static final int SOFT_SKILLS = 7;
+    private static final int MISSPELLINGS = 8;
+    private static final KeywordMatcher DICTIONARIES = KeywordMatcher.of(List.of(
+        TECH_KEYWORD_TERMS, ACTION_KEYWORD_TERMS, QUALIFICATION_TERMS, ACTION_VERB_TERMS, TECH_SKILL_TERMS,
+        EDUCATION_TERMS, HARD_SKILL_TERMS, SOFT_SKILL_TERMS, CORRECTIONS.keySet().toArray(new String[0])));
+
+    // Aliases and synonyms to canonicalize terms
+    private static final Map<String, String> ALIASES = new HashMap<>();
+    private static final Map<String, List<String>> SYNONYMS = new HashMap<>();
+    static {
+        ALIASES.put("js", "javascript");
+        ALIASES.put("ts", "typescript");
+        ALIASES.put("ci", "ci/cd");
+        ALIASES.put("cd", "ci/cd");
+        ALIASES.put("k8s", "kubernetes");
+        ALIASES.put("k8", "kubernetes");
+        ALIASES.put("ml", "machine learning");
+        ALIASES.put("dl", "deep learning");
+        ALIASES.put("nlp", "natural language processing");
+        ALIASES.put("postgres", "postgresql");
+        ALIASES.put("sql server", "sql");
+        ALIASES.put("github", "git");
+        ALIASES.put("gitlab", "git");
+        SYNONYMS.put("ci/cd", List.of("continuous integration","continuous delivery","continuous deployment"));
+        SYNONYMS.put("microservices", List.of("service-oriented architecture","soa"));
+        SYNONYMS.put("sql", List.of("ms sql","sql server"));
+        SYNONYMS.put("git", List.of("github","gitlab"));
+        SYNONYMS.put("machine learning", List.of("ml"));
+        SYNONYMS.put("deep learning", List.of("dl"));
+        SYNONYMS.put("natural language processing", List.of("nlp"));
+        SYNONYMS.put("postgresql", List.of("postgres"));
+    }
+    private static final KeywordMatcher ALIAS_PHRASES = KeywordMatcher.of(List.<String[]>of(
+        java.util.stream.Stream.concat(ALIASES.keySet().stream(), SYNONYMS.values().stream().flatMap(List::stream))
+            .distinct().toArray(String[]::new)));
+
+    // Stored job requirements carry the dictionaries they were extracted with and
+    // are re-extracted once those change
+    private static final String REQUIREMENTS_FORMAT = "r1." + Integer.toHexString(Objects.hash(
+        Arrays.hashCode(TECH_KEYWORD_TERMS), Arrays.hashCode(ACTION_KEYWORD_TERMS), Arrays.hashCode(QUALIFICATION_TERMS),
+        Arrays.hashCode(TECH_SKILL_TERMS), Arrays.hashCode(EDUCATION_TERMS), ALIASES, SYNONYMS));
+
+    private static final Set<String> STOP_WORDS = Set.of("the", "and", "for", "are", "but", "not", "you", "all", "can", "her", "was", "one", "our", "out", "day", "get", "has", "him", "his", "how", "its", "may", "new", "now", "old", "see", "two", "way", "who", "with", "this", "that", "from", "have", "been", "more", "than", "their", "what", "when", "where", "which", "will", "your", "about", "after", "before", "during", "while", "through", "under", "over", "above", "below", "between", "among");
+
+    // Patterns that are not plain keyword lists, compiled once
+    private static final Pattern LINE_TERMINATOR = Pattern.compile("[\\n\\r\\u0085\\u2028\\u2029]");
+    private static final Pattern TEN_DIGITS_ON_ONE_LINE = Pattern.compile(".*\\d{10}.*");
+    private static final Pattern TEN_DIGITS = Pattern.compile("\\d{10}");
+    private static final Pattern PHONE_NUMBER = Pattern.compile("\\d{3}[-\\.\\s]\\d{3}[-\\.\\s]\\d{4}");
+    private static final Pattern EXPERIENCE_HEADER = Pattern.compile("(?im)^\\s*(Experience|Work History|Professional Experience|Employment History)\\b");
+    private static final Pattern EDUCATION_HEADER = Pattern.compile("(?im)^\\s*(Education|Academic Background|Qualifications)\\b");
+    private static final Pattern SKILLS_HEADER = Pattern.compile("(?im)^\\s*(Skills|Technical Skills|Core Competencies|Technologies)\\b");
+    private static final Pattern SUMMARY_HEADER = Pattern.compile("(?im)^\\s*(Summary|Professional Summary|Objective|Profile)\\b");
+    private static final Pattern PROJECT_HEADER = Pattern.compile("(?im)^\\s*(Projects|Key Projects)\\b");
+    private static final Pattern YEARS_OF_EXPERIENCE = Pattern.compile("\\b(\\d+)[\\s-]*(?:to|\\-)?[\\s-]*(\\d+)?[\\s-]*(?:years?|yrs?|year|yr)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern METRIC = Pattern.compile(
+        "\\b(\\d+(\\.\\d+)?%|\\$\\d+[kKmM]?|\\d+\\+?\\s*(years?|yrs?|users?|clients?|customers?|revenue|budget|savings|reduction|increase|growth|projects?|teams?|members?|staff|employees?|tickets?|issues?|bugs?|features?|sales?|leads?|conversions?|views?|downloads?))\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern STANDARD_EXPERIENCE_HEADER = Pattern.compile("(?m)(?i)^\\s*(My Work|Job History|Positions Held|Career History)\\s*$");
+    private static final Pattern STANDARD_EDUCATION_HEADER = Pattern.compile("(?m)(?i)^\\s*(Academic History|Studies|University|College|Schools)\\s*$");
+    private static final Pattern STANDARD_SKILLS_HEADER = Pattern.compile("(?m)(?i)^\\s*(Competencies|Abilities|Tech Stack|Toolbox)\\s*$");
+    private static final Pattern STANDARD_SUMMARY_HEADER = Pattern.compile("(?m)(?i)^\\s*(About Me|Bio|Intro|Introduction|Personal Statement)\\s*$");
+    private static final Pattern INJECT_SUMMARY_HEADER = Pattern.compile("(?im)^\\s*(summary|professional summary|objective|profile)\\s*$");
+    private static final Pattern INJECT_SKILLS_HEADER = Pattern.compile("(?im)^\\s*(skills|technical skills|core competencies)\\s*$");
+    private static final Pattern INJECT_EXPERIENCE_HEADER = Pattern.compile("(?im)^\\s*(experience|work experience|professional experience)\\s*$");
+    private static final Pattern LINE_BREAK = Pattern.compile("\\R");
+    private static final Pattern LINE_CONTENT = Pattern.compile("\\S.*$");
+    // Weak verb phrases and their replacements, applied in order
+    private static final Pattern[] WEAK_VERBS = {
+        Pattern.compile("(?i)" + Pattern.quote("worked on")),
+        Pattern.compile("(?i)" + Pattern.quote("helped with")),
+        Pattern.compile("(?i)" + Pattern.quote("did work on"))
+    };
+    private static final String[] STRONG_VERBS = { "developed", "contributed to", "worked on" };
+    private static final Pattern REPEATED_WORD = Pattern.compile("\\b(\\w+)\\s+\\1\\b");
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[ \\t]+");
+    private static final Pattern MISSING_SPACE_AFTER_PERIOD = Pattern.compile("\\.([A-Za-z])");
+    private static final Pattern MISSING_SPACE_AFTER_COMMA = Pattern.compile(",([A-Za-z])");
+    private static final Pattern MISSING_SPACE_AFTER_COLON = Pattern.compile(":([A-Za-z])");
+    private static final Pattern MISSING_SPACE_AFTER_SEMICOLON = Pattern.compile(";([A-Za-z])");
+    private static final Pattern EXTRA_BLANK_LINES = Pattern.compile("\n{3,}");
+
     @io.micrometer.core.annotation.Timed(value = "resume.optimize", description = "ATS optimization time")
     public OptimizationResult optimize(String resumeText, String jobDescription) {
+        if (resultCache == null) {
+            return computeOptimization(resumeText, jobDescription);
+        }
+        return resultCache.computeIfAbsent(
+            ResumeResultCache.key("optimize", ENGINE_VERSION, resumeText, jobDescription),
+            OptimizationResult.class, () -> computeOptimization(resumeText, jobDescription));
+    }
+
+    private OptimizationResult computeOptimization(String resumeText, String jobDescription) {
+        // One dictionary scan of the job description feeds every keyword-based step below;
+        // the resume is scanned line by line and only changed lines are rescanned per round
+        KeywordMatcher.Hits jobHits = DICTIONARIES.scan(jobDescription);
+        ResumeFeatures resume = new ResumeFeatures(resumeText);
+
         // Step 1: Extract and categorize skills
-        SkillsAnalysis skillsAnalysis = extractSkills(jobDescription, resumeText);
+        SkillsAnalysis skillsAnalysis = extractSkills(jobHits, resume);
         
         // Step 2: Advanced keyword extraction with context
-        Map<String, Double> jobKeywords = extractWeightedKeywords(jobDescription);
-        Map<String, Double> resumeKeywords = extractWeightedKeywords(resumeText);
+        JobRequirements job = JobRequirements.of(jobDescription, jobHits);
+        Map<String, Double> jobKeywords = job.keywords();
+        Map<String, Double> resumeKeywords = resume.keywords();
         
         // Step 3: Identify missing and low-weight keywords
         List<String> missingKeywords = findMissingKeywords(jobKeywords, resumeKeywords);
         List<String> lowWeightKeywords = findLowWeightKeywords(jobKeywords, resumeKeywords);
         
         // Step 4: Calculate advanced ATS scores
-        double originalScore = calculateAdvancedATSScore(jobKeywords, resumeKeywords, resumeText, jobDescription);
+        double originalScore = calculateAdvancedATSScore(job, resume.profile());
         
         // Step 5: Iterative optimization to reach target score
         String optimized = resumeText;
@@ -42,11 +260,12 @@ public class ResumeOptimizationService {
         for (int round = 0; round < MAX_OPTIMIZATION_ROUNDS && optimizedScore < TARGET_SCORE; round++) {
             // Comprehensive optimization - light grammar fixes + targeted keyword insertion only
             optimized = performComprehensiveOptimization(
-                optimized, jobDescription, skillsAnalysis, missingKeywords, lowWeightKeywords);
+                optimized, resume, jobDescription, skillsAnalysis, missingKeywords, lowWeightKeywords);
             
-            // Recalculate score
-            Map<String, Double> optimizedKeywords = extractWeightedKeywords(optimized);
-            optimizedScore = calculateAdvancedATSScore(jobKeywords, optimizedKeywords, optimized, jobDescription);
+            // Recalculate score from the lines this round changed
+            resume.update(optimized);
+            Map<String, Double> optimizedKeywords = resume.keywords();
+            optimizedScore = calculateAdvancedATSScore(job, resume.profile());
             
             // Find remaining missing keywords for next round
             missingKeywords = findMissingKeywords(jobKeywords, optimizedKeywords);
@@ -65,6 +284,30 @@ public class ResumeOptimizationService {
         
         return new OptimizationResult(optimized, originalScore, optimizedScore, allInjected, insights);
     }
+
+    /**
+     * Extracts the resume side of the ATS score once, so that one resume can
+     * be scored against many jobs with {@link #score}.
+     */
+    public ResumeProfile profileResume(String resumeText) {
+        return new ResumeFeatures(resumeText).profile();
+    }
+
+    /**
+     * Extracts the job side of the ATS score; the result depends only on the
+     * description and can be kept with the listing.
+     */
+    public JobRequirements profileJob(String jobDescription) {
+        return JobRequirements.of(jobDescription, DICTIONARIES.scan(jobDescription));
+    }
+
+    /**
+     * ATS score of a resume as it stands against a job, the same score that
+     * {@link #optimize} reports as the original score. Safe to call concurrently.
+     */
+    public double score(ResumeProfile resume, JobRequirements job) {
+        return calculateAdvancedATSScore(job, resume);
+    }
     
     /**
      * Contextual keyword enhancement - adds keywords naturally without disrupting structure
@@ -85,93 +328,93 @@ public class ResumeOptimizationService {
     /**
      * Advanced keyword extraction with weighting based on importance
      */
-    private Map<String, Double> extractWeightedKeywords(String text) {
-        Map<String, Double> keywords = new HashMap<>();
+    private static Map<String, Double> extractWeightedKeywords(String text, KeywordMatcher.Hits hits) {
         if (text == null || text.isBlank()) {
-            return keywords;
-        }
-        // Aliases and synonyms to canonicalize terms
-        Map<String, String> aliases = new HashMap<>();
-        aliases.put("js", "javascript");
-        aliases.put("ts", "typescript");
-        aliases.put("ci", "ci/cd");
-        aliases.put("cd", "ci/cd");
-        aliases.put("k8s", "kubernetes");
-        aliases.put("k8", "kubernetes");
-        aliases.put("ml", "machine learning");
-        aliases.put("dl", "deep learning");
-        aliases.put("nlp", "natural language processing");
-        aliases.put("postgres", "postgresql");
-        aliases.put("sql server", "sql");
-        aliases.put("github", "git");
-        aliases.put("gitlab", "git");
-        Map<String, List<String>> synonyms = new HashMap<>();
-        synonyms.put("ci/cd", List.of("continuous integration","continuous delivery","continuous deployment"));
-        synonyms.put("microservices", List.of("service-oriented architecture","soa"));
-        synonyms.put("sql", List.of("ms sql","sql server"));
-        synonyms.put("git", List.of("github","gitlab"));
-        synonyms.put("machine learning", List.of("ml"));
-        synonyms.put("deep learning", List.of("dl"));
-        synonyms.put("natural language processing", List.of("nlp"));
-        synonyms.put("postgresql", List.of("postgres"));
-        
+            return new HashMap<>();
+        }
+        String lower = text.toLowerCase();
+        Map<String, Double> keywords = weighKeywords(lower, hits);
+        boostAliases(keywords, lower);
+        return keywords;
+    }
+
+    /**
+     * Canonical keyword weights of a text, before alias boosts. Every weight is
+     * a sum over matches and words, so the weights of a text are the sums of
+     * the weights of its lines.
+     */
+    private static Map<String, Double> weighKeywords(String lower, KeywordMatcher.Hits hits) {
+        Map<String, Double> keywords = new HashMap<>();
         // Extract technical skills (higher weight)
-        Pattern techPattern = Pattern.compile("\\b(Java|Python|JavaScript|React|Angular|Node\\.js|Spring|Docker|Kubernetes|AWS|Azure|SQL|MongoDB|PostgreSQL|Git|CI/CD|REST|API|Microservices|Agile|Scrum)\\b", Pattern.CASE_INSENSITIVE);
-        extractPatternMatches(text, techPattern, keywords, 3.0);
+        addWeight(keywords, hits.all(TECH_KEYWORDS), 3.0);
         // Extract action verbs (medium weight)
-        Pattern actionPattern = Pattern.compile("\\b(developed|designed|implemented|created|built|managed|led|improved|optimized|automated|collaborated|delivered|achieved|resolved|enhanced)\\b", Pattern.CASE_INSENSITIVE);
-        extractPatternMatches(text, actionPattern, keywords, 2.0);
+        addWeight(keywords, hits.all(ACTION_KEYWORDS), 2.0);
         // Extract qualifications (medium weight)
-        Pattern qualPattern = Pattern.compile("\\b(bachelor|master|degree|certification|certified|experience|years|fresher|entry-level|intern|internship)\\b", Pattern.CASE_INSENSITIVE);
-        extractPatternMatches(text, qualPattern, keywords, 2.0);
+        addWeight(keywords, hits.all(QUALIFICATIONS), 2.0);
         // Extract all significant words (lower weight) with canonicalization
-        String[] words = text.toLowerCase().replaceAll("[^a-z0-9\\s]", " ").split("\\s+");
-        for (String word : words) {
+        for (int i = 0; i < lower.length(); ) {
+            if (!isWordCharacter(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < lower.length() && isWordCharacter(lower.charAt(end))) {
+                end++;
+            }
+            String word = lower.substring(i, end);
             if (word.length() > 3 && !isStopWord(word)) {
-                String canonical = aliases.getOrDefault(word, word);
+                String canonical = ALIASES.getOrDefault(word, word);
                 keywords.put(canonical, keywords.getOrDefault(canonical, 0.0) + 1.0);
             }
+            i = end;
         }
         // Canonicalize keys from earlier pattern matches
         Map<String, Double> remapped = new HashMap<>();
         for (Map.Entry<String, Double> e : keywords.entrySet()) {
             String k = e.getKey().toLowerCase();
-            String canonical = aliases.getOrDefault(k, k);
+            String canonical = ALIASES.getOrDefault(k, k);
             remapped.put(canonical, remapped.getOrDefault(canonical, 0.0) + e.getValue());
         }
-        keywords = remapped;
-        // Boost canonical terms when aliases/synonyms appear in the text
-        String lower = text.toLowerCase();
-        for (Map.Entry<String, String> e : aliases.entrySet()) {
+        return remapped;
+    }
+
+    /**
+     * Boost canonical terms when aliases/synonyms appear in the text. Only single-line
+     * text qualifies, as with the original .*\\b<alias>\\b.* match whose dots stop at line breaks
+     */
+    private static void boostAliases(Map<String, Double> keywords, String lower) {
+        Set<String> phrases = LINE_TERMINATOR.matcher(lower).find()
+            ? Set.of() : ALIAS_PHRASES.scan(lower).occurring(0);
+        for (Map.Entry<String, String> e : ALIASES.entrySet()) {
             String alias = e.getKey();
             String canonical = e.getValue();
-            if (lower.matches(".*\\b" + Pattern.quote(alias) + "\\b.*")) {
+            if (phrases.contains(alias)) {
                 keywords.put(canonical, keywords.getOrDefault(canonical, 0.0) + 2.0);
             }
         }
-        for (Map.Entry<String, List<String>> e : synonyms.entrySet()) {
+        for (Map.Entry<String, List<String>> e : SYNONYMS.entrySet()) {
             String canonical = e.getKey();
             for (String syn : e.getValue()) {
-                if (lower.matches(".*\\b" + Pattern.quote(syn) + "\\b.*")) {
+                if (phrases.contains(syn)) {
                     keywords.put(canonical, keywords.getOrDefault(canonical, 0.0) + 1.5);
                     break;
                 }
             }
         }
-        return keywords;
     }
     
-    private void extractPatternMatches(String text, Pattern pattern, Map<String, Double> keywords, double weight) {
-        java.util.regex.Matcher matcher = pattern.matcher(text);
-        while (matcher.find()) {
-            String match = matcher.group().toLowerCase();
+    private static void addWeight(Map<String, Double> keywords, List<String> matches, double weight) {
+        for (String match : matches) {
             keywords.put(match, keywords.getOrDefault(match, 0.0) + weight);
         }
     }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
     
-    private boolean isStopWord(String word) {
-        Set<String> stopWords = Set.of("the", "and", "for", "are", "but", "not", "you", "all", "can", "her", "was", "one", "our", "out", "day", "get", "has", "him", "his", "how", "its", "may", "new", "now", "old", "see", "two", "way", "who", "with", "this", "that", "from", "have", "been", "more", "than", "their", "what", "when", "where", "which", "will", "your", "about", "after", "before", "during", "while", "through", "under", "over", "above", "below", "between", "among");
-        return stopWords.contains(word);
+    private static boolean isStopWord(String word) {
+        return STOP_WORDS.contains(word);
     }
     
     /**
@@ -223,31 +466,28 @@ public class ResumeOptimizationService {
     /**
      * Advanced ATS score calculation - calibrated to match real ATS systems
      */
-    private double calculateAdvancedATSScore(Map<String, Double> jobKeywords, 
-                                            Map<String, Double> resumeKeywords,
-                                            String resumeText, 
-                                            String jobDescription) {
-        if (jobKeywords.isEmpty() || jobDescription.trim().isEmpty()) {
+    private double calculateAdvancedATSScore(JobRequirements job, ResumeProfile resume) {
+        if (job.keywords().isEmpty() || job.blank()) {
             return 0.25; // Low base score if no job description
         }
         
         // Factor 1: Exact keyword match ratio (50% weight) - most important
-        double keywordMatch = calculateStrictKeywordMatch(jobKeywords, resumeKeywords);
+        double keywordMatch = calculateStrictKeywordMatch(job.importantKeywords(), resume.keywords());
         
         // Factor 2: Technical skills match (20% weight)
-        double techSkillsMatch = calculateTechnicalSkillsMatch(jobDescription, resumeText);
+        double techSkillsMatch = calculateTechnicalSkillsMatch(job.techSkills(), resume.techSkills());
         
         // Factor 3: Experience relevance (10% weight)
-        double experienceMatch = calculateExperienceMatch(jobDescription, resumeText);
+        double experienceMatch = calculateExperienceMatch(job, resume.years());
         
         // Factor 4: Education match (10% weight)
-        double educationMatch = calculateEducationMatch(jobDescription, resumeText);
+        double educationMatch = calculateEducationMatch(job.education(), resume.education());
         
         // Factor 5: Action verbs and quantifiable achievements (5% weight)
-        double actionVerbsScore = calculateActionVerbsPresence(resumeText);
+        double actionVerbsScore = calculateActionVerbsPresence(resume.actionVerbs());
         
         // Factor 6: Resume completeness (5% weight)
-        double completenessScore = calculateCompletenessScore(resumeText);
+        double completenessScore = calculateCompletenessScore(resume);
         
         // Weighted combination - strict scoring
         double rawScore = (keywordMatch * 0.50) + 
@@ -259,18 +499,18 @@ public class ResumeOptimizationService {
         
         // Apply penalty for missing critical elements
         double penalty = 0.0;
-        String lowerResume = resumeText.toLowerCase();
         
         // Penalty for missing contact info
-        if (!lowerResume.contains("@") || !lowerResume.contains("phone") && !lowerResume.matches(".*\\d{10}.*")) {
+        if (!resume.has(ResumeFeatures.EMAIL) || !resume.has(ResumeFeatures.PHONE_WORD)
+                && !(resume.singleLine() && resume.has(ResumeFeatures.TEN_DIGIT_NUMBER))) {
             penalty += 0.05;
         }
         // Penalty for missing professional summary
-        if (!lowerResume.contains("summary") && !lowerResume.contains("objective") && !lowerResume.contains("profile")) {
+        if (!resume.has(ResumeFeatures.SUMMARY_WORD)) {
             penalty += 0.03;
         }
         // Penalty for short resume
-        if (resumeText.length() < 500) {
+        if (resume.length() < 500) {
             penalty += 0.08;
         }
         
@@ -291,28 +531,22 @@ public class ResumeOptimizationService {
     /**
      * Calculate resume completeness score with stricter header checks
      */
-    private double calculateCompletenessScore(String resumeText) {
+    private double calculateCompletenessScore(ResumeProfile resume) {
         double score = 0.0;
         
         // Use regex to find headers on their own lines or significant headers
-        Pattern expHeader = Pattern.compile("(?im)^\\s*(Experience|Work History|Professional Experience|Employment History)\\b");
-        Pattern eduHeader = Pattern.compile("(?im)^\\s*(Education|Academic Background|Qualifications)\\b");
-        Pattern skillsHeader = Pattern.compile("(?im)^\\s*(Skills|Technical Skills|Core Competencies|Technologies)\\b");
-        Pattern summaryHeader = Pattern.compile("(?im)^\\s*(Summary|Professional Summary|Objective|Profile)\\b");
-        Pattern projectHeader = Pattern.compile("(?im)^\\s*(Projects|Key Projects)\\b");
-        
         // Check for essential sections
-        if (findPattern(resumeText, expHeader)) score += 0.25;
-        if (findPattern(resumeText, eduHeader)) score += 0.20;
-        if (findPattern(resumeText, skillsHeader)) score += 0.20;
+        if (resume.has(ResumeFeatures.EXPERIENCE_SECTION)) score += 0.25;
+        if (resume.has(ResumeFeatures.EDUCATION_SECTION)) score += 0.20;
+        if (resume.has(ResumeFeatures.SKILLS_SECTION)) score += 0.20;
         
         // Contact info
-        if (resumeText.contains("@") && (resumeText.matches("(?s).*\\d{10}.*") || resumeText.matches("(?s).*\\d{3}[-\\.\\s]\\d{3}[-\\.\\s]\\d{4}.*"))) {
+        if (resume.emailAndPhone()) {
             score += 0.15;
         }
         
-        if (findPattern(resumeText, summaryHeader)) score += 0.10;
-        if (findPattern(resumeText, projectHeader) || resumeText.toLowerCase().contains("certifications")) score += 0.10;
+        if (resume.has(ResumeFeatures.SUMMARY_SECTION)) score += 0.10;
+        if (resume.has(ResumeFeatures.PROJECTS_SECTION) || resume.has(ResumeFeatures.CERTIFICATIONS_WORD)) score += 0.10;
         
         return Math.min(1.0, score);
     }
@@ -324,8 +558,25 @@ public class ResumeOptimizationService {
     /**
      * Strict keyword matching - calibrated for realistic scores
      */
-    private double calculateStrictKeywordMatch(Map<String, Double> jobKeywords, Map<String, Double> resumeKeywords) {
-        if (jobKeywords.isEmpty()) return 0.2;
+    private double calculateStrictKeywordMatch(List<String> importantKeywords, Map<String, Double> resumeKeywords) {
+        if (importantKeywords.isEmpty()) return 0.2;
+        
+        int matched = 0;
+        for (String keyword : importantKeywords) {
+            if (resumeKeywords.containsKey(keyword)) {
+                matched++;
+            }
+        }
+        
+        // Strict ratio - no inflation
+        return (double) matched / importantKeywords.size();
+    }
+
+    /**
+     * Job keywords that the strict keyword match counts
+     */
+    private static List<String> selectImportantKeywords(Map<String, Double> jobKeywords) {
+        if (jobKeywords.isEmpty()) return List.of();
         
         // Count all keywords with weight >= 1.5 (important keywords)
         List<String> importantKeywords = jobKeywords.entrySet().stream()
@@ -342,32 +593,13 @@ public class ResumeOptimizationService {
                 .collect(Collectors.toList());
         }
         
-        if (importantKeywords.isEmpty()) return 0.2;
-        
-        int matched = 0;
-        for (String keyword : importantKeywords) {
-            if (resumeKeywords.containsKey(keyword)) {
-                matched++;
-            }
-        }
-        
-        // Strict ratio - no inflation
-        return (double) matched / importantKeywords.size();
+        return importantKeywords;
     }
     
     /**
      * Calculate action verbs presence in resume
      */
-    private double calculateActionVerbsPresence(String resumeText) {
-        Pattern actionPattern = Pattern.compile(
-            "\\b(developed|designed|implemented|created|built|managed|led|improved|" +
-            "optimized|automated|collaborated|delivered|achieved|resolved|enhanced|" +
-            "established|initiated|streamlined|coordinated|executed|analyzed|" +
-            "architected|engineered|deployed|integrated|maintained|supported)\\b", 
-            Pattern.CASE_INSENSITIVE);
-        
-        Set<String> found = extractMatches(resumeText, actionPattern);
-        
+    private double calculateActionVerbsPresence(Set<String> found) {
         // Good resume should have at least 5-8 different action verbs
         return Math.min(1.0, found.size() / 8.0);
     }
@@ -390,20 +622,7 @@ public class ResumeOptimizationService {
         return matchedWeight / totalJobWeight;
     }
     
-    private double calculateTechnicalSkillsMatch(String jobDesc, String resume) {
-        Pattern techPattern = Pattern.compile(
-            "\\b(Java|Python|JavaScript|TypeScript|React|Angular|Vue|Node\\.js|Spring|Django|Flask|Express|" +
-            "Docker|Kubernetes|AWS|Azure|GCP|SQL|MySQL|PostgreSQL|MongoDB|Redis|Oracle|" +
-            "Git|GitHub|GitLab|CI/CD|Jenkins|REST|API|GraphQL|Microservices|Agile|Scrum|DevOps|" +
-            "HTML|CSS|Bootstrap|Tailwind|C\\+\\+|C#|PHP|Ruby|Go|Rust|Swift|Kotlin|" +
-            "Machine Learning|AI|TensorFlow|PyTorch|Data Science|Big Data|Hadoop|Spark|" +
-            "Linux|Unix|Shell|Bash|PowerShell|Networking|Security|Cloud|Automation|" +
-            "n8n|Zapier|Make\\.com|LangChain|Workflow|Integration|Testing|QA|Selenium|JUnit)\\b", 
-            Pattern.CASE_INSENSITIVE);
-        
-        Set<String> jobTech = extractMatches(jobDesc, techPattern);
-        Set<String> resumeTech = extractMatches(resume, techPattern);
-        
+    private double calculateTechnicalSkillsMatch(Set<String> jobTech, Set<String> resumeTech) {
         if (jobTech.isEmpty()) return 0.5; // Neutral if no specific tech required
         
         long matches = jobTech.stream().filter(resumeTech::contains).count();
@@ -412,20 +631,15 @@ public class ResumeOptimizationService {
         return (double) matches / jobTech.size();
     }
     
-    private double calculateExperienceMatch(String jobDesc, String resume) {
-        Pattern expPattern = Pattern.compile("\\b(\\d+)[\\s-]*(?:to|\\-)?[\\s-]*(\\d+)?[\\s-]*(?:years?|yrs?|year|yr)\\b", Pattern.CASE_INSENSITIVE);
-        
-        java.util.regex.Matcher jobMatcher = expPattern.matcher(jobDesc);
-        java.util.regex.Matcher resumeMatcher = expPattern.matcher(resume);
-        
-        if (!jobMatcher.find()) return 1.0; // No requirement specified
+    private double calculateExperienceMatch(JobRequirements job, String resumeYears) {
+        if (job.minYears() == null) return 1.0; // No requirement specified
         
-        int jobMinExp = Integer.parseInt(jobMatcher.group(1));
-        int jobMaxExp = jobMatcher.group(2) != null ? Integer.parseInt(jobMatcher.group(2)) : jobMinExp;
+        int jobMinExp = Integer.parseInt(job.minYears());
+        int jobMaxExp = job.maxYears() != null ? Integer.parseInt(job.maxYears()) : jobMinExp;
         
-        if (!resumeMatcher.find()) return 0.0; // No experience mentioned
+        if (resumeYears == null) return 0.0; // No experience mentioned
         
-        int resumeExp = Integer.parseInt(resumeMatcher.group(1));
+        int resumeExp = Integer.parseInt(resumeYears);
         
         if (resumeExp >= jobMinExp && resumeExp <= jobMaxExp) {
             return 1.0;
@@ -436,12 +650,7 @@ public class ResumeOptimizationService {
         }
     }
     
-    private double calculateEducationMatch(String jobDesc, String resume) {
-        Pattern eduPattern = Pattern.compile("\\b(bachelor|master|phd|degree|diploma|b\\.?tech|m\\.?tech|b\\.?e|m\\.?e|b\\.?sc|m\\.?sc|computer science|engineering)\\b", Pattern.CASE_INSENSITIVE);
-        
-        Set<String> jobEdu = extractMatches(jobDesc, eduPattern);
-        Set<String> resumeEdu = extractMatches(resume, eduPattern);
-        
+    private double calculateEducationMatch(Set<String> jobEdu, Set<String> resumeEdu) {
         if (jobEdu.isEmpty()) return 1.0;
         
         long matches = jobEdu.stream().filter(resumeEdu::contains).count();
@@ -453,21 +662,15 @@ public class ResumeOptimizationService {
      */
     private double calculateMeasurableAchievements(String resumeText) {
          // Look for metrics: percentages, currency, numerical values
-         Pattern metricPattern = Pattern.compile(
-             "\\b(\\d+(\\.\\d+)?%|\\$\\d+[kKmM]?|\\d+\\+?\\s*(years?|yrs?|users?|clients?|customers?|revenue|budget|savings|reduction|increase|growth|projects?|teams?|members?|staff|employees?|tickets?|issues?|bugs?|features?|sales?|leads?|conversions?|views?|downloads?))\\b", 
-             Pattern.CASE_INSENSITIVE);
-             
-         Set<String> matches = extractMatches(resumeText, metricPattern);
+         Set<String> matches = extractMatches(resumeText, METRIC);
         
         // Expect at least 5 measurable achievements for a full score
         return Math.min(1.0, matches.size() / 5.0);
     }
     
-    private double calculateActionVerbsMatch(String jobDesc, String resume) {
-        Pattern actionPattern = Pattern.compile("\\b(developed|designed|implemented|created|built|managed|led|improved|optimized|automated|collaborated|delivered|achieved|resolved|enhanced)\\b", Pattern.CASE_INSENSITIVE);
-        
-        Set<String> jobActions = extractMatches(jobDesc, actionPattern);
-        Set<String> resumeActions = extractMatches(resume, actionPattern);
+    private double calculateActionVerbsMatch(KeywordMatcher.Hits jobHits, KeywordMatcher.Hits resumeHits) {
+        Set<String> jobActions = jobHits.distinct(ACTION_KEYWORDS);
+        Set<String> resumeActions = resumeHits.distinct(ACTION_KEYWORDS);
         
         if (jobActions.isEmpty()) return 1.0;
         
@@ -506,42 +709,320 @@ public class ResumeOptimizationService {
         List<String> missingHardSkills = new ArrayList<>();
         List<String> missingSoftSkills = new ArrayList<>();
     }
+
+    /**
+     * Job-side scoring inputs, extracted once per optimization or per listing
+     */
+    public record JobRequirements(Map<String, Double> keywords,
+                                   List<String> importantKeywords,
+                                   Set<String> techSkills,
+                                   Set<String> education,
+                                   String minYears,
+                                   String maxYears,
+                                   boolean blank) {
+
+        static JobRequirements of(String jobDescription, KeywordMatcher.Hits hits) {
+            Map<String, Double> keywords = extractWeightedKeywords(jobDescription, hits);
+            java.util.regex.Matcher years = YEARS_OF_EXPERIENCE.matcher(jobDescription);
+            boolean required = years.find();
+            return new JobRequirements(keywords, selectImportantKeywords(keywords),
+                hits.distinct(TECH_SKILLS), hits.distinct(EDUCATION),
+                required ? years.group(1) : null, required ? years.group(2) : null,
+                jobDescription.trim().isEmpty());
+        }
+
+        /**
+         * Compact text form kept with a listing (see {@link com.resumeopt.model.JobListing#getMatchFeatures()}).
+         * It holds what {@link #score} reads, so keyword weights are not kept.
+         *
+         * @return null if a term contains a separator and cannot be stored
+         */
+        public String encode() {
+            String encoded = String.join(";", REQUIREMENTS_FORMAT, blank ? "1" : "0",
+                Objects.toString(minYears, "-"), Objects.toString(maxYears, "-"),
+                String.join(",", importantKeywords), String.join(",", techSkills), String.join(",", education));
+            int separators = 0;
+            for (int i = 0; i < encoded.length(); i++) {
+                if (encoded.charAt(i) == ';') {
+                    separators++;
+                }
+            }
+            boolean clean = separators == 6 && importantKeywords.stream().noneMatch(k -> k.contains(","))
+                && techSkills.stream().noneMatch(k -> k.contains(",")) && education.stream().noneMatch(k -> k.contains(","));
+            return clean ? encoded : null;
+        }
+
+        /**
+         * Whether {@code encoded} was written by {@link #encode()} with the current dictionaries.
+         */
+        public static boolean isCurrent(String encoded) {
+            return encoded != null && encoded.startsWith(REQUIREMENTS_FORMAT + ";");
+        }
+
+        /**
+         * Reads requirements written by {@link #encode()}; null if there are none or they
+         * were written with other dictionaries. The keyword map holds the important
+         * keywords only, which is all that scoring reads of it.
+         */
+        public static JobRequirements decode(String encoded) {
+            if (!isCurrent(encoded)) {
+                return null;
+            }
+            String[] parts = encoded.split(";", -1);
+            if (parts.length != 7) {
+                return null;
+            }
+            List<String> important = split(parts[4]);
+            Map<String, Double> keywords = new LinkedHashMap<>();
+            for (String keyword : important) {
+                keywords.put(keyword, 1.0);
+            }
+            return new JobRequirements(keywords, important, new HashSet<>(split(parts[5])),
+                new HashSet<>(split(parts[6])), "-".equals(parts[2]) ? null : parts[2],
+                "-".equals(parts[3]) ? null : parts[3], "1".equals(parts[1]));
+        }
+
+        private static List<String> split(String terms) {
+            return terms.isEmpty() ? List.of() : List.of(terms.split(",", -1));
+        }
+    }
+
+    /**
+     * Resume-side scoring inputs of one version of a resume. Views of a
+     * {@link ResumeFeatures} are only valid until it is next updated; profiles
+     * from {@link #profileResume} are never updated and can be shared.
+     */
+    public record ResumeProfile(Map<String, Double> keywords,
+                                Set<String> techSkills,
+                                Set<String> education,
+                                Set<String> actionVerbs,
+                                int flags,
+                                boolean singleLine,
+                                int length,
+                                String years,
+                                boolean emailAndPhone) {
+
+        boolean has(int flag) {
+            return (flags & (1 << flag)) != 0;
+        }
+    }
+
+    /**
+     * Resume-side scoring inputs, kept per line so that a new version of the
+     * text only rescans the lines that changed. Dictionary matches, keyword
+     * weights and header checks never span a line break, so the totals over
+     * the lines equal what a scan of the whole text would find.
+     */
+    private static final class ResumeFeatures {
+        static final int EXPERIENCE_SECTION = 0;
+        static final int EDUCATION_SECTION = 1;
+        static final int SKILLS_SECTION = 2;
+        static final int SUMMARY_SECTION = 3;
+        static final int PROJECTS_SECTION = 4;
+        static final int EMAIL = 5;
+        static final int TEN_DIGIT_NUMBER = 6;
+        static final int PHONE_WORD = 7;
+        static final int SUMMARY_WORD = 8;
+        static final int CERTIFICATIONS_WORD = 9;
+        static final int OTHER_LINE_TERMINATOR = 10;
+        static final int NOT_BLANK = 11;
+        private static final int FLAGS = 12;
+        private static final int[] COUNTED_DICTIONARIES = { TECH_SKILLS, EDUCATION, ACTION_VERBS };
+
+        /**
+         * Features of one line of text, without its line break
+         */
+        record Line(String text, KeywordMatcher.Hits hits, Map<String, Double> keywords, int flags) {
+
+            static Line of(String text) {
+                String lower = text.toLowerCase();
+                KeywordMatcher.Hits hits = DICTIONARIES.scan(text);
+                int flags = 0;
+                flags |= flag(EXPERIENCE_SECTION, EXPERIENCE_HEADER.matcher(text).find());
+                flags |= flag(EDUCATION_SECTION, EDUCATION_HEADER.matcher(text).find());
+                flags |= flag(SKILLS_SECTION, SKILLS_HEADER.matcher(text).find());
+                flags |= flag(SUMMARY_SECTION, SUMMARY_HEADER.matcher(text).find());
+                flags |= flag(PROJECTS_SECTION, PROJECT_HEADER.matcher(text).find());
+                flags |= flag(EMAIL, text.indexOf('@') >= 0);
+                flags |= flag(TEN_DIGIT_NUMBER, TEN_DIGITS.matcher(text).find());
+                flags |= flag(PHONE_WORD, lower.contains("phone"));
+                flags |= flag(SUMMARY_WORD, lower.contains("summary") || lower.contains("objective") || lower.contains("profile"));
+                flags |= flag(CERTIFICATIONS_WORD, lower.contains("certifications"));
+                flags |= flag(OTHER_LINE_TERMINATOR, LINE_TERMINATOR.matcher(text).find());
+                flags |= flag(NOT_BLANK, !text.isBlank());
+                return new Line(text, hits, weighKeywords(lower, hits), flags);
+            }
+
+            private static int flag(int flag, boolean set) {
+                return set ? 1 << flag : 0;
+            }
+        }
+
+        // Lines seen during this optimization, so that moved or restored lines are not rescanned
+        private final Map<String, Line> seen = new HashMap<>();
+        private final Map<String, Double> keywords = new HashMap<>();
+        private final List<Map<String, Integer>> termCounts = new ArrayList<>();
+        private final int[] flagCounts = new int[FLAGS];
+        private List<Line> lines = List.of();
+        private String text = "";
+
+        ResumeFeatures(String text) {
+            for (int i = 0; i < COUNTED_DICTIONARIES.length; i++) {
+                termCounts.add(new HashMap<>());
+            }
+            update(text);
+        }
+
+        /**
+         * Moves to a new version of the text. Lines kept at either end are
+         * skipped; only the lines in between are swapped out of the totals,
+         * and only lines not seen before are scanned.
+         */
+        void update(String newText) {
+            List<Line> next = new ArrayList<>();
+            int from = 0;
+            while (true) {
+                int lineEnd = newText.indexOf('\n', from);
+                String line = lineEnd < 0 ? newText.substring(from) : newText.substring(from, lineEnd);
+                next.add(seen.computeIfAbsent(line, Line::of));
+                if (lineEnd < 0) {
+                    break;
+                }
+                from = lineEnd + 1;
+            }
+
+            int common = Math.min(lines.size(), next.size());
+            int prefix = 0;
+            while (prefix < common && lines.get(prefix) == next.get(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < common - prefix
+                    && lines.get(lines.size() - 1 - suffix) == next.get(next.size() - 1 - suffix)) {
+                suffix++;
+            }
+            for (int i = prefix; i < lines.size() - suffix; i++) {
+                apply(lines.get(i), -1);
+            }
+            for (int i = prefix; i < next.size() - suffix; i++) {
+                apply(next.get(i), 1);
+            }
+            lines = next;
+            text = newText;
+        }
+
+        private void apply(Line line, int sign) {
+            for (Map.Entry<String, Double> e : line.keywords().entrySet()) {
+                // Weights are small whole numbers, so they cancel exactly
+                double weight = keywords.getOrDefault(e.getKey(), 0.0) + sign * e.getValue();
+                if (weight == 0.0) {
+                    keywords.remove(e.getKey());
+                } else {
+                    keywords.put(e.getKey(), weight);
+                }
+            }
+            for (int i = 0; i < COUNTED_DICTIONARIES.length; i++) {
+                Map<String, Integer> counts = termCounts.get(i);
+                for (String term : line.hits().all(COUNTED_DICTIONARIES[i])) {
+                    counts.merge(term, sign, (a, b) -> a + b == 0 ? null : a + b);
+                }
+            }
+            for (int flag = 0; flag < FLAGS; flag++) {
+                if ((line.flags() & (1 << flag)) != 0) {
+                    flagCounts[flag] += sign;
+                }
+            }
+        }
+
+        String text() {
+            return text;
+        }
+
+        /**
+         * Scoring inputs of the current text. The years pattern allows line
+         * breaks between its parts and a phone number may be split across
+         * lines, so both are looked up in the whole text.
+         */
+        ResumeProfile profile() {
+            int flags = 0;
+            for (int flag = 0; flag < FLAGS; flag++) {
+                if (has(flag)) {
+                    flags |= 1 << flag;
+                }
+            }
+            java.util.regex.Matcher years = YEARS_OF_EXPERIENCE.matcher(text);
+            boolean emailAndPhone = has(EMAIL) && (has(TEN_DIGIT_NUMBER) || PHONE_NUMBER.matcher(text).find());
+            return new ResumeProfile(keywords(), terms(TECH_SKILLS), terms(EDUCATION), terms(ACTION_VERBS),
+                flags, singleLine(), text.length(), years.find() ? years.group(1) : null, emailAndPhone);
+        }
+
+        List<Line> lines() {
+            return lines;
+        }
+
+        boolean has(int flag) {
+            return flagCounts[flag] > 0;
+        }
+
+        /**
+         * Whether the text has no line terminator at all
+         */
+        boolean singleLine() {
+            return lines.size() == 1 && !has(OTHER_LINE_TERMINATOR);
+        }
+
+        /**
+         * Distinct terms of a counted dictionary that occur in the text
+         */
+        Set<String> terms(int dictionary) {
+            for (int i = 0; i < COUNTED_DICTIONARIES.length; i++) {
+                if (COUNTED_DICTIONARIES[i] == dictionary) {
+                    return Collections.unmodifiableSet(termCounts.get(i).keySet());
+                }
+            }
+            throw new IllegalArgumentException("Dictionary is not counted: " + dictionary);
+        }
+
+        /**
+         * Distinct matches of a dictionary in order of first occurrence
+         */
+        Set<String> distinct(int dictionary) {
+            Set<String> terms = new LinkedHashSet<>();
+            for (Line line : lines) {
+                terms.addAll(line.hits().all(dictionary));
+            }
+            return terms;
+        }
+
+        /**
+         * Weighted keywords of the whole text, as extractWeightedKeywords computes them
+         */
+        Map<String, Double> keywords() {
+            if (!has(NOT_BLANK)) {
+                return new HashMap<>();
+            }
+            if (singleLine()) {
+                Map<String, Double> boosted = new HashMap<>(keywords);
+                boostAliases(boosted, text.toLowerCase());
+                return boosted;
+            }
+            return Collections.unmodifiableMap(keywords);
+        }
+    }
     
     /**
      * Extract and categorize hard and soft skills from job description and resume
      */
-    private SkillsAnalysis extractSkills(String jobDescription, String resumeText) {
+    private SkillsAnalysis extractSkills(KeywordMatcher.Hits jobHits, ResumeFeatures resume) {
         SkillsAnalysis analysis = new SkillsAnalysis();
         
-        // Hard skills patterns (technical skills)
-        Pattern hardSkillsPattern = Pattern.compile(
-            "\\b(Java|Python|JavaScript|TypeScript|React|Angular|Vue|Node\\.js|Spring|Django|Flask|Express|" +
-            "SQL|MySQL|PostgreSQL|MongoDB|Redis|Oracle|SQLite|" +
-            "Docker|Kubernetes|AWS|Azure|GCP|Git|GitHub|GitLab|CI/CD|Jenkins|" +
-            "REST|API|GraphQL|Microservices|Agile|Scrum|DevOps|" +
-            "HTML|CSS|Bootstrap|Tailwind|SASS|LESS|" +
-            "C\\+\\+|C#|PHP|Ruby|Go|Rust|Swift|Kotlin|" +
-            "Machine Learning|AI|Deep Learning|TensorFlow|PyTorch|" +
-            "Data Structures|Algorithms|OOP|Design Patterns)\\b",
-            Pattern.CASE_INSENSITIVE
-        );
-        
-        // Soft skills patterns
-        Pattern softSkillsPattern = Pattern.compile(
-            "\\b(communication|collaboration|teamwork|leadership|problem-solving|" +
-            "critical thinking|creativity|adaptability|time management|organization|" +
-            "attention to detail|analytical|interpersonal|presentation|negotiation|" +
-            "mentoring|coaching|conflict resolution|multitasking|flexibility)\\b",
-            Pattern.CASE_INSENSITIVE
-        );
-        
         // Extract from job description
-        analysis.jobHardSkills = extractMatchesList(jobDescription, hardSkillsPattern);
-        analysis.jobSoftSkills = extractMatchesList(jobDescription, softSkillsPattern);
+        analysis.jobHardSkills = new ArrayList<>(jobHits.distinct(HARD_SKILLS));
+        analysis.jobSoftSkills = new ArrayList<>(jobHits.distinct(SOFT_SKILLS));
         
         // Extract from resume
-        analysis.resumeHardSkills = extractMatchesList(resumeText, hardSkillsPattern);
-        analysis.resumeSoftSkills = extractMatchesList(resumeText, softSkillsPattern);
+        analysis.resumeHardSkills = new ArrayList<>(resume.distinct(HARD_SKILLS));
+        analysis.resumeSoftSkills = new ArrayList<>(resume.distinct(SOFT_SKILLS));
         
         // Find missing skills
         for (String skill : analysis.jobHardSkills) {
@@ -559,25 +1040,17 @@ public class ResumeOptimizationService {
         return analysis;
     }
     
-    private List<String> extractMatchesList(String text, Pattern pattern) {
-        Set<String> matches = new LinkedHashSet<>();
-        java.util.regex.Matcher matcher = pattern.matcher(text);
-        while (matcher.find()) {
-            matches.add(matcher.group().toLowerCase());
-        }
-        return new ArrayList<>(matches);
-    }
-    
     /**
      * Comprehensive optimization - PRESERVE original structure, only fix issues and add missing keywords
      */
-    private String performComprehensiveOptimization(String resumeText, String jobDescription,
+    private String performComprehensiveOptimization(String resumeText, ResumeFeatures resume,
+                                                   String jobDescription,
                                                    SkillsAnalysis skillsAnalysis,
                                                    List<String> missingKeywords,
                                                    List<String> lowWeightKeywords) {
         String optimized = resumeText;
         // Step 1: Fix grammar and spelling ONLY (preserve overall structure)
-        optimized = fixGrammarAndSpelling(optimized);
+        optimized = fixGrammarAndSpelling(optimized, resume);
         // Step 1.5: Minimal action-verb enhancement and duplicate removal
         optimized = enhanceActionVerbs(optimized);
         optimized = removeRepetitiveWords(optimized);
@@ -595,24 +1068,20 @@ public class ResumeOptimizationService {
         String result = text;
         
         // Experience Headers
-        result = replaceHeader(result, "(?i)^\\s*(My Work|Job History|Positions Held|Career History)\\s*$", "Professional Experience");
+        result = STANDARD_EXPERIENCE_HEADER.matcher(result).replaceAll("Professional Experience");
         
         // Education Headers
-        result = replaceHeader(result, "(?i)^\\s*(Academic History|Studies|University|College|Schools)\\s*$", "Education");
+        result = STANDARD_EDUCATION_HEADER.matcher(result).replaceAll("Education");
         
         // Skills Headers
-        result = replaceHeader(result, "(?i)^\\s*(Competencies|Abilities|Tech Stack|Toolbox)\\s*$", "Technical Skills");
+        result = STANDARD_SKILLS_HEADER.matcher(result).replaceAll("Technical Skills");
         
         // Summary Headers
-        result = replaceHeader(result, "(?i)^\\s*(About Me|Bio|Intro|Introduction|Personal Statement)\\s*$", "Professional Summary");
+        result = STANDARD_SUMMARY_HEADER.matcher(result).replaceAll("Professional Summary");
         
         return result;
     }
     
-    private String replaceHeader(String text, String regex, String replacement) {
-        return text.replaceAll("(?m)" + regex, replacement);
-    }
-
     /**
      * Insert a small number of high‑value missing keywords into:
      * - Summary section
@@ -638,19 +1107,14 @@ public class ResumeOptimizationService {
             return text;
         }
 
-        // Helper patterns
-        Pattern summaryHeader = Pattern.compile("(?im)^\\s*(summary|professional summary|objective|profile)\\s*$");
-        Pattern skillsHeader = Pattern.compile("(?im)^\\s*(skills|technical skills|core competencies)\\s*$");
-        Pattern experienceHeader = Pattern.compile("(?im)^\\s*(experience|work experience|professional experience)\\s*$");
-
         // Inject into Summary block (up to 5 keywords)
-        text = injectIntoBlock(text, summaryHeader, topKeywords, 0, true, 5);
+        text = injectIntoBlock(text, INJECT_SUMMARY_HEADER, topKeywords, 0, true, 5);
 
         // Inject into Skills block (up to 10 keywords)
-        text = injectIntoBlock(text, skillsHeader, topKeywords, 0, false, 10);
+        text = injectIntoBlock(text, INJECT_SKILLS_HEADER, topKeywords, 0, false, 10);
 
         // Light injection into a few experience bullets
-        text = injectIntoExperienceBullets(text, experienceHeader, topKeywords);
+        text = injectIntoExperienceBullets(text, INJECT_EXPERIENCE_HEADER, topKeywords);
 
         return text;
     }
@@ -667,7 +1131,7 @@ public class ResumeOptimizationService {
         int headerEnd = text.indexOf('\n', m.end());
         if (headerEnd < 0) headerEnd = text.length();
 
-        String[] lines = text.substring(headerEnd).split("\\R", -1);
+        String[] lines = LINE_BREAK.split(text.substring(headerEnd), -1);
         int targetIndex = -1;
         for (int i = 0, seen = 0; i < lines.length; i++) {
             String l = lines[i].trim();
@@ -737,7 +1201,7 @@ public class ResumeOptimizationService {
 
         String before = text.substring(0, headerEnd);
         String after = text.substring(headerEnd);
-        String[] lines = after.split("\\R", -1);
+        String[] lines = LINE_BREAK.split(after, -1);
 
         int bulletsUpdated = 0;
         for (int i = 0; i < lines.length && bulletsUpdated < 3; i++) {
@@ -756,7 +1220,7 @@ public class ResumeOptimizationService {
                 String addition = String.join(", ", toInsert);
                 String updated = trimmed + " (Tech: " + addition + ")";
                 // Preserve original leading whitespace
-                lines[i] = line.replaceFirst("\\S.*$", updated);
+                lines[i] = LINE_CONTENT.matcher(line).replaceFirst(updated);
                 bulletsUpdated++;
             }
         }
@@ -786,14 +1250,9 @@ public class ResumeOptimizationService {
      */
     private String enhanceActionVerbs(String text) {
         // Only replace very weak verbs, preserve most original content
-        Map<String, String> verbReplacements = new LinkedHashMap<>();
-        verbReplacements.put("worked on", "developed");
-        verbReplacements.put("helped with", "contributed to");
-        verbReplacements.put("did work on", "worked on");
-        
         String result = text;
-        for (Map.Entry<String, String> entry : verbReplacements.entrySet()) {
-            result = result.replaceAll("(?i)" + Pattern.quote(entry.getKey()), entry.getValue());
+        for (int i = 0; i < WEAK_VERBS.length; i++) {
+            result = WEAK_VERBS[i].matcher(result).replaceAll(STRONG_VERBS[i]);
         }
         
         return result;
@@ -804,86 +1263,44 @@ public class ResumeOptimizationService {
      */
     private String removeRepetitiveWords(String text) {
         // Only remove consecutive duplicate words, preserve all other content
-        return text.replaceAll("\\b(\\w+)\\s+\\1\\b", "$1");
+        return REPEATED_WORD.matcher(text).replaceAll("$1");
     }
     
     /**
-     * Fix common grammar and spelling mistakes
+     * Fix common grammar and spelling mistakes. {@code resume} must describe
+     * {@code text} itself.
      */
-    private String fixGrammarAndSpelling(String text) {
-        String result = text;
-        
-        // Common spelling corrections
-        Map<String, String> corrections = new LinkedHashMap<>();
-        corrections.put("recieve", "receive");
-        corrections.put("seperate", "separate");
-        corrections.put("occured", "occurred");
-        corrections.put("accomodate", "accommodate");
-        corrections.put("acheive", "achieve");
-        corrections.put("definately", "definitely");
-        corrections.put("existance", "existence");
-        corrections.put("exellent", "excellent");
-        corrections.put("experiance", "experience");
-        corrections.put("sucess", "success");
-        corrections.put("sucessful", "successful");
-        corrections.put("teh", "the");
-        corrections.put("adn", "and");
-        corrections.put("taht", "that");
-        corrections.put("hte", "the");
-        corrections.put("tecnology", "technology");
-        corrections.put("tecnical", "technical");
-        corrections.put("resposibility", "responsibility");
-        corrections.put("resposibilities", "responsibilities");
-        corrections.put("managment", "management");
-        corrections.put("developement", "development");
-        corrections.put("enviroment", "environment");
-        corrections.put("occassion", "occasion");
-        corrections.put("proffessional", "professional");
-        corrections.put("recomend", "recommend");
-        corrections.put("untill", "until");
-        corrections.put("beleive", "believe");
-        corrections.put("knowlege", "knowledge");
-        corrections.put("occuring", "occurring");
-        corrections.put("begining", "beginning");
-        corrections.put("refered", "referred");
-        corrections.put("writting", "writing");
-        corrections.put("programing", "programming");
-        corrections.put("analysing", "analyzing");
-        corrections.put("utilising", "utilizing");
-        
-        // Grammar fixes - contractions
-        corrections.put("dont", "don't");
-        corrections.put("cant", "can't");
-        corrections.put("wont", "won't");
-        corrections.put("isnt", "isn't");
-        corrections.put("wasnt", "wasn't");
-        corrections.put("havent", "haven't");
-        corrections.put("hasnt", "hasn't");
-        corrections.put("didnt", "didn't");
-        corrections.put("doesnt", "doesn't");
-        corrections.put("wouldnt", "wouldn't");
-        corrections.put("couldnt", "couldn't");
-        corrections.put("shouldnt", "shouldn't");
-        
-        // Apply spelling corrections first
-        for (Map.Entry<String, String> entry : corrections.entrySet()) {
-            result = result.replaceAll("(?i)\\b" + Pattern.quote(entry.getKey()) + "\\b", entry.getValue());
+    private String fixGrammarAndSpelling(String text, ResumeFeatures resume) {
+        // Apply spelling corrections first: hits are whole words, so one pass
+        // replaces them all
+        StringBuilder corrected = new StringBuilder(text.length());
+        int last = 0;
+        int lineStart = 0;
+        for (ResumeFeatures.Line line : resume.lines()) {
+            KeywordMatcher.Hits hits = line.hits();
+            for (int i = 0; i < hits.count(MISSPELLINGS); i++) {
+                corrected.append(text, last, lineStart + hits.start(MISSPELLINGS, i))
+                         .append(CORRECTIONS.get(hits.get(MISSPELLINGS, i)));
+                last = lineStart + hits.end(MISSPELLINGS, i);
+            }
+            lineStart += line.text().length() + 1;
         }
+        String result = corrected.append(text, last, text.length()).toString();
         
         // Fix multiple spaces (but preserve newlines)
-        result = result.replaceAll("[ \\t]+", " ");
+        result = HORIZONTAL_WHITESPACE.matcher(result).replaceAll(" ");
         
         // Fix missing spaces after punctuation
-        result = result.replaceAll("\\.([A-Za-z])", ". $1");
-        result = result.replaceAll(",([A-Za-z])", ", $1");
-        result = result.replaceAll(":([A-Za-z])", ": $1");
-        result = result.replaceAll(";([A-Za-z])", "; $1");
+        result = MISSING_SPACE_AFTER_PERIOD.matcher(result).replaceAll(". $1");
+        result = MISSING_SPACE_AFTER_COMMA.matcher(result).replaceAll(", $1");
+        result = MISSING_SPACE_AFTER_COLON.matcher(result).replaceAll(": $1");
+        result = MISSING_SPACE_AFTER_SEMICOLON.matcher(result).replaceAll("; $1");
         
         // Fix capitalization after periods
         result = fixSentenceCapitalization(result);
         
         // Remove extra blank lines
-        result = result.replaceAll("\n{3,}", "\n\n");
+        result = EXTRA_BLANK_LINES.matcher(result).replaceAll("\n\n");
         
         return result.trim();
     }
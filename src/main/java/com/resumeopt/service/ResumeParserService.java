@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xwpf.usermodel.BodyElementType;
@@ -7,46 +8,183 @@ import org.apache.poi.xwpf.usermodel.IBodyElement;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
+/**
+ * Resume text extraction and fresher-specific parsing.
+ *
+ * PDFs are parsed with a bounded main-memory budget: decoded streams and
+ * parser state beyond it go to a scratch file instead of the heap. Text is
+ * extracted page by page (DOCX: element by element) and extraction stops
+ * once the page or character limit is reached, since nothing past a few
+ * pages of text is used by the optimizer.
+ */
 @Service
 public class ResumeParserService {
+
+    // Heap the PDF parser may use before spilling to a scratch file
+    @Value("${resume.parser.maxMainMemoryBytes:8388608}")
+    private long maxMainMemoryBytes = 8L * 1024 * 1024;
+
+    @Value("${resume.parser.maxPages:40}")
+    private int maxPages = 40;
+
+    @Value("${resume.parser.maxChars:100000}")
+    private int maxChars = 100_000;
+
+    // Identifies cached text; bump whenever extraction changes
+    static final String EXTRACTOR_VERSION = "1";
+
+    // Text already extracted from identical uploads, when available
+    @Autowired(required = false)
+    private ResumeResultCache resultCache;
+
+    @Autowired(required = false)
+    private BlobStore blobStore;
+
     public String extractText(MultipartFile file) throws IOException {
-        String filename = file.getOriginalFilename() == null ? "resume" : file.getOriginalFilename().toLowerCase();
+        try (InputStream is = file.getInputStream()) {
+            return extractText(file.getOriginalFilename(), is);
+        }
+    }
+
+    /**
+     * Extracts text from a file's content, for callers that keep the upload
+     * beyond the request. The caller closes the stream.
+     */
+    public String extractText(String originalFilename, InputStream is) throws IOException {
+        String filename = lowerCaseName(originalFilename);
         if (filename.endsWith(".pdf")) {
-            try (InputStream is = file.getInputStream(); PDDocument doc = PDDocument.load(is)) {
-                PDFTextStripper stripper = new PDFTextStripper();
-                stripper.setSortByPosition(true); // Sort by position to handle columns better
-                return stripper.getText(doc);
+            try (PDDocument doc = PDDocument.load(is, memoryUsage())) {
+                return extractPdfText(doc);
             }
         } else if (filename.endsWith(".docx")) {
-            try (InputStream is = file.getInputStream(); XWPFDocument doc = new XWPFDocument(is)) {
-                StringBuilder sb = new StringBuilder();
-                List<IBodyElement> bodyElements = doc.getBodyElements();
-                for (IBodyElement element : bodyElements) {
-                    if (element.getElementType() == BodyElementType.PARAGRAPH) {
-                        XWPFParagraph paragraph = (XWPFParagraph) element;
-                        sb.append(paragraph.getText()).append("\n");
-                    } else if (element.getElementType() == BodyElementType.TABLE) {
-                        XWPFTable table = (XWPFTable) element;
-                        table.getRows().forEach(row -> {
-                            row.getTableCells().forEach(cell -> {
-                                sb.append(cell.getText()).append(" | ");
-                            });
-                            sb.append("\n");
-                        });
-                    }
-                }
-                return sb.toString();
+            try (XWPFDocument doc = new XWPFDocument(is)) {
+                return extractDocxText(doc);
             }
         }
         // fallback to plain text
-        return new String(file.getBytes());
+        return readPlainText(is);
+    }
+
+    /**
+     * Extracts text from an upload kept in the {@link BlobStore}, parsing the
+     * stored file directly: PDFs are read from disk within the memory budget
+     * rather than from a copy of the file in the heap.
+     */
+    public String extractStoredText(String originalFilename, String ref) throws IOException {
+        if (blobStore == null || !blobStore.exists(ref)) {
+            throw new FileNotFoundException("Stored resume file not found: " + ref);
+        }
+        Path file = blobStore.path(ref);
+        if (resultCache == null) {
+            return parseText(originalFilename, file);
+        }
+        // Keyed by content (the reference is its hash) and format; the limits change what is extracted
+        String key = ResumeResultCache.key("text", EXTRACTOR_VERSION, ref, formatOf(originalFilename),
+            Integer.toString(maxPages), Integer.toString(maxChars));
+        String cached = resultCache.get(key, String.class);
+        if (cached != null) {
+            return cached;
+        }
+        String text = parseText(originalFilename, file);
+        resultCache.put(key, text);
+        return text;
+    }
+
+    private static String formatOf(String originalFilename) {
+        String filename = lowerCaseName(originalFilename);
+        return filename.endsWith(".pdf") ? "pdf" : filename.endsWith(".docx") ? "docx" : "text";
+    }
+
+    private String parseText(String originalFilename, Path file) throws IOException {
+        String filename = lowerCaseName(originalFilename);
+        if (filename.endsWith(".pdf")) {
+            try (PDDocument doc = PDDocument.load(file.toFile(), memoryUsage())) {
+                return extractPdfText(doc);
+            }
+        }
+        try (InputStream is = Files.newInputStream(file)) {
+            return extractText(originalFilename, is);
+        }
+    }
+
+    private static String lowerCaseName(String originalFilename) {
+        return originalFilename == null ? "resume" : originalFilename.toLowerCase();
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        return MemoryUsageSetting.setupMixed(Math.max(0, maxMainMemoryBytes));
+    }
+
+    private String extractPdfText(PDDocument doc) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true); // Sort by position to handle columns better
+        StringBuilder sb = new StringBuilder();
+        int pages = Math.min(doc.getNumberOfPages(), maxPages);
+        for (int page = 1; page <= pages && sb.length() < maxChars; page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            sb.append(stripper.getText(doc));
+        }
+        if (doc.getNumberOfPages() > pages || sb.length() > maxChars) {
+            System.out.println("Resume text cut off after " + pages + " of " + doc.getNumberOfPages()
+                + " pages / " + maxChars + " characters");
+        }
+        return truncate(sb);
+    }
+
+    private String extractDocxText(XWPFDocument doc) {
+        StringBuilder sb = new StringBuilder();
+        for (IBodyElement element : doc.getBodyElements()) {
+            if (sb.length() >= maxChars) {
+                break;
+            }
+            if (element.getElementType() == BodyElementType.PARAGRAPH) {
+                XWPFParagraph paragraph = (XWPFParagraph) element;
+                sb.append(paragraph.getText()).append("\n");
+            } else if (element.getElementType() == BodyElementType.TABLE) {
+                XWPFTable table = (XWPFTable) element;
+                table.getRows().forEach(row -> {
+                    row.getTableCells().forEach(cell -> {
+                        sb.append(cell.getText()).append(" | ");
+                    });
+                    sb.append("\n");
+                });
+            }
+        }
+        return truncate(sb);
+    }
+
+    private String readPlainText(InputStream is) throws IOException {
+        Reader reader = new InputStreamReader(is, Charset.defaultCharset());
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while (sb.length() < maxChars && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - sb.length()))) != -1) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
+    private String truncate(StringBuilder sb) {
+        if (sb.length() > maxChars) {
+            sb.setLength(maxChars);
+        }
+        return sb.toString();
     }
     
     /**
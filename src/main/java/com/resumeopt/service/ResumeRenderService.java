@@ -0,0 +1,216 @@
+package com.resumeopt.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.resumeopt.model.Resume;
+import com.resumeopt.model.ResumeRendering;
+import com.resumeopt.model.ResumeTemplateStyle;
+import com.resumeopt.model.StructuredResumeView;
+import com.resumeopt.repo.ResumeRenderingRepository;
+import com.resumeopt.repo.ResumeRepository;
+
+/**
+ * Renders resume PDFs when they are first downloaded rather than when the
+ * resume is optimized, and keeps every rendering in the {@link BlobStore}.
+ *
+ * A rendering is identified by a hash of everything it is drawn from (the
+ * texts, the original file, the design or template style and the renderer
+ * version). The key is mapped to its blob in the {@link ResumeResultCache}
+ * and persisted as a {@link ResumeRendering}, and the optimized PDF is also
+ * recorded on the resume row, so a repeat download costs a lookup even after
+ * a restart and the blob reference stays a stable ETag. PDF output is not
+ * reproducible byte for byte, so rendering again would change both.
+ * Concurrent requests for a rendering that is not cached yet wait for the
+ * first one instead of rendering it again.
+ */
+@Service
+public class ResumeRenderService {
+
+    // Identifies cached renderings; bump whenever PDF layout changes
+    static final String RENDERER_VERSION = "1";
+
+    @Autowired(required = false)
+    private ResumePdfService pdfService;
+
+    @Autowired(required = false)
+    private ResumeStructuringService structuringService;
+
+    @Autowired(required = false)
+    private ResumeResultCache resultCache;
+
+    @Autowired(required = false)
+    private ResumeRenderingRepository renderingRepository;
+
+    @Autowired(required = false)
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    /**
+     * Blob reference of the optimized resume PDF: the original PDF's layout
+     * when it can be preserved, else the selected design, else plain formatting.
+     */
+    public String optimizedPdf(Resume resume) throws IOException {
+        if (blobStore.exists(resume.getOptimizedPdfRef())) {
+            return resume.getOptimizedPdfRef();
+        }
+        String optimizedText = optimizedText(resume);
+        String key = ResumeResultCache.key("resume-pdf", RENDERER_VERSION, optimizedText, resume.getOriginalText(),
+            resume.getOriginalFileRef(), resume.getContentType(),
+            resume.getSelectedDesign() != null ? resume.getSelectedDesign().name() : null);
+        String ref = render(key, () -> {
+            if (pdfService == null) {
+                throw new IOException("PDF service not available");
+            }
+            byte[] originalFile = resume.getOriginalFileRef() != null && blobStore.exists(resume.getOriginalFileRef())
+                ? blobStore.read(resume.getOriginalFileRef()) : null;
+            String contentType = resume.getContentType();
+            if (resume.getSelectedDesign() != null) {
+                return pdfService.generatePdf(optimizedText, originalFile, resume.getOriginalText(), resume.getSelectedDesign());
+            } else if (originalFile != null && contentType != null && contentType.toLowerCase().contains("pdf")) {
+                // Use original PDF as template with advanced preservation
+                return pdfService.generatePdf(optimizedText, originalFile, resume.getOriginalText());
+            }
+            return pdfService.generatePdf(optimizedText);
+        });
+        resume.setOptimizedPdfRef(ref);
+        if (resumeRepository != null && resume.getId() != null) {
+            try {
+                resumeRepository.updateOptimizedPdfRef(resume.getId(), ref);
+            } catch (Exception e) {
+                // Still found through the rendering record next time
+                System.err.println("Error recording optimized PDF for resume " + resume.getId() + ": " + e.getMessage());
+            }
+        }
+        return ref;
+    }
+
+    /**
+     * Blob reference of the resume rendered with an ATS template style.
+     */
+    public String templatePdf(Resume resume, ResumeTemplateStyle style) throws IOException {
+        String text = resume.getOptimizedText() != null && !resume.getOptimizedText().isBlank()
+            ? resume.getOptimizedText()
+            : resume.getOriginalText();
+        String content = text == null ? "" : text;
+        // The structured view is derived from the text alone, so the text and parser version identify it
+        String key = ResumeResultCache.key("template-pdf", RENDERER_VERSION, ResumeStructuringService.PARSER_VERSION,
+            content, style.name());
+        return render(key, () -> {
+            if (pdfService == null || structuringService == null) {
+                throw new IOException("PDF service not available");
+            }
+            StructuredResumeView view = structuringService.buildView(content);
+            return pdfService.generateTemplatePdf(view, style);
+        });
+    }
+
+    private static String optimizedText(Resume resume) {
+        return resume.getOptimizedText() != null ? resume.getOptimizedText() : resume.getOriginalText();
+    }
+
+    String render(String key, Renderer renderer) throws IOException {
+        String cached = cachedRef(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            // Another request may have finished rendering since the lookup above
+            String ref = cachedRef(key);
+            if (ref == null) {
+                byte[] rendered = renderer.render();
+                if (rendered == null) {
+                    throw new IOException("Renderer produced no output");
+                }
+                ref = blobStore.put(rendered);
+                if (resultCache != null) {
+                    resultCache.put(key, ref);
+                }
+                recordRendering(key, ref);
+            }
+            mine.complete(ref);
+            return ref;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String cachedRef(String key) {
+        String ref = resultCache != null ? resultCache.get(key, String.class) : null;
+        if (blobStore.exists(ref)) {
+            return ref;
+        }
+        if (renderingRepository == null) {
+            return null;
+        }
+        try {
+            ref = renderingRepository.findById(key).map(ResumeRendering::getBlobRef).orElse(null);
+        } catch (Exception e) {
+            System.err.println("Error looking up rendering " + key + ": " + e.getMessage());
+            return null;
+        }
+        if (!blobStore.exists(ref)) {
+            return null;
+        }
+        if (resultCache != null) {
+            resultCache.put(key, ref);
+        }
+        return ref;
+    }
+
+    private void recordRendering(String key, String ref) {
+        if (renderingRepository == null) {
+            return;
+        }
+        try {
+            renderingRepository.save(new ResumeRendering(key, ref, LocalDateTime.now()));
+        } catch (Exception e) {
+            // The blob is stored either way; it is just rendered again after a restart
+            System.err.println("Error recording rendering " + key + ": " + e.getMessage());
+        }
+    }
+
+    private static String await(CompletableFuture<String> running) throws IOException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rendering");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.resumeopt.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Content-addressed cache for resume processing results: extracted text,
+ * structured views and optimization results.
+ *
+ * Keys are SHA-256 digests of the kind of result, the version of the code
+ * that produced it and the inputs themselves (see {@link #key}), so equal
+ * content hits no matter where it came from, and bumping a version retires
+ * every older entry. Values are kept as JSON and deserialized on each hit, so
+ * callers always get their own copy and an entry costs its serialized size.
+ * The in-memory tier evicts least recently used entries beyond its byte
+ * budget; when a directory is configured, entries are also written there and
+ * survive restarts.
+ */
+@Component
+public class ResumeResultCache {
+
+    // Map entry, key and array headers, roughly
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    @Value("${resume.cache.maxMb:32}")
+    private long maxMb = 32;
+
+    // On-disk tier; disabled when empty
+    @Value("${resume.cache.dir:}")
+    private String dir = "";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Point-in-time cache metrics.
+     */
+    public record Stats(int entries, long bytes, long maxBytes, long hits, long diskHits, long misses,
+            long evictions) {
+
+        public double hitRate() {
+            long lookups = hits + diskHits + misses;
+            return lookups == 0 ? 0.0 : (double) (hits + diskHits) / lookups;
+        }
+    }
+
+    /**
+     * Digest of a result's kind, producer version and inputs. Parts may be
+     * strings, byte arrays or null, and are length-prefixed so that
+     * neighbouring parts cannot run into each other.
+     */
+    public static String key(String kind, String version, Object... parts) {
+        MessageDigest digest = sha256();
+        update(digest, kind);
+        update(digest, version);
+        for (Object part : parts) {
+            update(digest, part);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Object part) {
+        if (part == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] data;
+        if (part instanceof byte[] array) {
+            digest.update((byte) 1);
+            data = array;
+        } else {
+            digest.update((byte) 2);
+            data = part.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        int length = data.length;
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(data);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached value for the key, or null on a miss.
+     */
+    public <T> T get(String key, Class<T> type) {
+        byte[] json;
+        synchronized (this) {
+            json = entries.get(key);
+        }
+        boolean fromDisk = false;
+        if (json == null) {
+            json = readFromDisk(key);
+            fromDisk = json != null;
+        }
+        T value = json == null ? null : decode(key, json, type);
+        synchronized (this) {
+            if (value == null) {
+                misses++;
+            } else if (fromDisk) {
+                diskHits++;
+                store(key, json);
+            } else {
+                hits++;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value; null values and values larger than the whole budget are not cached in memory.
+     */
+    public void put(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        byte[] json;
+        try {
+            json = mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            System.err.println("Result cache: cannot serialize " + value.getClass().getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            store(key, json);
+        }
+        writeToDisk(key, json);
+    }
+
+    /**
+     * Cached value for the key, or the computed one, which is then cached.
+     */
+    public <T> T computeIfAbsent(String key, Class<T> type, Supplier<T> compute) {
+        T cached = get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        T value = compute.get();
+        put(key, value);
+        return value;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), bytes, maxBytes(), hits, diskHits, misses, evictions);
+    }
+
+    private long maxBytes() {
+        return maxMb * 1024 * 1024;
+    }
+
+    private void store(String key, byte[] json) {
+        long weight = weight(key, json);
+        if (weight > maxBytes()) {
+            return;
+        }
+        byte[] previous = entries.put(key, json);
+        if (previous != null) {
+            bytes -= weight(key, previous);
+        }
+        bytes += weight;
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes() && eldest.hasNext()) {
+            Map.Entry<String, byte[]> evicted = eldest.next();
+            eldest.remove();
+            bytes -= weight(evicted.getKey(), evicted.getValue());
+            evictions++;
+        }
+    }
+
+    private static long weight(String key, byte[] json) {
+        return json.length + 2L * key.length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private <T> T decode(String key, byte[] json, Class<T> type) {
+        try {
+            return mapper.readValue(json, type);
+        } catch (IOException e) {
+            // Written by an incompatible version of the type: drop it
+            System.err.println("Result cache: dropping unreadable " + type.getSimpleName() + " entry: " + e.getMessage());
+            synchronized (this) {
+                byte[] stale = entries.remove(key);
+                if (stale != null) {
+                    bytes -= weight(key, stale);
+                }
+            }
+            deleteFromDisk(key);
+            return null;
+        }
+    }
+
+    private Path diskPath(String key) {
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        return Paths.get(dir, key.substring(0, 2), key + ".json");
+    }
+
+    private byte[] readFromDisk(String key) {
+        Path path = diskPath(key);
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            System.err.println("Result cache: cannot read " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] json) {
+        Path path = diskPath(key);
+        if (path == null || Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            // Written under a temporary name first so readers never see a partial entry
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            Files.write(temp, json);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Result cache: cannot write " + path + ": " + e.getMessage());
+        }
+    }
+
+    private void deleteFromDisk(String key) {
+        Path path = diskPath(key);
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("Result cache: cannot delete " + path + ": " + e.getMessage());
+        }
+    }
+}
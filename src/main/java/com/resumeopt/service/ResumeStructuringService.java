@@ -1,6 +1,7 @@
 package com.resumeopt.service;
 
 import com.resumeopt.model.StructuredResumeView;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,7 +19,22 @@ public class ResumeStructuringService {
     private static final Pattern SECTION_HEADER_PATTERN = Pattern.compile(
             "^(?i)(summary|professional summary|objective|profile|skills|technical skills|experience|work experience|professional experience|projects|personal projects|education|academic background|achievements|certifications)\\b.*$");
 
+    // Identifies cached views; bump whenever section parsing changes
+    static final String PARSER_VERSION = "1";
+
+    // Earlier views of the same text, when available
+    @Autowired(required = false)
+    private ResumeResultCache resultCache;
+
     public StructuredResumeView buildView(String optimizedText) {
+        if (resultCache == null) {
+            return parseView(optimizedText);
+        }
+        return resultCache.computeIfAbsent(ResumeResultCache.key("structure", PARSER_VERSION, optimizedText),
+            StructuredResumeView.class, () -> parseView(optimizedText));
+    }
+
+    private StructuredResumeView parseView(String optimizedText) {
         if (optimizedText == null) {
             optimizedText = "";
         }
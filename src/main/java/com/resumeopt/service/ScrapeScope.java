@@ -0,0 +1,62 @@
+package com.resumeopt.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cancellation scope for the portal scrapes of one aggregation run.
+ * Tasks run through the scope register the thread executing them; when the
+ * aggregation deadline passes, {@link #cancel()} interrupts those threads and
+ * stops tasks that have not started yet, the way a structured task scope
+ * shuts down its forks. Blocking fetches turn the interrupt into an
+ * IOException, so a slow portal releases its worker and browser session
+ * instead of running on after its results can no longer be used.
+ */
+final class ScrapeScope {
+
+    private final Set<Thread> running = new HashSet<>();
+    private boolean cancelled;
+
+    /**
+     * Runs the task on the calling thread unless the scope is cancelled.
+     *
+     * @throws CancellationException if the scope was cancelled before the task started
+     */
+    <T> T run(Callable<T> task) throws Exception {
+        Thread current = Thread.currentThread();
+        synchronized (this) {
+            if (cancelled) {
+                throw new CancellationException("Aggregation deadline passed");
+            }
+            running.add(current);
+        }
+        try {
+            return task.call();
+        } finally {
+            synchronized (this) {
+                running.remove(current);
+                if (cancelled) {
+                    // Don't leak the interrupt into the next task on a pooled thread
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Interrupts every running task and rejects those not yet started.
+     *
+     * @return the number of tasks interrupted
+     */
+    synchronized int cancel() {
+        cancelled = true;
+        running.forEach(Thread::interrupt);
+        return running.size();
+    }
+
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
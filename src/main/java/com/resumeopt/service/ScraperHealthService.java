@@ -21,6 +21,32 @@ public class ScraperHealthService {
         health.recordSuccess(jobCount);
     }
 
+    /**
+     * Record a successful scrape and the time it took, when there is no
+     * previous scrape to count new jobs against (e.g. the first after a restart)
+     */
+    public void recordSuccess(String portalName, int jobCount, long latencyMs) {
+        ScraperHealth health = healthMap.computeIfAbsent(portalName, k -> new ScraperHealth(portalName));
+        health.recordSuccess(jobCount, latencyMs);
+    }
+
+    /**
+     * Record a successful scrape with the number of jobs not seen in the
+     * portal's previous scrape and the time it took
+     */
+    public void recordSuccess(String portalName, int jobCount, int newJobCount, long latencyMs) {
+        ScraperHealth health = healthMap.computeIfAbsent(portalName, k -> new ScraperHealth(portalName));
+        health.recordSuccess(jobCount, newJobCount, latencyMs);
+    }
+
+    /**
+     * Record a failed scrape with the time spent before giving up
+     */
+    public void recordFailure(String portalName, String errorMessage, long latencyMs) {
+        ScraperHealth health = healthMap.computeIfAbsent(portalName, k -> new ScraperHealth(portalName));
+        health.recordFailure(errorMessage, latencyMs);
+    }
+
     /**
      * Record a failed scrape
      */
@@ -47,6 +73,9 @@ public class ScraperHealthService {
      * Health status for a single scraper
      */
     public static class ScraperHealth {
+        // Weight of the latest scrape in the moving averages
+        private static final double SMOOTHING = 0.3;
+
         private final String portalName;
         private int successCount = 0;
         private int failureCount = 0;
@@ -54,23 +83,59 @@ public class ScraperHealthService {
         private LocalDateTime lastSuccessTime;
         private LocalDateTime lastFailureTime;
         private String lastError;
+        private int consecutiveFailures = 0;
+        private int lastNewJobCount = 0;
+        private double averageNewJobs = 0;
+        // Scrapes that had a previous scrape to count new jobs against
+        private int newJobSamples = 0;
+        private long lastLatencyMs = 0;
+        private double averageLatencyMs = 0;
 
         public ScraperHealth(String portalName) {
             this.portalName = portalName;
         }
 
-        public void recordSuccess(int jobCount) {
+        public synchronized void recordSuccess(int jobCount) {
             this.successCount++;
+            this.consecutiveFailures = 0;
             this.lastJobCount = jobCount;
             this.lastSuccessTime = LocalDateTime.now();
         }
 
-        public void recordFailure(String errorMessage) {
+        public synchronized void recordSuccess(int jobCount, long latencyMs) {
+            recordSuccess(jobCount);
+            recordLatency(latencyMs);
+        }
+
+        public synchronized void recordSuccess(int jobCount, int newJobCount, long latencyMs) {
+            recordSuccess(jobCount);
+            this.newJobSamples++;
+            this.averageNewJobs = newJobSamples == 1 ? newJobCount : average(averageNewJobs, newJobCount);
+            this.lastNewJobCount = newJobCount;
+            recordLatency(latencyMs);
+        }
+
+        public synchronized void recordFailure(String errorMessage) {
             this.failureCount++;
+            this.consecutiveFailures++;
             this.lastError = errorMessage;
             this.lastFailureTime = LocalDateTime.now();
         }
 
+        public synchronized void recordFailure(String errorMessage, long latencyMs) {
+            recordFailure(errorMessage);
+            recordLatency(latencyMs);
+        }
+
+        private void recordLatency(long latencyMs) {
+            this.averageLatencyMs = successCount + failureCount == 1 ? latencyMs : average(averageLatencyMs, latencyMs);
+            this.lastLatencyMs = latencyMs;
+        }
+
+        private static double average(double average, double sample) {
+            return average + SMOOTHING * (sample - average);
+        }
+
         public String getPortalName() {
             return portalName;
         }
@@ -99,6 +164,33 @@ public class ScraperHealthService {
             return lastError;
         }
 
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        public int getLastNewJobCount() {
+            return lastNewJobCount;
+        }
+
+        public double getAverageNewJobs() {
+            return averageNewJobs;
+        }
+
+        /**
+         * Whether the new job counts are known, i.e. some scrape could be compared with the one before it.
+         */
+        public synchronized boolean hasNewJobData() {
+            return newJobSamples > 0;
+        }
+
+        public long getLastLatencyMs() {
+            return lastLatencyMs;
+        }
+
+        public double getAverageLatencyMs() {
+            return averageLatencyMs;
+        }
+
         public double getSuccessRate() {
             int total = successCount + failureCount;
             return total == 0 ? 0.0 : (double) successCount / total * 100;
@@ -0,0 +1,160 @@
+package com.resumeopt.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread pools shared by the scraping and link-verification pipeline.
+ * HTTP-tier work (page fetches, detail-page scrapes, link checks) runs on the
+ * I/O executor: one virtual thread per task when the runtime supports it
+ * (Java 21, see the {@code java21} build profile), otherwise a bounded
+ * platform pool. Whole-portal scrapes may drive a browser, so they always run
+ * on a small platform pool sized to match the browser session pool.
+ * Both executors are shut down with the application context.
+ */
+@Component
+public class ScrapingExecutors {
+
+    /**
+     * How HTTP-tier tasks are run. AUTO uses virtual threads when available.
+     */
+    public enum Mode {
+        AUTO, VIRTUAL, PLATFORM
+    }
+
+    @Value("${scraper.executor.mode:auto}")
+    private String mode = "auto";
+
+    // Platform threads for HTTP-tier work when virtual threads are not used
+    @Value("${scraper.executor.ioThreads:16}")
+    private int ioThreads = 16;
+
+    // Concurrent whole-portal scrapes (browser-backed work)
+    @Value("${scraper.executor.portalThreads:3}")
+    private int portalThreads = 3;
+
+    private volatile ExecutorService ioExecutor;
+    private volatile ExecutorService portalExecutor;
+    private volatile boolean virtualThreads;
+
+    /**
+     * Executor for blocking HTTP requests.
+     */
+    public ExecutorService io() {
+        ExecutorService current = ioExecutor;
+        if (current == null) {
+            synchronized (this) {
+                current = ioExecutor;
+                if (current == null) {
+                    current = createIoExecutor();
+                    ioExecutor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Bounded platform pool for portal scrapes, which may hold a browser session.
+     */
+    public ExecutorService portals() {
+        ExecutorService current = portalExecutor;
+        if (current == null) {
+            synchronized (this) {
+                current = portalExecutor;
+                if (current == null) {
+                    current = Executors.newFixedThreadPool(Math.max(1, portalThreads), named("portal-scraper-"));
+                    portalExecutor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Whether the I/O executor runs each task on its own virtual thread.
+     */
+    public boolean usesVirtualThreads() {
+        io();
+        return virtualThreads;
+    }
+
+    private ExecutorService createIoExecutor() {
+        Mode requested = parseMode(mode);
+        if (requested != Mode.PLATFORM) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                virtualThreads = true;
+                System.out.println("Scraper I/O executor: virtual threads");
+                return virtual;
+            }
+            if (requested == Mode.VIRTUAL) {
+                System.err.println("Virtual threads need Java 21+ (running " + Runtime.version().feature()
+                        + "); using " + ioThreads + " platform threads");
+            }
+        }
+        System.out.println("Scraper I/O executor: " + ioThreads + " platform threads");
+        return Executors.newFixedThreadPool(Math.max(1, ioThreads), named("scraper-io-"));
+    }
+
+    static Mode parseMode(String value) {
+        try {
+            return value == null ? Mode.AUTO : Mode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown scraper.executor.mode '" + value + "', using auto");
+            return Mode.AUTO;
+        }
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively
+     * so the same sources build for Java 17 and 21.
+     *
+     * @return the executor, or null if the runtime has no virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown(portalExecutor);
+        shutdown(ioExecutor);
+    }
+
+    private static void shutdown(ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
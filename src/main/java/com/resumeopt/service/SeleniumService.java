@@ -7,97 +7,169 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * Enhanced Selenium Service with robust error handling, driver recovery, and
  * anti-detection.
- * Uses ThreadLocal to ensure thread safety for parallel scraping.
+ * Browsers come from a bounded {@link BrowserSessionPool}: callers borrow a
+ * session for one page and return it, so Chrome is launched once per pooled
+ * session instead of once per thread and retry.
  */
 @Service
 public class SeleniumService {
 
-    // ThreadLocal to hold a separate WebDriver instance for each thread
-    private final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
-
-    // Keep track of all drivers for cleanup
-    private final List<WebDriver> allDrivers = Collections.synchronizedList(new ArrayList<>());
-
     private static final long PAGE_LOAD_TIMEOUT = 90;
     private static final long IMPLICIT_WAIT = 15;
     private static final long SCRIPT_TIMEOUT = 30;
 
+    @Value("${selenium.pool.size:3}")
+    private int poolSize = 3;
+
+    @Value("${selenium.pool.maxPagesPerSession:50}")
+    private int maxPagesPerSession = 50;
+
+    @Value("${selenium.pool.maxHeapMb:512}")
+    private long maxHeapMb = 512;
+
+    @Value("${selenium.pool.leaseTimeoutSeconds:120}")
+    private long leaseTimeoutSeconds = 120;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private volatile BrowserSessionPool pool;
+    private volatile boolean driverBinarySetUp;
+
     public SeleniumService() {
         // Lazy initialization
     }
 
+    private BrowserSessionPool pool() {
+        BrowserSessionPool current = pool;
+        if (current == null) {
+            synchronized (this) {
+                current = pool;
+                if (current == null) {
+                    current = new BrowserSessionPool(this::createDriver, poolSize, maxPagesPerSession,
+                            maxHeapMb * 1024 * 1024);
+                    registerMetrics(current);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void registerMetrics(BrowserSessionPool pool) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("selenium.pool.sessions", pool, p -> p.stats().openSessions())
+                .description("Open browser sessions").register(meterRegistry);
+        Gauge.builder("selenium.pool.leased", pool, p -> p.stats().leased())
+                .description("Browser sessions currently leased").register(meterRegistry);
+        Gauge.builder("selenium.pool.waiting", pool, p -> p.stats().waiting())
+                .description("Threads waiting for a browser session").register(meterRegistry);
+        Gauge.builder("selenium.pool.saturation", pool, p -> p.stats().saturation())
+                .description("Share of browser sessions leased").register(meterRegistry);
+    }
+
     /**
-     * Initialize WebDriver for the current thread
+     * Launch a new headless Chrome for the pool
      */
-    private void initDriver() {
-        if (driverThreadLocal.get() == null) {
-            try {
-                System.out.println("[" + LocalDateTime.now() + "] Initializing Selenium WebDriver for thread: "
-                        + Thread.currentThread().getName());
+    private WebDriver createDriver() {
+        try {
+            System.out.println("[" + LocalDateTime.now() + "] Launching pooled Selenium WebDriver");
 
-                // Setup WebDriverManager
+            // Setup WebDriverManager
+            if (!driverBinarySetUp) {
                 try {
                     WebDriverManager.chromedriver().setup();
+                    driverBinarySetUp = true;
                 } catch (Exception e) {
                     System.err.println("[" + LocalDateTime.now() + "] ChromeDriver setup failed: " + e.getMessage());
                     throw new RuntimeException("Failed to setup ChromeDriver.", e);
                 }
+            }
 
-                ChromeOptions options = new ChromeOptions();
-                options.addArguments("--headless=new");
-                options.addArguments("--disable-gpu");
-                options.addArguments("--no-sandbox");
-                options.addArguments("--disable-dev-shm-usage");
-                options.addArguments("--remote-allow-origins=*");
-                options.addArguments("--window-size=1920,1080");
-                options.addArguments("--start-maximized");
-                options.addArguments("--disable-blink-features=AutomationControlled");
-                options.addArguments("--disable-extensions");
-                options.addArguments(
-                        "user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-
-                options.setExperimentalOption("excludeSwitches",
-                        new String[] { "enable-automation", "enable-logging" });
-                options.setExperimentalOption("useAutomationExtension", false);
-
-                WebDriver driver = new ChromeDriver(options);
-
-                driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(PAGE_LOAD_TIMEOUT));
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT));
-                driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(SCRIPT_TIMEOUT));
-
-                // Anti-detection script
-                try {
-                    ((JavascriptExecutor) driver).executeScript(
-                            "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})");
-                } catch (Exception ignored) {
-                }
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new");
+            options.addArguments("--disable-gpu");
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--remote-allow-origins=*");
+            options.addArguments("--window-size=1920,1080");
+            options.addArguments("--start-maximized");
+            options.addArguments("--disable-blink-features=AutomationControlled");
+            options.addArguments("--disable-extensions");
+            options.addArguments(
+                    "user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
 
-                driverThreadLocal.set(driver);
-                allDrivers.add(driver);
+            options.setExperimentalOption("excludeSwitches",
+                    new String[] { "enable-automation", "enable-logging" });
+            options.setExperimentalOption("useAutomationExtension", false);
 
-                System.out.println("[" + LocalDateTime.now() + "] Selenium WebDriver initialized for thread: "
-                        + Thread.currentThread().getName());
+            WebDriver driver = new ChromeDriver(options);
 
-            } catch (Exception e) {
-                System.err.println(
-                        "[" + LocalDateTime.now() + "] Failed to initialize Selenium WebDriver: " + e.getMessage());
-                throw new RuntimeException("Selenium initialization failed.", e);
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(PAGE_LOAD_TIMEOUT));
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT));
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(SCRIPT_TIMEOUT));
+
+            // Anti-detection script
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})");
+            } catch (Exception ignored) {
             }
+
+            System.out.println("[" + LocalDateTime.now() + "] Selenium WebDriver launched");
+            return driver;
+
+        } catch (Exception e) {
+            System.err.println(
+                    "[" + LocalDateTime.now() + "] Failed to initialize Selenium WebDriver: " + e.getMessage());
+            throw new RuntimeException("Selenium initialization failed.", e);
+        }
+    }
+
+    /**
+     * Borrow a pooled browser for one page. The session is returned when the
+     * action completes; if the action throws, the browser is recycled.
+     */
+    public <T> T withDriver(Function<WebDriver, T> action) {
+        BrowserSessionPool.BrowserSession session;
+        try {
+            session = pool().lease(Duration.ofSeconds(leaseTimeoutSeconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session", e);
+        } catch (TimeoutException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        if (meterRegistry != null) {
+            meterRegistry.timer("selenium.pool.lease.wait").record(session.getLeaseWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+        try {
+            T result = action.apply(session.driver());
+            session.pageLoaded();
+            return result;
+        } catch (RuntimeException e) {
+            session.invalidate();
+            throw e;
+        } finally {
+            session.close();
         }
     }
 
@@ -112,16 +184,20 @@ public class SeleniumService {
             try {
                 return fetchDocumentInternal(url);
             } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new RuntimeException("Selenium fetch cancelled: " + url, e);
+                }
                 retryCount++;
                 System.err.println("[" + LocalDateTime.now() + "] Selenium fetch failed (attempt " + retryCount + "/"
                         + (maxRetries + 1) + "): " + e.getMessage());
 
                 if (retryCount <= maxRetries) {
-                    quitDriver(); // Restart driver for this thread
+                    // The failed browser was recycled; the retry leases a healthy one
                     try {
                         Thread.sleep(3000);
                     } catch (InterruptedException ie) {
                         Thread.currentThread().interrupt();
+                        throw new RuntimeException("Selenium fetch cancelled: " + url, ie);
                     }
                 } else {
                     throw new RuntimeException("Failed to fetch URL with Selenium after retries: " + url, e);
@@ -135,64 +211,58 @@ public class SeleniumService {
      * Internal fetch implementation
      */
     private Document fetchDocumentInternal(String url) {
-        initDriver();
-        WebDriver driver = driverThreadLocal.get();
-
-        try {
-            System.out.println("[" + LocalDateTime.now() + "] Selenium fetching: " + url);
-
+        return withDriver(driver -> {
             try {
-                driver.get(url);
-            } catch (org.openqa.selenium.TimeoutException e) {
-                System.out.println("Page load timeout - attempting to parse partially loaded page");
-            }
+                System.out.println("[" + LocalDateTime.now() + "] Selenium fetching: " + url);
 
-            // Scroll
-            try {
-                for (int i = 0; i < 3; i++) {
-                    ((JavascriptExecutor) driver).executeScript("window.scrollBy(0, document.body.scrollHeight/3);");
-                    Thread.sleep(1000);
+                try {
+                    driver.get(url);
+                } catch (org.openqa.selenium.TimeoutException e) {
+                    System.out.println("Page load timeout - attempting to parse partially loaded page");
                 }
-            } catch (Exception ignored) {
-            }
 
-            // Wait for render
-            try {
+                // Scroll
+                try {
+                    for (int i = 0; i < 3; i++) {
+                        ((JavascriptExecutor) driver).executeScript("window.scrollBy(0, document.body.scrollHeight/3);");
+                        Thread.sleep(1000);
+                    }
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception ignored) {
+                }
+
+                // Wait for render
                 Thread.sleep(5000);
-            } catch (InterruptedException ignored) {
-            }
 
-            // Try to extract content via JS first (often more reliable)
-            String pageSource = driver.getPageSource();
-            return Jsoup.parse(pageSource, url);
+                // Try to extract content via JS first (often more reliable)
+                String pageSource = driver.getPageSource();
+                return Jsoup.parse(pageSource, url);
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching URL: " + e.getMessage(), e);
-        }
+            } catch (InterruptedException e) {
+                // A cancelled scrape gives up the page; the session is recycled and released
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while fetching " + url, e);
+            } catch (Exception e) {
+                throw new RuntimeException("Error fetching URL: " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
-     * Get WebDriver instance for current thread
+     * Current pool metrics: lease wait times and saturation
      */
-    public WebDriver getDriver() {
-        initDriver();
-        return driverThreadLocal.get();
+    public BrowserSessionPool.Stats getPoolStats() {
+        return pool().stats();
     }
 
     /**
-     * Quit driver for current thread
+     * Quit the idle pooled browsers; sessions in use are returned normally
      */
     public void quitDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            try {
-                driver.quit();
-                allDrivers.remove(driver);
-            } catch (Exception e) {
-                System.err.println("Error closing WebDriver: " + e.getMessage());
-            } finally {
-                driverThreadLocal.remove();
-            }
+        BrowserSessionPool current = pool;
+        if (current != null) {
+            current.evictIdle();
         }
     }
 
@@ -202,15 +272,9 @@ public class SeleniumService {
     @PreDestroy
     public void cleanupAllDrivers() {
         System.out.println("Closing all Selenium drivers...");
-        synchronized (allDrivers) {
-            for (WebDriver driver : allDrivers) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    // Ignore
-                }
-            }
-            allDrivers.clear();
+        BrowserSessionPool current = pool;
+        if (current != null) {
+            current.close();
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFeatures;
 import com.resumeopt.model.JobListing;
 import com.resumeopt.model.SkillsGapAnalysisResult;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,28 @@ import java.util.stream.Collectors;
 @Service
 public class SkillsGapAnalysisService {
 
+    // Common skill keywords
+    private static final String[] SKILL_KEYWORDS = {
+        "java", "python", "javascript", "react", "angular", "node", "spring", "sql",
+        "html", "css", "mongodb", "mysql", "postgresql", "git", "docker", "kubernetes",
+        "aws", "azure", "gcp", "linux", "c++", "c#", "php", "ruby", "typescript",
+        "vue", "express", "django", "flask", "tensorflow", "pytorch", "machine learning",
+        "data science", "ai", "artificial intelligence", "deep learning", "android",
+        "ios", "mobile development", "api", "rest", "microservices", "agile", "scrum",
+        "project management", "ui/ux", "design", "testing", "ci/cd", "jenkins",
+        "sql server", "oracle", "firebase", "spring boot", "hibernate", "jpa",
+        "bootstrap", "sass", "less", "webpack", "babel", "npm", "yarn", "redux",
+        "graphql", "postman", "junit", "selenium", "cucumber", "maven", "gradle",
+        "jenkins", "gitlab", "github", "bitbucket", "bash", "powershell", "scala",
+        "go", "rust", "swift", "kotlin", "flutter", "react native", "xamarin",
+        "blockchain", "ethereum", "solidity", "web3", "ethereum", "solidity",
+        "data structures", "algorithms", "problem solving", "communication",
+        "teamwork", "leadership", "adaptability", "critical thinking", "creativity",
+        "time management", "organization", "analytical", "research", "presentation",
+        "negotiation", "conflict resolution", "emotional intelligence"
+    };
+    private static final int[] SKILL_KEYWORD_IDS = JobFeatures.skillIds(SKILL_KEYWORDS);
+
     /**
      * Analyzes a fresher's resume against a job description to identify missing keywords/skills
      */
@@ -54,28 +77,7 @@ public class SkillsGapAnalysisService {
         Set<String> skills = new HashSet<>();
         String lowerText = resumeText.toLowerCase();
         
-        // Define common skill keywords
-        String[] skillKeywords = {
-            "java", "python", "javascript", "react", "angular", "node", "spring", "sql",
-            "html", "css", "mongodb", "mysql", "postgresql", "git", "docker", "kubernetes",
-            "aws", "azure", "gcp", "linux", "c++", "c#", "php", "ruby", "typescript",
-            "vue", "express", "django", "flask", "tensorflow", "pytorch", "machine learning",
-            "data science", "ai", "artificial intelligence", "deep learning", "android",
-            "ios", "mobile development", "api", "rest", "microservices", "agile", "scrum",
-            "project management", "ui/ux", "design", "testing", "ci/cd", "jenkins",
-            "sql server", "oracle", "firebase", "spring boot", "hibernate", "jpa",
-            "bootstrap", "sass", "less", "webpack", "babel", "npm", "yarn", "redux",
-            "graphql", "postman", "junit", "selenium", "cucumber", "maven", "gradle",
-            "jenkins", "gitlab", "github", "bitbucket", "bash", "powershell", "scala",
-            "go", "rust", "swift", "kotlin", "flutter", "react native", "xamarin",
-            "blockchain", "ethereum", "solidity", "web3", "ethereum", "solidity",
-            "data structures", "algorithms", "problem solving", "communication",
-            "teamwork", "leadership", "adaptability", "critical thinking", "creativity",
-            "time management", "organization", "analytical", "research", "presentation",
-            "negotiation", "conflict resolution", "emotional intelligence"
-        };
-        
-        for (String skill : skillKeywords) {
+        for (String skill : SKILL_KEYWORDS) {
             if (lowerText.contains(skill.toLowerCase())) {
                 skills.add(skill);
             }
@@ -136,22 +138,14 @@ public class SkillsGapAnalysisService {
     }
     
     /**
-     * Extracts required skills from job description
+     * Required skills of a job, from the skills its ingest-time features found in title and description
      */
     private Set<String> extractSkillsFromJobDescription(JobListing job) {
         if (job == null || (job.getDescription() == null && job.getTitle() == null)) {
             return new HashSet<>();
         }
         
-        StringBuilder combinedText = new StringBuilder();
-        if (job.getTitle() != null) {
-            combinedText.append(job.getTitle()).append(" ");
-        }
-        if (job.getDescription() != null) {
-            combinedText.append(job.getDescription());
-        }
-        
-        return extractSkillsFromResume(combinedText.toString());
+        return new HashSet<>(job.getFeatures().skills(SKILL_KEYWORD_IDS));
     }
     
     /**
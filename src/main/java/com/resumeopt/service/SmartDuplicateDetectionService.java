@@ -1,5 +1,6 @@
 package com.resumeopt.service;
 
+import com.resumeopt.model.JobFingerprint;
 import com.resumeopt.model.JobListing;
 import org.springframework.stereotype.Service;
 
@@ -14,51 +15,91 @@ public class SmartDuplicateDetectionService {
     private static final double TITLE_SIMILARITY_THRESHOLD = 0.85;
     private static final double COMPANY_SIMILARITY_THRESHOLD = 0.90;
     private static final double COMBINED_SIMILARITY_THRESHOLD = 0.80;
+    private static final double DESCRIPTION_SIMILARITY_THRESHOLD = 0.70;
+    // Lowest title similarity that can still satisfy strategy 2 or 3 (2/3, with a
+    // perfect company)
+    private static final double MIN_TITLE_SIMILARITY =
+        (COMBINED_SIMILARITY_THRESHOLD - 0.4) / 0.6;
     
     /**
-     * Remove duplicates from job list using advanced fuzzy matching
+     * Remove duplicates from job list using advanced fuzzy matching.
+     * Every field is normalized once per job, and titles are blocked with an exact
+     * similarity join, so each job is compared only with the earlier unique jobs
+     * whose title could be similar enough instead of with every unique job.
      */
     public List<JobListing> removeDuplicates(List<JobListing> jobs) {
         if (jobs == null || jobs.isEmpty()) {
             return jobs;
         }
         
-        List<JobListing> unique = new ArrayList<>();
-        Set<String> seenHashes = new HashSet<>();
-        
+        List<NormalizedJob> normalized = new ArrayList<>(jobs.size());
+        Map<String, Integer> titleIds = new HashMap<>();
+        List<String> titles = new ArrayList<>();
         for (JobListing job : jobs) {
             if (job == null) {
                 continue;
             }
-            
+            NormalizedJob entry = new NormalizedJob(job);
+            entry.titleId = titleIds.computeIfAbsent(entry.title, title -> {
+                titles.add(title);
+                return titles.size() - 1;
+            });
+            normalized.add(entry);
+        }
+        TitleSimilarityJoin similarTitles = TitleSimilarityJoin.build(titles);
+        
+        List<JobListing> unique = new ArrayList<>();
+        List<List<NormalizedJob>> uniqueByTitle = new ArrayList<>(Collections.nCopies(titles.size(), null));
+        Set<Long> seenUrls = new HashSet<>();
+        
+        for (NormalizedJob entry : normalized) {
             // Strategy 1: Exact URL match (highest confidence)
-            if (job.getApplyUrl() != null && !job.getApplyUrl().isBlank()) {
-                String urlHash = normalizeUrl(job.getApplyUrl());
-                if (seenHashes.contains("url:" + urlHash)) {
-                    continue; // Skip duplicate
-                }
-                seenHashes.add("url:" + urlHash);
+            if (entry.url != null && !seenUrls.add(entry.url)) {
+                continue; // Skip duplicate
             }
             
-            // Strategy 2: Fuzzy matching with existing jobs
-            boolean isDuplicate = false;
-            for (JobListing existing : unique) {
-                if (isDuplicateJob(job, existing)) {
-                    isDuplicate = true;
-                    break;
+            // Strategy 2: Fuzzy matching with existing jobs of the same or a similar title
+            if (!hasFuzzyDuplicate(entry, similarTitles, uniqueByTitle)) {
+                unique.add(entry.job);
+                List<NormalizedJob> sameTitle = uniqueByTitle.get(entry.titleId);
+                if (sameTitle == null) {
+                    sameTitle = new ArrayList<>();
+                    uniqueByTitle.set(entry.titleId, sameTitle);
                 }
-            }
-            
-            if (!isDuplicate) {
-                unique.add(job);
-                // Add to hash set for fast lookup
-                addToHashSet(job, seenHashes);
+                sameTitle.add(entry);
             }
         }
         
         return unique;
     }
     
+    private boolean hasFuzzyDuplicate(NormalizedJob entry, TitleSimilarityJoin similarTitles,
+                                      List<List<NormalizedJob>> uniqueByTitle) {
+        if (matchesAny(entry, uniqueByTitle.get(entry.titleId), 1.0)) {
+            return true;
+        }
+        int[] neighbors = similarTitles.neighbors(entry.titleId);
+        double[] similarities = similarTitles.similarities(entry.titleId);
+        for (int i = 0; i < neighbors.length; i++) {
+            if (matchesAny(entry, uniqueByTitle.get(neighbors[i]), similarities[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean matchesAny(NormalizedJob entry, List<NormalizedJob> candidates, double titleSimilarity) {
+        if (candidates == null) {
+            return false;
+        }
+        for (NormalizedJob existing : candidates) {
+            if (isFuzzyDuplicate(entry, existing, titleSimilarity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Check if two jobs are duplicates using multiple strategies
      */
@@ -66,25 +107,36 @@ public class SmartDuplicateDetectionService {
         if (job1 == null || job2 == null) {
             return false;
         }
+        NormalizedJob first = new NormalizedJob(job1);
+        NormalizedJob second = new NormalizedJob(job2);
         
         // Strategy 1: Exact URL match
-        if (job1.getApplyUrl() != null && job2.getApplyUrl() != null &&
-            !job1.getApplyUrl().isBlank() && !job2.getApplyUrl().isBlank()) {
-            if (normalizeUrl(job1.getApplyUrl()).equals(normalizeUrl(job2.getApplyUrl()))) {
-                return true;
-            }
+        if (first.url != null && first.url.equals(second.url)) {
+            return true;
         }
         
-        // Strategy 2: Title and Company similarity
-        double titleSimilarity = calculateSimilarity(
-            normalizeText(job1.getTitle()),
-            normalizeText(job2.getTitle())
-        );
+        double titleSimilarity = calculateSimilarity(first.title, second.title, MIN_TITLE_SIMILARITY);
+        return isFuzzyDuplicate(first, second, titleSimilarity);
+    }
+    
+    /**
+     * Strategies 2 and 3 for a pair whose title similarity is already known
+     */
+    private boolean isFuzzyDuplicate(NormalizedJob job1, NormalizedJob job2, double titleSimilarity) {
+        if (titleSimilarity == 0.0) {
+            return false; // Neither strategy can match without title similarity
+        }
         
-        double companySimilarity = calculateSimilarity(
-            normalizeText(job1.getCompany()),
-            normalizeText(job2.getCompany())
-        );
+        // Below this company similarity neither strategy can match (strategy 3
+        // needs the most from the company when the titles are less similar)
+        double minCompanySimilarity = Math.max(0.0,
+            (COMBINED_SIMILARITY_THRESHOLD - (titleSimilarity * 0.6)) / 0.4);
+        if (!mayHaveSimilarCompanies(job1, job2, minCompanySimilarity)) {
+            return false;
+        }
+        
+        // Strategy 2: Title and Company similarity
+        double companySimilarity = calculateSimilarity(job1.company, job2.company, minCompanySimilarity);
         
         if (titleSimilarity >= TITLE_SIMILARITY_THRESHOLD && 
             companySimilarity >= COMPANY_SIMILARITY_THRESHOLD) {
@@ -93,13 +145,14 @@ public class SmartDuplicateDetectionService {
         
         // Strategy 3: Combined similarity score
         double combinedSimilarity = (titleSimilarity * 0.6) + (companySimilarity * 0.4);
-        if (combinedSimilarity >= COMBINED_SIMILARITY_THRESHOLD) {
+        if (combinedSimilarity >= COMBINED_SIMILARITY_THRESHOLD && mayHaveSimilarDescriptions(job1, job2)) {
             // Additional check: description similarity
             double descSimilarity = calculateSimilarity(
-                normalizeText(job1.getDescription()),
-                normalizeText(job2.getDescription())
+                job1.description(),
+                job2.description(),
+                DESCRIPTION_SIMILARITY_THRESHOLD
             );
-            if (descSimilarity > 0.7) {
+            if (descSimilarity > DESCRIPTION_SIMILARITY_THRESHOLD) {
                 return true;
             }
         }
@@ -108,9 +161,73 @@ public class SmartDuplicateDetectionService {
     }
     
     /**
-     * Calculate similarity between two strings using Levenshtein distance
+     * Cheap necessary condition for company similarity of at least
+     * {@code minSimilarity}: strings within edit distance k share at least
+     * {@code maxLength - k} characters (as multisets).
      */
-    private double calculateSimilarity(String str1, String str2) {
+    private boolean mayHaveSimilarCompanies(NormalizedJob job1, NormalizedJob job2, double minSimilarity) {
+        if (job1.company.equals(job2.company)) {
+            return true;
+        }
+        int maxLength = Math.max(job1.company.length(), job2.company.length());
+        int maxDistance = (int) ((1.0 - minSimilarity) * maxLength) + 1;
+        int requiredShared = maxLength - maxDistance;
+        if (Math.abs(job1.company.length() - job2.company.length()) > maxDistance) {
+            return false;
+        }
+        if (requiredShared <= 0) {
+            return true;
+        }
+        int[] chars1 = job1.companyChars;
+        int[] chars2 = job2.companyChars;
+        int shared = 0;
+        for (int i = 0; i < chars1.length; i++) {
+            shared += Math.min(chars1[i], chars2[i]);
+        }
+        return shared >= requiredShared;
+    }
+    
+    /**
+     * Cheap necessary condition for description similarity above the threshold:
+     * strings within edit distance k share at least {@code maxLength - 1 - 2k}
+     * bigrams, which is checked on sorted bigram arrays in linear time before the
+     * edit distance of two long descriptions is computed.
+     */
+    private boolean mayHaveSimilarDescriptions(NormalizedJob job1, NormalizedJob job2) {
+        String desc1 = job1.description();
+        String desc2 = job2.description();
+        if (desc1.equals(desc2)) {
+            return true;
+        }
+        int maxLength = Math.max(desc1.length(), desc2.length());
+        int maxDistance = (int) ((1.0 - DESCRIPTION_SIMILARITY_THRESHOLD) * maxLength) + 1;
+        int requiredShared = maxLength - 1 - 2 * maxDistance;
+        if (requiredShared <= 0) {
+            return true;
+        }
+        int[] bigrams1 = job1.descriptionBigrams();
+        int[] bigrams2 = job2.descriptionBigrams();
+        int shared = 0;
+        for (int i = 0, j = 0; i < bigrams1.length && j < bigrams2.length; ) {
+            if (bigrams1[i] < bigrams2[j]) {
+                i++;
+            } else if (bigrams1[i] > bigrams2[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared >= requiredShared;
+    }
+    
+    /**
+     * Calculate similarity between two strings using Levenshtein distance.
+     * Pairs that are certainly less similar than {@code minSimilarity} report 0.0
+     * without computing the full distance.
+     */
+    private double calculateSimilarity(String str1, String str2, double minSimilarity) {
         if (str1 == null || str2 == null) {
             return 0.0;
         }
@@ -128,40 +245,22 @@ public class SmartDuplicateDetectionService {
             return 1.0;
         }
         
-        int distance = levenshteinDistance(str1, str2);
+        // Any distance above this bound puts the similarity below minSimilarity;
+        // the +1 keeps rounding of the thresholds from ever cutting off a pair
+        int maxDistance = (int) ((1.0 - minSimilarity) * maxLength) + 1;
+        int distance = boundedLevenshteinDistance(str1, str2, maxDistance);
+        if (distance > maxDistance) {
+            return 0.0;
+        }
         return 1.0 - ((double) distance / maxLength);
     }
     
     /**
-     * Calculate Levenshtein distance between two strings
+     * Levenshtein distance between two strings, or {@code maxDistance + 1} as
+     * soon as it is known to exceed {@code maxDistance}; see {@link EditDistance}.
      */
-    private int levenshteinDistance(String str1, String str2) {
-        int len1 = str1.length();
-        int len2 = str2.length();
-        
-        int[][] dp = new int[len1 + 1][len2 + 1];
-        
-        for (int i = 0; i <= len1; i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= len2; j++) {
-            dp[0][j] = j;
-        }
-        
-        for (int i = 1; i <= len1; i++) {
-            for (int j = 1; j <= len2; j++) {
-                if (str1.charAt(i - 1) == str2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + 1
-                    );
-                }
-            }
-        }
-        
-        return dp[len1][len2];
+    static int boundedLevenshteinDistance(String str1, String str2, int maxDistance) {
+        return EditDistance.bounded(str1, str2, maxDistance);
     }
     
     /**
@@ -177,33 +276,6 @@ public class SmartDuplicateDetectionService {
                 .trim();
     }
     
-    /**
-     * Normalize URL for comparison
-     */
-    private String normalizeUrl(String url) {
-        if (url == null) {
-            return "";
-        }
-        try {
-            java.net.URL urlObj = new java.net.URL(url);
-            String normalized = urlObj.getProtocol() + "://" + urlObj.getHost() + urlObj.getPath();
-            // Remove query parameters and fragments for comparison
-            return normalized.toLowerCase().replaceAll("/$", "");
-        } catch (Exception e) {
-            return url.toLowerCase().split("\\?")[0].split("#")[0];
-        }
-    }
-    
-    /**
-     * Add job to hash set for fast lookup
-     */
-    private void addToHashSet(JobListing job, Set<String> seenHashes) {
-        if (job.getTitle() != null && job.getCompany() != null) {
-            String titleCompanyHash = normalizeText(job.getTitle()) + "|" + normalizeText(job.getCompany());
-            seenHashes.add("titlecompany:" + titleCompanyHash);
-        }
-    }
-    
     /**
      * Group similar jobs together
      */
@@ -237,5 +309,53 @@ public class SmartDuplicateDetectionService {
     private String generateKey(JobListing job) {
         return normalizeText(job.getTitle()) + "|" + normalizeText(job.getCompany());
     }
+    
+    /**
+     * A job with its comparison fields normalized once; the description is only
+     * normalized when a pair actually reaches the description check.
+     */
+    private final class NormalizedJob {
+        final JobListing job;
+        final String title;
+        final String company;
+        // Canonical apply URL hash from the listing's fingerprint, null without a URL
+        final Long url;
+        // Character counts of the normalized company (a-z, 0-9, space)
+        final int[] companyChars = new int[37];
+        int titleId;
+        private String description;
+        private int[] descriptionBigrams;
+        
+        NormalizedJob(JobListing job) {
+            this.job = job;
+            this.title = normalizeText(job.getTitle());
+            this.company = normalizeText(job.getCompany());
+            for (int i = 0; i < company.length(); i++) {
+                char c = company.charAt(i);
+                companyChars[c >= 'a' ? c - 'a' : c >= '0' ? 26 + c - '0' : 36]++;
+            }
+            JobFingerprint fingerprint = job.getCanonicalFingerprint();
+            this.url = fingerprint.hasUrl() ? fingerprint.url() : null;
+        }
+        
+        String description() {
+            if (description == null) {
+                description = normalizeText(job.getDescription());
+            }
+            return description;
+        }
+        
+        int[] descriptionBigrams() {
+            if (descriptionBigrams == null) {
+                String text = description();
+                int[] bigrams = new int[Math.max(0, text.length() - 1)];
+                for (int i = 0; i < bigrams.length; i++) {
+                    bigrams[i] = (text.charAt(i) << 16) | text.charAt(i + 1);
+                }
+                Arrays.sort(bigrams);
+                descriptionBigrams = bigrams;
+            }
+            return descriptionBigrams;
+        }
+    }
 }
-
@@ -0,0 +1,147 @@
+package com.resumeopt.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.resumeopt.model.JobListing;
+
+/**
+ * A single streaming run over all portal scrapers.
+ * Each portal's jobs are deduplicated against everything already emitted and
+ * published as soon as that portal finishes, so readers can serve a partial,
+ * growing snapshot while slower portals are still being scraped.
+ * Sinks are called outside the lock, so a slow sink does not hold up other
+ * portals; they may be called concurrently and must be thread-safe.
+ */
+public class StreamingPortalAggregation {
+
+    private final List<JobListing> emitted = new CopyOnWriteArrayList<>();
+    private final Set<Long> seenTitleCompanies = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<List<JobListing>>> sinks = new CopyOnWriteArrayList<>();
+    private final AtomicInteger portalsCompleted = new AtomicInteger();
+    private final AtomicInteger rawJobCount = new AtomicInteger();
+    private final CompletableFuture<List<JobListing>> result = new CompletableFuture<>();
+    private final int portalsTotal;
+    private final long startedAt = System.currentTimeMillis();
+    private volatile boolean closed;
+
+    StreamingPortalAggregation(int portalsTotal) {
+        this.portalsTotal = portalsTotal;
+    }
+
+    /**
+     * Publishes one portal's (already date-filtered) jobs. Jobs seen earlier in this
+     * run are dropped; batches arriving after the deadline are ignored.
+     */
+    void emit(List<JobListing> batch) {
+        List<JobListing> published;
+        List<Consumer<List<JobListing>>> recipients;
+        synchronized (this) {
+            if (closed || batch == null || batch.isEmpty()) {
+                return;
+            }
+            rawJobCount.addAndGet(batch.size());
+
+            List<JobListing> fresh = new ArrayList<>();
+            for (JobListing job : batch) {
+                // Portals link the same job under different URLs, so only title and company count
+                if (seenTitleCompanies.add(job.getCanonicalFingerprint().titleCompany())) {
+                    fresh.add(job);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            emitted.addAll(fresh);
+            published = List.copyOf(fresh);
+            recipients = List.copyOf(sinks);
+        }
+        for (Consumer<List<JobListing>> sink : recipients) {
+            deliver(sink, published);
+        }
+    }
+
+    void portalFinished() {
+        portalsCompleted.incrementAndGet();
+    }
+
+    /**
+     * Closes the run and completes {@link #result()} with the final list.
+     */
+    synchronized void complete(List<JobListing> finalJobs) {
+        closed = true;
+        sinks.clear();
+        result.complete(finalJobs);
+    }
+
+    /**
+     * Registers a sink for this run. Jobs emitted before the call are replayed to the
+     * sink as one batch, so late subscribers still see the whole snapshot exactly once
+     * (though a batch emitted meanwhile may arrive before the replay).
+     */
+    public void subscribe(Consumer<List<JobListing>> sink) {
+        if (sink == null) {
+            return;
+        }
+        List<JobListing> replay;
+        synchronized (this) {
+            replay = List.copyOf(emitted);
+            if (!closed) {
+                sinks.add(sink);
+            }
+        }
+        if (!replay.isEmpty()) {
+            deliver(sink, replay);
+        }
+    }
+
+    private void deliver(Consumer<List<JobListing>> sink, List<JobListing> batch) {
+        try {
+            sink.accept(batch);
+        } catch (Exception e) {
+            System.err.println("Streaming aggregation sink failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Jobs emitted so far, in the order portals finished
+     */
+    public List<JobListing> snapshot() {
+        return List.copyOf(emitted);
+    }
+
+    /**
+     * @return Future completing with the aggregated list once every portal is done
+     *         or the aggregation deadline has passed
+     */
+    public CompletableFuture<List<JobListing>> result() {
+        return result;
+    }
+
+    public boolean isComplete() {
+        return closed;
+    }
+
+    public int getPortalsCompleted() {
+        return portalsCompleted.get();
+    }
+
+    public int getPortalsTotal() {
+        return portalsTotal;
+    }
+
+    public int getRawJobCount() {
+        return rawJobCount.get();
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+}
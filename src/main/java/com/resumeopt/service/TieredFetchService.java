@@ -0,0 +1,202 @@
+package com.resumeopt.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * HTTP-first page fetching with a headless browser as fallback.
+ * A page is fetched with a plain HTTP request first; only when the response is
+ * blocked, fails, or lacks what the scraper needs (its job card selectors, or
+ * job data embedded as JSON) is it rendered in a pooled browser. The tier that
+ * worked is remembered per domain, so domains that always need rendering skip
+ * the wasted HTTP attempt, while the HTTP tier is still re-probed every few
+ * pages in case the site starts serving usable markup again.
+ */
+@Service
+public class TieredFetchService {
+
+    public enum Tier {
+        HTTP, BROWSER
+    }
+
+    @Autowired
+    private AdvancedScrapingService advancedScrapingService;
+
+    @Autowired
+    private SeleniumService seleniumService;
+
+    // Browser-tier domains retry plain HTTP once every this many fetches
+    @Value("${scraper.fetch.httpReprobeInterval:10}")
+    private int httpReprobeInterval = 10;
+
+    private final Map<String, DomainTier> domainTiers = new ConcurrentHashMap<>();
+
+    /**
+     * Per-domain tier preference and how often each tier served a page.
+     */
+    public record TierStats(Tier preferredTier, long httpServed, long browserServed, long escalations) {}
+
+    /**
+     * Fetches a page whose job cards match {@code requiredSelector}, rendering it
+     * in a browser only when the plain HTTP response has neither those cards nor
+     * embedded job data.
+     */
+    public Document fetch(String url, String requiredSelector) throws IOException {
+        return fetch(url, hasJobContent(requiredSelector));
+    }
+
+    /**
+     * Like {@link #fetch(String, String)}, with a custom browser render.
+     */
+    public Document fetch(String url, String requiredSelector, Supplier<Document> browserFetch) throws IOException {
+        return fetch(url, hasJobContent(requiredSelector), browserFetch);
+    }
+
+    /**
+     * Fetches a page, escalating to the default browser render when the HTTP
+     * response does not satisfy {@code usable}.
+     */
+    public Document fetch(String url, Predicate<Document> usable) throws IOException {
+        return fetch(url, usable, () -> seleniumService.fetchDocument(url));
+    }
+
+    /**
+     * Fetches a page, escalating to {@code browserFetch} (e.g. a render that waits
+     * for specific elements) when the HTTP response does not satisfy
+     * {@code usable}. If neither tier yields a usable page, the best document
+     * obtained is returned so the caller can report the empty result.
+     *
+     * @throws IOException if both tiers fail outright
+     */
+    public Document fetch(String url, Predicate<Document> usable, Supplier<Document> browserFetch)
+            throws IOException {
+        String domain = domainOf(url);
+        DomainTier tier = domainTiers.computeIfAbsent(domain, d -> new DomainTier());
+
+        Document httpDoc = null;
+        Exception httpFailure = null;
+        if (tier.shouldTryHttp(httpReprobeInterval)) {
+            try {
+                httpDoc = advancedScrapingService.fetchDocument(url);
+            } catch (Exception e) {
+                httpFailure = e;
+            }
+            if (httpDoc != null && !isBlocked(httpDoc) && usable.test(httpDoc)) {
+                tier.served(Tier.HTTP);
+                return httpDoc;
+            }
+            tier.escalations.incrementAndGet();
+            System.out.println("[" + LocalDateTime.now() + "] HTTP fetch insufficient for " + domain + " ("
+                    + (httpFailure != null ? httpFailure.getMessage()
+                            : httpDoc != null && isBlocked(httpDoc) ? "blocked" : "required content missing")
+                    + "), rendering in browser");
+        }
+
+        Document browserDoc;
+        try {
+            browserDoc = browserFetch.get();
+        } catch (Exception e) {
+            if (httpDoc != null) {
+                return httpDoc;
+            }
+            IOException failure = new IOException("Failed to fetch " + url + " over HTTP and in browser", e);
+            if (httpFailure != null) {
+                failure.addSuppressed(httpFailure);
+            }
+            throw failure;
+        }
+        if (browserDoc != null && !isBlocked(browserDoc) && usable.test(browserDoc)) {
+            tier.served(Tier.BROWSER);
+            return browserDoc;
+        }
+        return browserDoc != null ? browserDoc : httpDoc;
+    }
+
+    /**
+     * Anti-bot interstitials and auth walls served in place of the real page.
+     */
+    static boolean isBlocked(Document doc) {
+        String title = doc.title();
+        String text = doc.text();
+        return title.contains("Cloudflare") || title.contains("Just a moment...")
+                || title.contains("Security Challenge") || text.contains("Verify you are human")
+                || text.contains("Access Denied") || text.contains("authwall");
+    }
+
+    private static Predicate<Document> hasJobContent(String requiredSelector) {
+        return doc -> !doc.select(requiredSelector).isEmpty() || hasEmbeddedJobData(doc);
+    }
+
+    /**
+     * Server-rendered job data: schema.org JobPosting JSON-LD or a Next.js data blob.
+     */
+    static boolean hasEmbeddedJobData(Document doc) {
+        return !doc.select("script[type=application/ld+json]:containsData(JobPosting), script#__NEXT_DATA__")
+                .isEmpty();
+    }
+
+    /**
+     * Tier preference and counters of every domain fetched so far.
+     */
+    public Map<String, TierStats> getTierStats() {
+        Map<String, TierStats> stats = new TreeMap<>();
+        domainTiers.forEach((domain, tier) -> stats.put(domain, tier.stats()));
+        return stats;
+    }
+
+    private static String domainOf(String url) {
+        try {
+            String host = java.net.URI.create(url).getHost();
+            return host != null ? host : "unknown";
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    private static final class DomainTier {
+        private volatile Tier preferred = Tier.HTTP;
+        private final AtomicInteger browserFetchesSinceProbe = new AtomicInteger();
+        private final AtomicLong httpServed = new AtomicLong();
+        private final AtomicLong browserServed = new AtomicLong();
+        private final AtomicLong escalations = new AtomicLong();
+
+        boolean shouldTryHttp(int reprobeInterval) {
+            if (preferred == Tier.HTTP) {
+                return true;
+            }
+            if (browserFetchesSinceProbe.incrementAndGet() >= reprobeInterval) {
+                browserFetchesSinceProbe.set(0);
+                return true;
+            }
+            return false;
+        }
+
+        void served(Tier tier) {
+            if (tier == Tier.HTTP) {
+                httpServed.incrementAndGet();
+            } else {
+                browserServed.incrementAndGet();
+            }
+            if (preferred != tier) {
+                preferred = tier;
+                browserFetchesSinceProbe.set(0);
+            }
+        }
+
+        TierStats stats() {
+            return new TierStats(preferred, httpServed.get(), browserServed.get(), escalations.get());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.resumeopt.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every pair of distinct normalized titles whose Levenshtein distance is
+ * at most a third of the longer title, i.e. title similarity of at least 2/3 -
+ * the minimum any fuzzy duplicate rule of {@link SmartDuplicateDetectionService}
+ * can accept.
+ *
+ * Candidates come from a prefix-filtered bigram index: titles within that
+ * distance share at least {@code maxLen - 1 - 2 * maxDistance} bigrams, so two
+ * such titles must share one of the rarest bigrams of each title. Only those
+ * candidates are verified with a bounded edit distance, so the join is exact
+ * without comparing every pair.
+ */
+final class TitleSimilarityJoin {
+
+    // Up to this length the shared-bigram bound is vacuous; such titles are compared pairwise
+    private static final int SHORT_TITLE_LENGTH = 3;
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+    private static final double[] NO_SIMILARITIES = new double[0];
+
+    private final int[][] neighbors;
+    private final double[][] similarities;
+
+    private TitleSimilarityJoin(int[][] neighbors, double[][] similarities) {
+        this.neighbors = neighbors;
+        this.similarities = similarities;
+    }
+
+    /**
+     * Largest edit distance at which two titles can still be duplicates.
+     */
+    static int maxDistance(int maxLength) {
+        return maxLength / 3;
+    }
+
+    /**
+     * Joins the given distinct titles. Title ids are positions in {@code titles}.
+     */
+    static TitleSimilarityJoin build(List<String> titles) {
+        int n = titles.size();
+        int[][] ranks = rankedBigrams(titles);
+        NeighborList[] found = new NeighborList[n];
+
+        int[][] postings = new int[rankCount(ranks)][];
+        int[] postingSizes = new int[postings.length];
+        List<Integer> shortTitles = new ArrayList<>();
+        int[] probedBy = new int[n];
+        Arrays.fill(probedBy, -1);
+
+        for (int x = 0; x < n; x++) {
+            String title = titles.get(x);
+            int prefix = prefixLength(title.length(), ranks[x].length);
+            for (int p = 0; p < prefix; p++) {
+                int rank = ranks[x][p];
+                for (int i = 0; i < postingSizes[rank]; i++) {
+                    int y = postings[rank][i];
+                    if (probedBy[y] != x) {
+                        probedBy[y] = x;
+                        verify(titles, ranks, x, y, found);
+                    }
+                }
+            }
+            for (int p = 0; p < prefix; p++) {
+                int rank = ranks[x][p];
+                if (postings[rank] == null) {
+                    postings[rank] = new int[4];
+                } else if (postingSizes[rank] == postings[rank].length) {
+                    postings[rank] = Arrays.copyOf(postings[rank], postingSizes[rank] * 2);
+                }
+                postings[rank][postingSizes[rank]++] = x;
+            }
+
+            if (title.length() <= SHORT_TITLE_LENGTH) {
+                for (int y : shortTitles) {
+                    if (probedBy[y] != x) {
+                        probedBy[y] = x;
+                        verify(titles, ranks, x, y, found);
+                    }
+                }
+                shortTitles.add(x);
+            }
+        }
+
+        int[][] neighbors = new int[n][];
+        double[][] similarities = new double[n][];
+        for (int x = 0; x < n; x++) {
+            NeighborList list = found[x];
+            neighbors[x] = list == null ? NO_NEIGHBORS : Arrays.copyOf(list.ids, list.size);
+            similarities[x] = list == null ? NO_SIMILARITIES : Arrays.copyOf(list.similarities, list.size);
+        }
+        return new TitleSimilarityJoin(neighbors, similarities);
+    }
+
+    /**
+     * Ids of the other titles similar to {@code titleId}.
+     */
+    int[] neighbors(int titleId) {
+        return neighbors[titleId];
+    }
+
+    /**
+     * Similarities matching {@link #neighbors(int)}, computed exactly as
+     * {@code 1 - distance / maxLength}.
+     */
+    double[] similarities(int titleId) {
+        return similarities[titleId];
+    }
+
+    private static void verify(List<String> titles, int[][] ranks, int x, int y, NeighborList[] found) {
+        String a = titles.get(x);
+        String b = titles.get(y);
+        if (a.isEmpty() || b.isEmpty()) {
+            return; // A blank title is never similar to another title
+        }
+        int maxLength = Math.max(a.length(), b.length());
+        int maxDistance = maxDistance(maxLength);
+        if (Math.abs(a.length() - b.length()) > maxDistance
+                || sharedTokens(ranks[x], ranks[y]) < maxLength - 1 - 2 * maxDistance) {
+            return;
+        }
+        int distance = EditDistance.bounded(a, b, maxDistance);
+        if (distance > maxDistance) {
+            return;
+        }
+        double similarity = 1.0 - ((double) distance / maxLength);
+        add(found, x, y, similarity);
+        add(found, y, x, similarity);
+    }
+
+    private static int sharedTokens(int[] ranks1, int[] ranks2) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < ranks1.length && j < ranks2.length; ) {
+            if (ranks1[i] < ranks2[j]) {
+                i++;
+            } else if (ranks1[i] > ranks2[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private static void add(NeighborList[] found, int from, int to, double similarity) {
+        if (found[from] == null) {
+            found[from] = new NeighborList();
+        }
+        found[from].add(to, similarity);
+    }
+
+    /**
+     * Number of rarest bigrams of a title that must be indexed and probed. A
+     * partner title within {@link #maxDistance(int)} shares at least
+     * {@code tau} bigrams, so a prefix of {@code bigrams - tau + 1} suffices;
+     * tau is minimized over the partner lengths the length filter allows.
+     */
+    private static int prefixLength(int length, int bigrams) {
+        int minShared = Integer.MAX_VALUE;
+        for (int maxLength = Math.max(length, SHORT_TITLE_LENGTH + 1);
+                maxLength - maxDistance(maxLength) <= length; maxLength++) {
+            minShared = Math.min(minShared, maxLength - 1 - 2 * maxDistance(maxLength));
+        }
+        if (minShared == Integer.MAX_VALUE || minShared < 1) {
+            return bigrams;
+        }
+        return Math.max(0, Math.min(bigrams, bigrams - minShared + 1));
+    }
+
+    /**
+     * Bigrams of each title as global ranks (rarest first), one token per
+     * occurrence so that shared tokens count the bigram multiset intersection.
+     */
+    private static int[][] rankedBigrams(List<String> titles) {
+        long[][] tokens = new long[titles.size()][];
+        Map<Long, Integer> frequency = new HashMap<>();
+        for (int x = 0; x < titles.size(); x++) {
+            tokens[x] = bigramTokens(titles.get(x));
+            for (long token : tokens[x]) {
+                frequency.merge(token, 1, Integer::sum);
+            }
+        }
+
+        // Pack (frequency, token index) so a primitive sort orders tokens rarest first
+        Long[] distinct = frequency.keySet().toArray(new Long[0]);
+        long[] packed = new long[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            packed[i] = ((long) frequency.get(distinct[i]) << 32) | i;
+        }
+        Arrays.sort(packed);
+        Map<Long, Integer> rankOf = new HashMap<>(distinct.length * 2);
+        for (int rank = 0; rank < packed.length; rank++) {
+            rankOf.put(distinct[(int) packed[rank]], rank);
+        }
+
+        int[][] ranks = new int[titles.size()][];
+        for (int x = 0; x < titles.size(); x++) {
+            ranks[x] = new int[tokens[x].length];
+            for (int i = 0; i < tokens[x].length; i++) {
+                ranks[x][i] = rankOf.get(tokens[x][i]);
+            }
+            Arrays.sort(ranks[x]);
+        }
+        return ranks;
+    }
+
+    private static long[] bigramTokens(String title) {
+        if (title.length() < 2) {
+            return new long[0];
+        }
+        long[] tokens = new long[title.length() - 1];
+        Map<Integer, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < tokens.length; i++) {
+            int bigram = (title.charAt(i) << 16) | title.charAt(i + 1);
+            int occurrence = occurrences.merge(bigram, 1, Integer::sum);
+            tokens[i] = ((long) bigram << 32) | occurrence;
+        }
+        return tokens;
+    }
+
+    private static int rankCount(int[][] ranks) {
+        int max = -1;
+        for (int[] titleRanks : ranks) {
+            for (int rank : titleRanks) {
+                max = Math.max(max, rank);
+            }
+        }
+        return max + 1;
+    }
+
+    private static final class NeighborList {
+        int[] ids = new int[4];
+        double[] similarities = new double[4];
+        int size;
+
+        void add(int id, double similarity) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                similarities = Arrays.copyOf(similarities, size * 2);
+            }
+            ids[size] = id;
+            similarities[size] = similarity;
+            size++;
+        }
+    }
+}
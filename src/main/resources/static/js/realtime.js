@@ -7,10 +7,31 @@
   let connected = false;
   let retries = 0;
 
+  // Topics subscribed by other scripts, renewed after each reconnect
+  const topicHandlers = [];
+
+  function subscribeTopic(entry){
+    entry.sub = client.subscribe(entry.topic, function(msg){
+      entry.handler(JSON.parse(msg.body));
+    });
+  }
+
+  window.rtSubscribe = function(topic, handler){
+    const entry = {topic: topic, handler: handler, sub: null};
+    topicHandlers.push(entry);
+    if (connected) subscribeTopic(entry);
+    return function(){
+      const i = topicHandlers.indexOf(entry);
+      if (i >= 0) topicHandlers.splice(i, 1);
+      if (entry.sub && connected) entry.sub.unsubscribe();
+    };
+  };
+
   function connect(){
     client.connect({}, function(){
       connected = true; retries = 0;
       window.dispatchEvent(new CustomEvent('rt:connected'));
+      topicHandlers.forEach(subscribeTopic);
 
       client.subscribe('/topic/resume/optimized', function(msg){
         const data = JSON.parse(msg.body);
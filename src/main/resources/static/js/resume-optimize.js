@@ -0,0 +1,113 @@
+// Submits resume optimization forms as queued jobs and follows their progress.
+// Forms opt in with data-async-action (the queue endpoint) and data-result-view
+// (the page that shows the result); without fetch they post synchronously as before.
+(function(){
+  const MAX_RETRIES = 5;
+  const POLL_MS = 1500;
+
+  document.addEventListener('submit', function(e){
+    const form = e.target;
+    if (!form || !form.hasAttribute('data-async-action') || e.defaultPrevented) return;
+    if (!window.fetch || !window.FormData) return;
+    e.preventDefault();
+    setBusy(form, true);
+    submitJob(form, new FormData(form), 0);
+  });
+
+  async function submitJob(form, data, attempt){
+    showStatus(form, 'info', 'Submitting…');
+    let response, body;
+    try {
+      response = await fetch(form.getAttribute('data-async-action'), {method: 'POST', body: data});
+      body = await response.json().catch(() => ({}));
+    } catch (err) {
+      fail(form, 'Could not reach the server. Please try again.');
+      return;
+    }
+
+    if (response.status === 503) {
+      if (attempt >= MAX_RETRIES) {
+        fail(form, body.error || 'The server is busy. Please try again in a minute.');
+        return;
+      }
+      const seconds = parseInt(response.headers.get('Retry-After'), 10) || 5;
+      showStatus(form, 'warning', 'The optimization queue is full; retrying in ' + seconds + 's…');
+      setTimeout(() => submitJob(form, data, attempt + 1), seconds * 1000);
+      return;
+    }
+    if (!response.ok || !body.jobId) {
+      fail(form, body.error || 'The resume could not be submitted (HTTP ' + response.status + ').');
+      return;
+    }
+    follow(form, body);
+  }
+
+  // Progress arrives over WebSocket when connected; polling covers late subscriptions and no socket
+  function follow(form, job){
+    let done = false;
+    let timer = null;
+    let unsubscribe = null;
+
+    function onStatus(status){
+      if (done || !status) return;
+      if (status.stage === 'COMPLETED') {
+        finish();
+        const view = form.getAttribute('data-result-view');
+        window.location.href = job.resultUrl + (view ? '?view=' + encodeURIComponent(view) : '');
+      } else if (status.stage === 'FAILED') {
+        finish();
+        fail(form, status.message || 'The optimization failed.');
+      } else {
+        showStatus(form, 'info', (status.message || 'Working') + '… ' + (status.progress || 0) + '%');
+      }
+    }
+
+    function finish(){
+      done = true;
+      if (timer) clearTimeout(timer);
+      if (unsubscribe) unsubscribe();
+    }
+
+    async function poll(){
+      if (done) return;
+      try {
+        const response = await fetch(job.statusUrl, {headers: {'Accept': 'application/json'}});
+        if (response.status === 404) {
+          finish();
+          fail(form, 'The optimization is no longer available. Please try again.');
+          return;
+        }
+        if (response.ok) onStatus(await response.json());
+      } catch (err) { /* try again on the next tick */ }
+      if (!done) timer = setTimeout(poll, POLL_MS);
+    }
+
+    if (typeof window.rtSubscribe === 'function') {
+      unsubscribe = window.rtSubscribe(job.topic, onStatus);
+    }
+    showStatus(form, 'info', 'Queued…');
+    poll();
+  }
+
+  function fail(form, message){
+    showStatus(form, 'danger', message);
+    setBusy(form, false);
+    form.dispatchEvent(new CustomEvent('optimize:failed', {detail: {message: message}}));
+  }
+
+  function setBusy(form, busy){
+    form.querySelectorAll('[type="submit"]').forEach(b => { b.disabled = busy; });
+  }
+
+  function showStatus(form, kind, text){
+    let el = form.querySelector('[data-optimize-status]');
+    if (!el) {
+      el = document.createElement('div');
+      el.setAttribute('data-optimize-status', '');
+      el.setAttribute('role', 'status');
+      form.appendChild(el);
+    }
+    el.className = 'alert alert-' + kind + ' mt-3';
+    el.textContent = text;
+  }
+})();
@@ -1,8 +1,8 @@
 // Simple service worker for offline caching of static assets
-const CACHE_NAME = 'resumeopt-cache-v1';
+const CACHE_NAME = 'resumeopt-cache-v2';
 const ASSETS = [
   '/', '/css/styles.css',
-  '/js/realtime.js',
+  '/js/realtime.js', '/js/resume-optimize.js',
   'https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/css/bootstrap.min.css',
   'https://cdn.jsdelivr.net/npm/sockjs-client@1/dist/sockjs.min.js',
   'https://cdn.jsdelivr.net/npm/stompjs@2.3.3/lib/stomp.min.js'
@@ -0,0 +1,80 @@
+package com.resumeopt.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFeaturesTest {
+
+    private static JobListing job(String title, String description, String salaryRange) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        job.setDescription(description);
+        job.setSalaryRange(salaryRange);
+        return job;
+    }
+
+    @Test
+    void of_shouldExtractSkillsExperienceEducationAndSalary() {
+        JobFeatures features = JobFeatures.of(job("Python Developer",
+            "Build Spring Boot services in Java on AWS. 2-4 years of experience. B.Tech or Master's preferred.",
+            "6.0 - 9.5 LPA"));
+
+        int[] ids = JobFeatures.skillIds("python", "java", "javascript", "spring boot", "aws", "docker");
+        assertEquals(List.of("python", "java", "spring boot", "aws"), features.skills(ids));
+        assertEquals(List.of("java", "spring boot", "aws"), features.descriptionSkills(ids));
+        assertEquals(2, features.minExperience());
+        assertEquals(4, features.maxExperience());
+        assertTrue(features.requiresEducation(JobFeatures.BACHELOR));
+        assertTrue(features.requiresEducation(JobFeatures.MASTER));
+        assertEquals(6.0, features.salaryMin());
+        assertEquals(9.5, features.salaryMax());
+    }
+
+    @Test
+    void of_shouldReportMissingValues() {
+        JobFeatures features = JobFeatures.of(job(null, null, null));
+
+        assertEquals(-1, features.minExperience());
+        assertEquals(-1, features.maxExperience());
+        assertFalse(features.requiresEducation(JobFeatures.BACHELOR));
+        assertFalse(features.hasSalary());
+        assertFalse(features.hasSkill(JobFeatures.skillId("java")));
+        assertThrows(IllegalArgumentException.class, () -> JobFeatures.skillId("cobol"));
+    }
+
+    @Test
+    void decode_shouldRoundTripAndRejectForeignEncodings() {
+        JobFeatures features = JobFeatures.of(job("SDE", "React and SQL, 3 yrs", "12 LPA"));
+
+        assertEquals(features, JobFeatures.decode(features.encode()));
+        assertNull(JobFeatures.decode(null));
+        assertNull(JobFeatures.decode("f0.123;1,2;1,2;0;0;0;NaN;NaN"));
+        assertNull(JobFeatures.decode(features.encode().replace(";", ";x")));
+    }
+
+    @Test
+    void getFeatures_shouldBeStoredUntilAnExtractedFieldChanges() {
+        JobListing listing = job("SDE", "Java and Docker", null);
+
+        JobFeatures first = listing.getFeatures();
+        assertSame(first, listing.getFeatures());
+        assertEquals(first.encode(), ReflectionTestUtils.getField(listing, "features"));
+
+        // A listing loaded from the database decodes the stored column
+        JobListing loaded = new JobListing();
+        ReflectionTestUtils.setField(loaded, "features", first.encode());
+        assertTrue(loaded.getFeatures().hasSkill(JobFeatures.skillId("docker")));
+
+        listing.setDescription("Kubernetes only");
+        assertNull(ReflectionTestUtils.getField(listing, "features"));
+        assertFalse(listing.getFeatures().hasSkill(JobFeatures.skillId("docker")));
+        assertTrue(listing.getFeatures().hasSkill(JobFeatures.skillId("kubernetes")));
+
+        listing.setSalaryRange("3-5 LPA");
+        assertEquals(5.0, listing.getFeatures().salaryMax());
+    }
+}
@@ -0,0 +1,62 @@
+package com.resumeopt.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFingerprintTest {
+
+    @Test
+    void of_shouldIgnoreCaseWhitespaceAndPunctuation() {
+        JobFingerprint a = JobFingerprint.of("Java Developer", "Acme Pvt. Ltd", "https://jobs.acme.com/42");
+        JobFingerprint b = JobFingerprint.of("  java-developer ", "ACME PVT LTD", "http://www.jobs.acme.com/42/#apply");
+
+        assertEquals(a, b);
+        assertEquals(a.toHex(), b.toHex());
+        assertEquals(32, a.toHex().length());
+    }
+
+    @Test
+    void of_shouldDropTrackingParametersButKeepQueryIds() {
+        JobFingerprint plain = JobFingerprint.of("SDE", "Acme", "https://indeed.com/viewjob?jk=1");
+
+        assertEquals(plain, JobFingerprint.of("SDE", "Acme", "https://indeed.com/viewjob?jk=1&utm_source=mail&ref=home"));
+        assertEquals(plain, JobFingerprint.of("SDE", "Acme", "https://indeed.com/viewjob?trk=abc&jk=1"));
+        assertNotEquals(plain, JobFingerprint.of("SDE", "Acme", "https://indeed.com/viewjob?jk=2"));
+    }
+
+    @Test
+    void of_shouldKeepUrlSeparatorsApart() {
+        assertNotEquals(JobFingerprint.of("SDE", "Acme", "https://a.com/jobs/12-3456"),
+                JobFingerprint.of("SDE", "Acme", "https://a.com/jobs/123-456"));
+        assertNotEquals(JobFingerprint.of("SDE", "Acme", "https://a.com/view?id=1&p=23"),
+                JobFingerprint.of("SDE", "Acme", "https://a.com/view?id=12&p=3"));
+        assertNotEquals(JobFingerprint.of("SDE", "Acme", "https://a.com/jobs/1.2").url(),
+                JobFingerprint.of("SDE", "Acme", "https://a.com/jobs/12").url());
+        assertEquals(JobFingerprint.of("SDE", "Acme", "HTTPS://WWW.A.com/Jobs/12/?utm_source=x"),
+                JobFingerprint.of("SDE", "Acme", "https://a.com/jobs/12"));
+    }
+
+    @Test
+    void of_shouldKeepFieldsApart() {
+        assertNotEquals(JobFingerprint.of("ab", "c", null), JobFingerprint.of("a", "bc", null));
+        assertNotEquals(JobFingerprint.of("SDE", "Acme", "https://a.com/1"), JobFingerprint.of("SDE", "Acme", "https://a.com/2"));
+        assertEquals(JobFingerprint.of("SDE", "Acme", "https://a.com/1").titleCompany(),
+                JobFingerprint.of("SDE", "Acme", "https://a.com/2").titleCompany());
+        assertFalse(JobFingerprint.of("SDE", "Acme", "  ").hasUrl());
+    }
+
+    @Test
+    void getCanonicalFingerprint_shouldBeCachedUntilAnIdentityFieldChanges() {
+        JobListing job = new JobListing();
+        job.setTitle("Data Analyst");
+        job.setCompany("Globex");
+        JobFingerprint first = job.getCanonicalFingerprint();
+
+        assertSame(first, job.getCanonicalFingerprint());
+        job.setDescription("changed");
+        assertSame(first, job.getCanonicalFingerprint());
+        job.setApplyUrl("https://globex.com/jobs/7");
+        assertNotEquals(first, job.getCanonicalFingerprint());
+    }
+}
@@ -0,0 +1,64 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePortalSchedulerTest {
+
+    private final AdaptivePortalScheduler scheduler = new AdaptivePortalScheduler();
+    private final LocalDateTime now = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    @Test
+    void nextSchedule_shouldPollHighChurnPortalsMoreOften() {
+        ScraperHealthService.ScraperHealth health = new ScraperHealthService.ScraperHealth("Naukri");
+        health.recordSuccess(120, 60, 20_000);
+
+        AdaptivePortalScheduler.PortalSchedule schedule = scheduler.nextSchedule(null, health, 8000, now);
+
+        assertEquals(Duration.ofMinutes(30), schedule.interval());
+        assertEquals(now.plusMinutes(30), schedule.nextDue());
+    }
+
+    @Test
+    void nextSchedule_shouldBackOffStaleAndFailingPortals() {
+        ScraperHealthService.ScraperHealth stale = new ScraperHealthService.ScraperHealth("Shine");
+        stale.recordSuccess(40, 0, 5000);
+        assertEquals(Duration.ofMinutes(90), scheduler.nextSchedule(Duration.ofMinutes(60), stale, 4000, now).interval());
+
+        ScraperHealthService.ScraperHealth failing = new ScraperHealthService.ScraperHealth("Wellfound");
+        failing.recordFailure("403 Forbidden", 3000);
+        assertEquals(Duration.ofMinutes(240),
+                scheduler.nextSchedule(Duration.ofMinutes(120), failing, 8000, now).interval());
+        assertEquals(Duration.ofMinutes(360),
+                scheduler.nextSchedule(Duration.ofMinutes(240), failing, 8000, now).interval());
+    }
+
+    @Test
+    void nextSchedule_shouldNotTreatAFirstScrapeAsHighChurn() {
+        // After a restart there is no previous scrape, so no new job count is recorded
+        ScraperHealthService.ScraperHealth restarted = new ScraperHealthService.ScraperHealth("Naukri");
+        restarted.recordSuccess(120, 20_000);
+
+        assertFalse(restarted.hasNewJobData());
+        assertEquals(Duration.ofMinutes(60), scheduler.nextSchedule(null, restarted, 8000, now).interval());
+        assertEquals(Duration.ofMinutes(120),
+                scheduler.nextSchedule(Duration.ofMinutes(120), restarted, 8000, now).interval());
+
+        restarted.recordSuccess(120, 60, 20_000);
+        assertEquals(60, restarted.getAverageNewJobs());
+        assertEquals(Duration.ofMinutes(30), scheduler.nextSchedule(null, restarted, 8000, now).interval());
+    }
+
+    @Test
+    void nextSchedule_shouldStayWithinTheScrapeCostBudget() {
+        ScraperHealthService.ScraperHealth slow = new ScraperHealthService.ScraperHealth("Glassdoor");
+        slow.recordSuccess(200, 150, 80_000);
+
+        // (80s latency + 10s delay) at a 5% duty cycle allows one scrape every 30 minutes
+        assertEquals(Duration.ofMinutes(30), scheduler.nextSchedule(Duration.ofMinutes(20), slow, 10_000, now).interval());
+    }
+}
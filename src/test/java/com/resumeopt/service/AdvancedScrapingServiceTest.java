@@ -0,0 +1,102 @@
+package com.resumeopt.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AdvancedScrapingServiceTest {
+
+    private final DomainRateLimiter rateLimiter = mock(DomainRateLimiter.class);
+    private final ScrapingExecutors executors = new ScrapingExecutors();
+    private final AdvancedScrapingService service = new AdvancedScrapingService();
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "<html><body>ok</body></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/jobs";
+        ReflectionTestUtils.setField(service, "rateLimiter", rateLimiter);
+        ReflectionTestUtils.setField(service, "scrapingExecutors", executors);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executors.shutdown();
+    }
+
+    @Test
+    void fetchDocumentAsync_shouldSendRequestOnceTheSlotArrives() throws Exception {
+        when(rateLimiter.acquire(anyString(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+
+        Document doc = service.fetchDocumentAsync(url).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", doc.body().text());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void fetchDocumentAsync_shouldNotSendAfterTheCallerCancelled() throws Exception {
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        when(rateLimiter.acquire(anyString(), anyLong())).thenReturn(slot);
+
+        CompletableFuture<Document> fetch = service.fetchDocumentAsync(url);
+        assertTrue(fetch.cancel(true));
+        slot.complete(null);
+        Thread.sleep(200);
+
+        assertEquals(0, requests.get());
+        verify(rateLimiter, times(1)).acquire(anyString(), anyLong());
+    }
+
+    @Test
+    void fetchDocument_shouldCancelTheFetchWhenInterrupted() throws Exception {
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        when(rateLimiter.acquire(anyString(), anyLong())).thenReturn(slot);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Document> blocked = caller.submit(() -> service.fetchDocument(url));
+            Thread.sleep(100);
+            caller.shutdownNow();
+            assertTrue(caller.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(blocked.isDone());
+
+            slot.complete(null);
+            Thread.sleep(200);
+            assertEquals(0, requests.get());
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final BlobStore store = new BlobStore();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "dir", dir.toString());
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private long storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void put_shouldStoreEachContentOnce() throws IOException {
+        byte[] content = randomBytes(200_000);
+
+        String ref = store.put(content);
+        assertEquals(ref, store.put(new ByteArrayInputStream(content)));
+        String other = store.put(randomBytes(10));
+
+        assertNotEquals(ref, other);
+        assertEquals(64, ref.length());
+        assertEquals(2, storedFiles());
+        assertTrue(store.exists(ref));
+        assertEquals(content.length, store.size(ref));
+        assertArrayEquals(content, store.read(ref));
+    }
+
+    @Test
+    void transferTo_shouldStreamTheWholeBlob() throws IOException {
+        byte[] content = randomBytes(1_000_003);
+        String ref = store.put(content);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(content.length, store.transferTo(ref, out));
+
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    void shouldRejectMalformedReferences() {
+        assertFalse(store.exists(null));
+        assertFalse(store.exists("../../etc/passwd"));
+        assertFalse(store.exists("0".repeat(64)));
+        assertThrows(IllegalArgumentException.class, () -> store.read("../secret"));
+    }
+
+    @Test
+    void migrate_shouldMoveLegacyColumnsIntoTheStore() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:blobs;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE resume (id BIGINT PRIMARY KEY, optimized_pdf BLOB, optimized_pdf_ref VARCHAR(64), "
+            + "original_file BLOB, original_file_ref VARCHAR(64))");
+        byte[] pdf = randomBytes(5_000);
+        jdbc.update("INSERT INTO resume (id, optimized_pdf, original_file) VALUES (1, ?, NULL)", (Object) pdf);
+        jdbc.update("INSERT INTO resume (id, optimized_pdf, original_file) VALUES (2, ?, ?)", pdf, new byte[] {1, 2});
+
+        ResumeBlobMigration migration = new ResumeBlobMigration();
+        ReflectionTestUtils.setField(migration, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(migration, "blobStore", store);
+        migration.migrate();
+        migration.migrate();
+
+        String ref = jdbc.queryForObject("SELECT optimized_pdf_ref FROM resume WHERE id = 1", String.class);
+        assertArrayEquals(pdf, store.read(ref));
+        assertEquals(ref, jdbc.queryForObject("SELECT optimized_pdf_ref FROM resume WHERE id = 2", String.class));
+        assertArrayEquals(new byte[] {1, 2},
+            store.read(jdbc.queryForObject("SELECT original_file_ref FROM resume WHERE id = 2", String.class)));
+        assertNull(jdbc.queryForObject("SELECT original_file_ref FROM resume WHERE id = 1", String.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM resume WHERE optimized_pdf IS NOT NULL", Integer.class));
+        assertEquals(2, storedFiles());
+        jdbc.execute("DROP TABLE resume");
+    }
+}
@@ -0,0 +1,80 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BrowserSessionPoolTest {
+
+    private final List<WebDriver> launched = new ArrayList<>();
+
+    private WebDriver newDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+        launched.add(driver);
+        return driver;
+    }
+
+    @Test
+    void lease_shouldReuseReturnedSessions() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 2, 10, Long.MAX_VALUE);
+
+        WebDriver first;
+        try (BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1))) {
+            first = session.driver();
+            session.pageLoaded();
+        }
+        try (BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1))) {
+            assertSame(first, session.driver());
+        }
+
+        assertEquals(1, launched.size());
+        assertEquals(2, pool.stats().leases());
+        assertEquals(1, pool.stats().idle());
+    }
+
+    @Test
+    void release_shouldRecycleBrokenAndWornOutSessions() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 2, Long.MAX_VALUE);
+
+        try (BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1))) {
+            session.invalidate();
+        }
+        for (int i = 0; i < 2; i++) {
+            try (BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1))) {
+                session.pageLoaded();
+            }
+        }
+        try (BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1))) {
+            assertSame(launched.get(2), session.driver());
+        }
+
+        verify(launched.get(0)).quit();
+        verify(launched.get(1)).quit();
+        assertEquals(2, pool.stats().recycled());
+    }
+
+    @Test
+    void lease_shouldTimeOutWhenSaturated() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 10, Long.MAX_VALUE);
+
+        BrowserSessionPool.BrowserSession session = pool.lease(Duration.ofSeconds(1));
+        try {
+            assertEquals(1.0, pool.stats().saturation());
+            assertThrows(TimeoutException.class, () -> pool.lease(Duration.ofMillis(50)));
+        } finally {
+            session.close();
+        }
+
+        assertEquals(1, pool.stats().leaseTimeouts());
+        assertEquals(0, pool.stats().leased());
+    }
+}
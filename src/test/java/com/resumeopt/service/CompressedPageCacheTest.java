@@ -0,0 +1,100 @@
+package com.resumeopt.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedPageCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private static Document page(String title, int cards) {
+        StringBuilder html = new StringBuilder("<html><head><title>" + title + "</title></head><body>");
+        for (int i = 0; i < cards; i++) {
+            html.append("<div class='job-card'><h3>Software Engineer ").append(i).append("</h3></div>");
+        }
+        return Jsoup.parse(html.append("</body></html>").toString());
+    }
+
+    @Test
+    void get_shouldReturnAFreshCopyOfTheCachedPage() {
+        CompressedPageCache cache = new CompressedPageCache(1 << 20, Duration.ofMinutes(15), clock);
+        cache.put("https://a.com/jobs", page("Jobs", 200));
+
+        Document first = cache.get("https://a.com/jobs");
+        first.select(".job-card").remove();
+        Document second = cache.get("https://a.com/jobs");
+
+        assertEquals(200, second.select(".job-card").size());
+        assertEquals("https://a.com/jobs", second.location());
+        assertTrue(cache.stats().bytes() < page("Jobs", 200).outerHtml().length() / 5,
+                "Repetitive listing HTML should compress well");
+        assertEquals(1.0, cache.stats().hitRate());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedPagesOverTheByteBudget() {
+        CompressedPageCache probe = new CompressedPageCache(1 << 20, Duration.ofMinutes(15), clock);
+        probe.put("https://a.com/1", page("One", 50));
+        long entryBytes = probe.stats().bytes();
+
+        CompressedPageCache cache = new CompressedPageCache(entryBytes * 2 + entryBytes / 2, Duration.ofMinutes(15), clock);
+        cache.put("https://a.com/1", page("One", 50));
+        cache.put("https://a.com/2", page("Two", 50));
+        cache.get("https://a.com/1");
+        cache.put("https://a.com/3", page("Three", 50));
+
+        assertNotNull(cache.get("https://a.com/1"));
+        assertNull(cache.get("https://a.com/2"));
+        assertNotNull(cache.get("https://a.com/3"));
+        assertEquals(1, cache.stats().evictions());
+        assertTrue(cache.stats().bytes() <= cache.stats().maxBytes());
+    }
+
+    @Test
+    void evictExpired_shouldDropPagesOlderThanTheTtl() {
+        CompressedPageCache cache = new CompressedPageCache(1 << 20, Duration.ofMinutes(15), clock);
+        cache.put("https://a.com/old", page("Old", 5));
+        clock.advance(Duration.ofMinutes(10));
+        cache.put("https://a.com/new", page("New", 5));
+        clock.advance(Duration.ofMinutes(6));
+
+        assertEquals(1, cache.evictExpired());
+        assertEquals(1, cache.stats().entries());
+        assertNotNull(cache.get("https://a.com/new"));
+        clock.advance(Duration.ofMinutes(10));
+        assertNull(cache.get("https://a.com/new"));
+        assertEquals(0, cache.stats().bytes());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-15T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final DomainRateLimiter limiter = new DomainRateLimiter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(limiter, "jitter", 0.0);
+    }
+
+    @Test
+    void reserve_shouldSpaceRequestsPerDomain() {
+        long now = 1_000_000 * MS;
+
+        assertEquals(0, limiter.reserve("a.com", 2000, now));
+        assertEquals(2000 * MS, limiter.reserve("a.com", 2000, now));
+        assertEquals(4000 * MS, limiter.reserve("a.com", 2000, now));
+        assertEquals(0, limiter.reserve("b.com", 2000, now));
+        // An idle domain does not bank unused slots beyond its burst
+        assertEquals(0, limiter.reserve("b.com", 2000, now + 60_000 * MS));
+        assertEquals(2000 * MS, limiter.reserve("b.com", 2000, now + 60_000 * MS));
+    }
+
+    @Test
+    void reserve_shouldAllowConfiguredBursts() {
+        ReflectionTestUtils.setField(limiter, "burst", 3);
+        long now = 1_000_000 * MS;
+
+        assertEquals(0, limiter.reserve("a.com", 1000, now));
+        assertEquals(0, limiter.reserve("a.com", 1000, now));
+        assertEquals(0, limiter.reserve("a.com", 1000, now));
+        assertEquals(1000 * MS, limiter.reserve("a.com", 1000, now));
+    }
+
+    @Test
+    void backOff_shouldHoldBackLaterRequests() {
+        limiter.backOff("a.com", Duration.ofSeconds(30));
+
+        long wait = limiter.reserve("a.com", 2000, System.nanoTime());
+        assertTrue(wait > 29_000 * MS && wait <= 30_000 * MS, "wait was " + wait);
+        assertEquals(0, limiter.reserve("b.com", 2000, System.nanoTime()));
+    }
+
+    @Test
+    void acquire_shouldCompleteWithoutBlockingTheCaller() {
+        assertTrue(limiter.acquire("a.com", 200).isDone());
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> next = limiter.acquire("a.com", 200);
+        assertFalse(next.isDone());
+        assertTrue(System.nanoTime() - start < 100 * MS);
+        next.join();
+        assertTrue(System.nanoTime() - start >= 150 * MS);
+    }
+
+    @Test
+    void parseRetryAfter_shouldAcceptSecondsAndHttpDates() {
+        assertEquals(Duration.ofSeconds(120), DomainRateLimiter.parseRetryAfter(" 120 "));
+        String inAMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(60));
+        Duration parsed = DomainRateLimiter.parseRetryAfter(inAMinute);
+        assertTrue(parsed.getSeconds() > 50 && parsed.getSeconds() <= 60);
+        assertNull(DomainRateLimiter.parseRetryAfter("soon"));
+        assertNull(DomainRateLimiter.parseRetryAfter(null));
+    }
+}
@@ -0,0 +1,99 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditDistanceTest {
+
+    private static int fullMatrixDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String mutate(String text, int edits, Random random) {
+        StringBuilder out = new StringBuilder(text);
+        for (int e = 0; e < edits; e++) {
+            int pos = out.length() == 0 ? 0 : random.nextInt(out.length());
+            char c = "abcde é".charAt(random.nextInt(7));
+            switch (random.nextInt(3)) {
+                case 0 -> out.insert(pos, c);
+                case 1 -> {
+                    if (out.length() > 0) {
+                        out.deleteCharAt(pos);
+                    }
+                }
+                default -> {
+                    if (out.length() > 0) {
+                        out.setCharAt(pos, c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static String randomText(int length, Random random) {
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            out.append("abcde ".charAt(random.nextInt(6)));
+        }
+        return out.toString();
+    }
+
+    @Test
+    void kernels_shouldMatchTheFullMatrixAcrossBlockBoundaries() {
+        Random random = new Random(7);
+        for (int round = 0; round < 600; round++) {
+            String a = randomText(random.nextInt(300), random);
+            String b = random.nextBoolean() ? mutate(a, random.nextInt(40), random) : randomText(random.nextInt(300), random);
+            int expected = fullMatrixDistance(a, b);
+            int max = random.nextInt(120);
+            int bounded = Math.min(expected, max + 1);
+
+            assertEquals(bounded, EditDistance.myers(a, b, max), a + " / " + b + " / " + max);
+            assertEquals(bounded, EditDistance.banded(a, b, max), a + " / " + b + " / " + max);
+            assertEquals(bounded, EditDistance.bounded(a, b, max));
+            assertEquals(expected, EditDistance.myers(a, b, Integer.MAX_VALUE - 1));
+        }
+    }
+
+    @Test
+    void myers_shouldHandleExactBlockSizesAndEmptyStrings() {
+        String a64 = "a".repeat(64);
+        String a128 = "ab".repeat(64);
+
+        assertEquals(0, EditDistance.myers(a64, a64, 10));
+        assertEquals(1, EditDistance.myers(a64, a64 + "b", 10));
+        assertEquals(2, EditDistance.myers(a128, "ba".repeat(64), 200));
+        assertEquals(fullMatrixDistance(a128, a64), EditDistance.myers(a128, a64, 200));
+        assertEquals(5, EditDistance.myers("", "abcde", 5));
+        assertEquals(6, EditDistance.myers("", "abcdef", 5));
+    }
+
+    @Test
+    void bounded_shouldStopEarlyOnLongDissimilarDescriptions() {
+        Random random = new Random(11);
+        String a = randomText(5000, random);
+        String b = randomText(5000, random);
+
+        assertEquals(1501, EditDistance.bounded(a, b, 1500));
+        String near = mutate(a, 200, random);
+        // Reference from the banded kernel: a full matrix here would be 100 MB
+        assertEquals(EditDistance.banded(a, near, 5000), EditDistance.bounded(a, near, 1500));
+    }
+}
@@ -0,0 +1,71 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.model.JobSource;
+import com.resumeopt.model.JobType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFacetIndexTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    private final List<JobListing> jobs = List.of(
+            job("Junior Java Developer", JobSource.COMPANY_CAREER_PAGE, JobType.FULL_TIME, now.minusHours(2), null),
+            job("Senior Java Developer", JobSource.JOB_PORTAL, JobType.FULL_TIME, now.minusDays(3), 6),
+            job("Data Intern", JobSource.COMPANY_CAREER_PAGE, JobType.INTERNSHIP, now.minusDays(20), null),
+            job("Platform Engineer", JobSource.JOB_PORTAL, JobType.BOTH, now.minusMonths(3), 4));
+
+    private final JobFacetIndex facets = JobFacetIndex.build(jobs, now);
+
+    @Test
+    void select_shouldOrWithinFacetAndAndAcrossFacets() {
+        BitSet selection = facets.select(Set.of(JobSource.COMPANY_CAREER_PAGE, JobSource.JOB_PORTAL),
+                Set.of(JobType.FULL_TIME), null, null);
+
+        List<JobListing> page = facets.page(selection, 0, 10);
+        assertEquals(2, page.size());
+        assertEquals("Junior Java Developer", page.get(0).getTitle());
+        assertEquals("Senior Java Developer", page.get(1).getTitle());
+    }
+
+    @Test
+    void select_shouldApplyCumulativeDateAndExperienceBuckets() {
+        assertEquals(1, facets.select(null, null, JobFacetIndex.DateBucket.TODAY, null).cardinality());
+        assertEquals(2, facets.select(null, null, JobFacetIndex.DateBucket.WEEK, null).cardinality());
+        assertEquals(3, facets.select(null, null, JobFacetIndex.DateBucket.MONTH, null).cardinality());
+        assertEquals(2, facets.select(null, null, null, JobFacetIndex.ExperienceBucket.ENTRY_LEVEL).cardinality());
+        assertEquals(0, facets.select(Set.of(), null, null, null).cardinality());
+    }
+
+    @Test
+    void page_shouldKeepRankingOrderAndCountFacets() {
+        BitSet selection = facets.select(Set.of(JobSource.COMPANY_CAREER_PAGE), null, null, null);
+        int[] rankedHits = { 2, 1, 0 };
+
+        List<JobListing> page = facets.page(rankedHits, selection, 0, 10);
+        assertEquals(2, facets.count(rankedHits, selection));
+        assertEquals("Data Intern", page.get(0).getTitle());
+        assertEquals("Junior Java Developer", page.get(1).getTitle());
+        assertEquals(1, facets.page(rankedHits, selection, 1, 10).size());
+
+        assertEquals(2, facets.counts(selection).get("source").get("COMPANY_CAREER_PAGE"));
+        assertEquals(0, facets.counts(selection).get("source").get("JOB_PORTAL"));
+    }
+
+    private JobListing job(String title, JobSource source, JobType type, LocalDateTime posted, Integer experience) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        job.setSource(source);
+        job.setJobType(type);
+        job.setPostedDate(posted);
+        job.setExperienceRequired(experience);
+        return job;
+    }
+}
@@ -0,0 +1,149 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.repo.LinkStatusRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JobLinkVerificationServiceTest {
+
+    private final JobLinkVerificationService service = new JobLinkVerificationService();
+    private final ScrapingExecutors executors = new ScrapingExecutors();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private HttpServer server;
+    private String base;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        DomainRateLimiter rateLimiter = new DomainRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "jitter", 0.0);
+        ReflectionTestUtils.setField(service, "scrapingExecutors", executors);
+        ReflectionTestUtils.setField(service, "rateLimiter", rateLimiter);
+        ReflectionTestUtils.setField(service, "maxPerHost", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executors.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        requests.add(method + " " + path);
+        int running = active.incrementAndGet();
+        maxActive.accumulateAndGet(running, Math::max);
+        try {
+            if (path.startsWith("/slow")) {
+                Thread.sleep(150);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+        }
+        int status;
+        if (path.startsWith("/missing")) {
+            status = 404;
+        } else if (path.startsWith("/no-head") && method.equals("HEAD")) {
+            status = 405;
+        } else if (path.startsWith("/no-head")) {
+            status = "bytes=0-0".equals(exchange.getRequestHeaders().getFirst("Range")) ? 206 : 400;
+        } else {
+            status = 200;
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static JobListing job(String url) {
+        JobListing job = new JobListing();
+        job.setTitle("SDE");
+        job.setCompany("Acme");
+        job.setApplyUrl(url);
+        return job;
+    }
+
+    @Test
+    void verifyJobLinks_shouldProbeWithHeadThenRangedGetAndDropBrokenLinks() {
+        List<JobListing> jobs = List.of(job(base + "/ok"), job(base + "/no-head"), job(base + "/missing"), job(""));
+
+        List<JobListing> verified = service.verifyJobLinks(jobs);
+
+        assertEquals(2, verified.size());
+        assertTrue(verified.stream().allMatch(JobListing::getLinkVerified));
+        assertTrue(requests.contains("HEAD /ok"));
+        assertFalse(requests.contains("GET /ok"));
+        assertTrue(requests.contains("GET /no-head"));
+    }
+
+    @Test
+    void verifyJobLinks_shouldReuseCachedResultsWithinTheTtl() {
+        service.verifyJobLinks(List.of(job(base + "/ok"), job(base + "/missing")));
+        int probes = requests.size();
+
+        List<JobListing> again = service.verifyJobLinks(List.of(job(base + "/ok"), job(base + "/missing")));
+
+        assertEquals(1, again.size());
+        assertEquals(probes, requests.size());
+        assertEquals(2, service.getCachedStatusCount());
+
+        ReflectionTestUtils.setField(service, "validTtlHours", 0L);
+        service.verifyJobLinks(List.of(job(base + "/ok")));
+        assertEquals(probes + 1, requests.size());
+    }
+
+    @Test
+    void verifyJobLinksAsync_shouldStreamResultsAndCapConcurrencyPerHost() {
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            jobs.add(job(base + "/slow/" + i));
+        }
+        List<JobListing> streamed = new CopyOnWriteArrayList<>();
+
+        List<JobListing> verified = service.verifyJobLinksAsync(jobs, streamed::add).join();
+
+        assertEquals(6, verified.size());
+        assertEquals(6, streamed.size());
+        assertEquals(base + "/slow/0", verified.get(0).getApplyUrl());
+        assertTrue(maxActive.get() <= 2, "max concurrent probes was " + maxActive.get());
+    }
+
+    @Test
+    void verifyJobLinks_shouldLookUpStoredResultsOncePerBatch() {
+        LinkStatusRepository repository = mock(LinkStatusRepository.class);
+        when(repository.findAllById(any())).thenReturn(List.of());
+        ReflectionTestUtils.setField(service, "linkStatusRepository", repository);
+
+        service.verifyJobLinks(List.of(job(base + "/ok"), job(base + "/missing"), job(base + "/no-head")));
+
+        verify(repository, times(1)).findAllById(any());
+        verify(repository, never()).findById(anyString());
+    }
+}
@@ -0,0 +1,169 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import com.resumeopt.model.MatchLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JobMatchServiceTest {
+
+    private static final String RESUME = """
+            Jane Doe
+            jane@example.com | Phone: 123-456-7890
+
+            Professional Summary
+            Java developer with 3 years of experience building Spring Boot microservices on AWS.
+
+            Skills
+            Java, Spring, Docker, Kubernetes, SQL, Git, CI/CD
+
+            Experience
+            - Developed REST APIs and improved latency by 40%.
+            - Automated deployments and collaborated with 4 teams.
+
+            Education
+            B.Tech in Computer Science
+            """;
+
+    private static final String[] DESCRIPTIONS = {
+        "Java developer with Spring Boot, Docker and AWS. 2-4 years of experience. B.Tech required.",
+        "Python data scientist with machine learning and pandas. 5 years experience. Master's degree.",
+        "Frontend engineer: React, Angular, JavaScript and CSS.",
+        "Backend engineer with Java, SQL, Kubernetes and microservices. Bachelor degree.",
+        ""
+    };
+
+    private final ResumeOptimizationService optimizationService = new ResumeOptimizationService();
+    private final JobMatchService service = new JobMatchService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "optimizationService", optimizationService);
+    }
+
+    private static JobListing job(int i) {
+        JobListing job = new JobListing();
+        job.setTitle("Engineer " + i);
+        job.setCompany("Acme");
+        job.setDescription(DESCRIPTIONS[i % DESCRIPTIONS.length] + (i >= DESCRIPTIONS.length ? " Team " + i : ""));
+        return job;
+    }
+
+    @Test
+    void matchAll_shouldScoreEachJobLikeTheOptimizerDoes() {
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < DESCRIPTIONS.length; i++) {
+            jobs.add(job(i));
+        }
+        jobs.add(new JobListing());
+
+        List<JobMatchService.JobMatch> matches = service.matchAll(RESUME, jobs);
+
+        assertEquals(jobs.size(), matches.size());
+        for (int i = 0; i < DESCRIPTIONS.length; i++) {
+            JobMatchService.JobMatch match = matches.get(i);
+            assertSame(jobs.get(i), match.job());
+            assertEquals(optimizationService.optimize(RESUME, DESCRIPTIONS[i]).originalScore(), match.atsScore(), 1e-12);
+            assertEquals(service.calculateMatchScore(RESUME, jobs.get(i)), match.matchScore(), 1e-9);
+            assertEquals(service.calculateMatchLevel(RESUME, jobs.get(i)), match.matchLevel());
+        }
+        assertEquals(MatchLevel.NOT_RECOMMENDED, matches.get(DESCRIPTIONS.length).matchLevel());
+    }
+
+    @Test
+    void matchAll_shouldRecomputeFeaturesWhenADescriptionChanges() {
+        JobListing listing = job(1);
+        double before = service.matchAll(RESUME, List.of(listing)).get(0).atsScore();
+
+        listing.setDescription(DESCRIPTIONS[0]);
+        double after = service.matchAll(RESUME, List.of(listing)).get(0).atsScore();
+
+        assertEquals(optimizationService.optimize(RESUME, DESCRIPTIONS[0]).originalScore(), after, 1e-12);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void matchAll_shouldReadStoredFeaturesInsteadOfProfilingAgain() {
+        JobListing stored = job(0);
+        double expected = service.matchAll(RESUME, List.of(stored)).get(0).atsScore();
+        assertNotNull(stored.getMatchFeatures());
+
+        // A fresh service, as after a restart, matching the row loaded back from the index
+        ResumeOptimizationService spied = spy(new ResumeOptimizationService());
+        JobMatchService restarted = new JobMatchService();
+        ReflectionTestUtils.setField(restarted, "optimizationService", spied);
+        JobListing loaded = job(0);
+        loaded.setMatchFeatures(stored.getMatchFeatures());
+
+        JobMatchService.JobMatch match = restarted.matchAll(RESUME, List.of(loaded)).get(0);
+
+        assertEquals(expected, match.atsScore(), 1e-12);
+        assertEquals(service.calculateMatchScore(RESUME, stored), match.matchScore(), 1e-9);
+        verify(spied, never()).profileJob(anyString());
+    }
+
+    @Test
+    void precomputeJobFeatures_shouldBeSharedByReloadedCopiesOfIndexedListings() {
+        ResumeOptimizationService spied = spy(new ResumeOptimizationService());
+        ReflectionTestUtils.setField(service, "optimizationService", spied);
+        List<JobListing> firstLoad = new ArrayList<>();
+        List<JobListing> secondLoad = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            firstLoad.add(indexed(i));
+            secondLoad.add(indexed(i));
+        }
+
+        service.precomputeJobFeatures(firstLoad);
+        service.precomputeJobFeatures(secondLoad);
+        List<JobMatchService.JobMatch> matches = service.matchAll(RESUME, secondLoad);
+
+        verify(spied, times(20)).profileJob(anyString());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(optimizationService.optimize(RESUME, secondLoad.get(i).getDescription()).originalScore(),
+                matches.get(i).atsScore(), 1e-12);
+        }
+    }
+
+    private static JobListing indexed(int i) {
+        JobListing job = job(i);
+        job.setFingerprint("fp" + i);
+        job.setContentHash("hash" + i);
+        return job;
+    }
+
+    @Test
+    void topMatches_shouldReturnTheBestKInOrder() {
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            jobs.add(job(i));
+        }
+        service.precomputeJobFeatures(jobs);
+
+        List<JobMatchService.JobMatch> top = service.topMatches(RESUME, jobs, 7);
+
+        List<JobMatchService.JobMatch> all = service.matchAll(RESUME, jobs);
+        List<JobMatchService.JobMatch> expected = all.stream()
+            .sorted((a, b) -> {
+                int byLevel = a.matchLevel().compareTo(b.matchLevel());
+                if (byLevel != 0) return byLevel;
+                int byAts = Double.compare(b.atsScore(), a.atsScore());
+                if (byAts != 0) return byAts;
+                int byOverlap = Double.compare(b.matchScore(), a.matchScore());
+                if (byOverlap != 0) return byOverlap;
+                return Integer.compare(jobs.indexOf(a.job()), jobs.indexOf(b.job()));
+            })
+            .limit(7)
+            .toList();
+        assertEquals(expected, top);
+        assertTrue(service.topMatches(RESUME, jobs, 0).isEmpty());
+        assertEquals(jobs.size(), service.topMatches(RESUME, jobs, 10_000).size());
+    }
+}
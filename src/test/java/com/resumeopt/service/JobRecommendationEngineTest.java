@@ -0,0 +1,53 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobRecommendationEngineTest {
+
+    private final JobRecommendationEngine engine = new JobRecommendationEngine();
+
+    private static JobListing job(String fingerprint, String description) {
+        JobListing job = new JobListing();
+        job.setFingerprint(fingerprint);
+        job.setCompany("Acme");
+        job.setDescription(description);
+        return job;
+    }
+
+    @Test
+    void recommendJobs_shouldRankSkillMatchesFirst() {
+        List<JobListing> jobs = new ArrayList<>();
+        jobs.add(job("a", "Python and Django developer"));
+        jobs.add(job("b", "Java developer with Spring Boot"));
+        jobs.add(job("c", "Java developer"));
+        JobListing expired = job("d", "Java and Spring");
+        expired.setExpired(true);
+        jobs.add(expired);
+
+        List<JobListing> ranked = engine.recommendJobs(jobs, "java, spring", null);
+
+        assertEquals(List.of(jobs.get(1), jobs.get(2), jobs.get(0)), ranked);
+        assertTrue(ranked.get(0).getSuccessProbability() > ranked.get(2).getSuccessProbability());
+        assertNotNull(ranked.get(2).getMatchLevel());
+    }
+
+    @Test
+    void scoreJob_shouldNotDisplaceTheIndexedSnapshot() {
+        List<JobListing> jobs = List.of(job("a", "Java developer"), job("b", "Python developer"));
+        engine.getTopRecommendations(jobs, "java", null, 1);
+
+        double score = engine.scoreJob(job("c", "Go developer"), "java", null);
+
+        assertTrue(score < jobs.get(0).getSuccessProbability());
+        JobRecommendationIndex index = (JobRecommendationIndex) ReflectionTestUtils.getField(engine, "index");
+        assertEquals(2, index.size());
+        assertSame(jobs.get(0), engine.getTopRecommendations(jobs, "java", null, 1).get(0));
+    }
+}
@@ -0,0 +1,235 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobRecommendationIndexTest {
+
+    private static final String[] WORDS = {
+        "java", "spring", "python", "react", "sql", "docker", "aws", "c++", "c#", "kubernetes",
+        "team", "build", "services", "remote", "senior", "junior", "data", "cloud"
+    };
+
+    private static JobListing job(Random random) {
+        JobListing job = new JobListing();
+        job.setTitle("Engineer");
+        if (random.nextInt(20) > 0) {
+            StringBuilder description = new StringBuilder();
+            int words = random.nextInt(30);
+            for (int i = 0; i < words; i++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextBoolean() ? " " : ", ");
+            }
+            job.setDescription(description.toString());
+        }
+        return job;
+    }
+
+    /**
+     * Reference BM25 ranking over every listing, in the index's own term and length statistics.
+     */
+    private static List<JobRecommendationIndex.Hit> bruteForce(List<JobListing> jobs, String query, int k,
+                                                               double textWeight, ToDoubleFunction<JobListing> prior) {
+        Map<String, Integer> df = new HashMap<>();
+        List<Map<String, Integer>> tfs = new ArrayList<>();
+        long totalLength = 0;
+        for (JobListing job : jobs) {
+            Map<String, Integer> tf = new HashMap<>();
+            List<String> tokens = JobSearchIndex.tokenize(job.getDescription());
+            tokens.forEach(token -> tf.merge(token, 1, Integer::sum));
+            tf.keySet().forEach(token -> df.merge(token, 1, Integer::sum));
+            tfs.add(tf);
+            totalLength += tokens.size();
+        }
+        double avgLength = Math.max(1.0, (double) totalLength / jobs.size());
+        List<String> terms = JobSearchIndex.tokenize(query).stream().distinct().toList();
+        double maxScore = 0.0;
+        for (String term : terms) {
+            maxScore += idf(jobs.size(), df.getOrDefault(term, 0)) * (JobRecommendationIndex.K1 + 1);
+        }
+
+        List<JobRecommendationIndex.Hit> hits = new ArrayList<>();
+        for (int d = 0; d < jobs.size(); d++) {
+            Map<String, Integer> tf = tfs.get(d);
+            int length = tf.values().stream().mapToInt(Integer::intValue).sum();
+            double text = 0.0;
+            for (String term : terms) {
+                int f = tf.getOrDefault(term, 0);
+                if (f > 0) {
+                    double norm = JobRecommendationIndex.K1
+                        * (1 - JobRecommendationIndex.B + JobRecommendationIndex.B * length / avgLength);
+                    text += idf(jobs.size(), df.get(term)) * f * (JobRecommendationIndex.K1 + 1) / (f + norm);
+                }
+            }
+            text = maxScore > 0 ? text * textWeight / maxScore : 0.0;
+            hits.add(new JobRecommendationIndex.Hit(jobs.get(d), text + prior.applyAsDouble(jobs.get(d)), text));
+        }
+        return hits.stream()
+            .sorted(Comparator.comparingDouble(JobRecommendationIndex.Hit::score).reversed())
+            .limit(k)
+            .toList();
+    }
+
+    private static double idf(int n, int documentFrequency) {
+        return Math.log(1.0 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static void assertSameRanking(List<JobRecommendationIndex.Hit> expected,
+                                          List<JobRecommendationIndex.Hit> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).score(), actual.get(i).score(), 1e-9, "score at rank " + i);
+        }
+        // Listings at tied scores may come in either order, but each must carry its own score
+        for (JobRecommendationIndex.Hit hit : actual) {
+            JobRecommendationIndex.Hit reference = expected.stream()
+                .filter(h -> h.job() == hit.job())
+                .findFirst()
+                .orElse(null);
+            if (reference != null) {
+                assertEquals(reference.score(), hit.score(), 1e-9);
+                assertEquals(reference.textScore(), hit.textScore(), 1e-9);
+            } else {
+                assertEquals(expected.get(expected.size() - 1).score(), hit.score(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void topK_shouldMatchExhaustiveScoring() {
+        Random random = new Random(42);
+        JobRecommendationIndex index = new JobRecommendationIndex();
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            jobs.add(job(random));
+        }
+        index.sync(jobs);
+
+        Map<JobListing, Double> priors = new IdentityHashMap<>();
+        jobs.forEach(job -> priors.put(job, random.nextDouble() * 0.5));
+        ToDoubleFunction<JobListing> prior = priors::get;
+
+        String[] queries = {"java, spring", "c++ c# docker", "kubernetes", "java python react sql aws",
+            "cobol", "", "senior java cobol"};
+        for (String query : queries) {
+            for (int k : new int[] {1, 5, 50, 1000}) {
+                assertSameRanking(bruteForce(jobs, query, k, 0.4, prior),
+                    index.topK(query, k, 0.4, prior, 0.5));
+            }
+        }
+    }
+
+    @Test
+    void topK_shouldStayExactAfterRemovalsAndCompaction() {
+        Random random = new Random(7);
+        JobRecommendationIndex index = new JobRecommendationIndex();
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            jobs.add(job(random));
+        }
+        index.sync(jobs);
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 80; i++) {
+                JobListing removed = jobs.remove(random.nextInt(jobs.size()));
+                assertTrue(index.remove(removed));
+                assertFalse(index.remove(removed));
+            }
+            for (int i = 0; i < 40; i++) {
+                JobListing added = job(random);
+                jobs.add(added);
+                index.add(added);
+            }
+            jobs.get(0).setDescription("java java spring docker");
+            index.add(jobs.get(0));
+
+            assertEquals(jobs.size(), index.size());
+            ToDoubleFunction<JobListing> prior = job -> job.getDescription() == null ? 0.2 : 0.0;
+            for (String query : new String[] {"java spring", "docker aws kubernetes", "data"}) {
+                assertSameRanking(bruteForce(jobs, query, 10, 0.4, prior),
+                    index.topK(query, 10, 0.4, prior, 0.0));
+            }
+        }
+    }
+
+    @Test
+    void sync_shouldOnlyReindexChangedListings() {
+        JobRecommendationIndex index = new JobRecommendationIndex();
+        JobListing java = new JobListing();
+        java.setDescription("Java and Spring");
+        JobListing python = new JobListing();
+        python.setDescription("Python and Django");
+        index.sync(List.of(java, python));
+        assertEquals(2, index.size());
+
+        JobListing go = new JobListing();
+        go.setDescription("Go services");
+        python.setDescription("Rust");
+        index.sync(List.of(python, go));
+
+        assertEquals(2, index.size());
+        assertTrue(index.topK("java", 5, 1.0, job -> 0.0, 0.0).stream().allMatch(hit -> hit.textScore() == 0.0));
+        assertSame(python, index.topK("rust", 1, 1.0, job -> 0.0, 0.0).get(0).job());
+        assertSame(go, index.topK("go", 1, 1.0, job -> 0.0, 0.0).get(0).job());
+        assertFalse(index.remove(java));
+    }
+
+    @Test
+    void sync_shouldKeepReloadedCopiesOfIndexedListings() {
+        JobRecommendationIndex index = new JobRecommendationIndex();
+        List<JobListing> first = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            JobListing job = new JobListing();
+            job.setFingerprint("fp" + i);
+            job.setDescription("java spring " + i);
+            first.add(job);
+        }
+        index.sync(first);
+
+        // A reload returns new entities; only the one whose description changed is indexed again
+        List<JobListing> reloaded = new ArrayList<>();
+        for (JobListing job : first) {
+            JobListing copy = new JobListing();
+            copy.setFingerprint(job.getFingerprint());
+            copy.setDescription(job.getDescription());
+            reloaded.add(copy);
+        }
+        reloaded.get(2).setDescription("python");
+        index.sync(reloaded);
+
+        assertEquals(3, index.size());
+        assertEquals(4, ReflectionTestUtils.getField(index, "docCount"));
+        List<JobRecommendationIndex.Hit> hits = index.topK("java", 3, 1.0, job -> 0.0, 0.0);
+        assertSame(reloaded.get(0), hits.get(0).job());
+        assertSame(reloaded.get(1), hits.get(1).job());
+        assertSame(reloaded.get(2), index.topK("python", 1, 1.0, job -> 0.0, 0.0).get(0).job());
+        assertTrue(index.remove(first.get(0)));
+    }
+
+    @Test
+    void topK_shouldBeBoundedByK() {
+        JobRecommendationIndex index = new JobRecommendationIndex();
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            JobListing job = new JobListing();
+            job.setDescription("java " + "spring ".repeat(i % 5));
+            jobs.add(job);
+        }
+        index.sync(jobs);
+
+        assertEquals(3, index.topK("java spring", 3, 1.0, job -> 0.0, 0.0).size());
+        assertEquals(50, index.topK("java spring", 500, 1.0, job -> 0.0, 0.0).size());
+        assertTrue(index.topK("java", 0, 1.0, job -> 0.0, 0.0).isEmpty());
+    }
+}
@@ -42,9 +42,12 @@ class JobScraperVerificationTest {
         mockLinkVerificationService = new MockJobLinkVerificationService();
         mockDateFilterService = new MockJobDateFilterService();
         mockDeepScraperService = new MockAdvancedJobScraperService();
+        TieredFetchService tieredFetchService = new TieredFetchService();
+        injectField(tieredFetchService, "advancedScrapingService", mockAdvancedScrapingService);
         
         // Inject mocks using ReflectionTestUtils (Spring utility) or standard reflection
         injectField(linkedInScraper, "advancedScrapingService", mockAdvancedScrapingService);
+        injectField(linkedInScraper, "tieredFetchService", tieredFetchService);
         injectField(linkedInScraper, "linkVerificationService", mockLinkVerificationService);
         injectField(linkedInScraper, "dateFilterService", mockDateFilterService);
         injectField(linkedInScraper, "deepScraperService", mockDeepScraperService);
@@ -56,6 +59,7 @@ class JobScraperVerificationTest {
         injectField(linkedInScraper, "maxRetries", 1);
         
         injectField(indeedScraper, "advancedScrapingService", mockAdvancedScrapingService);
+        injectField(indeedScraper, "tieredFetchService", tieredFetchService);
         injectField(indeedScraper, "linkVerificationService", mockLinkVerificationService);
         injectField(indeedScraper, "dateFilterService", mockDateFilterService);
         injectField(indeedScraper, "deepScraperService", mockDeepScraperService);
@@ -0,0 +1,105 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSearchIndexTest {
+
+    private final List<JobListing> jobs = List.of(
+            job("Java Developer", "Acme", "Spring Boot and SQL. Node.js is a plus."),
+            job("Frontend Engineer", "Globex", "React, TypeScript and JavaScript."),
+            job("QA Engineer", "Java Labs", "Manual and automated testing."),
+            job("C++ Programmer", "Initech", "Embedded C++ development."));
+
+    private final JobSearchIndex index = JobSearchIndex.build(jobs);
+
+    @Test
+    void search_shouldMatchAcrossTitleCompanyAndDescription() {
+        List<JobListing> results = index.search("java");
+
+        assertEquals(3, results.size());
+        // Title hits outrank company hits, which outrank description hits
+        assertEquals("Java Developer", results.get(0).getTitle());
+        assertEquals("QA Engineer", results.get(1).getTitle());
+        assertEquals("Frontend Engineer", results.get(2).getTitle());
+    }
+
+    @Test
+    void search_shouldIntersectAllQueryTerms() {
+        List<JobListing> results = index.search("engineer react");
+
+        assertEquals(1, results.size());
+        assertEquals("Globex", results.get(0).getCompany());
+    }
+
+    @Test
+    void search_shouldSupportPrefixesAndSymbolTerms() {
+        assertEquals(1, index.search("typescr").size());
+        assertEquals(1, index.search("node.js").size());
+        assertEquals(1, index.search("C++").size());
+        assertTrue(index.search("golang").isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchTermsInsideWordsLikeTheSubstringSearch() {
+        assertEquals(List.of("Frontend Engineer"), titles(index.search("script")));
+        assertEquals(List.of("Frontend Engineer"), titles(index.search("end")));
+
+        // A single-term query finds exactly what a substring scan of the fields finds
+        for (String keyword : List.of("java", "script", "end", "eer", "test", "bed", "lus")) {
+            List<String> scanned = jobs.stream()
+                    .filter(job -> (job.getTitle() + " " + job.getCompany() + " " + job.getDescription())
+                            .toLowerCase().contains(keyword))
+                    .map(JobListing::getTitle)
+                    .sorted()
+                    .toList();
+            assertEquals(scanned, titles(index.search(keyword)).stream().sorted().toList(), keyword);
+        }
+    }
+
+    @Test
+    void search_shouldFindTheSameTermsAsAVocabularyScan() {
+        List<JobListing> many = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 5; w++) {
+                int length = 2 + random.nextInt(8);
+                for (int c = 0; c < length; c++) {
+                    description.append((char) ('a' + random.nextInt(6)));
+                }
+                description.append(' ');
+            }
+            many.add(job("Job " + i, "Co", description.toString()));
+        }
+        JobSearchIndex large = JobSearchIndex.build(many);
+
+        for (String keyword : List.of("a", "fe", "abc", "bcad", "eeeee", "cafeba", "zz", "abcdefab")) {
+            List<String> scanned = many.stream()
+                    .filter(job -> JobSearchIndex.tokenize(job.getTitle() + " " + job.getCompany() + " "
+                            + job.getDescription()).stream().anyMatch(term -> term.contains(keyword)))
+                    .map(JobListing::getTitle)
+                    .sorted()
+                    .toList();
+            assertEquals(scanned, titles(large.search(keyword)).stream().sorted().toList(), keyword);
+        }
+    }
+
+    private static List<String> titles(List<JobListing> results) {
+        return results.stream().map(JobListing::getTitle).toList();
+    }
+
+    private JobListing job(String title, String company, String description) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        job.setCompany(company);
+        job.setDescription(description);
+        return job;
+    }
+}
@@ -0,0 +1,76 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSnapshotServiceTest {
+
+    private final JobSnapshotService service = new JobSnapshotService();
+
+    @Test
+    void page_shouldFollowCursorWithinTheSameSnapshotAcrossRefreshes() {
+        List<JobListing> before = List.of(job("A"), job("B"), job("C"));
+        JobSnapshotService.Page first = service.page("listings", () -> before, "all", jobs -> jobs, null, 1, 2);
+
+        assertEquals(List.of("A", "B"), titles(first));
+        assertNotNull(first.nextCursor());
+
+        // A refresh replaces the listing set; the cursor still reads the old snapshot
+        List<JobListing> after = List.of(job("X"), job("Y"), job("Z"), job("W"));
+        JobSnapshotService.Page second = service.page("listings", () -> after, "all", jobs -> jobs,
+                first.nextCursor(), 1, 2);
+
+        assertEquals(List.of("C"), titles(second));
+        assertEquals(first.snapshotVersion(), second.snapshotVersion());
+        assertNull(second.nextCursor());
+        assertFalse(second.snapshotExpired());
+    }
+
+    @Test
+    void page_shouldComputeEachViewOncePerSnapshot() {
+        List<JobListing> jobs = List.of(job("A"), job("B"), job("C"));
+        int[] filterRuns = { 0 };
+        for (int page = 1; page <= 3; page++) {
+            service.page("listings", () -> jobs, "filtered", source -> {
+                filterRuns[0]++;
+                return source.subList(1, 3);
+            }, null, page, 1);
+        }
+
+        assertEquals(1, filterRuns[0]);
+    }
+
+    @Test
+    void cursor_shouldRoundTripAndRejectGarbage() {
+        JobSnapshotService.Cursor cursor = new JobSnapshotService.Cursor(7, 60);
+
+        assertEquals(cursor, JobSnapshotService.Cursor.decode(cursor.encode()));
+        assertThrows(JobSnapshotService.InvalidCursorException.class, () -> JobSnapshotService.Cursor.decode("not-a-cursor"));
+        assertThrows(JobSnapshotService.InvalidCursorException.class,
+                () -> JobSnapshotService.Cursor.decode(new JobSnapshotService.Cursor(0, 5).encode()));
+    }
+
+    @Test
+    void page_shouldNotReportOtherFailuresAsInvalidCursors() {
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> service.page("listings", () -> List.of(job("A")), "broken", jobs -> {
+                    throw new IllegalArgumentException("bad filter");
+                }, null, 1, 10));
+
+        assertFalse(failure instanceof JobSnapshotService.InvalidCursorException);
+    }
+
+    private List<String> titles(JobSnapshotService.Page page) {
+        return page.jobs().stream().map(JobListing::getTitle).toList();
+    }
+
+    private JobListing job(String title) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        return job;
+    }
+}
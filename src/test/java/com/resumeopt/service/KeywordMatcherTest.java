@@ -0,0 +1,72 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordMatcherTest {
+
+    private static final String[] TECH = { "java", "javascript", "go", "c++", "c#", "node.js", "ci/cd", "machine learning" };
+    private static final String[] EDUCATION = { "b.tech", "btech", "b.e", "be", "engineering" };
+    private static final String[] PHRASES = { "sql", "sql server", "ms sql", "server" };
+
+    private static final KeywordMatcher MATCHER = KeywordMatcher.of(List.of(TECH, EDUCATION, PHRASES));
+
+    private static List<String> regexMatches(String text, String[] terms) {
+        String alternation = java.util.Arrays.stream(terms).map(Pattern::quote).collect(Collectors.joining("|"));
+        Matcher matcher = Pattern.compile("\\b(" + alternation + ")\\b", Pattern.CASE_INSENSITIVE).matcher(text);
+        List<String> matches = new ArrayList<>();
+        while (matcher.find()) {
+            matches.add(matcher.group().toLowerCase());
+        }
+        return matches;
+    }
+
+    @Test
+    void scan_shouldReportTheSameMatchesAsARegexAlternation() {
+        String[] pieces = { "Java", "javascript", "JavaScript8", "go", "Go,", "google", "C++", "c++x", "C#", "node.js",
+                "Node.JS.", "ci/cd", "CI", "machine learning", "machine  learning", "B.Tech", "btech", "B.E.", "be",
+                "engineering", "_java", "java_", "ünïcode", "éjava", "́java", "İstanbul", "sql server",
+                "MS SQL", "server", " ", " ", ", ", ".", "\n", "-", "/" };
+        Random random = new Random(3);
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            KeywordMatcher.Hits hits = MATCHER.scan(text);
+
+            assertEquals(regexMatches(text.toString(), TECH), hits.all(0), text.toString());
+            assertEquals(regexMatches(text.toString(), EDUCATION), hits.all(1), text.toString());
+            assertEquals(regexMatches(text.toString(), PHRASES), hits.all(2), text.toString());
+        }
+    }
+
+    @Test
+    void hits_shouldExposePositionsAndOverlappingOccurrences() {
+        String text = "Worked with MS SQL Server and Go";
+        KeywordMatcher.Hits hits = MATCHER.scan(text);
+
+        assertEquals(List.of("ms sql", "server"), hits.all(2));
+        assertEquals(Set.of("ms sql", "sql", "sql server", "server"), hits.occurring(2));
+        assertEquals(12, hits.start(2, 0));
+        assertEquals(18, hits.end(2, 0));
+        assertEquals("go", hits.get(0, 0));
+        assertEquals(1, hits.count(0));
+    }
+
+    @Test
+    void of_shouldRejectTermsThatAreNotLowerCaseAscii() {
+        assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.of(List.<String[]>of(new String[] { "Java" })));
+        assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.of(List.<String[]>of(new String[] { "café" })));
+    }
+}
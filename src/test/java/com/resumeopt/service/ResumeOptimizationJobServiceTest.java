@@ -0,0 +1,170 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.Resume;
+import com.resumeopt.realtime.RealtimeEventPublisher;
+import com.resumeopt.repo.ResumeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResumeOptimizationJobServiceTest {
+
+    private static final String RESUME = "Jane Doe\njane@example.com\nSkills\nJava, Spring, SQL\n"
+        + "Experience\n- Developed REST APIs and improved latency by 40%.";
+    private static final String JOB = "Java developer with Spring Boot, Docker and AWS.";
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final RealtimeEventPublisher events = mock(RealtimeEventPublisher.class);
+    private final ResumeOptimizationJobService service = new ResumeOptimizationJobService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "optimizationService", new ResumeOptimizationService());
+        ReflectionTestUtils.setField(service, "resumeRepository", resumeRepository);
+        ReflectionTestUtils.setField(service, "events", events);
+        when(resumeRepository.save(any(Resume.class))).thenAnswer(invocation -> {
+            Resume resume = invocation.getArgument(0);
+            resume.setId(42L);
+            return resume;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private ResumeOptimizationJobService.JobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ResumeOptimizationJobService.JobStatus status = service.status(jobId);
+            if (status.finished()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job did not finish");
+        return null;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_shouldPublishEveryStageAndKeepTheResult() throws InterruptedException {
+        String jobId = service.submit(new ResumeOptimizationJobService.Submission(RESUME, null, null, null, JOB, null));
+
+        ResumeOptimizationJobService.JobStatus status = awaitFinished(jobId);
+        assertEquals(ResumeOptimizationJobService.Stage.COMPLETED, status.stage());
+        assertEquals(42L, status.resumeId());
+        assertNotNull(status.atsOptimized());
+        assertEquals(42L, service.outcome(jobId).resume().getId());
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(events, atLeastOnce()).publish(eq("/topic/resume/" + jobId), payloads.capture());
+        List<Object> stages = payloads.getAllValues().stream().map(p -> ((Map<String, Object>) p).get("stage")).toList();
+        assertEquals(List.of("QUEUED", "EXTRACTING", "OPTIMIZING", "DESIGNING", "RENDERING", "SAVING", "DIFFING",
+            "COMPLETED"), stages);
+        Map<String, Object> last = (Map<String, Object>) payloads.getValue();
+        assertEquals(100, last.get("progress"));
+        assertEquals("/resume/pdf/42", last.get("pdfUrl"));
+        verify(events).publish(eq("/topic/resume/optimized"), any());
+    }
+
+    @Test
+    void submit_shouldReportFailuresOnTheJob() throws InterruptedException {
+        String jobId = service.submit(new ResumeOptimizationJobService.Submission("  ", null, null, null, JOB, null));
+
+        ResumeOptimizationJobService.JobStatus status = awaitFinished(jobId);
+        assertEquals(ResumeOptimizationJobService.Stage.FAILED, status.stage());
+        assertEquals("Please provide resume text or upload a resume file.", status.message());
+        assertNull(service.outcome(jobId));
+        verify(resumeRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_shouldRejectWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResumeOptimizationService blocking = mock(ResumeOptimizationService.class);
+        when(blocking.optimize(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new ResumeOptimizationService().optimize(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        ReflectionTestUtils.setField(service, "optimizationService", blocking);
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ResumeOptimizationJobService.Submission submission =
+            new ResumeOptimizationJobService.Submission(RESUME, null, null, null, JOB, null);
+
+        String running = service.submit(submission);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        String queued = service.submit(submission);
+        assertThrows(RejectedExecutionException.class, () -> service.submit(submission));
+        assertEquals(ResumeOptimizationJobService.Stage.QUEUED, service.status(queued).stage());
+
+        release.countDown();
+        assertEquals(ResumeOptimizationJobService.Stage.COMPLETED, awaitFinished(running).stage());
+        assertEquals(ResumeOptimizationJobService.Stage.COMPLETED, awaitFinished(queued).stage());
+    }
+
+    @Test
+    void submission_shouldStreamUploadsIntoTheBlobStore(@TempDir Path dir) throws IOException {
+        BlobStore blobStore = new BlobStore();
+        ReflectionTestUtils.setField(blobStore, "dir", dir.toString());
+        ResumeParserService parserService = new ResumeParserService();
+        ReflectionTestUtils.setField(parserService, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "parserService", parserService);
+
+        ResumeOptimizationJobService.Submission submission = service.submission(
+            new MockMultipartFile("resumeFile", "resume.txt", "text/plain", RESUME.getBytes()), null, JOB, null);
+        assertArrayEquals(RESUME.getBytes(), blobStore.read(submission.fileRef()));
+
+        ResumeOptimizationJobService.Outcome outcome = service.run(submission, (stage, message) -> { });
+        assertEquals(RESUME.trim(), outcome.originalText().trim());
+        assertEquals(submission.fileRef(), outcome.resume().getOriginalFileRef());
+        assertEquals("resume.txt", outcome.resume().getOriginalFilename());
+    }
+
+    @Test
+    void run_shouldFailWhenAGeneratedFileCannotBeStored() throws IOException {
+        String ref = "a".repeat(64);
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.read(ref)).thenReturn(new byte[0]);
+        when(blobStore.put(any(byte[].class))).thenThrow(new IOException("disk full"));
+        ResumeParserService parserService = mock(ResumeParserService.class);
+        when(parserService.extractStoredText(anyString(), eq(ref))).thenReturn(RESUME);
+        ResumeDocService docService = mock(ResumeDocService.class);
+        when(docService.replaceContentWithOptimized(any(), anyString(), anyString(), any()))
+            .thenReturn(new ResumeDocService.Result(new byte[] {1}, "changed"));
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "parserService", parserService);
+        ReflectionTestUtils.setField(service, "docService", docService);
+
+        ResumeOptimizationJobService.Submission submission = new ResumeOptimizationJobService.Submission(null, ref,
+            "resume.docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document", JOB, null);
+        ResumeOptimizationJobService.OptimizationFailedException failure = assertThrows(
+            ResumeOptimizationJobService.OptimizationFailedException.class,
+            () -> service.run(submission, (stage, message) -> { }));
+        assertTrue(failure.getMessage().contains("disk full"));
+        verify(resumeRepository, never()).save(any());
+    }
+}
@@ -65,6 +65,37 @@ class ResumeOptimizationServiceTest {
         assertTrue(result.originalScore() < 0.5, "Score should be low for a poor resume");
     }
     
+    @Test
+    void testOptimize_IncrementalRescoring_ShouldMatchScoringFromScratch() {
+        String jobDescription = "Hiring a Python Engineer with Kubernetes, Docker, AWS and PostgreSQL. " +
+                "Experience with REST APIs, Agile and mentoring is required. 3-5 years of experience.";
+
+        String resumeText = """
+                Jane Roe
+                jane@example.com
+
+                Summary
+                Backend developer who worked on data platforms.
+
+                Skills
+                Python, Flask, Git
+
+                Experience
+                - worked on teh billing service
+                - helped with migrations to the cloud
+                - Built dashboards
+
+                Education
+                B.Tech in Computer Science
+                """;
+
+        var result = optimizationService.optimize(resumeText, jobDescription);
+        var rescored = optimizationService.optimize(result.optimizedText(), jobDescription);
+
+        assertNotEquals(resumeText, result.optimizedText(), "Optimization rounds should have edited the resume");
+        assertEquals(rescored.originalScore(), result.optimizedScore(), 1e-12);
+    }
+    
     @Test
     void testMeasurableAchievements_Impact() {
         String jobDescription = "Java Developer role.";
@@ -1,15 +1,58 @@
 package com.resumeopt.service;
 
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ResumeParserServiceTest {
 
+    @TempDir
+    Path dir;
+
     private final ResumeParserService service = new ResumeParserService();
+    private final BlobStore blobStore = new BlobStore();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(blobStore, "dir", dir.toString());
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+    }
+
+    private String extractStored(String filename, byte[] content) throws IOException {
+        return service.extractStoredText(filename, blobStore.put(content));
+    }
+
+    private static byte[] pdf(int pages) throws IOException {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Resume page " + i);
+                    content.endText();
+                }
+            }
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
 
     @Test
     void extractText_shouldReturnContent_whenTxtFileIsProvided() throws IOException {
@@ -25,4 +68,32 @@ class ResumeParserServiceTest {
 
         assertEquals(content, result);
     }
+
+    @Test
+    void extractText_shouldReadPdfsTheSameFromStoredFilesAndStreams() throws IOException {
+        byte[] pdf = pdf(3);
+
+        String fromFile = extractStored("cv.PDF", pdf);
+        String fromStream = service.extractText("cv.pdf", new ByteArrayInputStream(pdf));
+
+        assertEquals(fromFile, fromStream);
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(fromFile.contains("Resume page " + i));
+        }
+        assertThrows(FileNotFoundException.class, () -> service.extractStoredText("cv.pdf", "0".repeat(64)));
+    }
+
+    @Test
+    void extractText_shouldStopAtThePageAndCharacterLimits() throws IOException {
+        ReflectionTestUtils.setField(service, "maxPages", 2);
+        ReflectionTestUtils.setField(service, "maxMainMemoryBytes", 0L);
+
+        String text = extractStored("cv.pdf", pdf(5));
+        assertTrue(text.contains("Resume page 2"));
+        assertFalse(text.contains("Resume page 3"));
+
+        ReflectionTestUtils.setField(service, "maxChars", 5);
+        assertEquals("Resum", extractStored("cv.pdf", pdf(5)));
+        assertEquals("Hello", extractStored("notes.txt", "Hello World".getBytes()));
+    }
 }
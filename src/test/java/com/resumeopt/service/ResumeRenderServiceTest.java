@@ -0,0 +1,163 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.Resume;
+import com.resumeopt.model.ResumeRendering;
+import com.resumeopt.model.ResumeTemplateStyle;
+import com.resumeopt.model.StructuredResumeView;
+import com.resumeopt.repo.ResumeRenderingRepository;
+import com.resumeopt.repo.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResumeRenderServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final ResumePdfService pdfService = mock(ResumePdfService.class);
+    private final BlobStore blobStore = new BlobStore();
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final ResumeRenderingRepository renderingRepository = mock(ResumeRenderingRepository.class);
+    private final Map<String, ResumeRendering> renderings = new HashMap<>();
+    private ResumeRenderService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "dir", dir.toString());
+        when(renderingRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(renderings.get(invocation.<String>getArgument(0))));
+        when(renderingRepository.save(any(ResumeRendering.class))).thenAnswer(invocation -> {
+            ResumeRendering rendering = invocation.getArgument(0);
+            renderings.put(rendering.getRenderKey(), rendering);
+            return rendering;
+        });
+        service = newService();
+        when(pdfService.generatePdf(anyString())).thenAnswer(invocation -> ("pdf:" + invocation.getArgument(0)).getBytes());
+        when(pdfService.generateTemplatePdf(any(StructuredResumeView.class), any(ResumeTemplateStyle.class)))
+            .thenAnswer(invocation -> ("template:" + invocation.getArgument(1)).getBytes());
+    }
+
+    // A fresh instance with an empty render cache, as after a restart
+    private ResumeRenderService newService() {
+        ResumeRenderService renderService = new ResumeRenderService();
+        ReflectionTestUtils.setField(renderService, "blobStore", blobStore);
+        ReflectionTestUtils.setField(renderService, "pdfService", pdfService);
+        ReflectionTestUtils.setField(renderService, "structuringService", new ResumeStructuringService());
+        ReflectionTestUtils.setField(renderService, "resultCache", new ResumeResultCache());
+        ReflectionTestUtils.setField(renderService, "renderingRepository", renderingRepository);
+        ReflectionTestUtils.setField(renderService, "resumeRepository", resumeRepository);
+        return renderService;
+    }
+
+    private static Resume resume(String optimizedText) {
+        Resume resume = new Resume();
+        resume.setOriginalText("original");
+        resume.setOptimizedText(optimizedText);
+        return resume;
+    }
+
+    @Test
+    void optimizedPdf_shouldRenderOncePerContent() throws IOException {
+        String first = service.optimizedPdf(resume("Optimized"));
+        String again = service.optimizedPdf(resume("Optimized"));
+        String changed = service.optimizedPdf(resume("Optimized again"));
+
+        assertEquals(first, again);
+        assertNotEquals(first, changed);
+        assertArrayEquals("pdf:Optimized".getBytes(), blobStore.read(first));
+        verify(pdfService, times(2)).generatePdf(anyString());
+    }
+
+    @Test
+    void templatePdf_shouldBeCachedPerStyle() throws IOException {
+        Resume resume = resume("Summary\nJava developer");
+
+        String minimal = service.templatePdf(resume, ResumeTemplateStyle.MINIMAL);
+        String modern = service.templatePdf(resume, ResumeTemplateStyle.MODERN);
+
+        assertNotEquals(minimal, modern);
+        assertEquals(minimal, service.templatePdf(resume, ResumeTemplateStyle.MINIMAL));
+        verify(pdfService, times(2)).generateTemplatePdf(any(), any());
+    }
+
+    @Test
+    void renderings_shouldSurviveARestart() throws IOException {
+        Resume resume = resume("Optimized");
+        resume.setId(7L);
+        String pdf = service.optimizedPdf(resume);
+        String template = service.templatePdf(resume, ResumeTemplateStyle.MODERN);
+
+        assertEquals(pdf, resume.getOptimizedPdfRef());
+        verify(resumeRepository).updateOptimizedPdfRef(eq(7L), eq(pdf));
+
+        // Not rendered again, so the blob and its ETag stay the same
+        ResumeRenderService restarted = newService();
+        assertEquals(pdf, restarted.optimizedPdf(resume));
+        assertEquals(pdf, restarted.optimizedPdf(resume("Optimized")));
+        assertEquals(template, restarted.templatePdf(resume, ResumeTemplateStyle.MODERN));
+        verify(pdfService, times(1)).generatePdf(anyString());
+        verify(pdfService, times(1)).generateTemplatePdf(any(), any());
+    }
+
+    @Test
+    void render_shouldCoalesceConcurrentRequests() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> refs = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                refs.add(pool.submit(() -> service.render("same-key", () -> {
+                    renders.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "rendered".getBytes();
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            String expected = refs.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<String> ref : refs) {
+                assertEquals(expected, ref.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, renders.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void render_shouldPassFailuresToWaitersAndRetryLater() throws IOException {
+        assertThrows(IOException.class, () -> service.render("failing", () -> {
+            throw new IOException("renderer down");
+        }));
+
+        assertEquals(blobStore.put("ok".getBytes()), service.render("failing", () -> "ok".getBytes()));
+    }
+}
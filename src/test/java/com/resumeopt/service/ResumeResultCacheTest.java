@@ -0,0 +1,111 @@
+package com.resumeopt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeopt.model.StructuredResumeView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeResultCacheTest {
+
+    private static final String RESUME = """
+            Jane Doe
+            jane@example.com | Phone: 123-456-7890
+
+            Summary
+            Java developer with 3 years of experience.
+
+            Skills
+            Java, Spring, Docker, SQL
+
+            Experience
+            Acme Corp - Software Engineer
+            - Developed REST APIs and improved latency by 40%.
+
+            Education
+            B.Tech in Computer Science
+            """;
+    private static final String JOB = "Java developer with Spring Boot, Docker, Kubernetes and AWS.";
+
+    private final ResumeResultCache cache = new ResumeResultCache();
+
+    @Test
+    void key_shouldSeparatePartsAndVersions() {
+        assertEquals(ResumeResultCache.key("optimize", "1", "a", "b"), ResumeResultCache.key("optimize", "1", "a", "b"));
+        assertNotEquals(ResumeResultCache.key("optimize", "1", "ab", "c"), ResumeResultCache.key("optimize", "1", "a", "bc"));
+        assertNotEquals(ResumeResultCache.key("optimize", "1", "a"), ResumeResultCache.key("optimize", "2", "a"));
+        assertNotEquals(ResumeResultCache.key("text", "1", (Object) null), ResumeResultCache.key("text", "1", ""));
+        assertNotEquals(ResumeResultCache.key("text", "1", "a".getBytes()), ResumeResultCache.key("text", "1", "a"));
+    }
+
+    @Test
+    void optimize_shouldReturnACopyOfTheCachedResult() {
+        ResumeOptimizationService service = new ResumeOptimizationService();
+        ReflectionTestUtils.setField(service, "resultCache", cache);
+
+        ResumeOptimizationService.OptimizationResult first = service.optimize(RESUME, JOB);
+        ResumeOptimizationService.OptimizationResult second = service.optimize(RESUME, JOB);
+
+        assertEquals(new ResumeOptimizationService().optimize(RESUME, JOB), first);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void buildView_shouldRoundTripStructuredViews() throws Exception {
+        ResumeStructuringService service = new ResumeStructuringService();
+        ReflectionTestUtils.setField(service, "resultCache", cache);
+        ObjectMapper mapper = new ObjectMapper();
+
+        StructuredResumeView first = service.buildView(RESUME);
+        StructuredResumeView second = service.buildView(RESUME);
+
+        assertNotSame(first, second);
+        assertEquals(mapper.writeValueAsString(first), mapper.writeValueAsString(second));
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntriesBeyondTheBudget() {
+        ReflectionTestUtils.setField(cache, "maxMb", 1L);
+        String big = "x".repeat(400_000);
+        cache.put("a", big);
+        cache.put("b", big);
+        assertNotNull(cache.get("a", String.class));
+        cache.put("c", big);
+
+        assertNotNull(cache.get("a", String.class));
+        assertNull(cache.get("b", String.class));
+        assertNotNull(cache.get("c", String.class));
+        assertEquals(1, cache.stats().evictions());
+        assertTrue(cache.stats().bytes() <= cache.stats().maxBytes());
+
+        cache.put("huge", "x".repeat(2_000_000));
+        assertNull(cache.get("huge", String.class));
+    }
+
+    @Test
+    void get_shouldFallBackToTheDiskTier(@TempDir Path dir) {
+        ReflectionTestUtils.setField(cache, "dir", dir.toString());
+        String key = ResumeResultCache.key("text", "1", "resume".getBytes());
+        cache.put(key, List.of("extracted"));
+
+        ResumeResultCache restarted = new ResumeResultCache();
+        ReflectionTestUtils.setField(restarted, "dir", dir.toString());
+        assertEquals(List.of("extracted"), restarted.get(key, List.class));
+        assertEquals(1, restarted.stats().diskHits());
+        assertEquals(List.of("extracted"), restarted.get(key, List.class));
+        assertEquals(1, restarted.stats().hits());
+
+        // Entries of an incompatible shape are dropped rather than returned
+        assertNull(restarted.get(key, Integer.class));
+        assertNull(restarted.get(key, List.class));
+    }
+}
@@ -39,6 +39,7 @@ class ScraperValidationTest {
     private MockJobLinkVerificationService mockLinkVerificationService;
     private MockJobDateFilterService mockDateFilterService;
     private MockAdvancedJobScraperService mockDeepScraperService;
+    private TieredFetchService tieredFetchService;
 
     @BeforeEach
     void setUp() {
@@ -47,6 +48,9 @@ class ScraperValidationTest {
         mockLinkVerificationService = new MockJobLinkVerificationService();
         mockDateFilterService = new MockJobDateFilterService();
         mockDeepScraperService = new MockAdvancedJobScraperService();
+        tieredFetchService = new TieredFetchService();
+        setField(tieredFetchService, "advancedScrapingService", mockAdvancedScrapingService);
+        setField(tieredFetchService, "seleniumService", mockSeleniumService);
 
         // Initialize all scrapers
         cutshortScraper = new EnhancedCutshortScraper();
@@ -76,6 +80,7 @@ class ScraperValidationTest {
 
     private void injectDependencies(Object scraper) {
         setField(scraper, "advancedScrapingService", mockAdvancedScrapingService);
+        setField(scraper, "tieredFetchService", tieredFetchService);
         setField(scraper, "seleniumService", mockSeleniumService); // Some might not have it, but it's safe to try
         setField(scraper, "linkVerificationService", mockLinkVerificationService);
         setField(scraper, "dateFilterService", mockDateFilterService);
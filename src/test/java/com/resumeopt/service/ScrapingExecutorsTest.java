@@ -0,0 +1,81 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrapingExecutorsTest {
+
+    private final ScrapingExecutors executors = new ScrapingExecutors();
+
+    @AfterEach
+    void tearDown() {
+        executors.shutdown();
+    }
+
+    @Test
+    void io_shouldUseVirtualThreadsOnlyWhenTheRuntimeHasThem() throws Exception {
+        boolean available = Runtime.version().feature() >= 21;
+
+        assertEquals(available, executors.usesVirtualThreads());
+        assertEquals(available, ScrapingExecutors.newVirtualThreadExecutor() != null);
+        assertEquals("ok", executors.io().submit(() -> "ok").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void io_shouldUsePlatformThreadsWhenConfigured() throws Exception {
+        ReflectionTestUtils.setField(executors, "mode", "platform");
+
+        assertFalse(executors.usesVirtualThreads());
+        String name = executors.io().submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+        assertTrue(name.startsWith("scraper-io-"), name);
+        assertEquals(ScrapingExecutors.Mode.AUTO, ScrapingExecutors.parseMode("bogus"));
+    }
+
+    @Test
+    void shutdown_shouldStopBothPools() {
+        executors.io();
+        executors.portals();
+
+        executors.shutdown();
+
+        assertTrue(executors.io().isShutdown());
+        assertTrue(executors.portals().isShutdown());
+    }
+
+    @Test
+    void scopeCancel_shouldInterruptRunningTasksAndRejectNewOnes() throws Exception {
+        ScrapeScope scope = new ScrapeScope();
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scope.run(() -> {
+                    started.countDown();
+                    Thread.sleep(30_000);
+                    return "finished";
+                });
+            } catch (InterruptedException e) {
+                return "interrupted";
+            } catch (Exception e) {
+                return e.getClass().getSimpleName();
+            }
+        }, executors.portals());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scope.cancel());
+        assertEquals("interrupted", slow.get(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, () -> scope.run(() -> "late"));
+
+        // The pooled thread is handed back without a pending interrupt
+        assertFalse(executors.portals().submit(() -> Thread.currentThread().isInterrupted())
+                .get(5, TimeUnit.SECONDS));
+    }
+}
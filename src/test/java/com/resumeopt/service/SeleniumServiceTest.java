@@ -0,0 +1,43 @@
+package com.resumeopt.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SeleniumServiceTest {
+
+    private final WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    private final BrowserSessionPool pool = new BrowserSessionPool(() -> driver, 1, 10, Long.MAX_VALUE);
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void fetchDocument_shouldStopWhenTheScrapeIsCancelled() {
+        when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+        // The cancellation arrives while the page is loading
+        doAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return null;
+        }).when(driver).get(anyString());
+        SeleniumService service = new SeleniumService();
+        ReflectionTestUtils.setField(service, "pool", pool);
+
+        assertThrows(RuntimeException.class, () -> service.fetchDocument("https://example.com/jobs"));
+
+        assertTrue(Thread.currentThread().isInterrupted());
+        verify(driver, times(1)).get(anyString());
+        verify(driver, never()).getPageSource();
+        assertEquals(0, pool.stats().leased());
+    }
+}
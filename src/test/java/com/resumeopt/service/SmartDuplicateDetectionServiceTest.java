@@ -0,0 +1,172 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobFingerprint;
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmartDuplicateDetectionServiceTest {
+
+    private static final String[] TITLES = {
+            "Software Engineer", "Java Developer", "Senior Java Developer", "Data Analyst", "QA Engineer",
+            "Frontend Developer", "Backend Engineer", "DevOps Engineer", "ML Engineer", "SDE", "SDE II", "Intern",
+            "abc", "abd", "" };
+    private static final String[] COMPANIES = {
+            "Acme", "Acme Pvt Ltd", "Globex", "Initech", "Infosys", "Wipro", "TCS", "Tata Consultancy Services",
+            "abcdefghij", "abcdefxxxx", "" };
+    private static final String[] DESCRIPTIONS = {
+            "Build and maintain REST services with Spring Boot and SQL.",
+            "Build and maintain REST APIs with Spring Boot and PostgreSQL.",
+            "Write automated tests for web applications.",
+            "Analyse product data and build dashboards.",
+            "" };
+
+    private final SmartDuplicateDetectionService service = new SmartDuplicateDetectionService();
+
+    @Test
+    void removeDuplicates_shouldMatchPairwiseReferenceAlgorithm() {
+        Random random = new Random(42);
+        List<JobListing> jobs = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            jobs.add(job(
+                    mutate(pick(random, TITLES), random),
+                    mutate(pick(random, COMPANIES), random),
+                    mutate(pick(random, DESCRIPTIONS), random),
+                    random.nextInt(4) == 0 ? "https://jobs.example.com/" + random.nextInt(300) + "?ref=" + i : null));
+        }
+        jobs.add(null);
+
+        assertEquals(referenceRemoveDuplicates(jobs), service.removeDuplicates(jobs));
+    }
+
+    @Test
+    void removeDuplicates_shouldKeepThresholdBoundaryBehaviour() {
+        List<JobListing> jobs = List.of(
+                job("abc", "Acme", "same description", null),
+                // Title similarity exactly 2/3, identical company and description
+                job("abd", "Acme", "same description", null),
+                // Company similarity exactly 0.5 with an identical title
+                job("Java Developer", "abcdefghij", "another description", null),
+                job("Java Developer", "abcdefxxxx", "another description", null),
+                job("Data Analyst", "Globex", "first", "https://jobs.example.com/1?utm_source=a"),
+                job("Unrelated Role", "Other", "second", "https://jobs.example.com/1?utm_source=b"));
+
+        assertEquals(referenceRemoveDuplicates(jobs), service.removeDuplicates(jobs));
+    }
+
+    @Test
+    void boundedLevenshteinDistance_shouldStopAboveTheBound() {
+        assertEquals(3, SmartDuplicateDetectionService.boundedLevenshteinDistance("kitten", "sitting", 5));
+        assertEquals(3, SmartDuplicateDetectionService.boundedLevenshteinDistance("kitten", "sitting", 3));
+        assertEquals(3, SmartDuplicateDetectionService.boundedLevenshteinDistance("kitten", "sitting", 2));
+        assertEquals(0, SmartDuplicateDetectionService.boundedLevenshteinDistance("same", "same", 0));
+        assertEquals(4, SmartDuplicateDetectionService.boundedLevenshteinDistance("", "abcd", 4));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String mutate(String value, Random random) {
+        if (value.isEmpty() || random.nextInt(3) != 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value);
+        int edits = 1 + random.nextInt(3);
+        for (int e = 0; e < edits && sb.length() > 0; e++) {
+            int pos = random.nextInt(sb.length());
+            switch (random.nextInt(3)) {
+                case 0 -> sb.setCharAt(pos, (char) ('a' + random.nextInt(26)));
+                case 1 -> sb.deleteCharAt(pos);
+                default -> sb.insert(pos, (char) ('a' + random.nextInt(26)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static JobListing job(String title, String company, String description, String url) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        job.setCompany(company);
+        job.setDescription(description);
+        job.setApplyUrl(url);
+        return job;
+    }
+
+    // ---- Reference: the original all-pairs algorithm with full Levenshtein ----
+
+    private static List<JobListing> referenceRemoveDuplicates(List<JobListing> jobs) {
+        List<JobListing> unique = new ArrayList<>();
+        Set<String> seenUrls = new HashSet<>();
+        for (JobListing job : jobs) {
+            if (job == null) {
+                continue;
+            }
+            // URL identity is the shared canonical fingerprint (see JobFingerprintTest)
+            if (job.getApplyUrl() != null && !job.getApplyUrl().isBlank()
+                    && !seenUrls.add(JobFingerprint.of(null, null, job.getApplyUrl()).toHex())) {
+                continue;
+            }
+            boolean duplicate = false;
+            for (JobListing existing : unique) {
+                if (referenceIsDuplicate(job, existing)) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                unique.add(job);
+            }
+        }
+        return unique;
+    }
+
+    private static boolean referenceIsDuplicate(JobListing job1, JobListing job2) {
+        double title = referenceSimilarity(normalize(job1.getTitle()), normalize(job2.getTitle()));
+        double company = referenceSimilarity(normalize(job1.getCompany()), normalize(job2.getCompany()));
+        if (title >= 0.85 && company >= 0.90) {
+            return true;
+        }
+        if ((title * 0.6) + (company * 0.4) >= 0.80) {
+            return referenceSimilarity(normalize(job1.getDescription()), normalize(job2.getDescription())) > 0.7;
+        }
+        return false;
+    }
+
+    private static double referenceSimilarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isBlank() || b.isBlank()) {
+            return 0.0;
+        }
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            dp[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return 1.0 - ((double) dp[a.length()][b.length()] / Math.max(a.length(), b.length()));
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase().replaceAll("[^a-z0-9\\s]", "").replaceAll("\\s+", " ").trim();
+    }
+}
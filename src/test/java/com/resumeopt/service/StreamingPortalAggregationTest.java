@@ -0,0 +1,95 @@
+package com.resumeopt.service;
+
+import com.resumeopt.model.JobListing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPortalAggregationTest {
+
+    @Test
+    void emit_shouldPublishOnlyJobsNotSeenBefore() {
+        StreamingPortalAggregation aggregation = new StreamingPortalAggregation(2);
+        List<List<JobListing>> batches = new ArrayList<>();
+        aggregation.subscribe(batches::add);
+
+        aggregation.emit(List.of(job("Java Developer", "Acme"), job("QA Engineer", "Acme")));
+        aggregation.emit(List.of(job("Java Developer", "Acme"), job("Data Engineer", "Globex")));
+
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(1).size());
+        assertEquals("Data Engineer", batches.get(1).get(0).getTitle());
+        assertEquals(3, aggregation.snapshot().size());
+        assertEquals(4, aggregation.getRawJobCount());
+    }
+
+    @Test
+    void subscribe_shouldReplayEmittedJobsToLateSubscribers() {
+        StreamingPortalAggregation aggregation = new StreamingPortalAggregation(2);
+        aggregation.emit(List.of(job("Java Developer", "Acme")));
+
+        List<JobListing> received = new ArrayList<>();
+        aggregation.subscribe(received::addAll);
+        aggregation.emit(List.of(job("Python Developer", "Initech")));
+
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void emit_shouldNotWaitForASlowSinkOnAnotherPortal() throws Exception {
+        StreamingPortalAggregation aggregation = new StreamingPortalAggregation(2);
+        CountDownLatch inSink = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<JobListing> received = new CopyOnWriteArrayList<>();
+        aggregation.subscribe(batch -> {
+            if (batch.get(0).getTitle().equals("Java Developer")) {
+                inSink.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.addAll(batch);
+        });
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(
+                () -> aggregation.emit(List.of(job("Java Developer", "Acme"))));
+        assertTrue(inSink.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> aggregation.emit(List.of(job("QA Engineer", "Globex"))))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(2, aggregation.snapshot().size());
+        assertEquals(1, received.size());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void complete_shouldIgnoreBatchesArrivingAfterDeadline() {
+        StreamingPortalAggregation aggregation = new StreamingPortalAggregation(1);
+        aggregation.emit(List.of(job("Java Developer", "Acme")));
+        aggregation.complete(aggregation.snapshot());
+
+        aggregation.emit(List.of(job("Late Developer", "Slowpoke")));
+
+        assertTrue(aggregation.isComplete());
+        assertEquals(1, aggregation.result().join().size());
+        assertEquals(1, aggregation.snapshot().size());
+    }
+
+    private JobListing job(String title, String company) {
+        JobListing job = new JobListing();
+        job.setTitle(title);
+        job.setCompany(company);
+        return job;
+    }
+}
@@ -0,0 +1,83 @@
+package com.resumeopt.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TieredFetchServiceTest {
+
+    private static final String CARDS = "<html><body><div class='job-card'>SDE</div></body></html>";
+    private static final String SHELL = "<html><body><div id='root'></div></body></html>";
+
+    private final AdvancedScrapingService http = mock(AdvancedScrapingService.class);
+    private final SeleniumService browser = mock(SeleniumService.class);
+    private final TieredFetchService service = new TieredFetchService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "advancedScrapingService", http);
+        ReflectionTestUtils.setField(service, "seleniumService", browser);
+        ReflectionTestUtils.setField(service, "httpReprobeInterval", 3);
+    }
+
+    @Test
+    void fetch_shouldServeServerRenderedPagesWithoutABrowser() throws IOException {
+        when(http.fetchDocument(anyString())).thenReturn(Jsoup.parse(CARDS));
+
+        Document doc = service.fetch("https://jobs.example.com/search?page=1", ".job-card");
+
+        assertEquals("SDE", doc.select(".job-card").text());
+        verifyNoInteractions(browser);
+        assertEquals(TieredFetchService.Tier.HTTP, service.getTierStats().get("jobs.example.com").preferredTier());
+    }
+
+    @Test
+    void fetch_shouldAcceptEmbeddedJobJson() throws IOException {
+        when(http.fetchDocument(anyString())).thenReturn(Jsoup.parse(
+                "<html><head><script type='application/ld+json'>{\"@type\":\"JobPosting\"}</script></head></html>"));
+
+        service.fetch("https://jobs.example.com/search", ".job-card");
+
+        verifyNoInteractions(browser);
+    }
+
+    @Test
+    void fetch_shouldEscalateAndRememberTheBrowserTier() throws IOException {
+        when(http.fetchDocument(anyString())).thenReturn(Jsoup.parse(SHELL));
+        when(browser.fetchDocument(anyString())).thenReturn(Jsoup.parse(CARDS));
+
+        for (int page = 1; page <= 4; page++) {
+            Document doc = service.fetch("https://spa.example.com/search?page=" + page, ".job-card");
+            assertFalse(doc.select(".job-card").isEmpty());
+        }
+
+        // First page escalates; then HTTP is skipped until the third browser-tier fetch re-probes it
+        verify(http, times(2)).fetchDocument(anyString());
+        verify(browser, times(4)).fetchDocument(anyString());
+        TieredFetchService.TierStats stats = service.getTierStats().get("spa.example.com");
+        assertEquals(TieredFetchService.Tier.BROWSER, stats.preferredTier());
+        assertEquals(4, stats.browserServed());
+        assertEquals(2, stats.escalations());
+    }
+
+    @Test
+    void fetch_shouldEscalateBlockedPagesAndFailOnlyWhenBothTiersFail() throws IOException {
+        when(http.fetchDocument(anyString()))
+                .thenReturn(Jsoup.parse("<html><head><title>Just a moment...</title></head></html>"));
+        when(browser.fetchDocument(anyString())).thenThrow(new RuntimeException("no chrome"));
+
+        Document doc = service.fetch("https://guarded.example.com/jobs", ".job-card");
+        assertTrue(TieredFetchService.isBlocked(doc));
+
+        when(http.fetchDocument(anyString())).thenThrow(new IOException("403 Forbidden"));
+        assertThrows(IOException.class, () -> service.fetch("https://guarded.example.com/jobs?page=2", ".job-card"));
+    }
+}